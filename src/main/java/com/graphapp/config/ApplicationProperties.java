@@ -1,5 +1,8 @@
 package com.graphapp.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,90 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final DynamicGraphs dynamicGraph = new DynamicGraphs();
+
+    private final ShortestPath shortestPath = new ShortestPath();
+
+    private final AlgorithmCache algorithmCache = new AlgorithmCache();
+
+    private final ChangeLog changeLog = new ChangeLog();
+
+    private final PositionStream positionStream = new PositionStream();
+
+    private final Broadcast broadcast = new Broadcast();
+
+    private final EntityCache entityCache = new EntityCache();
+
+    private final CommentStream commentStream = new CommentStream();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final AlgorithmJobs algorithmJobs = new AlgorithmJobs();
+
+    private final Admission admission = new Admission();
+
+    private final EventStreams eventStreams = new EventStreams();
+
+    private final GraphImport graphImport = new GraphImport();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public DynamicGraphs getDynamicGraph() {
+        return dynamicGraph;
+    }
+
+    public ShortestPath getShortestPath() {
+        return shortestPath;
+    }
+
+    public AlgorithmCache getAlgorithmCache() {
+        return algorithmCache;
+    }
+
+    public ChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    public PositionStream getPositionStream() {
+        return positionStream;
+    }
+
+    public Broadcast getBroadcast() {
+        return broadcast;
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    public CommentStream getCommentStream() {
+        return commentStream;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public AlgorithmJobs getAlgorithmJobs() {
+        return algorithmJobs;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public EventStreams getEventStreams() {
+        return eventStreams;
+    }
+
+    public GraphImport getGraphImport() {
+        return graphImport;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +114,493 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class DynamicGraphs {
+
+        private int maxGraphs = 16;
+
+        public int getMaxGraphs() {
+            return maxGraphs;
+        }
+
+        public void setMaxGraphs(int maxGraphs) {
+            this.maxGraphs = maxGraphs;
+        }
+    }
+
+    public static class ShortestPath {
+
+        private int maxSourcesPerGraph = 8;
+
+        public int getMaxSourcesPerGraph() {
+            return maxSourcesPerGraph;
+        }
+
+        public void setMaxSourcesPerGraph(int maxSourcesPerGraph) {
+            this.maxSourcesPerGraph = maxSourcesPerGraph;
+        }
+    }
+
+    public static class AlgorithmCache {
+
+        private long maxBytes = 64L * 1024 * 1024;
+
+        private int expireAfterAccessSeconds = 3600;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getExpireAfterAccessSeconds() {
+            return expireAfterAccessSeconds;
+        }
+
+        public void setExpireAfterAccessSeconds(int expireAfterAccessSeconds) {
+            this.expireAfterAccessSeconds = expireAfterAccessSeconds;
+        }
+    }
+
+    public static class ChangeLog {
+
+        private long tombstoneRetention = 10_000;
+
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        public long getTombstoneRetention() {
+            return tombstoneRetention;
+        }
+
+        public void setTombstoneRetention(long tombstoneRetention) {
+            this.tombstoneRetention = tombstoneRetention;
+        }
+
+        public Duration getCompactionInterval() {
+            return compactionInterval;
+        }
+
+        public void setCompactionInterval(Duration compactionInterval) {
+            this.compactionInterval = compactionInterval;
+        }
+    }
+
+    public static class PositionStream {
+
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Broadcast {
+
+        private int queueCapacity = 1000;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class EntityCache {
+
+        private long maxEntries = 10_000;
+
+        private Duration timeToLive = Duration.ofHours(1);
+
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        /**
+         * Overrides of the defaults for one region, unset values fall back to them.
+         */
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Duration timeToLive;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class CommentStream {
+
+        private int bufferSize = 256;
+
+        private int maxGraphs = 1000;
+
+        private int maxSubscribers = 1000;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getMaxGraphs() {
+            return maxGraphs;
+        }
+
+        public void setMaxGraphs(int maxGraphs) {
+            this.maxGraphs = maxGraphs;
+        }
+
+        public int getMaxSubscribers() {
+            return maxSubscribers;
+        }
+
+        public void setMaxSubscribers(int maxSubscribers) {
+            this.maxSubscribers = maxSubscribers;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Connections that virtual threads may hold at once, the maximum size of the connection pool if unset.
+         */
+        private Integer maxConnections;
+
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        /**
+         * Whether to count live virtual threads, from two Flight Recorder events per virtual thread, that is per request.
+         */
+        private boolean liveThreads;
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+
+        public boolean isLiveThreads() {
+            return liveThreads;
+        }
+
+        public void setLiveThreads(boolean liveThreads) {
+            this.liveThreads = liveThreads;
+        }
+    }
+
+    public static class AlgorithmJobs {
+
+        /**
+         * Workers of the job pool, the number of processors if unset.
+         */
+        private Integer parallelism;
+
+        private int maxJobs = 64;
+
+        private int maxJobsPerUser = 4;
+
+        private Duration defaultTimeout = Duration.ofMinutes(10);
+
+        private Duration maxTimeout = Duration.ofHours(1);
+
+        private Duration progressInterval = Duration.ofSeconds(1);
+
+        private Duration retention = Duration.ofDays(7);
+
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxJobs() {
+            return maxJobs;
+        }
+
+        public void setMaxJobs(int maxJobs) {
+            this.maxJobs = maxJobs;
+        }
+
+        public int getMaxJobsPerUser() {
+            return maxJobsPerUser;
+        }
+
+        public void setMaxJobsPerUser(int maxJobsPerUser) {
+            this.maxJobsPerUser = maxJobsPerUser;
+        }
+
+        public Duration getDefaultTimeout() {
+            return defaultTimeout;
+        }
+
+        public void setDefaultTimeout(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+        }
+
+        public Duration getMaxTimeout() {
+            return maxTimeout;
+        }
+
+        public void setMaxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+        }
+
+        public Duration getProgressInterval() {
+            return progressInterval;
+        }
+
+        public void setProgressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class Admission {
+
+        private boolean enabled = true;
+
+        /**
+         * Estimated steps of the expensive requests running at once on this instance.
+         */
+        private long globalBudget = 2_000_000_000L;
+
+        /**
+         * Estimated steps of the expensive requests of one user running at once; costlier requests count as this much.
+         */
+        private long userBudget = 500_000_000L;
+
+        private int userConcurrency = 4;
+
+        private int maxQueue = 100;
+
+        private Duration maxWait = Duration.ofSeconds(5);
+
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getGlobalBudget() {
+            return globalBudget;
+        }
+
+        public void setGlobalBudget(long globalBudget) {
+            this.globalBudget = globalBudget;
+        }
+
+        public long getUserBudget() {
+            return userBudget;
+        }
+
+        public void setUserBudget(long userBudget) {
+            this.userBudget = userBudget;
+        }
+
+        public int getUserConcurrency() {
+            return userConcurrency;
+        }
+
+        public void setUserConcurrency(int userConcurrency) {
+            this.userConcurrency = userConcurrency;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class EventStreams {
+
+        /**
+         * Threads writing to the clients of event streams, on platform threads.
+         */
+        private int drainThreads = 16;
+
+        /**
+         * How long a write to a client may take before the client is dropped.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(30);
+
+        public int getDrainThreads() {
+            return drainThreads;
+        }
+
+        public void setDrainThreads(int drainThreads) {
+            this.drainThreads = drainThreads;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+    }
+
+    public static class GraphImport {
+
+        /**
+         * Nodes an imported file may declare upfront, as DIMACS files do on their {@code p} line.
+         */
+        private long maxNodes = 10_000_000;
+
+        /**
+         * Files imported at once, further uploads wait for their turn.
+         */
+        private int threads = 2;
+
+        private int queueCapacity = 100;
+
+        public long getMaxNodes() {
+            return maxNodes;
+        }
+
+        public void setMaxNodes(long maxNodes) {
+            this.maxNodes = maxNodes;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,117 @@
+package com.graphapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.graphapp.domain.Comment;
+import com.graphapp.domain.Edge;
+import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache, one Caffeine cache per region behind the JCache API.
+ * <p>
+ * Every region is bounded and expires its entries, with the defaults of {@code application.entity-cache} overridden
+ * per region under {@code application.entity-cache.regions}, keyed as in {@link #REGIONS}. The update timestamps of
+ * the query cache are the exception: they must outlive any cached query result, so they never expire.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * The configurable regions, by their key in {@code application.entity-cache.regions}.
+     */
+    public static final Map<String, String> REGIONS = regions();
+
+    private static Map<String, String> regions() {
+        Map<String, String> regions = new LinkedHashMap<>();
+        regions.put("graph", Graph.class.getName());
+        regions.put("graph-nodes", Graph.class.getName() + ".nodes");
+        regions.put("graph-edges", Graph.class.getName() + ".edges");
+        regions.put("node", Node.class.getName());
+        regions.put("edge", Edge.class.getName());
+        regions.put("comment", Comment.class.getName());
+        regions.put("query-results", QUERY_RESULTS_REGION);
+        return Collections.unmodifiableMap(regions);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(ApplicationProperties applicationProperties) {
+        ApplicationProperties.EntityCache properties = applicationProperties.getEntityCache();
+        for (String key : properties.getRegions().keySet()) {
+            if (!REGIONS.containsKey(key)) {
+                throw new IllegalStateException("Unknown entity cache region " + key + ", expected one of " + REGIONS.keySet());
+            }
+        }
+        // a manager of its own rather than the default one of the class loader, shared by the application contexts of tests
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create(CacheConfiguration.class.getName() + ":" + UUID.randomUUID()),
+            provider.getDefaultClassLoader()
+        );
+        REGIONS.forEach((key, region) -> {
+            ApplicationProperties.EntityCache.Region overrides = properties.getRegions().get(key);
+            long maxEntries = overrides != null && overrides.getMaxEntries() != null ? overrides.getMaxEntries() : properties.getMaxEntries();
+            Duration timeToLive = overrides != null && overrides.getTimeToLive() != null
+                ? overrides.getTimeToLive()
+                : properties.getTimeToLive();
+            LOG.debug("Entity cache region {}: {} entries for {}", region, maxEntries, timeToLive);
+            CaffeineConfiguration<Object, Object> configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            cacheManager.createCache(region, configuration);
+        });
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, configuration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    /**
+     * Exports hits, misses, evictions and sizes of every region, tagged with its name.
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> {
+            for (String region : entityCacheManager.getCacheNames()) {
+                Cache<?, ?> cache = entityCacheManager.getCache(region).unwrap(Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, region, Tags.of("cache.manager", "hibernate"));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,117 @@
+package com.graphapp.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Lets a bounded number of threads hold a connection at once, the others waiting in line on a fair semaphore.
+ * <p>
+ * With virtual threads, request concurrency is no longer bounded by a thread pool, and thousands of threads may ask
+ * the connection pool for a connection at the same time. They wait here instead, parked without holding their carrier,
+ * and reach the pool one by one as connections are given back.
+ */
+class GatedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final int maxConnections;
+
+    private final Duration timeout;
+
+    GatedDataSource(DataSource target, int maxConnections, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return gated(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return gated(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * @return the number of connections held through the gate.
+     */
+    int getActive() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of threads waiting for a connection.
+     */
+    int getPending() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No connection available after " + timeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Gets a connection that gives its permit back when closed, or gives it back at once if the pool fails.
+     */
+    private Connection gated(ConnectionSupplier supplier) throws SQLException {
+        Connection target;
+        try {
+            target = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        Class<?>[] interfaces = { Connection.class };
+        return (Connection) Proxy.newProxyInstance(GatedDataSource.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Gated " + target;
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.graphapp.config;
+
+import com.graphapp.management.VirtualThreadMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the application on virtual threads when {@code spring.threads.virtual.enabled} is set, on Java 21 or later.
+ * <p>
+ * Spring Boot already schedules {@code @Scheduled} tasks on virtual threads in that mode, and
+ * {@link AsyncConfiguration} switches the {@code @Async} executor; this configuration dispatches servlet requests,
+ * which Undertow would otherwise run on its worker pool, to virtual threads as well. Since requests are then no longer
+ * bounded by a pool, the data source is {@link GatedDataSource gated} so that at most
+ * {@code application.virtual-threads.max-connections} of them hold a connection at once, and virtual thread activity
+ * is published to Micrometer by {@link VirtualThreadMetrics}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    public static final String REQUEST_THREAD_PREFIX = "graphapp-request-";
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadRequests() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                LOG.debug("Dispatching requests to virtual threads");
+                deploymentInfo.setExecutor(new VirtualThreadTaskExecutor(REQUEST_THREAD_PREFIX));
+            });
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionGate(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                Integer maxConnections = applicationProperties.getObject().getVirtualThreads().getMaxConnections();
+                int permits = maxConnections != null ? maxConnections : hikari.getMaximumPoolSize();
+                LOG.debug("Gating {} with {} connections", beanName, permits);
+                return new GatedDataSource(hikari, permits, Duration.ofMillis(hikari.getConnectionTimeout()));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGateMetrics(DataSource dataSource) {
+        return registry -> {
+            GatedDataSource gate;
+            try {
+                gate = dataSource.unwrap(GatedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("jdbc.connections.gate.active", gate, GatedDataSource::getActive)
+                .description("Connections held through the virtual thread gate")
+                .register(registry);
+            Gauge.builder("jdbc.connections.gate.pending", gate, GatedDataSource::getPending)
+                .description("Virtual threads waiting at the gate for a connection")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public VirtualThreadMetrics virtualThreadMetrics(ApplicationProperties applicationProperties) {
+        ApplicationProperties.VirtualThreads properties = applicationProperties.getVirtualThreads();
+        return new VirtualThreadMetrics(properties.getPinnedThreshold(), properties.isLiveThreads());
+    }
+}
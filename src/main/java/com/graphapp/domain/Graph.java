@@ -7,12 +7,15 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Graph.
  */
 @Entity
 @Table(name = "graph")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Graph implements Serializable {
 
@@ -34,11 +37,19 @@ public class Graph implements Serializable {
     @Column(name = "created_at")
     private Instant createdAt;
 
+    /**
+     * Bumped in the database by every write to the graph, its nodes or its edges, never by Hibernate.
+     */
+    @Column(name = "revision", nullable = false, insertable = false, updatable = false)
+    private Long revision = 0L;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "graph", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "graph" }, allowSetters = true)
     private Set<Node> nodes = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "graph", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "source", "target", "graph" }, allowSetters = true)
     private Set<Edge> edges = new HashSet<>();
 
@@ -100,6 +111,19 @@ public class Graph implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getRevision() {
+        return this.revision;
+    }
+
+    public Graph revision(Long revision) {
+        this.setRevision(revision);
+        return this;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
     public Set<Node> getNodes() {
         return this.nodes;
     }
@@ -220,6 +244,7 @@ public class Graph implements Serializable {
             ", name='" + getName() + "'" +
             ", description='" + getDescription() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", revision=" + getRevision() +
             "}";
     }
 }
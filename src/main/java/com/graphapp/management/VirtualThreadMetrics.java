@@ -0,0 +1,94 @@
+package com.graphapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Publishes the activity of virtual threads, recorded by Flight Recorder:
+ * <ul>
+ *     <li>{@value #LIVE_METER_NAME}: virtual threads started since the metrics were bound and not yet ended, only when
+ *     enabled since it takes two events per virtual thread, that is per request;</li>
+ *     <li>{@value #PARALLELISM_METER_NAME}: the configured parallelism of the virtual thread scheduler, the number of
+ *     carrier threads it runs virtual threads on at most;</li>
+ *     <li>{@value #PINNED_METER_NAME}: the times a virtual thread blocked while pinned to its carrier, in a
+ *     {@code synchronized} block or a native frame, for longer than the threshold, keeping the carrier from running
+ *     other threads;</li>
+ *     <li>{@value #SUBMIT_FAILED_METER_NAME}: virtual threads that could not be scheduled on a carrier.</li>
+ * </ul>
+ */
+public class VirtualThreadMetrics implements MeterBinder, DisposableBean {
+
+    public static final String LIVE_METER_NAME = "jvm.threads.virtual.live";
+    public static final String PARALLELISM_METER_NAME = "jvm.threads.virtual.parallelism";
+    public static final String PINNED_METER_NAME = "jvm.threads.virtual.pinned";
+    public static final String SUBMIT_FAILED_METER_NAME = "jvm.threads.virtual.submit-failed";
+
+    private final RecordingStream recording = new RecordingStream();
+
+    private final Duration pinnedThreshold;
+
+    private final boolean liveThreads;
+
+    /**
+     * Ids of the virtual threads started since binding and not yet ended, so that threads started earlier, whose end
+     * is recorded but not their start, are not counted.
+     */
+    private final Set<Long> live = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadMetrics(Duration pinnedThreshold, boolean liveThreads) {
+        this.pinnedThreshold = pinnedThreshold;
+        this.liveThreads = liveThreads;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PARALLELISM_METER_NAME, VirtualThreadMetrics::parallelism)
+            .description("Configured parallelism of the virtual thread scheduler")
+            .baseUnit("threads")
+            .register(registry);
+        Timer pinned = Timer.builder(PINNED_METER_NAME)
+            .description("Virtual threads blocked while pinned to their carrier thread")
+            .register(registry);
+        Counter submitFailed = Counter.builder(SUBMIT_FAILED_METER_NAME)
+            .description("Virtual threads that could not be scheduled")
+            .baseUnit("threads")
+            .register(registry);
+
+        if (liveThreads) {
+            Gauge.builder(LIVE_METER_NAME, live, Set::size)
+                .description("Virtual threads started since the metrics were bound and not yet ended")
+                .baseUnit("threads")
+                .register(registry);
+            recording.enable("jdk.VirtualThreadStart");
+            recording.enable("jdk.VirtualThreadEnd");
+            recording.onEvent("jdk.VirtualThreadStart", event -> live.add(event.getLong("javaThreadId")));
+            recording.onEvent("jdk.VirtualThreadEnd", event -> live.remove(event.getLong("javaThreadId")));
+        }
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreshold);
+        recording.enable("jdk.VirtualThreadSubmitFailed");
+        recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.record(event.getDuration()));
+        recording.onEvent("jdk.VirtualThreadSubmitFailed", event -> submitFailed.increment());
+        recording.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+
+    /**
+     * @return the parallelism of the virtual thread scheduler, the number of processors unless configured.
+     */
+    private static int parallelism() {
+        String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        return parallelism != null ? Integer.parseInt(parallelism) : Runtime.getRuntime().availableProcessors();
+    }
+}
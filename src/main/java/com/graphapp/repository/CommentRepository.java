@@ -1,7 +1,10 @@
 package com.graphapp.repository;
 
 import com.graphapp.domain.Comment;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +14,13 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    /**
+     * Lists the comments of a graph, from the query cache until a comment is written.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Comment> findAllByGraphIdOrderByCreatedAtDescIdDesc(Long graphId);
+
+    List<Comment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Comment> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
 }
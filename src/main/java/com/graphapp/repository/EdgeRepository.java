@@ -1,6 +1,8 @@
 package com.graphapp.repository;
 
 import com.graphapp.domain.Edge;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EdgeRepository extends JpaRepository<Edge, Long> {}
+public interface EdgeRepository extends JpaRepository<Edge, Long> {
+    List<Edge> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Edge> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    List<Edge> findByGraphIdAndIdGreaterThanOrderByIdAsc(Long graphId, Long id, Limit limit);
+
+    List<Edge> findByGraphIdAndIdLessThanOrderByIdDesc(Long graphId, Long id, Limit limit);
+}
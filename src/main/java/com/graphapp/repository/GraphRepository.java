@@ -1,8 +1,13 @@
 package com.graphapp.repository;
 
 import com.graphapp.domain.Graph;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,4 +17,24 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface GraphRepository extends JpaRepository<Graph, Long> {
     Optional<Graph> findOneByName(String name);
+
+    List<Graph> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Graph> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    @Query("select graph.revision from Graph graph where graph.id = :id")
+    Optional<Long> findRevisionById(@Param("id") Long id);
+
+    /**
+     * Bumps the revision of a graph. The row stays locked until the surrounding transaction ends, so concurrent
+     * writers to the same graph commit their revisions in order.
+     * <p>
+     * A native update synchronized on a query space of its own, so that Hibernate does not empty the graph regions of
+     * the second-level cache as it would after a JPQL bulk update; the cached entry of the graph is evicted by
+     * {@code EntityCacheService} once the change is committed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update graph set revision = revision + 1 where id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "graph_revision"))
+    int incrementRevision(@Param("id") Long id);
 }
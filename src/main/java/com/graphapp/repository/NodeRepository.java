@@ -1,6 +1,8 @@
 package com.graphapp.repository;
 
 import com.graphapp.domain.Node;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface NodeRepository extends JpaRepository<Node, Long> {}
+public interface NodeRepository extends JpaRepository<Node, Long> {
+    List<Node> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Node> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    List<Node> findByGraphIdAndIdGreaterThanOrderByIdAsc(Long graphId, Long id, Limit limit);
+
+    List<Node> findByGraphIdAndIdLessThanOrderByIdDesc(Long graphId, Long id, Limit limit);
+}
@@ -0,0 +1,310 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Admits costly requests, such as algorithm runs, within budgets of estimated work, so that one user running a
+ * quadratic algorithm on the biggest graph cannot starve everyone else.
+ * <p>
+ * The cost of a request is estimated from the node and edge counts of its graph, kept in {@code graph_summary}, by
+ * the {@link CostModel} of the operation. A request runs if the costs of the requests running on the instance stay
+ * within {@code application.admission.global-budget}, and those of its user within
+ * {@code application.admission.user-budget} and {@code application.admission.user-concurrency}; a single request
+ * costlier than the user budget counts as the user budget, so that it can run, but never fills the instance by
+ * itself. Otherwise it waits in line for up to {@code application.admission.max-wait}, requests being admitted in
+ * arrival order except for those held back by their own user's budget, and is refused with an
+ * {@link AdmissionRejectedException} if the line is full or the wait is over.
+ * <p>
+ * The line, the running requests and their cost, the waits and the refusals are published to Micrometer.
+ */
+@Service
+public class AdmissionController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionController.class);
+
+    public static final String QUEUE_METER_NAME = "graphapp.admission.queue";
+    public static final String ACTIVE_METER_NAME = "graphapp.admission.active";
+    public static final String COST_METER_NAME = "graphapp.admission.cost";
+    public static final String WAIT_METER_NAME = "graphapp.admission.wait";
+    public static final String REJECTED_METER_NAME = "graphapp.admission.rejected";
+
+    static final String ANONYMOUS = "anonymous";
+
+    /**
+     * Estimates the work of an operation on a graph.
+     */
+    @FunctionalInterface
+    public interface CostModel {
+        /**
+         * @param nodes the number of nodes of the graph.
+         * @param edges the number of edges of the graph.
+         * @return the estimated number of steps.
+         */
+        long estimate(long nodes, long edges);
+    }
+
+    /**
+     * The right to run an admitted request, given back when closed.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Permit UNLIMITED = () -> {};
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Requests waiting, in arrival order; guarded by {@link #lock}.
+     */
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+
+    /**
+     * Running requests per user; guarded by {@link #lock}.
+     */
+    private final Map<String, Usage> users = new HashMap<>();
+
+    /**
+     * Running requests; guarded by {@link #lock}.
+     */
+    private final Usage total = new Usage();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.Admission properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer wait;
+
+    public AdmissionController(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getAdmission();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(QUEUE_METER_NAME, this, AdmissionController::getQueueLength)
+            .description("Costly requests waiting to be admitted")
+            .baseUnit("requests")
+            .register(meterRegistry);
+        Gauge.builder(ACTIVE_METER_NAME, this, AdmissionController::getActive)
+            .description("Costly requests admitted and running")
+            .baseUnit("requests")
+            .register(meterRegistry);
+        Gauge.builder(COST_METER_NAME, this, AdmissionController::getCost)
+            .description("Estimated steps of the costly requests running")
+            .register(meterRegistry);
+        this.wait = Timer.builder(WAIT_METER_NAME).description("Time costly requests waited to be admitted").register(meterRegistry);
+    }
+
+    /**
+     * Admits an operation of the current user on a graph, waiting for budget if needed.
+     *
+     * @param graphId the id of the graph; a graph that does not exist costs nothing.
+     * @param operation the name of the operation, to tag refusals with.
+     * @param costModel the cost of the operation.
+     * @return the permit to run, to close once done.
+     * @throws AdmissionRejectedException if there is no budget left and the line is full, or the wait is over.
+     */
+    public Permit admit(Long graphId, String operation, CostModel costModel) {
+        if (!properties.isEnabled()) {
+            return UNLIMITED;
+        }
+        long[] size = jdbcTemplate
+            .query(
+                "select node_count, edge_count from graph_summary where graph_id = ?",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) },
+                graphId
+            )
+            .stream()
+            .findFirst()
+            .orElse(new long[2]);
+        String user = SecurityUtils.getCurrentUserLogin().orElse(ANONYMOUS);
+        return admit(user, operation, costModel.estimate(size[0], size[1]));
+    }
+
+    /**
+     * Admits an operation of known cost.
+     */
+    Permit admit(String user, String operation, long estimate) {
+        long cost = Math.max(1, Math.min(estimate, Math.min(properties.getUserBudget(), properties.getGlobalBudget())));
+        long start = System.nanoTime();
+        Waiter waiter = new Waiter(user, cost, lock.newCondition());
+        lock.lock();
+        try {
+            queue.addLast(waiter);
+            admitWaiting();
+            if (!waiter.admitted && queue.size() > properties.getMaxQueue()) {
+                queue.remove(waiter);
+                throw reject(operation, "queue-full");
+            }
+            long remaining = properties.getMaxWait().toNanos();
+            boolean interrupted = false;
+            while (!waiter.admitted && remaining > 0 && !interrupted) {
+                try {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                }
+            }
+            if (!waiter.admitted) {
+                queue.remove(waiter);
+                // requests behind may fit now that this one gave up its place
+                admitWaiting();
+                throw reject(operation, interrupted ? "interrupted" : "timeout");
+            }
+        } finally {
+            lock.unlock();
+        }
+        wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new CostPermit(user, cost);
+    }
+
+    int getQueueLength() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getActive() {
+        lock.lock();
+        try {
+            return total.requests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getCost() {
+        lock.lock();
+        try {
+            return total.cost;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admits the waiting requests that fit, in arrival order, skipping the ones held back by their own user's budget
+     * only. Called holding {@link #lock}.
+     */
+    private void admitWaiting() {
+        Iterator<Waiter> waiting = queue.iterator();
+        while (waiting.hasNext()) {
+            Waiter waiter = waiting.next();
+            Usage usage = users.get(waiter.user);
+            if (
+                usage != null &&
+                (usage.requests >= properties.getUserConcurrency() || usage.cost + waiter.cost > properties.getUserBudget())
+            ) {
+                continue;
+            }
+            if (total.cost + waiter.cost > properties.getGlobalBudget()) {
+                return;
+            }
+            waiting.remove();
+            users.computeIfAbsent(waiter.user, user -> new Usage()).add(waiter.cost);
+            total.add(waiter.cost);
+            waiter.admitted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    private AdmissionRejectedException reject(String operation, String reason) {
+        LOG.debug("Refused {}: {}", operation, reason);
+        Counter.builder(REJECTED_METER_NAME)
+            .description("Costly requests refused")
+            .tag("operation", operation)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        return new AdmissionRejectedException("Too many costly requests, try again later", properties.getRetryAfter());
+    }
+
+    private static final class Usage {
+
+        private int requests;
+
+        private long cost;
+
+        private void add(long cost) {
+            this.requests++;
+            this.cost += cost;
+        }
+
+        private boolean remove(long cost) {
+            this.requests--;
+            this.cost -= cost;
+            return requests == 0;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final String user;
+
+        private final long cost;
+
+        private final Condition condition;
+
+        private boolean admitted;
+
+        private Waiter(String user, long cost, Condition condition) {
+            this.user = user;
+            this.cost = cost;
+            this.condition = condition;
+        }
+    }
+
+    private final class CostPermit implements Permit {
+
+        private final String user;
+
+        private final long cost;
+
+        private boolean closed;
+
+        private CostPermit(String user, long cost) {
+            this.user = user;
+            this.cost = cost;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (users.get(user).remove(cost)) {
+                    users.remove(user);
+                }
+                total.remove(cost);
+                admitWaiting();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,805 @@
+package com.graphapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.security.SecurityUtils;
+import com.graphapp.service.algo.AlgorithmResult;
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.Betweenness;
+import com.graphapp.service.algo.GraphAlgorithm;
+import com.graphapp.service.algo.GraphSnapshot;
+import com.graphapp.service.algo.LongIntHashMap;
+import com.graphapp.service.dto.AlgorithmJobDTO;
+import com.graphapp.service.dto.AlgorithmTraceDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running algorithms as background jobs, for the ones too long to answer within a request.
+ * <p>
+ * Jobs run on a fork/join pool of their own, apart from the request and task executors, so that
+ * {@link Betweenness}, which splits its work, steals idle workers of the pool but never request threads. At most
+ * {@code application.algorithm-jobs.max-jobs} jobs are queued or running at once, and
+ * {@code application.algorithm-jobs.max-jobs-per-user} of a user; further jobs are refused with an
+ * {@link AdmissionRejectedException}. A job runs on a snapshot of the
+ * graph taken when it starts, checks every so often whether it was cancelled or went past its deadline, and reports
+ * its progress, and for betweenness the best nodes so far, to pollers and subscribers. Its state is written to the
+ * {@code algorithm_job} table when it is queued, started and finished, the trace of a successful run included, so
+ * that results outlive the instance; jobs left unfinished by a restart are marked failed. Subscribers are written to
+ * on the event stream executor, so that a slow client holds up neither the job nor the scheduler.
+ */
+@Service
+public class AlgorithmJobService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlgorithmJobService.class);
+
+    private static final String THREAD_PREFIX = "graphapp-job-";
+
+    /**
+     * Steps of a trace between two checks for cancellation, a power of two.
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private static final int LEADERS = 10;
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private static final int MAX_LISTED_JOBS = 100;
+
+    public static final String QUEUED_METER_NAME = "graphapp.jobs.queued";
+    public static final String RUNNING_METER_NAME = "graphapp.jobs.running";
+
+    /**
+     * Time a client refused a job waits before trying again.
+     */
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private static final String COLUMNS =
+        "id, graph_id, graph_revision, algorithm, start_node_id, end_node_id, status, error, created_at, started_at, finished_at, deadline";
+
+    /**
+     * Receives the state of a job as it runs.
+     */
+    public interface Sink {
+        /**
+         * Sends the state of the job, with its result once finished.
+         */
+        void send(AlgorithmJobDTO job) throws IOException;
+
+        /**
+         * Closes the connection, after the final state or a failed write.
+         */
+        void close();
+    }
+
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Jobs queued or running, in total and per user; guarded by {@code this}.
+     */
+    private int activeJobs;
+
+    private final Map<String, Integer> userJobs = new HashMap<>();
+
+    private final ForkJoinPool pool;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate snapshotTemplate;
+
+    private final GraphAlgorithmService graphAlgorithmService;
+
+    private final GraphRevisionService graphRevisionService;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.AlgorithmJobs properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Executor streamExecutor;
+
+    public AlgorithmJobService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        GraphAlgorithmService graphAlgorithmService,
+        GraphRevisionService graphRevisionService,
+        SequenceIdAllocator sequenceIdAllocator,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        @Qualifier("eventStreamExecutor") Executor streamExecutor
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // repeatable read, so that the snapshot is exactly the content of the revision recorded with the job
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.graphAlgorithmService = graphAlgorithmService;
+        this.graphRevisionService = graphRevisionService;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getAlgorithmJobs();
+        this.meterRegistry = meterRegistry;
+        this.streamExecutor = streamExecutor;
+        Gauge.builder(QUEUED_METER_NAME, this, service -> service.count(AlgorithmJobDTO.Status.QUEUED))
+            .description("Algorithm jobs waiting for a worker")
+            .baseUnit("jobs")
+            .register(meterRegistry);
+        Gauge.builder(RUNNING_METER_NAME, this, service -> service.count(AlgorithmJobDTO.Status.RUNNING))
+            .description("Algorithm jobs running")
+            .baseUnit("jobs")
+            .register(meterRegistry);
+        Integer parallelism = properties.getParallelism();
+        this.pool = new ForkJoinPool(
+            parallelism != null ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName(THREAD_PREFIX + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            true
+        );
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @param graphId the id of the graph, which must exist.
+     * @param algorithmId the id of a registered algorithm, or {@value Betweenness#ID}.
+     * @param startId the id of the start node, required but by betweenness.
+     * @param endId the id of the target node, or {@code null}.
+     * @param timeout the time the job may take from now, {@code application.algorithm-jobs.default-timeout} if
+     * {@code null}, and at most {@code application.algorithm-jobs.max-timeout}.
+     * @return the queued job.
+     * @throws InvalidGraphQueryException if the algorithm is unknown or a node is not part of the graph.
+     * @throws AdmissionRejectedException if too many jobs, or too many jobs of the current user, are queued or running.
+     */
+    public AlgorithmJobDTO submit(Long graphId, String algorithmId, Long startId, Long endId, Duration timeout) {
+        LOG.debug("Request to queue {} on Graph : {}", algorithmId, graphId);
+        GraphAlgorithm algorithm = null;
+        if (!Betweenness.ID.equals(algorithmId)) {
+            algorithm = graphAlgorithmService
+                .findAlgorithm(algorithmId)
+                .orElseThrow(() -> new InvalidGraphQueryException("Unknown algorithm", "unknownalgorithm"));
+            checkNode(graphId, startId, "startnotfound");
+            if (endId != null) {
+                checkNode(graphId, endId, "endnotfound");
+            }
+        }
+        String user = SecurityUtils.getCurrentUserLogin().orElse(AdmissionController.ANONYMOUS);
+        Duration allowed = timeout == null
+            ? properties.getDefaultTimeout()
+            : timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout;
+        Instant now = Instant.now();
+        Job job = new Job(
+            sequenceIdAllocator.allocate(1)[0],
+            user,
+            graphId,
+            algorithmId,
+            algorithm,
+            startId,
+            endId,
+            now,
+            now.plus(allowed)
+        );
+        reserve(user, algorithmId);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update(
+                    "insert into algorithm_job (id, graph_id, algorithm, start_node_id, end_node_id, status, created_at, deadline) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                    job.id,
+                    graphId,
+                    algorithmId,
+                    startId,
+                    endId,
+                    AlgorithmJobDTO.Status.QUEUED.name(),
+                    Timestamp.from(job.createdAt),
+                    Timestamp.from(job.deadline)
+                )
+            );
+            jobs.put(job.id, job);
+            pool.execute(job::run);
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            release(user);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * @param jobId the id of the job.
+     * @return the state of the job, with its result if it succeeded, if known.
+     */
+    public Optional<AlgorithmJobDTO> findJob(Long jobId) {
+        // a finishing job is written to the table before it is removed from memory
+        Job job = jobs.get(jobId);
+        if (job != null) {
+            return Optional.of(job.toDTO());
+        }
+        return jdbcTemplate
+            .query("select " + COLUMNS + ", result from algorithm_job where id = ?", (rs, rowNum) -> toDTO(rs, true), jobId)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * @param graphId the id of the graph.
+     * @return the last jobs of the graph, newest first, without their results.
+     */
+    public List<AlgorithmJobDTO> findJobs(Long graphId) {
+        LOG.debug("Request to get the Jobs of Graph : {}", graphId);
+        return jdbcTemplate
+            .query(
+                "select " + COLUMNS + " from algorithm_job where graph_id = ? order by id desc limit ?",
+                (rs, rowNum) -> toDTO(rs, false),
+                graphId,
+                MAX_LISTED_JOBS
+            )
+            .stream()
+            .map(persisted -> {
+                Job job = jobs.get(persisted.getId());
+                return job != null ? job.toDTO() : persisted;
+            })
+            .toList();
+    }
+
+    /**
+     * Asks a job to stop. A queued job does not start, a running job stops at its next check.
+     *
+     * @param jobId the id of the job.
+     * @return the state of the job, or empty if unknown.
+     */
+    public Optional<AlgorithmJobDTO> cancel(Long jobId) {
+        LOG.debug("Request to cancel Job : {}", jobId);
+        Job job = jobs.get(jobId);
+        if (job != null) {
+            job.cancelled = true;
+            return Optional.of(job.toDTO());
+        }
+        return findJob(jobId);
+    }
+
+    /**
+     * Sends the state of a job to {@code sink} every {@code application.algorithm-jobs.progress-interval}, then its
+     * final state, and closes it; a finished job is sent at once.
+     *
+     * @param jobId the id of the job.
+     * @param sink the connection to send to.
+     * @return {@code false} if the job is unknown.
+     */
+    public boolean subscribe(Long jobId, Sink sink) {
+        Job job = jobs.get(jobId);
+        if (job != null && job.subscribe(sink)) {
+            return true;
+        }
+        Optional<AlgorithmJobDTO> finished = findJob(jobId);
+        if (finished.isEmpty()) {
+            return false;
+        }
+        send(sink, finished.get());
+        sink.close();
+        return true;
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.algorithm-jobs.progress-interval:PT1S}",
+        fixedDelayString = "${application.algorithm-jobs.progress-interval:PT1S}"
+    )
+    public void publishProgress() {
+        jobs.values().forEach(Job::publish);
+    }
+
+    /**
+     * Marks failed the jobs that were queued or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterrupted() {
+        Integer interrupted = transactionTemplate.execute(status ->
+            jdbcTemplate.update(
+                "update algorithm_job set status = ?, error = ?, finished_at = ? where status in (?, ?)",
+                AlgorithmJobDTO.Status.FAILED.name(),
+                "Interrupted by a restart",
+                Timestamp.from(Instant.now()),
+                AlgorithmJobDTO.Status.QUEUED.name(),
+                AlgorithmJobDTO.Status.RUNNING.name()
+            )
+        );
+        if (interrupted != null && interrupted > 0) {
+            LOG.info("Marked {} interrupted algorithm jobs as failed", interrupted);
+        }
+    }
+
+    /**
+     * Deletes the jobs finished for longer than {@code application.algorithm-jobs.retention}.
+     */
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1H")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.update(
+                "delete from algorithm_job where finished_at < ?",
+                Timestamp.from(Instant.now().minus(properties.getRetention()))
+            )
+        );
+        LOG.debug("Deleted {} expired algorithm jobs", deleted);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        jobs.values().forEach(job -> job.cancelled = true);
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes a slot for a job of {@code user}.
+     *
+     * @throws AdmissionRejectedException if there is no slot left.
+     */
+    private synchronized void reserve(String user, String algorithmId) {
+        int jobsOfUser = userJobs.getOrDefault(user, 0);
+        String reason = activeJobs >= properties.getMaxJobs()
+            ? "queue-full"
+            : jobsOfUser >= properties.getMaxJobsPerUser() ? "user-jobs" : null;
+        if (reason != null) {
+            LOG.debug("Refused {} of {}: {}", algorithmId, user, reason);
+            Counter.builder(AdmissionController.REJECTED_METER_NAME)
+                .description("Costly requests refused")
+                .tag("operation", "job")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+            throw new AdmissionRejectedException("Too many algorithm jobs, try again later", RETRY_AFTER);
+        }
+        activeJobs++;
+        userJobs.put(user, jobsOfUser + 1);
+    }
+
+    private synchronized void release(String user) {
+        activeJobs--;
+        userJobs.computeIfPresent(user, (login, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private int count(AlgorithmJobDTO.Status status) {
+        return (int) jobs.values().stream().filter(job -> job.status == status).count();
+    }
+
+    private void checkNode(Long graphId, Long nodeId, String errorKey) {
+        Integer count = nodeId == null
+            ? Integer.valueOf(0)
+            : jdbcTemplate.queryForObject("select count(*) from node where id = ? and graph_id = ?", Integer.class, nodeId, graphId);
+        if (count == null || count == 0) {
+            throw new InvalidGraphQueryException("Node is not part of the graph", errorKey);
+        }
+    }
+
+    private static int indexOf(GraphSnapshot graph, Long nodeId, String errorKey) {
+        int index = graph.indexOf(nodeId);
+        if (index == LongIntHashMap.MISSING) {
+            throw new InvalidGraphQueryException("Node is not part of the graph", errorKey);
+        }
+        return index;
+    }
+
+    private static boolean send(Sink sink, AlgorithmJobDTO job) {
+        try {
+            sink.send(job);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            sink.close();
+            return false;
+        }
+    }
+
+    private static AlgorithmJobDTO toDTO(ResultSet rs, boolean withResult) throws SQLException {
+        AlgorithmJobDTO job = new AlgorithmJobDTO();
+        job.setId(rs.getLong("id"));
+        job.setGraphId(rs.getLong("graph_id"));
+        job.setGraphRevision(rs.getObject("graph_revision", Long.class));
+        job.setAlgorithm(rs.getString("algorithm"));
+        job.setStartId(rs.getObject("start_node_id", Long.class));
+        job.setEndId(rs.getObject("end_node_id", Long.class));
+        job.setStatus(AlgorithmJobDTO.Status.valueOf(rs.getString("status")));
+        job.setProgress(job.getStatus() == AlgorithmJobDTO.Status.SUCCEEDED ? 1 : 0);
+        job.setError(rs.getString("error"));
+        job.setCreatedAt(toInstant(rs.getTimestamp("created_at")));
+        job.setStartedAt(toInstant(rs.getTimestamp("started_at")));
+        job.setFinishedAt(toInstant(rs.getTimestamp("finished_at")));
+        job.setDeadline(toInstant(rs.getTimestamp("deadline")));
+        if (withResult) {
+            job.setResult(rs.getString("result"));
+        }
+        return job;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private final class Job {
+
+        private final long id;
+
+        private final String user;
+
+        private final Long graphId;
+
+        private final String algorithmId;
+
+        private final GraphAlgorithm algorithm;
+
+        private final Long startId;
+
+        private final Long endId;
+
+        private final Instant createdAt;
+
+        private final Instant deadline;
+
+        private final List<Sink> sinks = new ArrayList<>();
+
+        private volatile AlgorithmJobDTO.Status status = AlgorithmJobDTO.Status.QUEUED;
+
+        private volatile boolean cancelled;
+
+        private volatile boolean timedOut;
+
+        private volatile Long graphRevision;
+
+        private volatile Instant startedAt;
+
+        private volatile Instant finishedAt;
+
+        private volatile String error;
+
+        private volatile double progress;
+
+        private volatile Betweenness betweenness;
+
+        private volatile GraphSnapshot graph;
+
+        private long visited;
+
+        private boolean finished;
+
+        /**
+         * State waiting to be sent to the subscribers, only the latest one is kept; guarded by {@code this}.
+         */
+        private AlgorithmJobDTO pending;
+
+        private boolean closing;
+
+        private boolean draining;
+
+        Job(
+            long id,
+            String user,
+            Long graphId,
+            String algorithmId,
+            GraphAlgorithm algorithm,
+            Long startId,
+            Long endId,
+            Instant createdAt,
+            Instant deadline
+        ) {
+            this.id = id;
+            this.user = user;
+            this.graphId = graphId;
+            this.algorithmId = algorithmId;
+            this.algorithm = algorithm;
+            this.startId = startId;
+            this.endId = endId;
+            this.createdAt = createdAt;
+            this.deadline = deadline;
+        }
+
+        void run() {
+            String result = null;
+            AlgorithmJobDTO.Status outcome;
+            try {
+                check();
+                start();
+                AlgorithmTrace trace = trace();
+                if (trace == null) {
+                    error = "Graph not found";
+                    outcome = AlgorithmJobDTO.Status.FAILED;
+                } else {
+                    result = objectMapper.writeValueAsString(new AlgorithmTraceDTO(trace));
+                    progress = 1;
+                    outcome = AlgorithmJobDTO.Status.SUCCEEDED;
+                }
+            } catch (CancellationException e) {
+                outcome = timedOut ? AlgorithmJobDTO.Status.TIMED_OUT : AlgorithmJobDTO.Status.CANCELLED;
+            } catch (InvalidGraphQueryException e) {
+                // a node was deleted since the job was queued
+                error = e.getMessage();
+                outcome = AlgorithmJobDTO.Status.FAILED;
+            } catch (JsonProcessingException | RuntimeException e) {
+                LOG.warn("Job {} running {} on Graph : {} failed", id, algorithmId, graphId, e);
+                error = String.valueOf(e.getMessage());
+                outcome = AlgorithmJobDTO.Status.FAILED;
+            }
+            finish(outcome, result);
+        }
+
+        private void start() {
+            startedAt = Instant.now();
+            status = AlgorithmJobDTO.Status.RUNNING;
+            transactionTemplate.executeWithoutResult(s ->
+                jdbcTemplate.update(
+                    "update algorithm_job set status = ?, started_at = ? where id = ?",
+                    status.name(),
+                    Timestamp.from(startedAt),
+                    id
+                )
+            );
+        }
+
+        /**
+         * @return the trace of the algorithm, or {@code null} if the graph was deleted.
+         */
+        private AlgorithmTrace trace() {
+            GraphSnapshot snapshot = snapshotTemplate.execute(s ->
+                graphRevisionService
+                    .findRevision(graphId)
+                    .flatMap(revision -> {
+                        graphRevision = revision;
+                        return graphAlgorithmService.loadSnapshot(graphId);
+                    })
+                    .orElse(null)
+            );
+            if (snapshot == null) {
+                return null;
+            }
+            graph = snapshot;
+            check();
+            int n = Math.max(1, snapshot.nodeCount());
+            if (algorithm == null) {
+                Betweenness running = new Betweenness(snapshot);
+                betweenness = running;
+                AlgorithmResult result = new AlgorithmResult(
+                    null,
+                    snapshot.nodeCount(),
+                    running.compute(done -> {
+                        progress = (double) done / n;
+                        check();
+                    })
+                );
+                return new AlgorithmTrace(Betweenness.ID, snapshot, new int[0], result);
+            }
+            int start = indexOf(snapshot, startId, "startnotfound");
+            int end = endId != null ? indexOf(snapshot, endId, "endnotfound") : GraphAlgorithm.NO_TARGET;
+            return AlgorithmTrace.record(algorithm, snapshot, start, end, node -> {
+                if ((++visited & (CHECK_INTERVAL - 1)) == 0) {
+                    // nodes may be visited more than once, the estimate stays below one until the end
+                    progress = Math.min(0.99, (double) visited / n);
+                    check();
+                }
+            });
+        }
+
+        private void check() {
+            if (cancelled) {
+                throw new CancellationException("Job " + id + " cancelled");
+            }
+            if (Instant.now().isAfter(deadline)) {
+                timedOut = true;
+                throw new CancellationException("Job " + id + " timed out");
+            }
+        }
+
+        private void finish(AlgorithmJobDTO.Status outcome, String result) {
+            finishedAt = Instant.now();
+            String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            try {
+                transactionTemplate.executeWithoutResult(s ->
+                    jdbcTemplate.update(
+                        "update algorithm_job set status = ?, error = ?, graph_revision = ?, started_at = ?, finished_at = ?, result = ? " +
+                        "where id = ?",
+                        outcome.name(),
+                        message,
+                        graphRevision,
+                        toTimestamp(startedAt),
+                        Timestamp.from(finishedAt),
+                        result,
+                        id
+                    )
+                );
+            } catch (RuntimeException e) {
+                LOG.warn("Could not save the outcome of Job {} : {}", id, outcome, e);
+            }
+            synchronized (this) {
+                error = message;
+                status = outcome;
+                finished = true;
+            }
+            betweenness = null;
+            graph = null;
+            jobs.remove(id);
+            release(user);
+            LOG.debug("Job {} running {} on Graph : {} ended {}", id, algorithmId, graphId, outcome);
+            AlgorithmJobDTO dto = toDTO();
+            dto.setResult(result);
+            synchronized (this) {
+                pending = dto;
+                closing = true;
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * @return {@code false} if the job finished already.
+         */
+        private synchronized boolean subscribe(Sink sink) {
+            if (finished) {
+                return false;
+            }
+            sinks.add(sink);
+            pending = toDTO();
+            scheduleDrain();
+            return true;
+        }
+
+        /**
+         * Queues the progress for the subscribers; nothing is queued once finished, so that it never follows the final state.
+         */
+        private synchronized void publish() {
+            if (finished || sinks.isEmpty()) {
+                return;
+            }
+            pending = toDTO();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining || sinks.isEmpty()) {
+                return;
+            }
+            draining = true;
+            try {
+                streamExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+                if (closing) {
+                    // no later state to retry with, the clients poll the job instead
+                    sinks.forEach(Sink::close);
+                    sinks.clear();
+                }
+                // progress is retried on the next publication
+            }
+        }
+
+        /**
+         * Sends the pending states one at a time, outside the lock, closing the connections after the final one.
+         */
+        private void drain() {
+            while (true) {
+                AlgorithmJobDTO dto;
+                boolean last;
+                List<Sink> subscribers;
+                synchronized (this) {
+                    if (pending == null) {
+                        draining = false;
+                        return;
+                    }
+                    dto = pending;
+                    last = closing;
+                    pending = null;
+                    subscribers = List.copyOf(sinks);
+                    if (last) {
+                        sinks.clear();
+                    }
+                }
+                for (Sink sink : subscribers) {
+                    if (!send(sink, dto)) {
+                        synchronized (this) {
+                            sinks.remove(sink);
+                        }
+                    } else if (last) {
+                        sink.close();
+                    }
+                }
+            }
+        }
+
+        AlgorithmJobDTO toDTO() {
+            AlgorithmJobDTO dto = new AlgorithmJobDTO();
+            dto.setId(id);
+            dto.setGraphId(graphId);
+            dto.setGraphRevision(graphRevision);
+            dto.setAlgorithm(algorithmId);
+            dto.setStartId(startId);
+            dto.setEndId(endId);
+            dto.setStatus(status);
+            dto.setProgress(progress);
+            dto.setError(error);
+            dto.setCreatedAt(createdAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setDeadline(deadline);
+            dto.setLeaders(leaders());
+            return dto;
+        }
+
+        /**
+         * @return the nodes with the highest betweenness so far, scaled to the whole graph, or {@code null}.
+         */
+        private List<AlgorithmJobDTO.NodeScore> leaders() {
+            Betweenness running = betweenness;
+            GraphSnapshot snapshot = graph;
+            if (running == null || snapshot == null) {
+                return null;
+            }
+            int done;
+            float[] scores;
+            synchronized (running) {
+                done = running.done();
+                scores = running.scores();
+            }
+            if (done == 0) {
+                return List.of();
+            }
+            PriorityQueue<Integer> best = new PriorityQueue<>(LEADERS + 1, (a, b) -> Float.compare(scores[a], scores[b]));
+            for (int node = 0; node < scores.length; node++) {
+                best.add(node);
+                if (best.size() > LEADERS) {
+                    best.poll();
+                }
+            }
+            double scale = (double) scores.length / done;
+            List<AlgorithmJobDTO.NodeScore> leaders = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int node = best.poll();
+                leaders.add(0, new AlgorithmJobDTO.NodeScore(snapshot.nodeId(node), scores[node] * scale));
+            }
+            return leaders;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.graphapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.algo.AlgorithmTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory cache of algorithm traces, keyed by graph revision so that writes never need to invalidate it: a write
+ * bumps the revision and the entries of older revisions are simply never asked for again, until they are evicted.
+ * <p>
+ * The cache is bounded by the estimated size of its entries in bytes, with Caffeine's W-TinyLFU eviction. Hits,
+ * misses, evictions and the total weight are published to Micrometer under the {@code algorithmResults} cache name.
+ */
+@Service
+public class AlgorithmResultCache {
+
+    public static final String CACHE_NAME = "algorithmResults";
+
+    /**
+     * Identifies a run: the same algorithm with the same parameters on the same revision of a graph.
+     */
+    public record Key(Long graphId, long revision, String algorithmId, Long startId, Long endId) {}
+
+    private final Cache<Key, AlgorithmTrace> cache;
+
+    public AlgorithmResultCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.AlgorithmCache properties = applicationProperties.getAlgorithmCache();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxBytes())
+            .weigher((Key key, AlgorithmTrace trace) -> (int) Math.min(Integer.MAX_VALUE, trace.estimatedSizeInBytes()))
+            .expireAfterAccess(Duration.ofSeconds(properties.getExpireAfterAccessSeconds()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached trace for {@code key}, or records it with {@code loader}. Concurrent callers asking for the
+     * same key wait for a single run.
+     *
+     * @return the trace, or {@code null} if {@code loader} returned {@code null}, which is not cached.
+     */
+    public AlgorithmTrace get(Key key, Function<Key, AlgorithmTrace> loader) {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * @return the cached trace for {@code key}, or {@code null}.
+     */
+    public AlgorithmTrace getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,160 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.CommentPreviewDTO;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the comment feed of a graph, newest first, in pages of previews.
+ * <p>
+ * Pages follow the {@code (graph_id, created_at desc nulls last, id desc)} index from an opaque cursor, the position
+ * of the last comment read, so that any page costs one index range scan whatever its depth. Only the first
+ * {@value #PREVIEW_LENGTH} characters of each content are read, the full content is fetched on demand. Comments
+ * without a creation date come last, as the oldest.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CommentFeedService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommentFeedService.class);
+
+    static final int PREVIEW_LENGTH = 200;
+
+    /**
+     * The creation date of a cursor of a comment without one.
+     */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final String COLUMNS =
+        "select id, left(content, ?), char_length(content) > ?, created_at from comment where graph_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentFeedService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Gets comments of a graph older than a cursor, newest first.
+     *
+     * @param graphId the id of the graph.
+     * @param cursor the cursor of the last comment read, or {@code null} for the newest comments.
+     * @param limit the maximum number of comments.
+     * @return the previews of the comments.
+     * @throws InvalidGraphQueryException if the cursor was not issued by this service.
+     */
+    public List<CommentPreviewDTO> getOlder(Long graphId, String cursor, int limit) {
+        LOG.debug("Request to get {} Comments of Graph {} before {}", limit, graphId, cursor);
+        List<Object> args = new ArrayList<>(List.of(PREVIEW_LENGTH, PREVIEW_LENGTH, graphId));
+        StringBuilder sql = new StringBuilder(COLUMNS);
+        if (cursor != null) {
+            ByteBuffer position = decode(cursor);
+            long createdAt = position.getLong();
+            long id = position.getLong();
+            if (createdAt == NO_DATE) {
+                sql.append(" and created_at is null and id < ?");
+                args.add(id);
+            } else {
+                sql.append(" and (created_at < ? or (created_at = ? and id < ?) or created_at is null)");
+                args.add(toDateTime(createdAt));
+                args.add(toDateTime(createdAt));
+                args.add(id);
+            }
+        }
+        sql.append(" order by created_at desc nulls last, id desc limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), CommentFeedService::mapPreview, args.toArray());
+    }
+
+    /**
+     * Gets comments of a graph newer than a cursor, oldest first, to catch up with the comments posted since the
+     * cursor was read.
+     *
+     * @param graphId the id of the graph.
+     * @param cursor the cursor of the newest comment read.
+     * @param limit the maximum number of comments.
+     * @return the previews of the comments.
+     * @throws InvalidGraphQueryException if the cursor was not issued by this service.
+     */
+    public List<CommentPreviewDTO> getNewer(Long graphId, String cursor, int limit) {
+        LOG.debug("Request to get {} Comments of Graph {} after {}", limit, graphId, cursor);
+        ByteBuffer position = decode(cursor);
+        long createdAt = position.getLong();
+        long id = position.getLong();
+        List<Object> args = new ArrayList<>(List.of(PREVIEW_LENGTH, PREVIEW_LENGTH, graphId));
+        StringBuilder sql = new StringBuilder(COLUMNS);
+        if (createdAt == NO_DATE) {
+            sql.append(" and (created_at is not null or id > ?)");
+            args.add(id);
+        } else {
+            sql.append(" and (created_at > ? or (created_at = ? and id > ?))");
+            args.add(toDateTime(createdAt));
+            args.add(toDateTime(createdAt));
+            args.add(id);
+        }
+        sql.append(" order by created_at asc nulls first, id asc limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), CommentFeedService::mapPreview, args.toArray());
+    }
+
+    /**
+     * @return the feed item of a comment, as a page of the feed would hold it.
+     */
+    static CommentPreviewDTO toPreview(Long id, String content, Instant createdAt) {
+        boolean truncated = content.codePointCount(0, content.length()) > PREVIEW_LENGTH;
+        return preview(id, truncated ? content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH)) : content, truncated, createdAt);
+    }
+
+    private static CommentPreviewDTO mapPreview(ResultSet rs, int rowNum) throws SQLException {
+        LocalDateTime createdAt = rs.getObject(4, LocalDateTime.class);
+        return preview(rs.getLong(1), rs.getString(2), rs.getBoolean(3), createdAt != null ? createdAt.toInstant(ZoneOffset.UTC) : null);
+    }
+
+    private static CommentPreviewDTO preview(Long id, String preview, boolean truncated, Instant createdAt) {
+        CommentPreviewDTO comment = new CommentPreviewDTO();
+        comment.setId(id);
+        comment.setPreview(preview);
+        comment.setTruncated(truncated);
+        comment.setCreatedAt(createdAt);
+        comment.setCursor(encode(createdAt, id));
+        return comment;
+    }
+
+    private static String encode(Instant createdAt, long id) {
+        long micros = createdAt != null ? ChronoUnit.MICROS.between(Instant.EPOCH, createdAt) : NO_DATE;
+        byte[] bytes = ByteBuffer.allocate(2 * Long.BYTES).putLong(micros).putLong(id).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static ByteBuffer decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == 2 * Long.BYTES) {
+                return ByteBuffer.wrap(bytes);
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new InvalidGraphQueryException("Invalid cursor", "invalidcursor");
+    }
+
+    /**
+     * Dates are stored as UTC wall-clock times, see {@code hibernate.jdbc.time_zone}.
+     */
+    private static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+}
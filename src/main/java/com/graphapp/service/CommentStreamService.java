@@ -0,0 +1,367 @@
+package com.graphapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.dto.CommentPreviewDTO;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.CommentChangedEvent;
+import com.graphapp.service.event.CommentState;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes the comments created on a graph, once committed, to the clients viewing it.
+ * <p>
+ * The last comments of every graph are kept in a bounded ring buffer, numbered in order. A subscriber is only a
+ * position in that buffer, so there is no queue per subscriber: it is sent what follows its position whenever a
+ * comment arrives, and a client reconnecting with the number of the last comment it received, its
+ * {@code Last-Event-ID}, resumes where it stopped. When that comment has left the buffer, or the buffer was dropped in
+ * the meantime, the client is sent a {@code resync} event instead and should reload the feed.
+ * <p>
+ * Comments are numbered from the creation time of their buffer, in microseconds, so numbers keep increasing across
+ * buffers and restarts. The number of open streams is capped per instance.
+ * <p>
+ * Subscribers are written to on the event stream executor, apart from the task executor, and one whose write has not
+ * finished within {@code application.event-streams.write-timeout} is dropped at the next heartbeat.
+ */
+@Service
+public class CommentStreamService {
+
+    public static final String COMMENT = "comment";
+
+    public static final String RESYNC = "resync";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommentStreamService.class);
+
+    /**
+     * The connection of a subscriber, written to by one thread at a time.
+     */
+    public interface Sink {
+        /**
+         * Sends an event named {@code name} with a JSON payload, numbered {@code id}.
+         */
+        void send(long id, String name, Object data) throws IOException;
+
+        /**
+         * Sends a keep-alive message that clients ignore.
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * Closes the connection after a failed write.
+         */
+        void close();
+    }
+
+    private final Cache<Long, CommentRing> rings;
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    private final int maxSubscribers;
+
+    private final Duration timeout;
+
+    private final long writeTimeoutNanos;
+
+    public CommentStreamService(ApplicationProperties applicationProperties, @Qualifier("eventStreamExecutor") Executor executor) {
+        ApplicationProperties.CommentStream properties = applicationProperties.getCommentStream();
+        this.executor = executor;
+        this.writeTimeoutNanos = applicationProperties.getEventStreams().getWriteTimeout().toNanos();
+        this.bufferSize = properties.getBufferSize();
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.timeout = properties.getTimeout();
+        this.rings = Caffeine.newBuilder().maximumSize(properties.getMaxGraphs()).build();
+    }
+
+    /**
+     * @return how long a subscription may stay open before the client has to reconnect.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Subscribes to the comments of a graph.
+     *
+     * @param graphId the id of the graph.
+     * @param lastEventId the number of the last comment received on a previous connection, to resume from, or
+     *        {@code null} to receive the comments created from now on.
+     * @param sink the connection to write the comments to.
+     * @return the subscription, to be cancelled when the connection ends, or empty if this instance already serves
+     *         as many subscribers as it may.
+     */
+    public Optional<Subscription> subscribe(Long graphId, String lastEventId, Sink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            LOG.debug("Refusing subscriber to the comments of Graph : {}", graphId);
+            return Optional.empty();
+        }
+        long position = ring(graphId).last();
+        boolean resync = false;
+        if (lastEventId != null) {
+            try {
+                position = Long.parseLong(lastEventId);
+            } catch (NumberFormatException e) {
+                resync = true;
+            }
+        }
+        Subscription subscription = new Subscription(graphId, sink, position, resync);
+        subscriptions.computeIfAbsent(graphId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        LOG.debug("New subscriber to the comments of Graph : {}, from {}", graphId, position);
+        // comments missed since the last event
+        subscription.notifyChanged();
+        return Optional.of(subscription);
+    }
+
+    /**
+     * @return the number of open subscriptions on this instance.
+     */
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        CommentState comment = event.current();
+        if (event.type() != ChangeType.CREATED || comment.graphId() == null) {
+            return;
+        }
+        ring(comment.graphId()).append(CommentFeedService.toPreview(comment.id(), comment.content(), comment.createdAt()));
+        Set<Subscription> graphSubscriptions = subscriptions.get(comment.graphId());
+        if (graphSubscriptions != null) {
+            graphSubscriptions.forEach(Subscription::notifyChanged);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies, and detects the ones the client has left or stopped reading.
+     */
+    @Scheduled(
+        initialDelayString = "${application.comment-stream.heartbeat-interval:PT15S}",
+        fixedDelayString = "${application.comment-stream.heartbeat-interval:PT15S}"
+    )
+    public void heartbeat() {
+        subscriptions.values().forEach(graphSubscriptions -> graphSubscriptions.forEach(Subscription::heartbeat));
+    }
+
+    private CommentRing ring(Long graphId) {
+        return rings.get(graphId, id -> new CommentRing(bufferSize, System.currentTimeMillis() * 1000));
+    }
+
+    private record Event(long id, CommentPreviewDTO comment) {}
+
+    /**
+     * The last comments of a graph, numbered from {@code first}.
+     */
+    private static final class CommentRing {
+
+        private final Event[] events;
+
+        private final long first;
+
+        private long next;
+
+        private CommentRing(int capacity, long first) {
+            this.events = new Event[capacity];
+            this.first = first;
+            this.next = first;
+        }
+
+        private synchronized void append(CommentPreviewDTO comment) {
+            events[(int) (next % events.length)] = new Event(next, comment);
+            next++;
+        }
+
+        /**
+         * @return the number of the last comment, or the one before the first if there is none yet.
+         */
+        private synchronized long last() {
+            return next - 1;
+        }
+
+        /**
+         * @return the comments after the given number, or {@code null} if some of them are no longer kept.
+         */
+        private synchronized List<Event> after(long position) {
+            long oldest = Math.max(first, next - events.length);
+            if (position < oldest - 1 || position >= next) {
+                return null;
+            }
+            List<Event> after = new ArrayList<>((int) (next - position - 1));
+            for (long id = position + 1; id < next; id++) {
+                after.add(events[(int) (id % events.length)]);
+            }
+            return after;
+        }
+    }
+
+    /**
+     * A subscriber to the comments of one graph, at the number of the last comment it was sent.
+     */
+    public final class Subscription {
+
+        private final Long graphId;
+
+        private final Sink sink;
+
+        private long position;
+
+        private boolean resync;
+
+        private boolean changed;
+
+        private boolean heartbeat;
+
+        private boolean draining;
+
+        private boolean cancelled;
+
+        /**
+         * When the write in progress started, from {@link System#nanoTime()}, if {@link #writing}.
+         */
+        private long writeStarted;
+
+        private boolean writing;
+
+        private boolean expired;
+
+        private Subscription(Long graphId, Sink sink, long position, boolean resync) {
+            this.graphId = graphId;
+            this.sink = sink;
+            this.position = position;
+            this.resync = resync;
+        }
+
+        /**
+         * Stops sending comments; safe to call more than once.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            subscriberCount.decrementAndGet();
+            subscriptions.computeIfPresent(graphId, (id, graphSubscriptions) -> {
+                graphSubscriptions.remove(this);
+                return graphSubscriptions.isEmpty() ? null : graphSubscriptions;
+            });
+        }
+
+        private synchronized void notifyChanged() {
+            changed = true;
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (!writing || System.nanoTime() - writeStarted < writeTimeoutNanos) {
+                    heartbeat = true;
+                    scheduleDrain();
+                    return;
+                }
+                expired = true;
+            }
+            // the draining thread closes the connection once its write gives up
+            LOG.debug(
+                "Dropping subscriber to the comments of Graph : {}, write pending for more than {} ms",
+                graphId,
+                writeTimeoutNanos / 1_000_000
+            );
+            cancel();
+        }
+
+        private void scheduleDrain() {
+            if (draining || cancelled) {
+                return;
+            }
+            draining = true;
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // retried on the next comment or heartbeat
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                boolean sendResync;
+                boolean sendHeartbeat;
+                long from;
+                synchronized (this) {
+                    if (cancelled || (!resync && !changed && !heartbeat)) {
+                        draining = false;
+                        return;
+                    }
+                    writing = true;
+                    writeStarted = System.nanoTime();
+                    sendResync = resync;
+                    sendHeartbeat = heartbeat && !changed && !resync;
+                    resync = false;
+                    changed = false;
+                    heartbeat = false;
+                    from = position;
+                }
+                CommentRing ring = ring(graphId);
+                List<Event> events = sendResync ? null : ring.after(from);
+                try {
+                    if (events == null) {
+                        long last = ring.last();
+                        sink.send(last, RESYNC, graphId);
+                        from = last;
+                    } else {
+                        for (Event event : events) {
+                            sink.send(event.id(), COMMENT, event.comment());
+                            from = event.id();
+                        }
+                        if (sendHeartbeat) {
+                            sink.heartbeat();
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOG.debug("Dropping subscriber to the comments of Graph : {}, {}", graphId, e.getMessage());
+                    synchronized (this) {
+                        draining = false;
+                        writing = false;
+                    }
+                    cancel();
+                    sink.close();
+                    return;
+                }
+                boolean close;
+                synchronized (this) {
+                    position = from;
+                    writing = false;
+                    close = expired;
+                }
+                if (close) {
+                    sink.close();
+                }
+            }
+        }
+    }
+}
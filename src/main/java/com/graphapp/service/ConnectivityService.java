@@ -0,0 +1,61 @@
+package com.graphapp.service;
+
+import com.graphapp.service.algo.DynamicConnectivity;
+import com.graphapp.service.algo.DynamicGraph;
+import com.graphapp.service.algo.LongIntHashMap;
+import com.graphapp.service.dto.ConnectivityDTO;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service answering connectivity queries from a {@link DynamicConnectivity} index kept up to date by
+ * {@link DynamicGraphService}, so that edge inserts and deletes never trigger a full recomputation.
+ */
+@Service
+public class ConnectivityService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectivityService.class);
+
+    private final DynamicGraphService dynamicGraphService;
+
+    public ConnectivityService(DynamicGraphService dynamicGraphService) {
+        this.dynamicGraphService = dynamicGraphService;
+    }
+
+    /**
+     * Gets the number of connected components of a graph and, optionally, whether two of its nodes are connected.
+     *
+     * @param graphId the id of the graph.
+     * @param startId the id of a node whose component size is wanted, or {@code null}.
+     * @param endId the id of a node to test against {@code startId}, or {@code null}.
+     * @return the connectivity, or empty if the graph does not exist.
+     * @throws InvalidGraphQueryException if a node is not part of the graph.
+     */
+    public Optional<ConnectivityDTO> getConnectivity(Long graphId, Long startId, Long endId) {
+        LOG.debug("Request to get connectivity of Graph : {}, from {} to {}", graphId, startId, endId);
+        return dynamicGraphService.query(graphId, graph -> {
+            DynamicConnectivity connectivity = graph.attachment(DynamicConnectivity.class, DynamicConnectivity::new);
+            ConnectivityDTO dto = new ConnectivityDTO();
+            dto.setGraphId(graph.getGraphId());
+            dto.setComponentCount(connectivity.componentCount());
+            if (startId != null) {
+                int start = indexOf(graph, startId, "startnotfound");
+                dto.setStartComponentSize(connectivity.componentSize(start));
+                if (endId != null) {
+                    dto.setConnected(connectivity.connected(start, indexOf(graph, endId, "endnotfound")));
+                }
+            }
+            return dto;
+        });
+    }
+
+    private static int indexOf(DynamicGraph graph, Long nodeId, String errorKey) {
+        int index = graph.indexOf(nodeId);
+        if (index == LongIntHashMap.MISSING) {
+            throw new InvalidGraphQueryException("Node is not part of the graph", errorKey);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,189 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.algo.DynamicGraph;
+import com.graphapp.service.algo.GraphSnapshot;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.EdgeState;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodeState;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the most recently queried graphs in memory as {@link DynamicGraph}s and applies every committed change to
+ * them, so that the indexes attached to a graph are repaired incrementally instead of being rebuilt.
+ * <p>
+ * A graph is loaded on first use. Changes committed while it is loading are buffered and replayed on top of the
+ * snapshot; this is safe because all {@link DynamicGraph} mutations are idempotent.
+ */
+@Service
+public class DynamicGraphService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DynamicGraphService.class);
+
+    private final GraphAlgorithmService graphAlgorithmService;
+
+    private final Map<Long, HotGraph> graphs;
+
+    public DynamicGraphService(GraphAlgorithmService graphAlgorithmService, ApplicationProperties applicationProperties) {
+        this.graphAlgorithmService = graphAlgorithmService;
+        int maxGraphs = Math.max(1, applicationProperties.getDynamicGraph().getMaxGraphs());
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HotGraph> eldest) {
+                return size() > maxGraphs;
+            }
+        };
+    }
+
+    /**
+     * Applies {@code query} to the in-memory copy of a graph, loading it first if needed. The graph is locked for
+     * the duration of the query.
+     *
+     * @param graphId the id of the graph.
+     * @param query the query to run.
+     * @return the result of the query, or empty if the graph does not exist.
+     */
+    public <T> Optional<T> query(Long graphId, Function<DynamicGraph, T> query) {
+        HotGraph hot;
+        boolean load;
+        synchronized (graphs) {
+            hot = graphs.get(graphId);
+            load = hot == null;
+            if (load) {
+                hot = new HotGraph();
+                graphs.put(graphId, hot);
+            }
+        }
+        if (load) {
+            load(graphId, hot);
+        }
+        synchronized (hot) {
+            while (hot.loading) {
+                try {
+                    hot.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Optional.empty();
+                }
+            }
+            return hot.graph == null ? Optional.empty() : Optional.ofNullable(query.apply(hot.graph));
+        }
+    }
+
+    /**
+     * @return the number of graphs currently held in memory.
+     */
+    public int size() {
+        synchronized (graphs) {
+            return graphs.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            synchronized (graphs) {
+                graphs.remove(event.graphId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodeChanged(NodeChangedEvent event) {
+        NodeState previous = event.previous();
+        NodeState current = event.current();
+        if (previous != null && previous.graphId() != null && (current == null || !previous.graphId().equals(current.graphId()))) {
+            apply(previous.graphId(), graph -> graph.removeNode(previous.id()));
+        }
+        if (current != null && current.graphId() != null) {
+            apply(current.graphId(), graph -> graph.addNode(current.id()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEdgeChanged(EdgeChangedEvent event) {
+        EdgeState previous = event.previous();
+        EdgeState current = event.current();
+        boolean stillLinked = current != null && current.isLinked();
+        if (previous != null && previous.isLinked() && (!stillLinked || !previous.graphId().equals(current.graphId()))) {
+            apply(previous.graphId(), graph -> graph.removeEdge(previous.id()));
+        }
+        if (stillLinked) {
+            apply(current.graphId(), graph ->
+                graph.upsertEdge(
+                    current.id(),
+                    current.sourceId(),
+                    current.targetId(),
+                    Objects.requireNonNullElse(current.weight(), 1f),
+                    Boolean.TRUE.equals(current.directed())
+                )
+            );
+        }
+    }
+
+    private void apply(Long graphId, Consumer<DynamicGraph> change) {
+        HotGraph hot;
+        synchronized (graphs) {
+            hot = graphs.get(graphId);
+        }
+        if (hot == null) {
+            return;
+        }
+        synchronized (hot) {
+            if (hot.loading) {
+                hot.pending.add(change);
+            } else if (hot.graph != null) {
+                change.accept(hot.graph);
+            }
+        }
+    }
+
+    private void load(Long graphId, HotGraph hot) {
+        DynamicGraph graph = null;
+        try {
+            Optional<GraphSnapshot> snapshot = graphAlgorithmService.loadSnapshot(graphId);
+            if (snapshot.isPresent()) {
+                graph = DynamicGraph.of(snapshot.orElseThrow());
+                LOG.debug("Loaded Graph {} in memory: {} nodes, {} arcs", graphId, graph.nodeCount(), graph.arcCount());
+            }
+        } finally {
+            if (graph == null) {
+                synchronized (graphs) {
+                    graphs.remove(graphId, hot);
+                }
+            }
+            synchronized (hot) {
+                if (graph != null) {
+                    for (Consumer<DynamicGraph> change : hot.pending) {
+                        change.accept(graph);
+                    }
+                }
+                hot.pending.clear();
+                hot.graph = graph;
+                hot.loading = false;
+                hot.notifyAll();
+            }
+        }
+    }
+
+    private static final class HotGraph {
+
+        private DynamicGraph graph;
+        private boolean loading = true;
+        private final List<Consumer<DynamicGraph>> pending = new ArrayList<>();
+    }
+}
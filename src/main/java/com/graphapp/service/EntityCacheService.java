@@ -0,0 +1,154 @@
+package com.graphapp.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.graphapp.config.CacheConfiguration;
+import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
+import com.graphapp.service.dto.EntityCacheRegionDTO;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodesMovedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service inspecting and evicting the regions of the Hibernate second-level cache.
+ * <p>
+ * Writes through Hibernate keep the cache up to date, but the JDBC writes of other services do not. Bulk imports only
+ * insert rows of new graphs, which nothing has cached yet, and node degrees are not mapped; node positions are, so
+ * the moved nodes are evicted once their move is committed, when no transaction can load their previous position anymore.
+ * The revision of a graph is bumped the same way by every change to it, so the graph and its collections are evicted
+ * after each change too, leaving the entries of the other graphs in place.
+ */
+@Service
+public class EntityCacheService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheService.class);
+
+    private static final String GRAPH_NODES_ROLE = Graph.class.getName() + ".nodes";
+
+    private static final String GRAPH_EDGES_ROLE = Graph.class.getName() + ".edges";
+
+    private final CacheManager entityCacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheService(CacheManager entityCacheManager, EntityManagerFactory entityManagerFactory) {
+        this.entityCacheManager = entityCacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @return the configurable regions, with their settings and statistics.
+     */
+    public List<EntityCacheRegionDTO> getRegions() {
+        List<EntityCacheRegionDTO> regions = new ArrayList<>();
+        for (String name : CacheConfiguration.REGIONS.values()) {
+            Cache<Object, Object> cache = entityCacheManager.getCache(name);
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+            com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CacheStats stats = nativeCache.stats();
+
+            EntityCacheRegionDTO region = new EntityCacheRegionDTO();
+            region.setName(name);
+            region.setSize(nativeCache.estimatedSize());
+            configuration.getMaximumSize().ifPresent(region::setMaxEntries);
+            configuration.getExpireAfterWrite().ifPresent(nanos -> region.setTimeToLiveSeconds(TimeUnit.NANOSECONDS.toSeconds(nanos)));
+            region.setHits(stats.hitCount());
+            region.setMisses(stats.missCount());
+            region.setHitRatio(stats.hitRate());
+            region.setEvictions(stats.evictionCount());
+            regions.add(region);
+        }
+        return regions;
+    }
+
+    /**
+     * Empties a region.
+     *
+     * @param name the name of the region.
+     * @return whether the region exists.
+     */
+    public boolean evictRegion(String name) {
+        if (!CacheConfiguration.REGIONS.containsValue(name)) {
+            return false;
+        }
+        LOG.info("Evicting entity cache region {}", name);
+        hibernateCache().evictRegion(name);
+        return true;
+    }
+
+    /**
+     * Empties every region.
+     */
+    public void evictAll() {
+        LOG.info("Evicting all entity cache regions");
+        hibernateCache().evictAllRegions();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (event.type() == ChangeType.UPDATED) {
+            evictGraph(event.graphId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodeChanged(NodeChangedEvent event) {
+        if (event.previous() != null) {
+            evictGraph(event.previous().graphId());
+        }
+        if (event.current() != null) {
+            evictGraph(event.current().graphId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEdgeChanged(EdgeChangedEvent event) {
+        if (event.previous() != null) {
+            evictGraph(event.previous().graphId());
+        }
+        if (event.current() != null) {
+            evictGraph(event.current().graphId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodesMoved(NodesMovedEvent event) {
+        org.hibernate.Cache cache = hibernateCache();
+        for (long id : event.nodeIds()) {
+            cache.evictEntityData(Node.class, id);
+        }
+        evictGraph(event.graphId());
+    }
+
+    /**
+     * Evicts a graph and its node and edge collections, whose revision was bumped outside of Hibernate.
+     */
+    private void evictGraph(Long graphId) {
+        if (graphId == null) {
+            return;
+        }
+        org.hibernate.Cache cache = hibernateCache();
+        cache.evictEntityData(Graph.class, graphId);
+        cache.evictCollectionData(GRAPH_NODES_ROLE, graphId);
+        cache.evictCollectionData(GRAPH_EDGES_ROLE, graphId);
+    }
+
+    private org.hibernate.Cache hibernateCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,171 @@
+package com.graphapp.service;
+
+import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.GraphAlgorithm;
+import com.graphapp.service.algo.GraphAlgorithmRegistry;
+import com.graphapp.service.algo.GraphSnapshot;
+import com.graphapp.service.algo.LongIntHashMap;
+import com.graphapp.service.dto.GraphAlgorithmDTO;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service running graph algorithms on the server.
+ * <p>
+ * Graphs are loaded straight from JDBC into a {@link GraphSnapshot}, without hydrating entities.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GraphAlgorithmService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphAlgorithmService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final GraphRepository graphRepository;
+
+    private final GraphAlgorithmRegistry graphAlgorithmRegistry;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final GraphRevisionService graphRevisionService;
+
+    private final AlgorithmResultCache algorithmResultCache;
+
+    public GraphAlgorithmService(
+        GraphRepository graphRepository,
+        GraphAlgorithmRegistry graphAlgorithmRegistry,
+        JdbcTemplate jdbcTemplate,
+        GraphRevisionService graphRevisionService,
+        AlgorithmResultCache algorithmResultCache
+    ) {
+        this.graphRepository = graphRepository;
+        this.graphAlgorithmRegistry = graphAlgorithmRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.graphRevisionService = graphRevisionService;
+        this.algorithmResultCache = algorithmResultCache;
+    }
+
+    public List<GraphAlgorithmDTO> getAlgorithms() {
+        return graphAlgorithmRegistry.getAll().stream().map(algorithm -> new GraphAlgorithmDTO(algorithm.getId(), algorithm.getName())).toList();
+    }
+
+    public Optional<GraphAlgorithm> findAlgorithm(String id) {
+        return graphAlgorithmRegistry.find(id);
+    }
+
+    /**
+     * Runs {@code algorithm} on {@code graph} and records every step.
+     *
+     * @param graph the graph to run on.
+     * @param algorithm the algorithm to run.
+     * @param start the dense index of the start node.
+     * @param end the dense index of the target node, or {@link GraphAlgorithm#NO_TARGET}.
+     * @return the recorded trace.
+     */
+    public AlgorithmTrace trace(GraphSnapshot graph, GraphAlgorithm algorithm, int start, int end) {
+        LOG.debug("Request to trace {} on Graph : {}", algorithm.getId(), graph.getGraphId());
+        return AlgorithmTrace.record(algorithm, graph, start, end);
+    }
+
+    /**
+     * Runs {@code algorithm} on the current revision of a graph, or returns the trace of an identical earlier run
+     * from the {@link AlgorithmResultCache}.
+     *
+     * @param graphId the id of the graph.
+     * @param algorithm the algorithm to run.
+     * @param startId the id of the start node.
+     * @param endId the id of the target node, or {@code null}.
+     * @return the trace, or empty if the graph does not exist.
+     * @throws InvalidGraphQueryException if a node is not part of the graph.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<AlgorithmTrace> findTrace(Long graphId, GraphAlgorithm algorithm, Long startId, Long endId) {
+        // repeatable read, so that the snapshot loaded on a miss is exactly the content of the revision in the key
+        return graphRevisionService
+            .findRevision(graphId)
+            .map(revision ->
+                algorithmResultCache.get(new AlgorithmResultCache.Key(graphId, revision, algorithm.getId(), startId, endId), k ->
+                    loadSnapshot(graphId)
+                        .map(graph -> {
+                            int start = indexOf(graph, startId, "startnotfound");
+                            int end = endId != null ? indexOf(graph, endId, "endnotfound") : GraphAlgorithm.NO_TARGET;
+                            return trace(graph, algorithm, start, end);
+                        })
+                        .orElse(null)
+                )
+            );
+    }
+
+    /**
+     * Returns the trace of an earlier run of {@code algorithm} on the current revision of a graph, without running it.
+     *
+     * @param graphId the id of the graph.
+     * @param algorithm the algorithm.
+     * @param startId the id of the start node.
+     * @param endId the id of the target node, or {@code null}.
+     * @return the cached trace, or empty if there is none or the graph does not exist.
+     */
+    public Optional<AlgorithmTrace> findCachedTrace(Long graphId, GraphAlgorithm algorithm, Long startId, Long endId) {
+        return graphRevisionService
+            .findRevision(graphId)
+            .map(revision ->
+                algorithmResultCache.getIfPresent(new AlgorithmResultCache.Key(graphId, revision, algorithm.getId(), startId, endId))
+            );
+    }
+
+    /**
+     * Loads the nodes and edges of a graph into a {@link GraphSnapshot}.
+     *
+     * @param graphId the id of the graph.
+     * @return the snapshot, or empty if the graph does not exist.
+     */
+    public Optional<GraphSnapshot> loadSnapshot(Long graphId) {
+        LOG.debug("Request to load snapshot of Graph : {}", graphId);
+        if (!graphRepository.existsById(graphId)) {
+            return Optional.empty();
+        }
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(graphId);
+        jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement("select id from node where graph_id = ?");
+                statement.setLong(1, graphId);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            },
+            rs -> {
+                builder.addNode(rs.getLong(1));
+            }
+        );
+        jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(
+                    "select id, source_id, target_id, weight, directed from edge " +
+                    "where graph_id = ? and source_id is not null and target_id is not null order by id"
+                );
+                statement.setLong(1, graphId);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            },
+            rs -> {
+                builder.addEdge(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getFloat(4), rs.getBoolean(5));
+            }
+        );
+        return Optional.of(builder.build());
+    }
+
+    private static int indexOf(GraphSnapshot graph, Long nodeId, String errorKey) {
+        int index = graph.indexOf(nodeId);
+        if (index == LongIntHashMap.MISSING) {
+            throw new InvalidGraphQueryException("Node is not part of the graph", errorKey);
+        }
+        return index;
+    }
+}
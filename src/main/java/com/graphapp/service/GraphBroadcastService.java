@@ -0,0 +1,340 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.dto.GraphDeltaDTO;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.CommentChangedEvent;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodesMovedEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Broadcasts committed changes of a graph to the clients editing it.
+ * <p>
+ * Every subscriber has its own bounded queue, drained on the event stream executor, so a slow client never holds back
+ * the writer nor the other subscribers. Pending deltas are conflated per element: a node moved a hundred times before
+ * the client catches up is sent once, with its last position. A subscriber whose queue still overflows is sent a
+ * single {@code resync} event instead, after which it should reload the graph, and one whose write has not finished
+ * within {@code application.event-streams.write-timeout} is dropped at the next heartbeat.
+ */
+@Service
+public class GraphBroadcastService {
+
+    public static final String NODE = "node";
+
+    public static final String EDGE = "edge";
+
+    public static final String COMMENT = "comment";
+
+    public static final String POSITION = "position";
+
+    public static final String GRAPH = "graph";
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphBroadcastService.class);
+
+    /**
+     * The connection of a subscriber, written to by one thread at a time.
+     */
+    public interface Sink {
+        /**
+         * Sends an event named {@code name} with a JSON payload.
+         */
+        void send(String name, Object data) throws IOException;
+
+        /**
+         * Sends a keep-alive message that clients ignore.
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * Closes the connection after a failed write.
+         */
+        void close();
+    }
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    private final int queueCapacity;
+
+    private final Duration timeout;
+
+    private final long writeTimeoutNanos;
+
+    public GraphBroadcastService(ApplicationProperties applicationProperties, @Qualifier("eventStreamExecutor") Executor executor) {
+        this.executor = executor;
+        this.queueCapacity = applicationProperties.getBroadcast().getQueueCapacity();
+        this.timeout = applicationProperties.getBroadcast().getTimeout();
+        this.writeTimeoutNanos = applicationProperties.getEventStreams().getWriteTimeout().toNanos();
+    }
+
+    /**
+     * @return how long a subscription may stay open before the client has to reconnect.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Subscribes to the changes of a graph committed from now on.
+     *
+     * @param graphId the id of the graph.
+     * @param sink the connection to write the changes to.
+     * @return the subscription, to be cancelled when the connection ends.
+     */
+    public Subscription subscribe(Long graphId, Sink sink) {
+        Subscription subscription = new Subscription(graphId, sink);
+        subscriptions.computeIfAbsent(graphId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        LOG.debug("New subscriber to Graph : {}", graphId);
+        return subscription;
+    }
+
+    /**
+     * @return the number of open subscriptions to a graph.
+     */
+    public int subscriberCount(Long graphId) {
+        Set<Subscription> graphSubscriptions = subscriptions.get(graphId);
+        return graphSubscriptions != null ? graphSubscriptions.size() : 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        publish(event.graphId(), List.of(new GraphDeltaDTO(GRAPH, event.graphId(), event.type() == ChangeType.DELETED, null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodeChanged(NodeChangedEvent event) {
+        publish(
+            NODE,
+            event.nodeId(),
+            event.previous() != null ? event.previous().graphId() : null,
+            event.current() != null ? event.current().graphId() : null,
+            event.current()
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodesMoved(NodesMovedEvent event) {
+        long[] ids = event.nodeIds();
+        List<GraphDeltaDTO> deltas = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            deltas.add(new GraphDeltaDTO(POSITION, ids[i], false, new float[] { event.x()[i], event.y()[i] }));
+        }
+        publish(event.graphId(), deltas);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEdgeChanged(EdgeChangedEvent event) {
+        publish(
+            EDGE,
+            event.edgeId(),
+            event.previous() != null ? event.previous().graphId() : null,
+            event.current() != null ? event.current().graphId() : null,
+            event.current()
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        publish(
+            COMMENT,
+            event.commentId(),
+            event.previous() != null ? event.previous().graphId() : null,
+            event.current() != null ? event.current().graphId() : null,
+            event.current()
+        );
+    }
+
+    /**
+     * Keeps idle connections open through proxies, and detects the ones the client has left or stopped reading.
+     */
+    @Scheduled(
+        initialDelayString = "${application.broadcast.heartbeat-interval:PT30S}",
+        fixedDelayString = "${application.broadcast.heartbeat-interval:PT30S}"
+    )
+    public void heartbeat() {
+        subscriptions.values().forEach(graphSubscriptions -> graphSubscriptions.forEach(Subscription::heartbeat));
+    }
+
+    /**
+     * An element leaving a graph for another one is a deletion in the former.
+     */
+    private void publish(String kind, Long id, Long previousGraphId, Long currentGraphId, Object current) {
+        if (previousGraphId != null && !previousGraphId.equals(currentGraphId)) {
+            publish(previousGraphId, List.of(new GraphDeltaDTO(kind, id, true, null)));
+        }
+        if (currentGraphId != null) {
+            publish(currentGraphId, List.of(new GraphDeltaDTO(kind, id, current == null, current)));
+        }
+    }
+
+    private void publish(Long graphId, List<GraphDeltaDTO> deltas) {
+        Set<Subscription> graphSubscriptions = subscriptions.get(graphId);
+        if (graphSubscriptions != null) {
+            graphSubscriptions.forEach(subscription -> subscription.offer(deltas));
+        }
+    }
+
+    /**
+     * A subscriber to one graph, with its queue of pending deltas keyed by {@code kind:id}.
+     */
+    public final class Subscription {
+
+        private final Long graphId;
+
+        private final Sink sink;
+
+        private final LinkedHashMap<String, GraphDeltaDTO> pending = new LinkedHashMap<>();
+
+        private boolean resync;
+
+        private boolean heartbeat;
+
+        private boolean draining;
+
+        private boolean cancelled;
+
+        /**
+         * When the write in progress started, from {@link System#nanoTime()}, if {@link #writing}.
+         */
+        private long writeStarted;
+
+        private boolean writing;
+
+        private boolean expired;
+
+        private Subscription(Long graphId, Sink sink) {
+            this.graphId = graphId;
+            this.sink = sink;
+        }
+
+        /**
+         * Stops sending changes; safe to call more than once.
+         */
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                pending.clear();
+            }
+            subscriptions.computeIfPresent(graphId, (id, graphSubscriptions) -> {
+                graphSubscriptions.remove(this);
+                return graphSubscriptions.isEmpty() ? null : graphSubscriptions;
+            });
+        }
+
+        private synchronized void offer(List<GraphDeltaDTO> deltas) {
+            if (cancelled) {
+                return;
+            }
+            for (GraphDeltaDTO delta : deltas) {
+                if (resync) {
+                    break;
+                }
+                String key = delta.getKind() + ":" + delta.getId();
+                // re-inserting moves the element behind the changes it may depend on, e.g. an edge to a new node
+                pending.remove(key);
+                if (pending.size() == queueCapacity) {
+                    pending.clear();
+                    resync = true;
+                } else {
+                    pending.put(key, delta);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (!writing || System.nanoTime() - writeStarted < writeTimeoutNanos) {
+                    heartbeat = true;
+                    scheduleDrain();
+                    return;
+                }
+                expired = true;
+            }
+            // the draining thread closes the connection once its write gives up
+            LOG.debug("Dropping subscriber to Graph : {}, write pending for more than {} ms", graphId, writeTimeoutNanos / 1_000_000);
+            cancel();
+        }
+
+        private void scheduleDrain() {
+            if (draining || cancelled) {
+                return;
+            }
+            draining = true;
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // retried on the next change or heartbeat
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                boolean sendResync;
+                boolean sendHeartbeat;
+                List<GraphDeltaDTO> batch;
+                synchronized (this) {
+                    if (cancelled || (!resync && !heartbeat && pending.isEmpty())) {
+                        draining = false;
+                        return;
+                    }
+                    writing = true;
+                    writeStarted = System.nanoTime();
+                    sendResync = resync;
+                    sendHeartbeat = heartbeat;
+                    batch = new ArrayList<>(pending.values());
+                    resync = false;
+                    heartbeat = false;
+                    pending.clear();
+                }
+                try {
+                    if (sendResync) {
+                        sink.send("resync", graphId);
+                    }
+                    if (!batch.isEmpty()) {
+                        sink.send("delta", batch);
+                    } else if (sendHeartbeat && !sendResync) {
+                        sink.heartbeat();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOG.debug("Dropping subscriber to Graph : {}, {}", graphId, e.getMessage());
+                    synchronized (this) {
+                        draining = false;
+                        writing = false;
+                    }
+                    cancel();
+                    sink.close();
+                    return;
+                }
+                boolean close;
+                synchronized (this) {
+                    writing = false;
+                    close = expired;
+                }
+                if (close) {
+                    sink.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing the per-graph change log read by {@link GraphSyncService}.
+ * <p>
+ * The log is compacted on write: it holds a single row per node or edge, carrying the revision of its latest change
+ * and whether that change was a deletion. Since deltas are rebuilt from the current rows, the latest change is all a
+ * reader needs, and the log never grows past the number of live entities plus the retained tombstones.
+ */
+@Service
+@Transactional
+public class GraphChangeLogService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphChangeLogService.class);
+
+    static final String NODE = "NODE";
+    static final String EDGE = "EDGE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public GraphChangeLogService(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationProperties = applicationProperties;
+    }
+
+    public void recordNode(Long graphId, long revision, Long nodeId, boolean deleted) {
+        record(graphId, revision, NODE, nodeId, deleted);
+    }
+
+    /**
+     * Records updates of many nodes of one graph in a single statement.
+     */
+    public void recordNodes(Long graphId, long revision, long[] nodeIds) {
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(
+                "insert into graph_change (graph_id, entity_type, entity_id, revision, deleted) " +
+                "select ?, ?, id, ?, false from unnest(?) as id " +
+                "on conflict (graph_id, entity_type, entity_id) do update set revision = excluded.revision, deleted = excluded.deleted"
+            );
+            statement.setLong(1, graphId);
+            statement.setString(2, NODE);
+            statement.setLong(3, revision);
+            statement.setArray(4, connection.createArrayOf("int8", Arrays.stream(nodeIds).boxed().toArray()));
+            return statement;
+        });
+    }
+
+    public void recordEdge(Long graphId, long revision, Long edgeId, boolean deleted) {
+        record(graphId, revision, EDGE, edgeId, deleted);
+    }
+
+    private void record(Long graphId, long revision, String entityType, Long entityId, boolean deleted) {
+        jdbcTemplate.update(
+            "insert into graph_change (graph_id, entity_type, entity_id, revision, deleted) values (?, ?, ?, ?, ?) " +
+            "on conflict (graph_id, entity_type, entity_id) do update set revision = excluded.revision, deleted = excluded.deleted",
+            graphId,
+            entityType,
+            entityId,
+            revision,
+            deleted
+        );
+    }
+
+    /**
+     * Drops the tombstones older than {@code application.change-log.tombstone-retention} revisions, and raises the
+     * compacted revision of their graphs accordingly: clients behind it get a full snapshot instead of a delta.
+     */
+    @Scheduled(
+        initialDelayString = "${application.change-log.compaction-interval:PT10M}",
+        fixedDelayString = "${application.change-log.compaction-interval:PT10M}"
+    )
+    public void compact() {
+        int graphs = jdbcTemplate.update(
+            "with dropped as (" +
+            "  delete from graph_change c using graph g" +
+            "  where c.graph_id = g.id and c.deleted and c.revision <= g.revision - ?" +
+            "  returning c.graph_id, c.revision" +
+            ") " +
+            "update graph g set compacted_revision = d.revision " +
+            "from (select graph_id, max(revision) as revision from dropped group by graph_id) d " +
+            "where g.id = d.graph_id and g.compacted_revision < d.revision",
+            applicationProperties.getChangeLog().getTombstoneRetention()
+        );
+        LOG.debug("Compacted the change log of {} graphs", graphs);
+    }
+}
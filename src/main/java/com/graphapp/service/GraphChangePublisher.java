@@ -0,0 +1,89 @@
+package com.graphapp.service;
+
+import com.graphapp.domain.Comment;
+import com.graphapp.domain.Edge;
+import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.CommentChangedEvent;
+import com.graphapp.service.event.CommentState;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.EdgeState;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodeState;
+import com.graphapp.service.event.NodesMovedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes the changes made to graphs, nodes, edges and comments by the write paths.
+ * <p>
+ * Events are published inside the writing transaction. Listeners keeping in-memory state should use
+ * {@code @TransactionalEventListener} so that they only see committed changes.
+ */
+@Service
+public class GraphChangePublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public GraphChangePublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    public void graphCreated(Graph graph) {
+        graphCreated(graph.getId());
+    }
+
+    public void graphCreated(Long graphId) {
+        applicationEventPublisher.publishEvent(new GraphChangedEvent(graphId, ChangeType.CREATED));
+    }
+
+    public void graphUpdated(Graph graph) {
+        applicationEventPublisher.publishEvent(new GraphChangedEvent(graph.getId(), ChangeType.UPDATED));
+    }
+
+    public void graphDeleted(Long graphId) {
+        applicationEventPublisher.publishEvent(new GraphChangedEvent(graphId, ChangeType.DELETED));
+    }
+
+    public void nodeCreated(Node node) {
+        applicationEventPublisher.publishEvent(new NodeChangedEvent(null, NodeState.of(node)));
+    }
+
+    public void nodeUpdated(NodeState previous, Node node) {
+        applicationEventPublisher.publishEvent(new NodeChangedEvent(previous, NodeState.of(node)));
+    }
+
+    public void nodesMoved(Long graphId, long[] nodeIds, float[] x, float[] y) {
+        applicationEventPublisher.publishEvent(new NodesMovedEvent(graphId, nodeIds, x, y));
+    }
+
+    public void nodeDeleted(NodeState previous) {
+        applicationEventPublisher.publishEvent(new NodeChangedEvent(previous, null));
+    }
+
+    public void edgeCreated(Edge edge) {
+        applicationEventPublisher.publishEvent(new EdgeChangedEvent(null, EdgeState.of(edge)));
+    }
+
+    public void edgeUpdated(EdgeState previous, Edge edge) {
+        applicationEventPublisher.publishEvent(new EdgeChangedEvent(previous, EdgeState.of(edge)));
+    }
+
+    public void edgeDeleted(EdgeState previous) {
+        applicationEventPublisher.publishEvent(new EdgeChangedEvent(previous, null));
+    }
+
+    public void commentCreated(Comment comment) {
+        applicationEventPublisher.publishEvent(new CommentChangedEvent(null, CommentState.of(comment)));
+    }
+
+    public void commentUpdated(CommentState previous, Comment comment) {
+        applicationEventPublisher.publishEvent(new CommentChangedEvent(previous, CommentState.of(comment)));
+    }
+
+    public void commentDeleted(CommentState previous) {
+        applicationEventPublisher.publishEvent(new CommentChangedEvent(previous, null));
+    }
+}
@@ -0,0 +1,99 @@
+package com.graphapp.service;
+
+import com.graphapp.service.io.GraphFormat;
+import com.graphapp.service.io.GraphWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing whole graphs out as files.
+ * <p>
+ * Nodes and edges are read through forward-only cursors, fetched {@value #FETCH_SIZE} rows at a time, and each row is
+ * written out as soon as it is read, so the memory used does not depend on the size of the graph. Both cursors run in
+ * one repeatable read transaction, so no edge can reference a node missing from the file.
+ */
+@Service
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public class GraphExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphExportService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GraphExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes a graph to a stream.
+     *
+     * @param graphId the id of the graph.
+     * @param format the format to write, which must be {@link GraphFormat#isWritable() writable}.
+     * @param out the destination, flushed but not closed.
+     * @return {@code false} if the graph does not exist, in which case nothing is written.
+     * @throws IOException if the destination cannot be written to, typically because the client went away.
+     */
+    public boolean export(Long graphId, GraphFormat format, OutputStream out) throws IOException {
+        LOG.debug("Request to export Graph : {} as {}", graphId, format);
+        List<String> names = jdbcTemplate.queryForList("select name from graph where id = ?", String.class, graphId);
+        if (names.isEmpty()) {
+            return false;
+        }
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        GraphWriter graphWriter = format.newWriter(writer);
+        try {
+            graphWriter.begin(graphId, names.get(0));
+            if (graphWriter.writesNodes()) {
+                stream("select id, label, x, y from node where graph_id = ?", graphId, rs -> {
+                    try {
+                        graphWriter.node(rs.getLong(1), rs.getString(2), rs.getFloat(3), rs.getFloat(4));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            stream(
+                "select id, source_id, target_id, weight, directed from edge " +
+                "where graph_id = ? and source_id is not null and target_id is not null",
+                graphId,
+                rs -> {
+                    try {
+                        graphWriter.edge(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getFloat(4), rs.getBoolean(5));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+            graphWriter.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return true;
+    }
+
+    private void stream(String sql, Long graphId, RowCallbackHandler handler) {
+        jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(sql);
+                statement.setLong(1, graphId);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            },
+            handler
+        );
+    }
+}
@@ -0,0 +1,460 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.algo.LongIntHashMap;
+import com.graphapp.service.dto.GraphFileImportDTO;
+import com.graphapp.service.io.GraphFormat;
+import com.graphapp.service.io.GraphFormatException;
+import com.graphapp.service.io.GraphSink;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing graph files in the background, one transaction per file.
+ * <p>
+ * Files are read in a single streaming pass by the reader of their {@link GraphFormat}. Node keys are resolved to
+ * database ids through a primitive hash map when numeric, as in edge lists and DIMACS files, and nodes and edges are
+ * written in JDBC batches as they are read, so the heap holds the key index and one batch, whatever the number of
+ * edges. Nodes without coordinates are laid out on a grid.
+ * <p>
+ * Imports run on an executor of their own, {@code application.graph-import.threads} at a time.
+ */
+@Service
+public class GraphFileImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphFileImportService.class);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final int GRID_COLUMNS = 100;
+
+    private static final float GRID_SPACING = 50f;
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private final Map<String, Progress> imports = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    private final GraphChangePublisher graphChangePublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long maxNodes;
+
+    private final Executor executor;
+
+    public GraphFileImportService(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        GraphChangePublisher graphChangePublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        @Qualifier("importExecutor") Executor executor
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.graphChangePublisher = graphChangePublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxNodes = applicationProperties.getGraphImport().getMaxNodes();
+        this.executor = executor;
+    }
+
+    /**
+     * Starts importing a file as a new graph.
+     *
+     * @param name the name of the graph.
+     * @param format the format of the file.
+     * @param file the file, deleted once imported.
+     * @param directed whether edges are directed when the file does not say, {@code true} if {@code null}.
+     * @return the progress of the import.
+     */
+    public GraphFileImportDTO start(String name, GraphFormat format, Path file, Boolean directed) throws IOException {
+        Instant expired = Instant.now().minus(RETENTION);
+        imports.values().removeIf(progress -> progress.finishedAt != null && progress.finishedAt.isBefore(expired));
+
+        Progress progress = new Progress(UUID.randomUUID().toString(), name, format, Files.size(file));
+        imports.put(progress.id, progress);
+        LOG.debug("Request to import {} file of {} bytes as Graph : {}", format, progress.totalBytes, name);
+        try {
+            executor.execute(() -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    importFile(name, format, in, directed == null || directed, progress);
+                } catch (IOException e) {
+                    progress.fail(e);
+                } finally {
+                    delete(file);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            imports.remove(progress.id);
+            delete(file);
+            throw e;
+        }
+        return progress.toDTO();
+    }
+
+    /**
+     * @param id the id of an import started within the last hour.
+     * @return the progress of the import, if known.
+     */
+    public Optional<GraphFileImportDTO> findProgress(String id) {
+        return Optional.ofNullable(imports.get(id)).map(Progress::toDTO);
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete imported file {}", file, e);
+        }
+    }
+
+    private void importFile(String name, GraphFormat format, InputStream in, boolean directed, Progress progress) {
+        try {
+            Long graphId = transactionTemplate.execute(status -> {
+                BatchWriter writer = new BatchWriter(name, directed, progress);
+                try {
+                    format
+                        .newReader(maxNodes)
+                        .read(new BufferedInputStream(new CountingInputStream(in, progress.bytesRead), 1 << 16), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                writer.flush();
+                graphChangePublisher.graphCreated(writer.graphId);
+                return writer.graphId;
+            });
+            progress.done(graphId);
+            LOG.debug("Imported Graph : {} with {} nodes and {} edges", graphId, progress.nodes.get(), progress.edges.get());
+        } catch (GraphFormatException | InvalidGraphQueryException | UncheckedIOException e) {
+            LOG.debug("Invalid {} file for Graph : {}, {}", format, name, e.getMessage());
+            progress.fail(e);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not import {} file as Graph : {}", format, name, e);
+            progress.fail(e);
+        }
+    }
+
+    /**
+     * Assigns ids to nodes and edges as they are read and writes them in batches, nodes always ahead of the edges
+     * referencing them.
+     */
+    private final class BatchWriter implements GraphSink {
+
+        private final long graphId;
+
+        private final boolean defaultDirected;
+
+        private final Progress progress;
+
+        private final LongIntHashMap numericKeys = new LongIntHashMap(1 << 16);
+
+        private final Map<String, Integer> otherKeys = new HashMap<>();
+
+        private long[] nodeIds = new long[1 << 16];
+
+        private int nodeCount;
+
+        private long[] idPool = new long[0];
+
+        private int idPoolNext;
+
+        private final long[] batchNodeIds = new long[BATCH_SIZE];
+        private final String[] batchLabels = new String[BATCH_SIZE];
+        private final float[] batchX = new float[BATCH_SIZE];
+        private final float[] batchY = new float[BATCH_SIZE];
+        private int batchNodes;
+
+        private final long[] batchEdgeIds = new long[BATCH_SIZE];
+        private final long[] batchSources = new long[BATCH_SIZE];
+        private final long[] batchTargets = new long[BATCH_SIZE];
+        private final float[] batchWeights = new float[BATCH_SIZE];
+        private final boolean[] batchDirected = new boolean[BATCH_SIZE];
+        private int batchEdges;
+
+        BatchWriter(String name, boolean defaultDirected, Progress progress) {
+            this.defaultDirected = defaultDirected;
+            this.progress = progress;
+            this.graphId = nextId();
+            jdbcTemplate.update(
+                "insert into graph (id, name, description, created_at) values (?, ?, ?, ?)",
+                graphId,
+                name,
+                null,
+                Timestamp.from(Instant.now())
+            );
+        }
+
+        @Override
+        public void node(String key, String label, Float x, Float y) {
+            // a node already referenced by an edge, or declared twice, keeps its first occurrence
+            if (indexOf(key) < 0) {
+                add(key, label, x, y);
+            }
+        }
+
+        @Override
+        public void edge(String source, String target, Float weight, Boolean directed) {
+            long sourceId = nodeIds[resolve(source)];
+            long targetId = nodeIds[resolve(target)];
+            if (batchEdges == BATCH_SIZE) {
+                flushEdges();
+            }
+            batchEdgeIds[batchEdges] = nextId();
+            batchSources[batchEdges] = sourceId;
+            batchTargets[batchEdges] = targetId;
+            batchWeights[batchEdges] = weight != null ? weight : 1f;
+            batchDirected[batchEdges] = directed != null ? directed : defaultDirected;
+            batchEdges++;
+        }
+
+        void flush() {
+            flushNodes();
+            flushEdges();
+        }
+
+        private int resolve(String key) {
+            int index = indexOf(key);
+            return index >= 0 ? index : add(key, null, null, null);
+        }
+
+        private int indexOf(String key) {
+            if (isNumeric(key)) {
+                return numericKeys.get(Long.parseLong(key));
+            }
+            Integer index = otherKeys.get(key);
+            return index != null ? index : LongIntHashMap.MISSING;
+        }
+
+        private int add(String key, String label, Float x, Float y) {
+            int index = nodeCount++;
+            if (isNumeric(key)) {
+                numericKeys.put(Long.parseLong(key), index);
+            } else {
+                otherKeys.put(key, index);
+            }
+            if (index == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, index << 1);
+            }
+            long id = nextId();
+            nodeIds[index] = id;
+            if (batchNodes == BATCH_SIZE) {
+                flushNodes();
+            }
+            batchNodeIds[batchNodes] = id;
+            batchLabels[batchNodes] = label != null ? label : key;
+            batchX[batchNodes] = x != null ? x : (index % GRID_COLUMNS) * GRID_SPACING;
+            batchY[batchNodes] = y != null ? y : (index / GRID_COLUMNS) * GRID_SPACING;
+            batchNodes++;
+            return index;
+        }
+
+        private long nextId() {
+            if (idPoolNext == idPool.length) {
+                idPool = sequenceIdAllocator.allocate(BATCH_SIZE);
+                idPoolNext = 0;
+            }
+            return idPool[idPoolNext++];
+        }
+
+        private void flushNodes() {
+            int size = batchNodes;
+            if (size == 0) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(
+                "insert into node (id, label, x, y, graph_id) values (?, ?, ?, ?, ?)",
+                new Batch(size) {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setLong(1, batchNodeIds[i]);
+                        statement.setString(2, batchLabels[i]);
+                        statement.setFloat(3, batchX[i]);
+                        statement.setFloat(4, batchY[i]);
+                        statement.setLong(5, graphId);
+                    }
+                }
+            );
+            batchNodes = 0;
+            progress.nodes.addAndGet(size);
+        }
+
+        private void flushEdges() {
+            int size = batchEdges;
+            if (size == 0) {
+                return;
+            }
+            flushNodes();
+            jdbcTemplate.batchUpdate(
+                "insert into edge (id, weight, directed, source_id, target_id, graph_id) values (?, ?, ?, ?, ?, ?)",
+                new Batch(size) {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setLong(1, batchEdgeIds[i]);
+                        statement.setFloat(2, batchWeights[i]);
+                        statement.setBoolean(3, batchDirected[i]);
+                        statement.setLong(4, batchSources[i]);
+                        statement.setLong(5, batchTargets[i]);
+                        statement.setLong(6, graphId);
+                    }
+                }
+            );
+            batchEdges = 0;
+            progress.edges.addAndGet(size);
+        }
+    }
+
+    /**
+     * @return {@code true} if {@code key} is the canonical decimal form of a {@code long}, so that {@code "7"} and
+     * {@code "07"} stay distinct keys.
+     */
+    static boolean isNumeric(String key) {
+        int length = key.length();
+        int start = length > 1 && key.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > 18 || (key.charAt(start) == '0' && length - start > 1)) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !(start == 1 && key.charAt(1) == '0');
+    }
+
+    private abstract static class Batch implements BatchPreparedStatementSetter {
+
+        private final int size;
+
+        Batch(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+    }
+
+    private static final class Progress {
+
+        private final String id;
+
+        private final String name;
+
+        private final GraphFormat format;
+
+        private final long totalBytes;
+
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong bytesRead = new AtomicLong();
+
+        private final AtomicLong nodes = new AtomicLong();
+
+        private final AtomicLong edges = new AtomicLong();
+
+        private volatile GraphFileImportDTO.Status status = GraphFileImportDTO.Status.RUNNING;
+
+        private volatile Long graphId;
+
+        private volatile String error;
+
+        private volatile Instant finishedAt;
+
+        Progress(String id, String name, GraphFormat format, long totalBytes) {
+            this.id = id;
+            this.name = name;
+            this.format = format;
+            this.totalBytes = totalBytes;
+        }
+
+        void done(Long graphId) {
+            this.graphId = graphId;
+            this.finishedAt = Instant.now();
+            this.status = GraphFileImportDTO.Status.DONE;
+        }
+
+        void fail(Exception e) {
+            this.error = e.getMessage();
+            this.finishedAt = Instant.now();
+            this.status = GraphFileImportDTO.Status.FAILED;
+        }
+
+        GraphFileImportDTO toDTO() {
+            GraphFileImportDTO dto = new GraphFileImportDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setFormat(format);
+            dto.setStatus(status);
+            dto.setBytesRead(bytesRead.get());
+            dto.setTotalBytes(totalBytes);
+            dto.setNodes(nodes.get());
+            dto.setEdges(edges.get());
+            dto.setGraphId(graphId);
+            dto.setError(error);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
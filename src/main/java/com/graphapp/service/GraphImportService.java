@@ -0,0 +1,133 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.FullGraphDTO;
+import com.graphapp.service.dto.GraphImportDTO;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service creating whole graphs in a single transaction.
+ * <p>
+ * Ids are reserved up front through the {@link SequenceIdAllocator}, so that nodes and edges can be written with
+ * JDBC batches straight away instead of one Hibernate insert, and one sequence call, per row.
+ */
+@Service
+@Transactional
+public class GraphImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphImportService.class);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    private final GraphChangePublisher graphChangePublisher;
+
+    public GraphImportService(JdbcTemplate jdbcTemplate, SequenceIdAllocator sequenceIdAllocator, GraphChangePublisher graphChangePublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.graphChangePublisher = graphChangePublisher;
+    }
+
+    /**
+     * Creates a graph with all its nodes and edges.
+     *
+     * @param graph the graph to create.
+     * @return the created graph, with nodes and edges in the order they were given.
+     * @throws InvalidGraphQueryException if two nodes share a key, or an edge references an unknown key.
+     */
+    public FullGraphDTO importGraph(GraphImportDTO graph) {
+        List<GraphImportDTO.NodeDTO> nodes = graph.getNodes();
+        List<GraphImportDTO.EdgeDTO> edges = graph.getEdges();
+        LOG.debug("Request to import Graph : {} with {} nodes and {} edges", graph.getName(), nodes.size(), edges.size());
+        Map<String, Integer> nodeIndex = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodeIndex.putIfAbsent(nodes.get(i).key, i) != null) {
+                throw new InvalidGraphQueryException("Duplicate node key " + nodes.get(i).key, "duplicatenodekey");
+            }
+        }
+
+        long[] ids = sequenceIdAllocator.allocate(1 + nodes.size() + edges.size());
+        FullGraphDTO.GraphDTO graphDTO = new FullGraphDTO.GraphDTO();
+        graphDTO.id = ids[0];
+        graphDTO.name = graph.getName();
+        graphDTO.description = graph.getDescription();
+        graphDTO.revision = 0L;
+
+        List<FullGraphDTO.NodeDTO> nodeDTOs = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            GraphImportDTO.NodeDTO node = nodes.get(i);
+            FullGraphDTO.NodeDTO dto = new FullGraphDTO.NodeDTO();
+            dto.id = ids[1 + i];
+            dto.label = node.label;
+            dto.x = node.x;
+            dto.y = node.y;
+            nodeDTOs.add(dto);
+        }
+        List<FullGraphDTO.EdgeDTO> edgeDTOs = new ArrayList<>(edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            GraphImportDTO.EdgeDTO edge = edges.get(i);
+            FullGraphDTO.EdgeDTO dto = new FullGraphDTO.EdgeDTO();
+            dto.id = ids[1 + nodes.size() + i];
+            dto.source = nodeDTOs.get(indexOf(nodeIndex, edge.source)).id;
+            dto.target = nodeDTOs.get(indexOf(nodeIndex, edge.target)).id;
+            dto.weight = edge.weight;
+            dto.directed = edge.directed == null || edge.directed;
+            edgeDTOs.add(dto);
+        }
+
+        jdbcTemplate.update(
+            "insert into graph (id, name, description, created_at) values (?, ?, ?, ?)",
+            graphDTO.id,
+            graphDTO.name,
+            graphDTO.description,
+            Timestamp.from(Instant.now())
+        );
+        jdbcTemplate.batchUpdate(
+            "insert into node (id, label, x, y, graph_id) values (?, ?, ?, ?, ?)",
+            nodeDTOs,
+            BATCH_SIZE,
+            (statement, node) -> {
+                statement.setLong(1, node.id);
+                statement.setString(2, node.label);
+                statement.setFloat(3, node.x);
+                statement.setFloat(4, node.y);
+                statement.setLong(5, graphDTO.id);
+            }
+        );
+        jdbcTemplate.batchUpdate(
+            "insert into edge (id, weight, directed, source_id, target_id, graph_id) values (?, ?, ?, ?, ?, ?)",
+            edgeDTOs,
+            BATCH_SIZE,
+            (statement, edge) -> {
+                statement.setLong(1, edge.id);
+                statement.setFloat(2, edge.weight);
+                statement.setBoolean(3, edge.directed);
+                statement.setLong(4, edge.source);
+                statement.setLong(5, edge.target);
+                statement.setLong(6, graphDTO.id);
+            }
+        );
+        graphChangePublisher.graphCreated(graphDTO.id);
+        return new FullGraphDTO(graphDTO, nodeDTOs, edgeDTOs);
+    }
+
+    private static int indexOf(Map<String, Integer> nodeIndex, String key) {
+        Integer index = nodeIndex.get(key);
+        if (index == null) {
+            throw new InvalidGraphQueryException("Unknown node key " + key, "unknownnodekey");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,83 @@
+package com.graphapp.service;
+
+import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodesMovedEvent;
+import java.util.Optional;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code revision} column of a graph, bumped by every change to the graph, its nodes or its edges, and
+ * records node and edge changes in the {@link GraphChangeLogService change log}.
+ * <p>
+ * The bump runs in the transaction of the change itself, so a revision is visible exactly when its content is.
+ * Anything derived from a graph can be keyed by {@code (graphId, revision)} and never needs explicit invalidation.
+ */
+@Service
+@Transactional
+public class GraphRevisionService {
+
+    private final GraphRepository graphRepository;
+
+    private final GraphChangeLogService graphChangeLogService;
+
+    public GraphRevisionService(GraphRepository graphRepository, GraphChangeLogService graphChangeLogService) {
+        this.graphRepository = graphRepository;
+        this.graphChangeLogService = graphChangeLogService;
+    }
+
+    /**
+     * @param graphId the id of the graph.
+     * @return the current revision of the graph, or empty if the graph does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findRevision(Long graphId) {
+        return graphRepository.findRevisionById(graphId);
+    }
+
+    @EventListener
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (event.type() == ChangeType.UPDATED) {
+            bump(event.graphId());
+        }
+    }
+
+    @EventListener
+    public void onNodeChanged(NodeChangedEvent event) {
+        Long previousGraphId = event.previous() != null ? event.previous().graphId() : null;
+        Long currentGraphId = event.current() != null ? event.current().graphId() : null;
+        if (previousGraphId != null && !previousGraphId.equals(currentGraphId)) {
+            graphChangeLogService.recordNode(previousGraphId, bump(previousGraphId), event.nodeId(), true);
+        }
+        if (currentGraphId != null) {
+            graphChangeLogService.recordNode(currentGraphId, bump(currentGraphId), event.nodeId(), false);
+        }
+    }
+
+    @EventListener
+    public void onNodesMoved(NodesMovedEvent event) {
+        graphChangeLogService.recordNodes(event.graphId(), bump(event.graphId()), event.nodeIds());
+    }
+
+    @EventListener
+    public void onEdgeChanged(EdgeChangedEvent event) {
+        Long previousGraphId = event.previous() != null ? event.previous().graphId() : null;
+        Long currentGraphId = event.current() != null ? event.current().graphId() : null;
+        if (previousGraphId != null && !previousGraphId.equals(currentGraphId)) {
+            graphChangeLogService.recordEdge(previousGraphId, bump(previousGraphId), event.edgeId(), true);
+        }
+        if (currentGraphId != null) {
+            graphChangeLogService.recordEdge(currentGraphId, bump(currentGraphId), event.edgeId(), false);
+        }
+    }
+
+    private long bump(Long graphId) {
+        graphRepository.incrementRevision(graphId);
+        return graphRepository.findRevisionById(graphId).orElseThrow();
+    }
+}
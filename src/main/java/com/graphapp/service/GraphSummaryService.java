@@ -0,0 +1,406 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.GraphInsightsDTO;
+import com.graphapp.service.dto.GraphSummaryDTO;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.EdgeState;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodesMovedEvent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code graph_summary} read model: node and edge counts, edge weight statistics and the degree
+ * histogram of every graph, served to the insights page without reading nodes or edges.
+ * <p>
+ * Like the {@link GraphRevisionService revision}, the summary is updated in the transaction of each change, from the
+ * states carried by the event rather than from the node and edge tables, which Hibernate may not have flushed yet.
+ * Node degrees are kept in {@code node.degree} so that an edge write moves its endpoints between histogram buckets
+ * without counting their edges. Graphs created in bulk are summarized from their rows once, when created.
+ */
+@Service
+@Transactional
+public class GraphSummaryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphSummaryService.class);
+
+    static final Set<String> TIME_BUCKETS = Set.of("day", "week", "month", "year");
+
+    private static final int LARGEST_GRAPHS = 20;
+
+    private static final String SUMMARY_COLUMNS =
+        "g.id, g.name, g.created_at, s.last_modified, coalesce(s.node_count, 0), coalesce(s.edge_count, 0), " +
+        "coalesce(s.directed_edge_count, 0), s.weight_min, s.weight_max, coalesce(s.weight_sum, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GraphSummaryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the degree histogram bucket of a degree: its bit length.
+     */
+    static int degreeBucket(int degree) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(degree);
+    }
+
+    /**
+     * Gets the summary of a graph, with its degree histogram.
+     *
+     * @param graphId the id of the graph.
+     * @return the summary, or empty if the graph does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GraphSummaryDTO> getSummary(Long graphId) {
+        LOG.debug("Request to get summary of Graph : {}", graphId);
+        return jdbcTemplate
+            .query(
+                "select " + SUMMARY_COLUMNS + " from graph g left join graph_summary s on s.graph_id = g.id where g.id = ?",
+                GraphSummaryService::mapSummary,
+                graphId
+            )
+            .stream()
+            .findFirst()
+            .map(summary -> {
+                List<Long> histogram = new ArrayList<>();
+                jdbcTemplate.query(
+                    "select bucket, node_count from graph_degree_bucket where graph_id = ? and node_count > 0 order by bucket",
+                    rs -> {
+                        int bucket = rs.getInt(1);
+                        while (histogram.size() < bucket) {
+                            histogram.add(0L);
+                        }
+                        histogram.add(rs.getLong(2));
+                    },
+                    graphId
+                );
+                summary.setDegreeHistogram(histogram);
+                return summary;
+            });
+    }
+
+    /**
+     * Aggregates the summaries of all graphs.
+     *
+     * @param timeBucket the period to count graph creations by: {@code day}, {@code week}, {@code month} or {@code year}.
+     * @return the insights.
+     * @throws InvalidGraphQueryException if the period is unknown.
+     */
+    @Transactional(readOnly = true)
+    public GraphInsightsDTO getInsights(String timeBucket) {
+        LOG.debug("Request to get Graph insights by {}", timeBucket);
+        if (!TIME_BUCKETS.contains(timeBucket)) {
+            throw new InvalidGraphQueryException("Unknown time bucket " + timeBucket, "unknowntimebucket");
+        }
+        GraphInsightsDTO insights = new GraphInsightsDTO();
+        jdbcTemplate.query(
+            "select count(*), coalesce(sum(s.node_count), 0), coalesce(sum(s.edge_count), 0) " +
+            "from graph g left join graph_summary s on s.graph_id = g.id",
+            rs -> {
+                insights.setGraphCount(rs.getLong(1));
+                insights.setNodeCount(rs.getLong(2));
+                insights.setEdgeCount(rs.getLong(3));
+            }
+        );
+        insights.setCreated(
+            jdbcTemplate.query(
+                "select date_trunc(?, created_at) as period, count(*) from graph group by period order by period nulls last",
+                (rs, rowNum) -> new GraphInsightsDTO.CreatedBucket(toInstant(rs.getTimestamp(1)), rs.getLong(2)),
+                timeBucket
+            )
+        );
+        insights.setSizes(
+            jdbcTemplate.query(
+                "select case when coalesce(s.node_count, 0) = 0 then 0 else length(s.node_count::text) end as digits, count(*) " +
+                "from graph g left join graph_summary s on s.graph_id = g.id group by digits order by digits",
+                (rs, rowNum) -> new GraphInsightsDTO.SizeBucket(rs.getInt(1) == 0 ? 0 : (long) Math.pow(10, rs.getInt(1) - 1), rs.getLong(2))
+            )
+        );
+        insights.setLargest(
+            jdbcTemplate.query(
+                "select " + SUMMARY_COLUMNS + " from graph_summary s join graph g on g.id = s.graph_id " +
+                "order by s.edge_count desc, s.node_count desc, g.id limit ?",
+                GraphSummaryService::mapSummary,
+                LARGEST_GRAPHS
+            )
+        );
+        return insights;
+    }
+
+    @EventListener
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            summarize(event.graphId());
+        } else if (event.type() == ChangeType.UPDATED) {
+            add(event.graphId(), 0, 0, 0, 0, null);
+        }
+    }
+
+    @EventListener
+    public void onNodeChanged(NodeChangedEvent event) {
+        Long previousGraphId = event.previous() != null ? event.previous().graphId() : null;
+        Long currentGraphId = event.current() != null ? event.current().graphId() : null;
+        if (previousGraphId != null && previousGraphId.equals(currentGraphId)) {
+            add(currentGraphId, 0, 0, 0, 0, null);
+            return;
+        }
+        // a new node has no edges yet, an existing one keeps its edges when it changes graph
+        int bucket = event.previous() == null ? 0 : degreeBucket(findDegree(event.nodeId()));
+        if (previousGraphId != null) {
+            add(previousGraphId, -1, 0, 0, 0, null);
+            addToBucket(previousGraphId, bucket, -1);
+        }
+        if (currentGraphId != null) {
+            add(currentGraphId, 1, 0, 0, 0, null);
+            addToBucket(currentGraphId, bucket, 1);
+        }
+    }
+
+    @EventListener
+    public void onNodesMoved(NodesMovedEvent event) {
+        add(event.graphId(), 0, 0, 0, 0, null);
+    }
+
+    @EventListener
+    public void onEdgeChanged(EdgeChangedEvent event) {
+        EdgeState previous = event.previous();
+        EdgeState current = event.current();
+        if (previous != null && previous.graphId() != null) {
+            remove(previous);
+        }
+        if (current != null && current.graphId() != null) {
+            float weight = current.weight() != null ? current.weight() : 0;
+            add(current.graphId(), 0, 1, Boolean.TRUE.equals(current.directed()) ? 1 : 0, weight, current.weight());
+        }
+
+        Map<Long, Integer> degreeChanges = new LinkedHashMap<>();
+        if (previous != null) {
+            changeDegree(degreeChanges, previous.sourceId(), -1);
+            changeDegree(degreeChanges, previous.targetId(), -1);
+        }
+        if (current != null) {
+            changeDegree(degreeChanges, current.sourceId(), 1);
+            changeDegree(degreeChanges, current.targetId(), 1);
+        }
+        degreeChanges.forEach((nodeId, change) -> {
+            if (change != 0) {
+                updateDegree(nodeId, change);
+            }
+        });
+    }
+
+    /**
+     * Removes an edge from the statistics of its graph. The summary counts the edges weighing its minimum and its
+     * maximum, so that they are only recomputed from the other edges once the last edge of that weight is gone.
+     */
+    private void remove(EdgeState edge) {
+        float weight = edge.weight() != null ? edge.weight() : 0;
+        add(edge.graphId(), 0, -1, Boolean.TRUE.equals(edge.directed()) ? -1 : 0, -weight, null);
+        if (edge.weight() == null) {
+            return;
+        }
+        jdbcTemplate.query(
+            "update graph_summary set " +
+            "weight_min_count = weight_min_count - case when weight_min = ? then 1 else 0 end, " +
+            "weight_max_count = weight_max_count - case when weight_max = ? then 1 else 0 end " +
+            "where graph_id = ? and (weight_min = ? or weight_max = ?) " +
+            "returning weight_min_count, weight_max_count",
+            rs -> {
+                if (rs.getLong(1) <= 0) {
+                    rescanWeight(edge, "weight_min", "asc");
+                }
+                if (rs.getLong(2) <= 0) {
+                    rescanWeight(edge, "weight_max", "desc");
+                }
+            },
+            edge.weight(),
+            edge.weight(),
+            edge.graphId(),
+            edge.weight(),
+            edge.weight()
+        );
+    }
+
+    /**
+     * Recomputes the minimum or the maximum weight of the graph of a removed edge, and the number of edges weighing it,
+     * from its other edges.
+     */
+    private void rescanWeight(EdgeState removed, String column, String order) {
+        Object[] extreme = jdbcTemplate
+            .query(
+                "select weight, count(*) from edge where graph_id = ? and id <> ? and weight is not null " +
+                "group by weight order by weight " +
+                order +
+                " limit 1",
+                (rs, rowNum) -> new Object[] { rs.getObject(1, Float.class), rs.getLong(2) },
+                removed.graphId(),
+                removed.id()
+            )
+            .stream()
+            .findFirst()
+            .orElse(new Object[] { null, 0L });
+        jdbcTemplate.update(
+            "update graph_summary set " + column + " = ?, " + column + "_count = ? where graph_id = ?",
+            extreme[0],
+            extreme[1],
+            removed.graphId()
+        );
+    }
+
+    /**
+     * Adds deltas to the summary of a graph, creating it if needed, and marks it modified.
+     */
+    private void add(Long graphId, int nodes, int edges, int directedEdges, float weightSum, Float weight) {
+        jdbcTemplate.update(
+            "insert into graph_summary (graph_id, node_count, edge_count, directed_edge_count, " +
+            "weight_min, weight_max, weight_min_count, weight_max_count, weight_sum, last_modified) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "on conflict (graph_id) do update set " +
+            "node_count = graph_summary.node_count + excluded.node_count, " +
+            "edge_count = graph_summary.edge_count + excluded.edge_count, " +
+            "directed_edge_count = graph_summary.directed_edge_count + excluded.directed_edge_count, " +
+            "weight_min = least(graph_summary.weight_min, excluded.weight_min), " +
+            "weight_max = greatest(graph_summary.weight_max, excluded.weight_max), " +
+            "weight_min_count = case " +
+            "when excluded.weight_min is null then graph_summary.weight_min_count " +
+            "when graph_summary.weight_min is null or excluded.weight_min < graph_summary.weight_min then 1 " +
+            "when excluded.weight_min = graph_summary.weight_min then graph_summary.weight_min_count + 1 " +
+            "else graph_summary.weight_min_count end, " +
+            "weight_max_count = case " +
+            "when excluded.weight_max is null then graph_summary.weight_max_count " +
+            "when graph_summary.weight_max is null or excluded.weight_max > graph_summary.weight_max then 1 " +
+            "when excluded.weight_max = graph_summary.weight_max then graph_summary.weight_max_count + 1 " +
+            "else graph_summary.weight_max_count end, " +
+            "weight_sum = graph_summary.weight_sum + excluded.weight_sum, " +
+            "last_modified = excluded.last_modified",
+            graphId,
+            nodes,
+            edges,
+            directedEdges,
+            weight,
+            weight,
+            weight != null ? 1 : 0,
+            weight != null ? 1 : 0,
+            (double) weightSum,
+            Timestamp.from(Instant.now())
+        );
+    }
+
+    private void addToBucket(Long graphId, int bucket, int nodes) {
+        jdbcTemplate.update(
+            "insert into graph_degree_bucket (graph_id, bucket, node_count) values (?, ?, ?) " +
+            "on conflict (graph_id, bucket) do update set node_count = graph_degree_bucket.node_count + excluded.node_count",
+            graphId,
+            bucket,
+            nodes
+        );
+    }
+
+    private static void changeDegree(Map<Long, Integer> degreeChanges, Long nodeId, int change) {
+        if (nodeId != null) {
+            degreeChanges.merge(nodeId, change, Integer::sum);
+        }
+    }
+
+    /**
+     * Changes the degree of a node, and moves it to its new histogram bucket if needed.
+     */
+    private void updateDegree(Long nodeId, int change) {
+        jdbcTemplate.query(
+            "update node set degree = degree + ? where id = ? returning graph_id, degree",
+            rs -> {
+                long graphId = rs.getLong(1);
+                if (rs.wasNull()) {
+                    return;
+                }
+                int degree = rs.getInt(2);
+                int previousBucket = degreeBucket(degree - change);
+                int bucket = degreeBucket(degree);
+                if (bucket != previousBucket) {
+                    addToBucket(graphId, previousBucket, -1);
+                    addToBucket(graphId, bucket, 1);
+                }
+            },
+            change,
+            nodeId
+        );
+    }
+
+    private int findDegree(Long nodeId) {
+        List<Integer> degrees = jdbcTemplate.queryForList("select degree from node where id = ?", Integer.class, nodeId);
+        return degrees.isEmpty() ? 0 : degrees.get(0);
+    }
+
+    /**
+     * Computes the summary of a graph, and the degrees of its nodes, from its rows.
+     */
+    private void summarize(Long graphId) {
+        jdbcTemplate.update(
+            "update node n set degree = d.degree from (" +
+            "  select node_id, count(*) as degree from (" +
+            "    select source_id as node_id from edge where graph_id = ? union all select target_id from edge where graph_id = ?" +
+            "  ) e where node_id is not null group by node_id" +
+            ") d where n.id = d.node_id",
+            graphId,
+            graphId
+        );
+        jdbcTemplate.update("delete from graph_summary where graph_id = ?", graphId);
+        jdbcTemplate.update(
+            "insert into graph_summary (graph_id, node_count, edge_count, directed_edge_count, weight_min, weight_max, weight_sum, last_modified) " +
+            "select g.id, (select count(*) from node n where n.graph_id = g.id), count(e.id), count(e.id) filter (where e.directed), " +
+            "min(e.weight), max(e.weight), coalesce(sum(e.weight), 0), ? " +
+            "from graph g left join edge e on e.graph_id = g.id where g.id = ? group by g.id",
+            Timestamp.from(Instant.now()),
+            graphId
+        );
+        jdbcTemplate.update(
+            "update graph_summary s set " +
+            "weight_min_count = (select count(*) from edge e where e.graph_id = s.graph_id and e.weight = s.weight_min), " +
+            "weight_max_count = (select count(*) from edge e where e.graph_id = s.graph_id and e.weight = s.weight_max) " +
+            "where s.graph_id = ? and s.weight_min is not null",
+            graphId
+        );
+        jdbcTemplate.update("delete from graph_degree_bucket where graph_id = ?", graphId);
+        jdbcTemplate.update(
+            "insert into graph_degree_bucket (graph_id, bucket, node_count) " +
+            "select graph_id, length(ltrim(degree::bit(32)::text, '0')) as bucket, count(*) from node where graph_id = ? group by graph_id, bucket",
+            graphId
+        );
+    }
+
+    private static GraphSummaryDTO mapSummary(ResultSet rs, int rowNum) throws SQLException {
+        GraphSummaryDTO summary = new GraphSummaryDTO();
+        summary.setGraphId(rs.getLong(1));
+        summary.setName(rs.getString(2));
+        summary.setCreatedAt(toInstant(rs.getTimestamp(3)));
+        summary.setLastModified(toInstant(rs.getTimestamp(4)));
+        summary.setNodeCount(rs.getLong(5));
+        summary.setEdgeCount(rs.getLong(6));
+        summary.setDirectedRatio(summary.getEdgeCount() > 0 ? (double) rs.getLong(7) / summary.getEdgeCount() : null);
+        summary.setWeightMin(rs.getObject(8, Float.class));
+        summary.setWeightMax(rs.getObject(9, Float.class));
+        summary.setWeightSum(rs.getDouble(10));
+        return summary;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
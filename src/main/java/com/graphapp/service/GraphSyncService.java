@@ -0,0 +1,277 @@
+package com.graphapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.service.dto.FullGraphDTO;
+import com.graphapp.service.dto.GraphChangesDTO;
+import com.graphapp.service.io.ColumnarGraphEncoder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reading whole graphs, or their changes since a revision, for clients keeping a copy in sync.
+ * <p>
+ * Rows are mapped straight from JDBC, and every read runs under repeatable read so that the content returned is
+ * exactly the one of the revision it is tagged with.
+ */
+@Service
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public class GraphSyncService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphSyncService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String NODE_COLUMNS = "n.id, n.label, n.x, n.y";
+
+    private static final String EDGE_COLUMNS = "e.id, e.source_id, e.target_id, e.weight, e.directed";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    public GraphSyncService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes a graph with all its nodes and edges as JSON, in the shape of {@link FullGraphDTO}.
+     * <p>
+     * Rows are written with a {@link JsonGenerator} as they come out of the cursor, so neither entities nor DTO lists
+     * are built, whatever the size of the graph, and the first bytes leave before the last rows are read.
+     *
+     * @param graphId the id of the graph.
+     * @param out the destination, flushed but not closed.
+     * @return {@code false} if the graph does not exist, in which case nothing is written.
+     * @throws IOException if the destination cannot be written to.
+     */
+    public boolean writeFullGraph(Long graphId, OutputStream out) throws IOException {
+        LOG.debug("Request to write full Graph : {}", graphId);
+        Optional<GraphRow> graph = findGraph(graphId);
+        if (graph.isEmpty()) {
+            return false;
+        }
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writePOJOField("graph", graph.orElseThrow().dto());
+        json.writeArrayFieldStart("nodes");
+        stream("select " + NODE_COLUMNS + " from node n where n.graph_id = ?", graphId, rs -> {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeStringField("label", rs.getString(2));
+            json.writeNumberField("x", rs.getFloat(3));
+            json.writeNumberField("y", rs.getFloat(4));
+            json.writeEndObject();
+        });
+        json.writeEndArray();
+        json.writeArrayFieldStart("edges");
+        stream("select " + EDGE_COLUMNS + " from edge e where e.graph_id = ?", graphId, rs -> {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeFieldName("source");
+            writeNullableLong(json, rs.getObject(2, Long.class));
+            json.writeFieldName("target");
+            writeNullableLong(json, rs.getObject(3, Long.class));
+            json.writeNumberField("weight", rs.getFloat(4));
+            json.writeBooleanField("directed", rs.getBoolean(5));
+            json.writeEndObject();
+        });
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+        return true;
+    }
+
+    /**
+     * Writes a graph with all its nodes and edges in the columnar encoding of {@link ColumnarGraphEncoder}.
+     * <p>
+     * Columns cannot be written before all rows are read, so rows are collected into the primitive arrays of the
+     * encoder rather than into DTOs, then written out in one go.
+     *
+     * @param graphId the id of the graph.
+     * @param out the destination, flushed but not closed.
+     * @return {@code false} if the graph does not exist, in which case nothing is written.
+     * @throws IOException if the destination cannot be written to.
+     */
+    public boolean writeFullGraphColumns(Long graphId, OutputStream out) throws IOException {
+        LOG.debug("Request to write full Graph : {} as columns", graphId);
+        Optional<GraphRow> graph = findGraph(graphId);
+        if (graph.isEmpty()) {
+            return false;
+        }
+        ColumnarGraphEncoder encoder = new ColumnarGraphEncoder();
+        stream("select " + NODE_COLUMNS + " from node n where n.graph_id = ?", graphId, rs ->
+            encoder.node(rs.getLong(1), rs.getString(2), rs.getFloat(3), rs.getFloat(4))
+        );
+        stream("select " + EDGE_COLUMNS + " from edge e where e.graph_id = ?", graphId, rs ->
+            encoder.edge(rs.getLong(1), rs.getObject(2, Long.class), rs.getObject(3, Long.class), rs.getFloat(4), rs.getBoolean(5))
+        );
+        FullGraphDTO.GraphDTO dto = graph.orElseThrow().dto();
+        encoder.writeTo(dto.id, dto.revision, dto.name, dto.description, out);
+        return true;
+    }
+
+    /**
+     * Gets the changes of a graph since a revision, or the whole graph if that revision is no longer in the change
+     * log (or was never reached).
+     *
+     * @param graphId the id of the graph.
+     * @param since the revision the client holds.
+     * @return the changes, or empty if the graph does not exist.
+     */
+    public Optional<GraphChangesDTO> getChanges(Long graphId, long since) {
+        LOG.debug("Request to get changes of Graph : {} since revision {}", graphId, since);
+        return findGraph(graphId).map(graph -> {
+            if (since < graph.compactedRevision() || since > graph.dto().revision) {
+                return new GraphChangesDTO(since, true, graph.dto(), findNodes(graphId), findEdges(graphId), List.of(), List.of());
+            }
+            return new GraphChangesDTO(
+                since,
+                false,
+                graph.dto(),
+                query(
+                    "select " + NODE_COLUMNS + " from graph_change c join node n on n.id = c.entity_id and n.graph_id = c.graph_id " +
+                    "where c.graph_id = ? and c.entity_type = ? and c.revision > ? and not c.deleted",
+                    GraphSyncService::mapNode,
+                    graphId,
+                    GraphChangeLogService.NODE,
+                    since
+                ),
+                query(
+                    "select " + EDGE_COLUMNS + " from graph_change c join edge e on e.id = c.entity_id and e.graph_id = c.graph_id " +
+                    "where c.graph_id = ? and c.entity_type = ? and c.revision > ? and not c.deleted",
+                    GraphSyncService::mapEdge,
+                    graphId,
+                    GraphChangeLogService.EDGE,
+                    since
+                ),
+                findRemoved(graphId, GraphChangeLogService.NODE, since),
+                findRemoved(graphId, GraphChangeLogService.EDGE, since)
+            );
+        });
+    }
+
+    private Optional<GraphRow> findGraph(Long graphId) {
+        return query(
+            "select id, name, description, revision, compacted_revision from graph where id = ?",
+            (rs, rowNum) -> {
+                FullGraphDTO.GraphDTO dto = new FullGraphDTO.GraphDTO();
+                dto.id = rs.getLong(1);
+                dto.name = rs.getString(2);
+                dto.description = rs.getString(3);
+                dto.revision = rs.getLong(4);
+                return new GraphRow(dto, rs.getLong(5));
+            },
+            graphId
+        )
+            .stream()
+            .findFirst();
+    }
+
+    private List<FullGraphDTO.NodeDTO> findNodes(Long graphId) {
+        return query("select " + NODE_COLUMNS + " from node n where n.graph_id = ?", GraphSyncService::mapNode, graphId);
+    }
+
+    private List<FullGraphDTO.EdgeDTO> findEdges(Long graphId) {
+        return query("select " + EDGE_COLUMNS + " from edge e where e.graph_id = ?", GraphSyncService::mapEdge, graphId);
+    }
+
+    private List<Long> findRemoved(Long graphId, String entityType, long since) {
+        return query(
+            "select entity_id from graph_change where graph_id = ? and entity_type = ? and revision > ? and deleted",
+            (rs, rowNum) -> rs.getLong(1),
+            graphId,
+            entityType,
+            since
+        );
+    }
+
+    /**
+     * Runs a query on the rows of one graph, handing each row to {@code handler} as it is fetched.
+     */
+    private void stream(String sql, Long graphId, RowWriter handler) throws IOException {
+        try {
+            jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(sql);
+                    statement.setLong(1, graphId);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> {
+                    try {
+                        handler.write(rs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeNullableLong(JsonGenerator json, Long value) throws IOException {
+        if (value != null) {
+            json.writeNumber(value);
+        } else {
+            json.writeNull();
+        }
+    }
+
+    private <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        return jdbcTemplate.query(
+            connection -> {
+                var statement = connection.prepareStatement(sql);
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            },
+            rowMapper
+        );
+    }
+
+    private static FullGraphDTO.NodeDTO mapNode(ResultSet rs, int rowNum) throws SQLException {
+        FullGraphDTO.NodeDTO dto = new FullGraphDTO.NodeDTO();
+        dto.id = rs.getLong(1);
+        dto.label = rs.getString(2);
+        dto.x = rs.getFloat(3);
+        dto.y = rs.getFloat(4);
+        return dto;
+    }
+
+    private static FullGraphDTO.EdgeDTO mapEdge(ResultSet rs, int rowNum) throws SQLException {
+        FullGraphDTO.EdgeDTO dto = new FullGraphDTO.EdgeDTO();
+        dto.id = rs.getLong(1);
+        dto.source = rs.getObject(2, Long.class);
+        dto.target = rs.getObject(3, Long.class);
+        dto.weight = rs.getFloat(4);
+        dto.directed = rs.getBoolean(5);
+        return dto;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private record GraphRow(FullGraphDTO.GraphDTO dto, long compactedRevision) {}
+}
@@ -0,0 +1,20 @@
+package com.graphapp.service;
+
+/**
+ * Thrown when a query cannot be answered on a graph, for instance because it names a node that is not part of it.
+ */
+public class InvalidGraphQueryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public InvalidGraphQueryException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
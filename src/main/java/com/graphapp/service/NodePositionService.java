@@ -0,0 +1,121 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.NodePositionsDTO;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service moving many nodes of a graph at once, for drag and layout edits.
+ * <p>
+ * Positions are applied with one {@code UPDATE ... FROM unnest(...)} per batch, without loading the nodes. The update
+ * is restricted to the graph, so a node of another graph simply does not match: comparing the rows updated with the
+ * ones requested validates ownership without a separate query.
+ */
+@Service
+@Transactional
+public class NodePositionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NodePositionService.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final GraphChangePublisher graphChangePublisher;
+
+    public NodePositionService(JdbcTemplate jdbcTemplate, GraphChangePublisher graphChangePublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.graphChangePublisher = graphChangePublisher;
+    }
+
+    /**
+     * Moves nodes of a graph.
+     *
+     * @param graphId the id of the graph.
+     * @param positions the new positions.
+     * @throws InvalidGraphQueryException if the arrays differ in length, a node is listed twice, or a node is not part of the graph.
+     */
+    public void updatePositions(Long graphId, NodePositionsDTO positions) {
+        long[] ids = positions.getIds();
+        checkPositions(ids, positions.getX(), positions.getY());
+        Set<Long> distinct = new HashSet<>(ids.length * 2);
+        for (long id : ids) {
+            if (!distinct.add(id)) {
+                throw new InvalidGraphQueryException("Node " + id + " is listed twice", "duplicatenode");
+            }
+        }
+        if (move(graphId, ids, positions.getX(), positions.getY()) != ids.length) {
+            // rolls back the batches already applied
+            throw new InvalidGraphQueryException("Some nodes are not part of the graph", "nodenotingraph");
+        }
+    }
+
+    /**
+     * Moves the listed nodes that are still part of a graph, and ignores the others, deleted or moved to another
+     * graph in the meantime. Ids must be distinct.
+     *
+     * @param graphId the id of the graph.
+     * @param ids the ids of the nodes.
+     * @param x the new abscissas.
+     * @param y the new ordinates.
+     * @return the number of nodes moved.
+     */
+    public int applyPositions(Long graphId, long[] ids, float[] x, float[] y) {
+        checkPositions(ids, x, y);
+        return move(graphId, ids, x, y);
+    }
+
+    private static void checkPositions(long[] ids, float[] x, float[] y) {
+        if (x.length != ids.length || y.length != ids.length) {
+            throw new InvalidGraphQueryException("Node ids and coordinates differ in length", "positionlength");
+        }
+    }
+
+    private int move(Long graphId, long[] ids, float[] x, float[] y) {
+        LOG.debug("Request to move {} nodes of Graph : {}", ids.length, graphId);
+        long[] moved = new long[ids.length];
+        float[] movedX = new float[ids.length];
+        float[] movedY = new float[ids.length];
+        int[] count = new int[1];
+        for (int from = 0; from < ids.length; from += BATCH_SIZE) {
+            int to = Math.min(ids.length, from + BATCH_SIZE);
+            Long[] batchIds = Arrays.stream(ids, from, to).boxed().toArray(Long[]::new);
+            Float[] batchX = new Float[to - from];
+            Float[] batchY = new Float[to - from];
+            for (int i = from; i < to; i++) {
+                batchX[i - from] = x[i];
+                batchY[i - from] = y[i];
+            }
+            jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                        "update node n set x = p.x, y = p.y from unnest(?, ?, ?) as p(id, x, y) " +
+                        "where n.id = p.id and n.graph_id = ? returning n.id, n.x, n.y"
+                    );
+                    statement.setArray(1, connection.createArrayOf("int8", batchIds));
+                    statement.setArray(2, connection.createArrayOf("float4", batchX));
+                    statement.setArray(3, connection.createArrayOf("float4", batchY));
+                    statement.setLong(4, graphId);
+                    return statement;
+                },
+                rs -> {
+                    moved[count[0]] = rs.getLong(1);
+                    movedX[count[0]] = rs.getFloat(2);
+                    movedY[count[0]] = rs.getFloat(3);
+                    count[0]++;
+                }
+            );
+        }
+        if (count[0] > 0) {
+            int size = count[0];
+            graphChangePublisher.nodesMoved(graphId, Arrays.copyOf(moved, size), Arrays.copyOf(movedX, size), Arrays.copyOf(movedY, size));
+        }
+        return count[0];
+    }
+}
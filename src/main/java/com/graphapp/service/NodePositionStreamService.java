@@ -0,0 +1,126 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.NodePositionsDTO;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for node positions streamed while dragging.
+ * <p>
+ * Submitted positions are coalesced per node in memory, the last one winning, and written every
+ * {@code application.position-stream.flush-interval} through {@link NodePositionService#applyPositions}, one
+ * transaction per graph. The database thus sees at most one batched update per graph and interval, whatever the rate
+ * of pointer events. Each submission is acknowledged once the flush holding it has committed, with the revision of the
+ * graph at that point.
+ */
+@Service
+public class NodePositionStreamService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NodePositionStreamService.class);
+
+    private final Map<Long, PendingPositions> pending = new ConcurrentHashMap<>();
+
+    private final NodePositionService nodePositionService;
+
+    private final GraphRevisionService graphRevisionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public NodePositionStreamService(
+        NodePositionService nodePositionService,
+        GraphRevisionService graphRevisionService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.nodePositionService = nodePositionService;
+        this.graphRevisionService = graphRevisionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Buffers new positions for nodes of a graph.
+     *
+     * @param graphId the id of the graph.
+     * @param positions the new positions.
+     * @return a future completed with the revision of the graph once the positions are written; nodes no longer part
+     * of the graph by then are ignored.
+     * @throws InvalidGraphQueryException if the arrays differ in length.
+     */
+    public CompletableFuture<Long> submit(Long graphId, NodePositionsDTO positions) {
+        long[] ids = positions.getIds();
+        float[] x = positions.getX();
+        float[] y = positions.getY();
+        if (x.length != ids.length || y.length != ids.length) {
+            throw new InvalidGraphQueryException("Node ids and coordinates differ in length", "positionlength");
+        }
+        CompletableFuture<Long> ack = new CompletableFuture<>();
+        pending.compute(graphId, (id, buffer) -> {
+            PendingPositions merged = buffer != null ? buffer : new PendingPositions();
+            for (int i = 0; i < ids.length; i++) {
+                merged.positions.put(ids[i], new float[] { x[i], y[i] });
+            }
+            merged.acks.add(ack);
+            return merged;
+        });
+        return ack;
+    }
+
+    /**
+     * Writes the buffered positions, one transaction per graph.
+     */
+    @Scheduled(
+        initialDelayString = "${application.position-stream.flush-interval:PT0.2S}",
+        fixedDelayString = "${application.position-stream.flush-interval:PT0.2S}"
+    )
+    @PreDestroy
+    public void flush() {
+        for (Long graphId : pending.keySet()) {
+            PendingPositions buffer = pending.remove(graphId);
+            if (buffer != null) {
+                flush(graphId, buffer);
+            }
+        }
+    }
+
+    private void flush(Long graphId, PendingPositions buffer) {
+        int size = buffer.positions.size();
+        long[] ids = new long[size];
+        float[] x = new float[size];
+        float[] y = new float[size];
+        int i = 0;
+        for (Map.Entry<Long, float[]> entry : buffer.positions.entrySet()) {
+            ids[i] = entry.getKey();
+            x[i] = entry.getValue()[0];
+            y[i] = entry.getValue()[1];
+            i++;
+        }
+        try {
+            Long revision = transactionTemplate.execute(status -> {
+                nodePositionService.applyPositions(graphId, ids, x, y);
+                return graphRevisionService.findRevision(graphId).orElse(null);
+            });
+            LOG.debug("Flushed {} streamed node positions of Graph : {} at revision {}", size, graphId, revision);
+            buffer.acks.forEach(ack -> ack.complete(revision));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not flush streamed node positions of Graph : {}", graphId, e);
+            buffer.acks.forEach(ack -> ack.completeExceptionally(e));
+        }
+    }
+
+    private static final class PendingPositions {
+
+        private final Map<Long, float[]> positions = new HashMap<>();
+
+        private final List<CompletableFuture<Long>> acks = new ArrayList<>();
+    }
+}
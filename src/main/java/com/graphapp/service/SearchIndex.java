@@ -0,0 +1,234 @@
+package com.graphapp.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index of short texts over their character trigrams.
+ * <p>
+ * Texts are split into words, lower-cased and stripped of accents. Each word is indexed by the trigrams of
+ * {@code ^word$}, plus the bigram {@code ^w}, so that a query word, taken as a prefix, matches the words it starts
+ * and, with one typo, still shares most of their trigrams. A text matches when it holds at least
+ * {@value #MINIMUM_MATCH} of the trigrams of the query, and is ranked by that share, then by the share of its own
+ * trigrams it covers, shorter texts first.
+ * <p>
+ * Only the rarest trigrams of a query are scanned for candidates: a text missing all of them cannot hold enough of the
+ * others, so common trigrams are only probed, never scanned. Writers update one text at a time and never block
+ * readers; a reader may briefly see a text both before and after a concurrent update, and drops the stale one.
+ */
+final class SearchIndex {
+
+    static final double MINIMUM_MATCH = 0.6;
+
+    static final int SNIPPET_LENGTH = 200;
+
+    enum Kind {
+        GRAPH,
+        NODE,
+        COMMENT,
+    }
+
+    record Key(Kind kind, long id) {}
+
+    record Hit(Kind kind, long id, Long graphId, String text, double score) {}
+
+    private static final class Document {
+
+        private final Key key;
+
+        private final Long graphId;
+
+        private final String snippet;
+
+        private final String[] grams;
+
+        private Document(Key key, Long graphId, String snippet, String[] grams) {
+            this.key = key;
+            this.graphId = graphId;
+            this.snippet = snippet;
+            this.grams = grams;
+        }
+    }
+
+    private final Map<Key, Document> documents = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Document>> postings = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Key>> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a text, replacing the previous text of the same key. A blank text removes it.
+     */
+    void put(Kind kind, long id, Long graphId, String text) {
+        documents.compute(new Key(kind, id), (key, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            return text == null || text.isBlank() ? null : link(key, graphId, text);
+        });
+    }
+
+    /**
+     * Indexes a text unless its key is already indexed, with a newer text.
+     */
+    void putIfAbsent(Kind kind, long id, Long graphId, String text) {
+        if (text != null && !text.isBlank()) {
+            documents.computeIfAbsent(new Key(kind, id), key -> link(key, graphId, text));
+        }
+    }
+
+    void remove(Kind kind, long id) {
+        put(kind, id, null, null);
+    }
+
+    /**
+     * Removes a graph and the nodes and comments of the graph.
+     */
+    void removeGraph(long graphId) {
+        Set<Key> keys = graphs.remove(graphId);
+        if (keys != null) {
+            keys.forEach(key -> remove(key.kind(), key.id()));
+        }
+        remove(Kind.GRAPH, graphId);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Finds the texts matching a query, best first.
+     *
+     * @param query the words to look for.
+     * @param graphId the graph to look into, or {@code null} for all graphs.
+     * @param limit the maximum number of hits.
+     * @return the hits, empty if the query holds no word.
+     */
+    List<Hit> search(String query, Long graphId, int limit) {
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (String word : words(query)) {
+            addGrams(queryGrams, word, false);
+        }
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        List<Set<Document>> lists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            lists.add(postings.getOrDefault(gram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        int required = Math.max(1, (int) Math.ceil(MINIMUM_MATCH * lists.size()));
+
+        Set<Document> candidates = new HashSet<>();
+        for (int i = 0; i <= lists.size() - required; i++) {
+            candidates.addAll(lists.get(i));
+        }
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+            .reversed()
+            .thenComparing(Hit::kind)
+            .thenComparingLong(Hit::id);
+        PriorityQueue<Hit> best = new PriorityQueue<>(ranking.reversed());
+        for (Document document : candidates) {
+            if ((graphId != null && !graphId.equals(document.graphId)) || documents.get(document.key) != document) {
+                continue;
+            }
+            int matches = 0;
+            for (Set<Document> list : lists) {
+                if (list.contains(document)) {
+                    matches++;
+                }
+            }
+            if (matches < required) {
+                continue;
+            }
+            double score = 0.8 * matches / lists.size() + 0.2 * matches / document.grams.length;
+            best.add(new Hit(document.key.kind(), document.key.id(), document.graphId, document.snippet, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    private Document link(Key key, Long graphId, String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            addGrams(grams, word, true);
+        }
+        boolean truncated = text.codePointCount(0, text.length()) > SNIPPET_LENGTH;
+        String snippet = truncated ? text.substring(0, text.offsetByCodePoints(0, SNIPPET_LENGTH)) : text;
+        Document document = new Document(key, graphId, snippet, grams.toArray(String[]::new));
+        for (String gram : document.grams) {
+            postings.compute(gram, (g, list) -> {
+                Set<Document> linked = list != null ? list : ConcurrentHashMap.newKeySet();
+                linked.add(document);
+                return linked;
+            });
+        }
+        if (graphId != null && key.kind() != Kind.GRAPH) {
+            graphs.computeIfAbsent(graphId, id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        return document;
+    }
+
+    private void unlink(Document document) {
+        for (String gram : document.grams) {
+            postings.computeIfPresent(gram, (g, list) -> {
+                list.remove(document);
+                return list.isEmpty() ? null : list;
+            });
+        }
+        if (document.graphId != null && document.key.kind() != Kind.GRAPH) {
+            graphs.computeIfPresent(document.graphId, (id, keys) -> {
+                keys.remove(document.key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * @return the words of a text, lower-cased and without accents.
+     */
+    static List<String> words(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        normalized
+            .codePoints()
+            .forEach(codePoint -> {
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(codePoint);
+                } else if (Character.getType(codePoint) != Character.NON_SPACING_MARK && !word.isEmpty()) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                }
+            });
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Adds the grams of a word: the bigram {@code ^w} and the trigrams of {@code ^word$}, or of {@code ^word} for a
+     * query word, which may be the beginning of a longer word.
+     */
+    private static void addGrams(Set<String> grams, String word, boolean whole) {
+        int[] codePoints = ('^' + word + (whole ? "$" : "")).codePoints().toArray();
+        grams.add(new String(codePoints, 0, 2));
+        for (int i = 0; i + 3 <= codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 3));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.graphapp.service;
+
+import com.graphapp.service.dto.SearchResultDTO;
+import com.graphapp.service.event.ChangeType;
+import com.graphapp.service.event.CommentChangedEvent;
+import com.graphapp.service.event.CommentState;
+import com.graphapp.service.event.GraphChangedEvent;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodeState;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Full-text search over graph names and descriptions, node labels and comments, served from an in-memory
+ * {@link SearchIndex}.
+ * <p>
+ * The index is built from the tables once the application is ready, each table being read in id ranges in parallel,
+ * and then follows the committed changes. Graphs created in bulk, whose nodes are written without node events, are
+ * read back from their rows. Until the build is over, searches may miss older texts; a text changed or deleted during
+ * the build is not overwritten by the build.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
+
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private static final String GRAPHS = "select id, id, concat_ws(' ', name, description) from graph";
+
+    private static final String NODES = "select id, graph_id, label from node";
+
+    private static final String COMMENTS = "select id, graph_id, content from comment";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final SearchIndex index = new SearchIndex();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Executor executor;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Keys removed while the index is being built, not to be added back by the build; {@code null} once built.
+     */
+    private volatile Set<SearchIndex.Key> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    public SearchService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor executor
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Searches graphs, nodes and comments.
+     *
+     * @param query the words to look for, each possibly the beginning of a word.
+     * @param graphId the graph to search in, or {@code null} to search all graphs.
+     * @param limit the maximum number of results.
+     * @return the results, best first.
+     * @throws InvalidGraphQueryException if the query is longer than {@value #MAX_QUERY_LENGTH} characters.
+     */
+    public List<SearchResultDTO> search(String query, Long graphId, int limit) {
+        LOG.debug("Request to search {} in Graph : {}", query, graphId);
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidGraphQueryException("Query too long", "querytoolong");
+        }
+        List<SearchResultDTO> results = new ArrayList<>();
+        for (SearchIndex.Hit hit : index.search(query, graphId, limit)) {
+            SearchResultDTO result = new SearchResultDTO();
+            result.setType(hit.kind().name().toLowerCase(Locale.ROOT));
+            result.setId(hit.id());
+            result.setGraphId(hit.graphId());
+            result.setText(hit.text());
+            result.setScore(hit.score());
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of texts indexed.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        slices.addAll(buildSlices("graph", GRAPHS, SearchIndex.Kind.GRAPH, parallelism));
+        slices.addAll(buildSlices("node", NODES, SearchIndex.Kind.NODE, parallelism));
+        slices.addAll(buildSlices("comment", COMMENTS, SearchIndex.Kind.COMMENT, parallelism));
+        CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).whenComplete((result, e) -> {
+            removedDuringBuild = null;
+            if (e != null) {
+                LOG.warn("Search index built partially: {}", e.getMessage());
+            } else {
+                LOG.info("Search index built with {} texts in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        Long graphId = event.graphId();
+        if (event.type() == ChangeType.DELETED) {
+            removed(new SearchIndex.Key(SearchIndex.Kind.GRAPH, graphId));
+            index.removeGraph(graphId);
+        } else {
+            jdbcTemplate.query(
+                GRAPHS + " where id = ?",
+                rs -> {
+                    index.put(SearchIndex.Kind.GRAPH, graphId, graphId, rs.getString(3));
+                },
+                graphId
+            );
+        }
+        if (event.type() == ChangeType.CREATED) {
+            // nodes created with the graph have no events of their own
+            jdbcTemplate.query(
+                NODES + " where graph_id = ?",
+                rs -> {
+                    index.put(SearchIndex.Kind.NODE, rs.getLong(1), graphId, rs.getString(3));
+                },
+                graphId
+            );
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNodeChanged(NodeChangedEvent event) {
+        NodeState node = event.current();
+        if (node == null) {
+            removed(new SearchIndex.Key(SearchIndex.Kind.NODE, event.nodeId()));
+            index.remove(SearchIndex.Kind.NODE, event.nodeId());
+        } else {
+            index.put(SearchIndex.Kind.NODE, node.id(), node.graphId(), node.label());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        CommentState comment = event.current();
+        if (comment == null) {
+            removed(new SearchIndex.Key(SearchIndex.Kind.COMMENT, event.commentId()));
+            index.remove(SearchIndex.Kind.COMMENT, event.commentId());
+        } else {
+            index.put(SearchIndex.Kind.COMMENT, comment.id(), comment.graphId(), comment.content());
+        }
+    }
+
+    private void removed(SearchIndex.Key key) {
+        Set<SearchIndex.Key> removed = removedDuringBuild;
+        if (removed != null) {
+            removed.add(key);
+        }
+    }
+
+    /**
+     * Reads a table in {@code parallelism} id ranges, each indexed by a task of its own.
+     */
+    private List<CompletableFuture<Void>> buildSlices(String table, String select, SearchIndex.Kind kind, int parallelism) {
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        jdbcTemplate.query("select min(id), max(id) from " + table, rs -> {
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return;
+            }
+            long max = rs.getLong(2);
+            long step = Math.max(1, (max - min) / parallelism + 1);
+            for (long from = min; from <= max; from += step) {
+                long first = from;
+                long last = Math.min(max, from + step - 1);
+                slices.add(CompletableFuture.runAsync(() -> buildSlice(select, kind, first, last), executor));
+            }
+        });
+        return slices;
+    }
+
+    /**
+     * Indexes an id range, fetching {@value #FETCH_SIZE} rows at a time through a cursor, which the driver only opens
+     * within a transaction, rather than all rows of the range at once.
+     */
+    private void buildSlice(String select, SearchIndex.Kind kind, long from, long to) {
+        readOnlyTransaction.executeWithoutResult(status ->
+            jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(select + " where id between ? and ?");
+                    statement.setLong(1, from);
+                    statement.setLong(2, to);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                rs -> {
+                    long id = rs.getLong(1);
+                    long graphId = rs.getLong(2);
+                    Long owner = rs.wasNull() ? null : graphId;
+                    Set<SearchIndex.Key> removed = removedDuringBuild;
+                    boolean deleted =
+                        removed != null &&
+                        (removed.contains(new SearchIndex.Key(kind, id)) ||
+                            (owner != null && removed.contains(new SearchIndex.Key(SearchIndex.Kind.GRAPH, owner))));
+                    if (!deleted) {
+                        index.putIfAbsent(kind, id, owner, rs.getString(3));
+                    }
+                }
+            )
+        );
+    }
+}
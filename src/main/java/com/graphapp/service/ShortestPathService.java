@@ -0,0 +1,88 @@
+package com.graphapp.service;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.algo.DynamicGraph;
+import com.graphapp.service.algo.DynamicShortestPathTree;
+import com.graphapp.service.algo.DynamicShortestPaths;
+import com.graphapp.service.algo.LongIntHashMap;
+import com.graphapp.service.dto.ShortestPathDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service answering shortest-path queries from {@link DynamicShortestPathTree}s kept up to date by
+ * {@link DynamicGraphService}, so that a query following a small edit only pays for the repaired subtree.
+ */
+@Service
+public class ShortestPathService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShortestPathService.class);
+
+    private final DynamicGraphService dynamicGraphService;
+
+    private final int maxSourcesPerGraph;
+
+    public ShortestPathService(DynamicGraphService dynamicGraphService, ApplicationProperties applicationProperties) {
+        this.dynamicGraphService = dynamicGraphService;
+        this.maxSourcesPerGraph = applicationProperties.getShortestPath().getMaxSourcesPerGraph();
+    }
+
+    /**
+     * Finds the shortest path between two nodes of a graph.
+     *
+     * @param graphId the id of the graph.
+     * @param startId the id of the start node.
+     * @param endId the id of the end node.
+     * @return the path, or empty if the graph does not exist.
+     * @throws InvalidGraphQueryException if a node is not part of the graph, or the graph has negative weights.
+     */
+    public Optional<ShortestPathDTO> findShortestPath(Long graphId, Long startId, Long endId) {
+        LOG.debug("Request to get shortest path on Graph : {}, from {} to {}", graphId, startId, endId);
+        return dynamicGraphService.query(graphId, graph -> {
+            int start = indexOf(graph, startId, "startnotfound");
+            int end = indexOf(graph, endId, "endnotfound");
+            if (graph.hasNegativeWeights()) {
+                throw new InvalidGraphQueryException("Shortest paths require non-negative edge weights", "negativeweight");
+            }
+            DynamicShortestPathTree tree = graph
+                .attachment(DynamicShortestPaths.class, g -> new DynamicShortestPaths(g, maxSourcesPerGraph))
+                .tree(start);
+            return toDto(graph, tree, startId, endId, end);
+        });
+    }
+
+    private static ShortestPathDTO toDto(DynamicGraph graph, DynamicShortestPathTree tree, Long startId, Long endId, int end) {
+        ShortestPathDTO dto = new ShortestPathDTO();
+        dto.setGraphId(graph.getGraphId());
+        dto.setStartId(startId);
+        dto.setEndId(endId);
+        int[] path = tree.pathTo(end);
+        if (path.length == 0) {
+            return dto;
+        }
+        dto.setDistance(tree.distance(end));
+        List<Long> nodeIds = new ArrayList<>(path.length);
+        List<Long> edgeIds = new ArrayList<>(path.length - 1);
+        for (int i = 0; i < path.length; i++) {
+            nodeIds.add(graph.nodeId(path[i]));
+            if (i > 0) {
+                edgeIds.add(graph.arcEdgeId(tree.parentArc(path[i])));
+            }
+        }
+        dto.setNodeIds(nodeIds);
+        dto.setEdgeIds(edgeIds);
+        return dto;
+    }
+
+    private static int indexOf(DynamicGraph graph, Long nodeId, String errorKey) {
+        int index = graph.indexOf(nodeId);
+        if (index == LongIntHashMap.MISSING) {
+            throw new InvalidGraphQueryException("Node is not part of the graph", errorKey);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,34 @@
+package com.graphapp.service.algo;
+
+/**
+ * Outcome of a {@link GraphAlgorithm} run, expressed in dense node indices.
+ */
+public final class AlgorithmResult {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final int[] path;
+    private final long stepCount;
+    private final NodeValues values;
+
+    public AlgorithmResult(int[] path, long stepCount, NodeValues values) {
+        this.path = path != null ? path : NO_PATH;
+        this.stepCount = stepCount;
+        this.values = values;
+    }
+
+    public int[] getPath() {
+        return path;
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * @return the per-node result vector, or {@code null} when the algorithm does not produce one.
+     */
+    public NodeValues getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,88 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Helpers shared by the algorithm implementations.
+ */
+final class AlgorithmSupport {
+
+    private static final int[] EMPTY = new int[0];
+
+    private AlgorithmSupport() {}
+
+    /**
+     * @return the cost of a run handling every node and edge once, each through a heap or sort of that many items.
+     */
+    static long heapCost(long nodes, long edges) {
+        long items = nodes + edges;
+        return items * (Long.SIZE - Long.numberOfLeadingZeros(items));
+    }
+
+    /**
+     * @return {@code a * b}, or {@link Long#MAX_VALUE} if that overflows.
+     */
+    static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        return high == 0 && product >= 0 ? product : Long.MAX_VALUE;
+    }
+
+    static int[] filled(int length, int value) {
+        int[] array = new int[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * Walks a parent array back from {@code end} to {@code start}.
+     *
+     * @return the path from {@code start} to {@code end}, or an empty array if {@code end} was not reached.
+     */
+    static int[] pathFromParents(int[] parent, int start, int end) {
+        if (end < 0) {
+            return EMPTY;
+        }
+        if (end == start) {
+            return new int[] { start };
+        }
+        if (parent[end] < 0) {
+            return EMPTY;
+        }
+        int length = 1;
+        int current = end;
+        while (current != start) {
+            current = parent[current];
+            if (current < 0 || ++length > parent.length) {
+                return EMPTY;
+            }
+        }
+        int[] path = new int[length];
+        current = end;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = current;
+            if (i > 0) {
+                current = parent[current];
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Normalizes a component id array so that components are numbered {@code 0..k-1} in order of their
+     * lowest node index.
+     */
+    static int[] normalizeComponents(DisjointSet sets, int nodeCount) {
+        int[] componentOfRoot = filled(nodeCount, -1);
+        int[] components = new int[nodeCount];
+        int next = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int root = sets.find(node);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = next++;
+            }
+            components[node] = componentOfRoot[root];
+        }
+        return components;
+    }
+}
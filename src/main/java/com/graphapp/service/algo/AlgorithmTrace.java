@@ -0,0 +1,95 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * A complete algorithm run: the graph it ran on, every visit step in order and the result.
+ */
+public final class AlgorithmTrace {
+
+    private final String algorithmId;
+    private final GraphSnapshot graph;
+    private final int[] steps;
+    private final AlgorithmResult result;
+
+    public AlgorithmTrace(String algorithmId, GraphSnapshot graph, int[] steps, AlgorithmResult result) {
+        this.algorithmId = algorithmId;
+        this.graph = graph;
+        this.steps = steps;
+        this.result = result;
+    }
+
+    /**
+     * Runs {@code algorithm} and records its trace.
+     */
+    public static AlgorithmTrace record(GraphAlgorithm algorithm, GraphSnapshot graph, int start, int end) {
+        return record(algorithm, graph, start, end, TraceListener.NONE);
+    }
+
+    /**
+     * Runs {@code algorithm} and records its trace, passing every step on to {@code observer} once recorded. An
+     * observer throwing aborts the run.
+     */
+    public static AlgorithmTrace record(GraphAlgorithm algorithm, GraphSnapshot graph, int start, int end, TraceListener observer) {
+        TraceRecorder recorder = new TraceRecorder(observer);
+        AlgorithmResult result = algorithm.run(graph, start, end, recorder);
+        return new AlgorithmTrace(algorithm.getId(), graph, recorder.toArray(), result);
+    }
+
+    public String getAlgorithmId() {
+        return algorithmId;
+    }
+
+    public GraphSnapshot getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the dense indices of the visited nodes, in visit order.
+     */
+    public int[] getSteps() {
+        return steps;
+    }
+
+    public AlgorithmResult getResult() {
+        return result;
+    }
+
+    /**
+     * Rough retained size of this trace, in bytes, including the snapshot it was recorded on.
+     */
+    public long estimatedSizeInBytes() {
+        NodeValues values = result.getValues();
+        return (
+            64L +
+            steps.length * 4L +
+            result.getPath().length * 4L +
+            (values != null ? values.estimatedSizeInBytes() : 0) +
+            graph.estimatedSizeInBytes()
+        );
+    }
+
+    private static final class TraceRecorder implements TraceListener {
+
+        private final TraceListener observer;
+        private int[] steps = new int[64];
+        private int size;
+
+        TraceRecorder(TraceListener observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void visit(int node) {
+            if (size == steps.length) {
+                steps = Arrays.copyOf(steps, size << 1);
+            }
+            steps[size++] = node;
+            observer.visit(node);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(steps, size);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.graphapp.service.algo;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of an {@link AlgorithmTrace}.
+ * <p>
+ * Layout, where {@code varint} is an unsigned LEB128 integer and {@code zigzag} a signed varint:
+ * <pre>
+ * "GAT"  u8 version
+ * u8     flags              bit 0: values section present
+ * varint algorithm id length, UTF-8 bytes
+ * varint node count, zigzag first node id, varint id deltas  (dense index -> node id mapping)
+ * varint step count, zigzag dense index deltas               (visit steps)
+ * varint path length, zigzag dense index deltas              (resulting path)
+ * values section:
+ *   u8 kind (0 = int, 1 = float32), varint name length, UTF-8 bytes,
+ *   per node in dense index order: zigzag delta from the previous node's value (int) or little-endian float32 (float)
+ * </pre>
+ * Node ids are ascending, so the mapping costs one or two bytes per node; consecutive steps of a traversal
+ * are usually close in index space, so most steps take a single byte.
+ */
+public final class AlgorithmTraceCodec {
+
+    private static final byte[] MAGIC = { 'G', 'A', 'T' };
+    private static final int VERSION = 1;
+    private static final int FLAG_VALUES = 1;
+    private static final int KIND_INT = 0;
+    private static final int KIND_FLOAT = 1;
+
+    private AlgorithmTraceCodec() {}
+
+    public static void encode(AlgorithmTrace trace, OutputStream out) throws IOException {
+        GraphSnapshot graph = trace.getGraph();
+        NodeValues values = trace.getResult().getValues();
+
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(values != null ? FLAG_VALUES : 0);
+        writeString(out, trace.getAlgorithmId());
+
+        int nodeCount = graph.nodeCount();
+        writeVarint(out, nodeCount);
+        long previousId = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            long id = graph.nodeId(node);
+            if (node == 0) {
+                writeVarint(out, zigzag(id));
+            } else {
+                writeVarint(out, id - previousId);
+            }
+            previousId = id;
+        }
+
+        writeIndices(out, trace.getSteps());
+        writeIndices(out, trace.getResult().getPath());
+
+        if (values != null) {
+            boolean ints = values.getKind() == NodeValues.Kind.INT;
+            out.write(ints ? KIND_INT : KIND_FLOAT);
+            writeString(out, values.getName());
+            long previous = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                if (ints) {
+                    writeVarint(out, zigzag(values.intValue(node) - previous));
+                    previous = values.intValue(node);
+                } else {
+                    int bits = Float.floatToRawIntBits(values.floatValue(node));
+                    out.write(bits);
+                    out.write(bits >>> 8);
+                    out.write(bits >>> 16);
+                    out.write(bits >>> 24);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a trace written by {@link #encode}. The returned snapshot contains the nodes only.
+     */
+    public static AlgorithmTrace decode(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        for (byte expected : MAGIC) {
+            if (in.readByte() != expected) {
+                throw new IOException("Not an algorithm trace");
+            }
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported algorithm trace version " + version);
+        }
+        int flags = in.readUnsignedByte();
+        String algorithmId = readString(in);
+
+        int nodeCount = (int) readVarint(in);
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(0L);
+        long id = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            id = node == 0 ? unzigzag(readVarint(in)) : id + readVarint(in);
+            builder.addNode(id);
+        }
+        GraphSnapshot graph = builder.build();
+
+        int[] steps = readIndices(in);
+        int[] path = readIndices(in);
+
+        NodeValues values = null;
+        if ((flags & FLAG_VALUES) != 0) {
+            int kind = in.readUnsignedByte();
+            String name = readString(in);
+            if (kind == KIND_INT) {
+                int[] ints = new int[nodeCount];
+                long previous = 0;
+                for (int node = 0; node < nodeCount; node++) {
+                    previous += unzigzag(readVarint(in));
+                    ints[node] = (int) previous;
+                }
+                values = NodeValues.ofInts(name, ints);
+            } else {
+                float[] floats = new float[nodeCount];
+                for (int node = 0; node < nodeCount; node++) {
+                    floats[node] = Float.intBitsToFloat(Integer.reverseBytes(in.readInt()));
+                }
+                values = NodeValues.ofFloats(name, floats);
+            }
+        }
+        return new AlgorithmTrace(algorithmId, graph, steps, new AlgorithmResult(path, steps.length, values));
+    }
+
+    private static void writeIndices(OutputStream out, int[] indices) throws IOException {
+        writeVarint(out, indices.length);
+        int previous = 0;
+        for (int index : indices) {
+            writeVarint(out, zigzag((long) index - previous));
+            previous = index;
+        }
+    }
+
+    private static int[] readIndices(DataInputStream in) throws IOException {
+        int[] indices = new int[(int) readVarint(in)];
+        int previous = 0;
+        for (int i = 0; i < indices.length; i++) {
+            previous += (int) unzigzag(readVarint(in));
+            indices[i] = previous;
+        }
+        return indices;
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bellman-Ford shortest paths, tolerating negative weights. Each pass reports the nodes whose distance
+ * improved; no path is returned when a negative cycle is reachable from the start node.
+ */
+@Component
+@Order(4)
+public class BellmanFord implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "bellman-ford";
+    }
+
+    @Override
+    public String getName() {
+        return "Bellman-Ford";
+    }
+
+    @Override
+    public long estimateCost(long nodes, long edges) {
+        // one pass over the edges per node in the worst case
+        return AlgorithmSupport.saturatedMultiply(nodes, edges) + nodes;
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        int[] parent = AlgorithmSupport.filled(n, -1);
+        int[] touchedInPass = AlgorithmSupport.filled(n, -1);
+        int[] touched = new int[n];
+        long steps = 0;
+
+        distance[start] = 0;
+        listener.visit(start);
+        steps++;
+
+        for (int pass = 0; pass < n - 1; pass++) {
+            int touchedCount = 0;
+            for (int edge = 0; edge < graph.edgeCount(); edge++) {
+                int source = graph.edgeSource(edge);
+                int target = graph.edgeTarget(edge);
+                if (source == target) {
+                    continue;
+                }
+                float weight = graph.edgeWeight(edge);
+                touchedCount = relax(source, target, weight, distance, parent, touchedInPass, touched, touchedCount, pass);
+                if (!graph.isEdgeDirected(edge)) {
+                    touchedCount = relax(target, source, weight, distance, parent, touchedInPass, touched, touchedCount, pass);
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                listener.visit(touched[i]);
+            }
+            steps += touchedCount;
+            if (touchedCount == 0) {
+                break;
+            }
+        }
+
+        NodeValues values = NodeValues.ofFloats("distance", Dijkstra.toFloats(distance));
+        if (hasReachableNegativeCycle(graph, distance)) {
+            return new AlgorithmResult(null, steps, values);
+        }
+        return new AlgorithmResult(AlgorithmSupport.pathFromParents(parent, start, end), steps, values);
+    }
+
+    private static int relax(
+        int source,
+        int target,
+        float weight,
+        double[] distance,
+        int[] parent,
+        int[] touchedInPass,
+        int[] touched,
+        int touchedCount,
+        int pass
+    ) {
+        if (distance[source] == Double.POSITIVE_INFINITY) {
+            return touchedCount;
+        }
+        double candidate = distance[source] + weight;
+        if (candidate < distance[target]) {
+            distance[target] = candidate;
+            parent[target] = source;
+            if (touchedInPass[target] != pass) {
+                touchedInPass[target] = pass;
+                touched[touchedCount++] = target;
+            }
+        }
+        return touchedCount;
+    }
+
+    private static boolean hasReachableNegativeCycle(GraphSnapshot graph, double[] distance) {
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            int source = graph.edgeSource(edge);
+            int target = graph.edgeTarget(edge);
+            if (source == target) {
+                continue;
+            }
+            float weight = graph.edgeWeight(edge);
+            if (distance[source] != Double.POSITIVE_INFINITY && distance[source] + weight < distance[target]) {
+                return true;
+            }
+            if (!graph.isEdgeDirected(edge) && distance[target] != Double.POSITIVE_INFINITY && distance[target] + weight < distance[source]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,158 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Betweenness centrality of every node, by Brandes' algorithm over hop counts: the number of shortest paths between
+ * two other nodes going through a node, each pair of nodes splitting one unit between its shortest paths. Pairs are
+ * ordered, so an undirected path counts once in each direction.
+ * <p>
+ * There is one breadth-first search per source node. Sources are split in halves recursively down to chunks of
+ * {@value #CHUNK}, so that the searches run in parallel on the fork/join pool of the calling thread, idle workers
+ * stealing the halves left. Each chunk accumulates into arrays of its own and adds them to the scores when done,
+ * so the scores of the sources done so far can be read while the computation goes on.
+ */
+public final class Betweenness {
+
+    public static final String ID = "betweenness";
+
+    static final int CHUNK = 32;
+
+    /**
+     * Follows the computation, and aborts it by throwing.
+     */
+    @FunctionalInterface
+    public interface Monitor {
+        /**
+         * Called after each source node, from any worker.
+         *
+         * @param done the number of sources done so far.
+         */
+        void progress(int done);
+    }
+
+    private final GraphSnapshot graph;
+
+    private final double[] scores;
+
+    private int done;
+
+    public Betweenness(GraphSnapshot graph) {
+        this.graph = graph;
+        this.scores = new double[graph.nodeCount()];
+    }
+
+    /**
+     * @return the work of a computation, one search over every node and edge per source node.
+     */
+    public static long estimateCost(long nodes, long edges) {
+        return AlgorithmSupport.saturatedMultiply(nodes, nodes + edges);
+    }
+
+    /**
+     * Computes the scores, in parallel when called from a fork/join worker.
+     *
+     * @param monitor follows the computation.
+     * @return the score of every node.
+     */
+    public NodeValues compute(Monitor monitor) {
+        new Sources(0, graph.nodeCount(), monitor).invoke();
+        return NodeValues.ofFloats(ID, scores());
+    }
+
+    /**
+     * @return the number of source nodes whose searches are included in {@link #scores()}.
+     */
+    public synchronized int done() {
+        return done;
+    }
+
+    /**
+     * @return the scores accumulated from the sources done so far.
+     */
+    public synchronized float[] scores() {
+        float[] copy = new float[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            copy[i] = (float) scores[i];
+        }
+        return copy;
+    }
+
+    private synchronized void add(double[] dependencies, int sources) {
+        for (int i = 0; i < dependencies.length; i++) {
+            scores[i] += dependencies[i];
+        }
+        done += sources;
+    }
+
+    private final class Sources extends RecursiveAction {
+
+        private final int from;
+
+        private final int to;
+
+        private final Monitor monitor;
+
+        private Sources(int from, int to, Monitor monitor) {
+            this.from = from;
+            this.to = to;
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Sources(from, middle, monitor), new Sources(middle, to, monitor));
+                return;
+            }
+            int n = graph.nodeCount();
+            double[] total = new double[n];
+            int[] hops = new int[n];
+            double[] paths = new double[n];
+            double[] dependency = new double[n];
+            int[] order = new int[n];
+            for (int source = from; source < to; source++) {
+                search(source, hops, paths, dependency, order, total);
+                monitor.progress(done() + source - from + 1);
+            }
+            add(total, to - from);
+        }
+
+        private void search(int source, int[] hops, double[] paths, double[] dependency, int[] order, double[] total) {
+            Arrays.fill(hops, -1);
+            Arrays.fill(paths, 0);
+            Arrays.fill(dependency, 0);
+            hops[source] = 0;
+            paths[source] = 1;
+            order[0] = source;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int node = order[head++];
+                for (int slot = graph.adjacencyStart(node); slot < graph.adjacencyEnd(node); slot++) {
+                    int next = graph.adjacentNode(slot);
+                    if (hops[next] < 0) {
+                        hops[next] = hops[node] + 1;
+                        order[tail++] = next;
+                    }
+                    if (hops[next] == hops[node] + 1) {
+                        paths[next] += paths[node];
+                    }
+                }
+            }
+            // nodes further from the source come first, their dependencies are complete when their predecessors need them
+            for (int i = tail - 1; i > 0; i--) {
+                int node = order[i];
+                for (int slot = graph.adjacencyStart(node); slot < graph.adjacencyEnd(node); slot++) {
+                    int next = graph.adjacentNode(slot);
+                    if (hops[next] == hops[node] + 1) {
+                        dependency[node] += paths[node] / paths[next] * (1 + dependency[next]);
+                    }
+                }
+                total[node] += dependency[node];
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.graphapp.service.algo;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Breadth-first search. Produces the hop count from the start node as per-node values.
+ */
+@Component
+@Order(1)
+public class BreadthFirstSearch implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "bfs";
+    }
+
+    @Override
+    public String getName() {
+        return "Breadth-First Search";
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        int[] parent = AlgorithmSupport.filled(n, -1);
+        int[] hops = AlgorithmSupport.filled(n, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        long steps = 0;
+
+        hops[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int node = queue[head++];
+            listener.visit(node);
+            steps++;
+            if (node == end) {
+                break;
+            }
+            for (int slot = graph.adjacencyStart(node), last = graph.adjacencyEnd(node); slot < last; slot++) {
+                int neighbor = graph.adjacentNode(slot);
+                if (hops[neighbor] < 0) {
+                    hops[neighbor] = hops[node] + 1;
+                    parent[neighbor] = node;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return new AlgorithmResult(AlgorithmSupport.pathFromParents(parent, start, end), steps, NodeValues.ofInts("hops", hops));
+    }
+}
@@ -0,0 +1,65 @@
+package com.graphapp.service.algo;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Depth-first search. Uses an explicit stack so that deep graphs cannot overflow the thread stack, while
+ * visiting nodes in the same order as the recursive browser implementation. Produces the discovery order
+ * as per-node values.
+ */
+@Component
+@Order(2)
+public class DepthFirstSearch implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "dfs";
+    }
+
+    @Override
+    public String getName() {
+        return "Depth-First Search";
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        int[] parent = AlgorithmSupport.filled(n, -1);
+        int[] order = AlgorithmSupport.filled(n, -1);
+        int[] nextSlot = new int[n];
+        int[] stack = new int[n];
+        int depth = 0;
+        int discovered = 0;
+
+        order[start] = discovered++;
+        listener.visit(start);
+        if (start != end) {
+            stack[depth++] = start;
+            nextSlot[start] = graph.adjacencyStart(start);
+        }
+        while (depth > 0) {
+            int node = stack[depth - 1];
+            int slot = nextSlot[node];
+            if (slot == graph.adjacencyEnd(node)) {
+                depth--;
+                continue;
+            }
+            nextSlot[node] = slot + 1;
+            int neighbor = graph.adjacentNode(slot);
+            if (order[neighbor] >= 0) {
+                continue;
+            }
+            order[neighbor] = discovered++;
+            parent[neighbor] = node;
+            listener.visit(neighbor);
+            if (neighbor == end) {
+                break;
+            }
+            stack[depth++] = neighbor;
+            nextSlot[neighbor] = graph.adjacencyStart(neighbor);
+        }
+
+        return new AlgorithmResult(AlgorithmSupport.pathFromParents(parent, start, end), discovered, NodeValues.ofInts("order", order));
+    }
+}
@@ -0,0 +1,78 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dijkstra's single-source shortest paths with a binary heap. Produces the distance from the start node as
+ * per-node values ({@code +Infinity} when unreached).
+ */
+@Component
+@Order(3)
+public class Dijkstra implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "dijkstra";
+    }
+
+    @Override
+    public String getName() {
+        return "Dijkstra";
+    }
+
+    @Override
+    public long estimateCost(long nodes, long edges) {
+        return AlgorithmSupport.heapCost(nodes, edges);
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        int[] parent = AlgorithmSupport.filled(n, -1);
+        boolean[] settled = new boolean[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        long steps = 0;
+
+        distance[start] = 0;
+        heap.insertOrDecrease(start, 0);
+        while (!heap.isEmpty()) {
+            int node = heap.pollMin();
+            settled[node] = true;
+            listener.visit(node);
+            steps++;
+            if (node == end) {
+                break;
+            }
+            for (int slot = graph.adjacencyStart(node), last = graph.adjacencyEnd(node); slot < last; slot++) {
+                int neighbor = graph.adjacentNode(slot);
+                if (settled[neighbor]) {
+                    continue;
+                }
+                double candidate = distance[node] + graph.adjacentWeight(slot);
+                if (candidate < distance[neighbor]) {
+                    distance[neighbor] = candidate;
+                    parent[neighbor] = node;
+                    heap.insertOrDecrease(neighbor, candidate);
+                }
+            }
+        }
+
+        return new AlgorithmResult(
+            AlgorithmSupport.pathFromParents(parent, start, end),
+            steps,
+            NodeValues.ofFloats("distance", toFloats(distance))
+        );
+    }
+
+    static float[] toFloats(double[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+}
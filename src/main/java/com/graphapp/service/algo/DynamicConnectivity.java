@@ -0,0 +1,220 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Connected components of a {@link DynamicGraph}, maintained across edge inserts and deletes. Edge direction is
+ * ignored, i.e. these are the weakly connected components.
+ * <p>
+ * A spanning forest is kept in an {@link EulerTourForest}, so {@link #connected} and {@link #componentSize} are
+ * expected O(log n) and {@link #componentCount} is O(1). Inserting an edge is a {@code link} or O(1) bookkeeping.
+ * Deleting a non-tree edge is O(1); deleting a tree edge cuts the tour and looks for a replacement among the
+ * non-tree edges of the smaller side only, which the forest finds through flagged vertices without scanning the
+ * rest of the tree. Unlike Holm, de Lichtenberg and Thorup, non-tree edges are not promoted through levels, so a
+ * deletion is bounded by the non-tree degree of the smaller side rather than amortized polylogarithmic.
+ */
+public final class DynamicConnectivity implements DynamicGraph.Listener {
+
+    private static final byte FREE = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+    private static final byte LOOP = 3;
+
+    private final DynamicGraph graph;
+
+    private final EulerTourForest forest = new EulerTourForest();
+
+    private final LongIntHashMap edgeSlot;
+    private byte[] kind = new byte[16];
+    private int[] endpointA = new int[16];
+    private int[] endpointB = new int[16];
+    private long[] treeEdge = new long[16];
+    private int[] positionA = new int[16];
+    private int[] positionB = new int[16];
+    private int edgeSlots;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    private int[][] nonTreeEdges = new int[16][];
+    private int[] nonTreeDegree = new int[16];
+
+    private int componentCount;
+
+    /**
+     * Indexes the current content of {@code graph} and subscribes to its changes.
+     */
+    public DynamicConnectivity(DynamicGraph graph) {
+        this.graph = graph;
+        edgeSlot = new LongIntHashMap(Math.max(16, graph.arcCount()));
+        for (int node = 0; node < graph.nodeSlots(); node++) {
+            if (graph.isNodeAlive(node)) {
+                nodeAdded(node);
+            }
+        }
+        for (int node = 0; node < graph.nodeSlots(); node++) {
+            for (int k = 0; graph.isNodeAlive(node) && k < graph.outDegree(node); k++) {
+                int arc = graph.outArc(node, k);
+                addEdge(graph.arcEdgeId(arc), graph.arcSource(arc), graph.arcTarget(arc));
+            }
+        }
+        graph.addListener(this);
+    }
+
+    public boolean connected(int a, int b) {
+        return forest.connected(a, b);
+    }
+
+    public int componentSize(int node) {
+        return forest.treeSize(node);
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    @Override
+    public void nodeAdded(int node) {
+        if (node >= nonTreeDegree.length) {
+            int capacity = Math.max(node + 1, nonTreeDegree.length << 1);
+            nonTreeEdges = Arrays.copyOf(nonTreeEdges, capacity);
+            nonTreeDegree = Arrays.copyOf(nonTreeDegree, capacity);
+        }
+        nonTreeEdges[node] = new int[2];
+        nonTreeDegree[node] = 0;
+        forest.addVertex(node);
+        componentCount++;
+    }
+
+    @Override
+    public void nodeRemoved(int node) {
+        forest.removeVertex(node);
+        nonTreeEdges[node] = null;
+        componentCount--;
+    }
+
+    @Override
+    public void arcAdded(int arc) {
+        addEdge(graph.arcEdgeId(arc), graph.arcSource(arc), graph.arcTarget(arc));
+    }
+
+    @Override
+    public void arcRemoved(int arc) {
+        removeEdge(graph.arcEdgeId(arc));
+    }
+
+    /**
+     * Registers an edge; the second arc of an undirected edge is ignored.
+     */
+    private void addEdge(long edgeId, int a, int b) {
+        if (edgeSlot.containsKey(edgeId)) {
+            return;
+        }
+        int slot = allocateSlot();
+        edgeSlot.put(edgeId, slot);
+        endpointA[slot] = a;
+        endpointB[slot] = b;
+        if (a == b) {
+            kind[slot] = LOOP;
+        } else if (forest.connected(a, b)) {
+            addNonTree(slot);
+        } else {
+            kind[slot] = TREE;
+            treeEdge[slot] = forest.link(a, b);
+            componentCount--;
+        }
+    }
+
+    private void removeEdge(long edgeId) {
+        int slot = edgeSlot.remove(edgeId);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        if (kind[slot] == NON_TREE) {
+            removeNonTree(slot);
+        } else if (kind[slot] == TREE) {
+            forest.cut(treeEdge[slot]);
+            componentCount++;
+            reconnect(endpointA[slot], endpointB[slot]);
+        }
+        kind[slot] = FREE;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount << 1);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Looks for a non-tree edge joining the two trees left by a cut, starting from the smaller one.
+     */
+    private void reconnect(int a, int b) {
+        int smaller = forest.treeSize(a) <= forest.treeSize(b) ? a : b;
+        int tree = forest.treeOf(smaller);
+        for (int vertex : forest.flaggedVertices(tree)) {
+            int[] edges = nonTreeEdges[vertex];
+            for (int i = 0; i < nonTreeDegree[vertex]; i++) {
+                int slot = edges[i];
+                int other = endpointA[slot] == vertex ? endpointB[slot] : endpointA[slot];
+                if (forest.treeOf(other) != tree) {
+                    removeNonTree(slot);
+                    kind[slot] = TREE;
+                    treeEdge[slot] = forest.link(endpointA[slot], endpointB[slot]);
+                    componentCount--;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void addNonTree(int slot) {
+        kind[slot] = NON_TREE;
+        positionA[slot] = push(endpointA[slot], slot);
+        positionB[slot] = push(endpointB[slot], slot);
+    }
+
+    private void removeNonTree(int slot) {
+        pull(endpointA[slot], positionA[slot]);
+        pull(endpointB[slot], positionB[slot]);
+    }
+
+    private int push(int vertex, int slot) {
+        int degree = nonTreeDegree[vertex];
+        if (degree == nonTreeEdges[vertex].length) {
+            nonTreeEdges[vertex] = Arrays.copyOf(nonTreeEdges[vertex], degree << 1);
+        }
+        nonTreeEdges[vertex][degree] = slot;
+        nonTreeDegree[vertex] = degree + 1;
+        if (degree == 0) {
+            forest.setFlag(vertex, true);
+        }
+        return degree;
+    }
+
+    private void pull(int vertex, int position) {
+        int last = nonTreeEdges[vertex][--nonTreeDegree[vertex]];
+        nonTreeEdges[vertex][position] = last;
+        if (endpointA[last] == vertex) {
+            positionA[last] = position;
+        } else {
+            positionB[last] = position;
+        }
+        if (nonTreeDegree[vertex] == 0) {
+            forest.setFlag(vertex, false);
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (edgeSlots == kind.length) {
+            int capacity = edgeSlots << 1;
+            kind = Arrays.copyOf(kind, capacity);
+            endpointA = Arrays.copyOf(endpointA, capacity);
+            endpointB = Arrays.copyOf(endpointB, capacity);
+            treeEdge = Arrays.copyOf(treeEdge, capacity);
+            positionA = Arrays.copyOf(positionA, capacity);
+            positionB = Arrays.copyOf(positionB, capacity);
+        }
+        return edgeSlots++;
+    }
+}
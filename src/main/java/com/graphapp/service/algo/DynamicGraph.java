@@ -0,0 +1,442 @@
+package com.graphapp.service.algo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mutable adjacency structure over dense node indices, kept in sync with the edge write path.
+ * <p>
+ * Every edge is stored as one arc, or two opposite arcs when it is undirected. Each node keeps its outgoing and
+ * incoming arcs so that both forward relaxation and reverse lookups are proportional to the degree. Node indices
+ * are never reused; arc slots are recycled once a removal has been reported to the {@link Listener}s.
+ * <p>
+ * All mutations are idempotent so that the same change may safely be applied twice. Not thread-safe.
+ */
+public final class DynamicGraph {
+
+    /**
+     * Notified after every structural change, in registration order.
+     */
+    public interface Listener {
+        default void nodeAdded(int node) {}
+
+        default void nodeRemoved(int node) {}
+
+        default void arcAdded(int arc) {}
+
+        /**
+         * The arc is no longer in any adjacency list, but its source, target and weight are still readable.
+         */
+        default void arcRemoved(int arc) {}
+
+        default void arcWeightChanged(int arc, double previousWeight) {}
+    }
+
+    public static final int NO_ARC = -1;
+
+    private final long graphId;
+
+    private final LongIntHashMap nodeIndex;
+    private long[] nodeIds;
+    private boolean[] nodeAlive;
+    private int nodeSlots;
+    private int nodeCount;
+
+    private int[][] outArcs;
+    private int[] outDegree;
+    private int[][] inArcs;
+    private int[] inDegree;
+
+    private final LongIntHashMap edgeArc;
+    private long[] arcEdgeId;
+    private int[] arcSource;
+    private int[] arcTarget;
+    private double[] arcWeight;
+    private int[] arcTwin;
+    private int[] arcOutPosition;
+    private int[] arcInPosition;
+    private int arcSlots;
+    private int arcCount;
+    private int[] freeArcs = new int[16];
+    private int freeArcCount;
+
+    private int negativeArcCount;
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private final Map<Class<?>, Object> attachments = new HashMap<>();
+
+    public DynamicGraph(long graphId) {
+        this(graphId, 16, 16);
+    }
+
+    private DynamicGraph(long graphId, int nodeCapacity, int arcCapacity) {
+        this.graphId = graphId;
+        nodeCapacity = Math.max(nodeCapacity, 16);
+        arcCapacity = Math.max(arcCapacity, 16);
+        nodeIndex = new LongIntHashMap(nodeCapacity);
+        nodeIds = new long[nodeCapacity];
+        nodeAlive = new boolean[nodeCapacity];
+        outArcs = new int[nodeCapacity][];
+        outDegree = new int[nodeCapacity];
+        inArcs = new int[nodeCapacity][];
+        inDegree = new int[nodeCapacity];
+        edgeArc = new LongIntHashMap(arcCapacity);
+        arcEdgeId = new long[arcCapacity];
+        arcSource = new int[arcCapacity];
+        arcTarget = new int[arcCapacity];
+        arcWeight = new double[arcCapacity];
+        arcTwin = new int[arcCapacity];
+        arcOutPosition = new int[arcCapacity];
+        arcInPosition = new int[arcCapacity];
+    }
+
+    /**
+     * Copies a snapshot. Node indices of the result are those of the snapshot.
+     */
+    public static DynamicGraph of(GraphSnapshot snapshot) {
+        DynamicGraph graph = new DynamicGraph(snapshot.getGraphId(), snapshot.nodeCount(), snapshot.edgeCount() * 2);
+        for (int node = 0; node < snapshot.nodeCount(); node++) {
+            graph.addNode(snapshot.nodeId(node));
+        }
+        for (int edge = 0; edge < snapshot.edgeCount(); edge++) {
+            graph.upsertEdge(
+                snapshot.edgeId(edge),
+                snapshot.nodeId(snapshot.edgeSource(edge)),
+                snapshot.nodeId(snapshot.edgeTarget(edge)),
+                snapshot.edgeWeight(edge),
+                snapshot.isEdgeDirected(edge)
+            );
+        }
+        return graph;
+    }
+
+    public long getGraphId() {
+        return graphId;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the index of type {@code type} maintained on top of this graph, creating it on first use. Indexes
+     * live exactly as long as the graph they are attached to.
+     */
+    public <T> T attachment(Class<T> type, Function<DynamicGraph, T> factory) {
+        return type.cast(attachments.computeIfAbsent(type, key -> factory.apply(this)));
+    }
+
+    /**
+     * @return the number of node indices handed out so far, including removed nodes.
+     */
+    public int nodeSlots() {
+        return nodeSlots;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int arcSlots() {
+        return arcSlots;
+    }
+
+    public int arcCount() {
+        return arcCount;
+    }
+
+    public boolean hasNegativeWeights() {
+        return negativeArcCount > 0;
+    }
+
+    /**
+     * @return the dense index of {@code nodeId}, or {@link LongIntHashMap#MISSING}.
+     */
+    public int indexOf(long nodeId) {
+        return nodeIndex.get(nodeId);
+    }
+
+    public long nodeId(int node) {
+        return nodeIds[node];
+    }
+
+    public boolean isNodeAlive(int node) {
+        return nodeAlive[node];
+    }
+
+    public int outDegree(int node) {
+        return outDegree[node];
+    }
+
+    public int outArc(int node, int i) {
+        return outArcs[node][i];
+    }
+
+    public int inDegree(int node) {
+        return inDegree[node];
+    }
+
+    public int inArc(int node, int i) {
+        return inArcs[node][i];
+    }
+
+    public int arcSource(int arc) {
+        return arcSource[arc];
+    }
+
+    public int arcTarget(int arc) {
+        return arcTarget[arc];
+    }
+
+    public double arcWeight(int arc) {
+        return arcWeight[arc];
+    }
+
+    public long arcEdgeId(int arc) {
+        return arcEdgeId[arc];
+    }
+
+    /**
+     * @return the first arc of {@code edgeId}, or {@link #NO_ARC}.
+     */
+    public int arcOf(long edgeId) {
+        int arc = edgeArc.get(edgeId);
+        return arc == LongIntHashMap.MISSING ? NO_ARC : arc;
+    }
+
+    /**
+     * @return the opposite arc of an undirected edge, or {@link #NO_ARC} for a directed one.
+     */
+    public int arcTwin(int arc) {
+        return arcTwin[arc];
+    }
+
+    /**
+     * Adds a node if it is not already present.
+     *
+     * @return the dense index of the node.
+     */
+    public int addNode(long nodeId) {
+        int existing = nodeIndex.get(nodeId);
+        if (existing != LongIntHashMap.MISSING) {
+            return existing;
+        }
+        if (nodeSlots == nodeIds.length) {
+            growNodes(nodeSlots << 1);
+        }
+        int node = nodeSlots++;
+        nodeIds[node] = nodeId;
+        nodeAlive[node] = true;
+        outArcs[node] = new int[2];
+        inArcs[node] = new int[2];
+        nodeIndex.put(nodeId, node);
+        nodeCount++;
+        for (Listener listener : listeners) {
+            listener.nodeAdded(node);
+        }
+        return node;
+    }
+
+    /**
+     * Removes a node and every arc touching it, if it is present.
+     */
+    public void removeNode(long nodeId) {
+        int node = nodeIndex.get(nodeId);
+        if (node == LongIntHashMap.MISSING) {
+            return;
+        }
+        while (outDegree[node] > 0) {
+            removeEdge(arcEdgeId[outArcs[node][outDegree[node] - 1]]);
+        }
+        while (inDegree[node] > 0) {
+            removeEdge(arcEdgeId[inArcs[node][inDegree[node] - 1]]);
+        }
+        nodeIndex.remove(nodeId);
+        nodeAlive[node] = false;
+        outArcs[node] = null;
+        inArcs[node] = null;
+        nodeCount--;
+        for (Listener listener : listeners) {
+            listener.nodeRemoved(node);
+        }
+    }
+
+    /**
+     * Inserts an edge, or updates it in place. Missing endpoints are added. An edge whose endpoints or direction
+     * changed is removed and inserted again.
+     */
+    public void upsertEdge(long edgeId, long sourceId, long targetId, double weight, boolean directed) {
+        double normalizedWeight = Double.isFinite(weight) ? weight : 1d;
+        int source = addNode(sourceId);
+        int target = addNode(targetId);
+        int arc = edgeArc.get(edgeId);
+        if (arc != LongIntHashMap.MISSING) {
+            boolean sameShape =
+                arcSource[arc] == source && arcTarget[arc] == target && (arcTwin[arc] == NO_ARC) == directed;
+            if (sameShape) {
+                setWeight(arc, normalizedWeight);
+                if (arcTwin[arc] != NO_ARC) {
+                    setWeight(arcTwin[arc], normalizedWeight);
+                }
+                return;
+            }
+            removeEdge(edgeId);
+        }
+        int forward = insertArc(edgeId, source, target, normalizedWeight);
+        edgeArc.put(edgeId, forward);
+        arcTwin[forward] = NO_ARC;
+        if (!directed) {
+            int backward = insertArc(edgeId, target, source, normalizedWeight);
+            arcTwin[forward] = backward;
+            arcTwin[backward] = forward;
+            notifyArcAdded(forward);
+            notifyArcAdded(backward);
+        } else {
+            notifyArcAdded(forward);
+        }
+    }
+
+    /**
+     * Removes an edge if it is present.
+     */
+    public void removeEdge(long edgeId) {
+        int arc = edgeArc.remove(edgeId);
+        if (arc == LongIntHashMap.MISSING) {
+            return;
+        }
+        int twin = arcTwin[arc];
+        detachArc(arc);
+        if (twin != NO_ARC) {
+            detachArc(twin);
+        }
+        for (Listener listener : listeners) {
+            listener.arcRemoved(arc);
+        }
+        releaseArc(arc);
+        if (twin != NO_ARC) {
+            for (Listener listener : listeners) {
+                listener.arcRemoved(twin);
+            }
+            releaseArc(twin);
+        }
+    }
+
+    public long estimatedSizeInBytes() {
+        long adjacency = 0;
+        for (int node = 0; node < nodeSlots; node++) {
+            if (nodeAlive[node]) {
+                adjacency += 32L + 4L * (outArcs[node].length + inArcs[node].length);
+            }
+        }
+        return 64L + (long) nodeIds.length * 33 + (long) arcEdgeId.length * 40 + adjacency;
+    }
+
+    private void setWeight(int arc, double weight) {
+        double previousWeight = arcWeight[arc];
+        if (Double.compare(previousWeight, weight) == 0) {
+            return;
+        }
+        if (previousWeight < 0) {
+            negativeArcCount--;
+        }
+        if (weight < 0) {
+            negativeArcCount++;
+        }
+        arcWeight[arc] = weight;
+        for (Listener listener : listeners) {
+            listener.arcWeightChanged(arc, previousWeight);
+        }
+    }
+
+    private int insertArc(long edgeId, int source, int target, double weight) {
+        int arc;
+        if (freeArcCount > 0) {
+            arc = freeArcs[--freeArcCount];
+        } else {
+            if (arcSlots == arcEdgeId.length) {
+                growArcs(arcSlots << 1);
+            }
+            arc = arcSlots++;
+        }
+        arcEdgeId[arc] = edgeId;
+        arcSource[arc] = source;
+        arcTarget[arc] = target;
+        arcWeight[arc] = weight;
+        if (weight < 0) {
+            negativeArcCount++;
+        }
+
+        if (outDegree[source] == outArcs[source].length) {
+            outArcs[source] = Arrays.copyOf(outArcs[source], outDegree[source] << 1);
+        }
+        arcOutPosition[arc] = outDegree[source];
+        outArcs[source][outDegree[source]++] = arc;
+
+        if (inDegree[target] == inArcs[target].length) {
+            inArcs[target] = Arrays.copyOf(inArcs[target], inDegree[target] << 1);
+        }
+        arcInPosition[arc] = inDegree[target];
+        inArcs[target][inDegree[target]++] = arc;
+
+        arcCount++;
+        return arc;
+    }
+
+    private void detachArc(int arc) {
+        int source = arcSource[arc];
+        int last = outArcs[source][--outDegree[source]];
+        outArcs[source][arcOutPosition[arc]] = last;
+        arcOutPosition[last] = arcOutPosition[arc];
+
+        int target = arcTarget[arc];
+        last = inArcs[target][--inDegree[target]];
+        inArcs[target][arcInPosition[arc]] = last;
+        arcInPosition[last] = arcInPosition[arc];
+
+        if (arcWeight[arc] < 0) {
+            negativeArcCount--;
+        }
+        arcCount--;
+    }
+
+    private void releaseArc(int arc) {
+        if (freeArcCount == freeArcs.length) {
+            freeArcs = Arrays.copyOf(freeArcs, freeArcCount << 1);
+        }
+        freeArcs[freeArcCount++] = arc;
+    }
+
+    private void notifyArcAdded(int arc) {
+        for (Listener listener : listeners) {
+            listener.arcAdded(arc);
+        }
+    }
+
+    private void growNodes(int capacity) {
+        nodeIds = Arrays.copyOf(nodeIds, capacity);
+        nodeAlive = Arrays.copyOf(nodeAlive, capacity);
+        outArcs = Arrays.copyOf(outArcs, capacity);
+        outDegree = Arrays.copyOf(outDegree, capacity);
+        inArcs = Arrays.copyOf(inArcs, capacity);
+        inDegree = Arrays.copyOf(inDegree, capacity);
+    }
+
+    private void growArcs(int capacity) {
+        arcEdgeId = Arrays.copyOf(arcEdgeId, capacity);
+        arcSource = Arrays.copyOf(arcSource, capacity);
+        arcTarget = Arrays.copyOf(arcTarget, capacity);
+        arcWeight = Arrays.copyOf(arcWeight, capacity);
+        arcTwin = Arrays.copyOf(arcTwin, capacity);
+        arcOutPosition = Arrays.copyOf(arcOutPosition, capacity);
+        arcInPosition = Arrays.copyOf(arcInPosition, capacity);
+    }
+}
@@ -0,0 +1,230 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest-path tree over a {@link DynamicGraph}, repaired incrementally as arcs change.
+ * <p>
+ * Follows Ramalingam and Reps: an inserted or cheaper arc that improves its target restarts Dijkstra from that
+ * target only; a removed or more expensive <em>tree</em> arc invalidates the subtree hanging below it, which is
+ * then re-seeded from its unaffected in-neighbours and settled again with a Dijkstra restricted to that subtree.
+ * Changes to non-tree arcs that do not improve anything cost O(1). Weights must not be negative.
+ */
+public final class DynamicShortestPathTree implements DynamicGraph.Listener {
+
+    private final DynamicGraph graph;
+    private final int source;
+
+    private double[] distance;
+    private int[] parentArc;
+    private boolean[] affected;
+    private int[] scratch;
+    private IndexedMinHeap heap;
+    private boolean valid = true;
+    private long settledNodes;
+
+    /**
+     * Builds the tree with a full Dijkstra and subscribes it to {@code graph}.
+     */
+    public DynamicShortestPathTree(DynamicGraph graph, int source) {
+        if (graph.hasNegativeWeights()) {
+            throw new IllegalArgumentException("Dynamic shortest paths require non-negative weights");
+        }
+        this.graph = graph;
+        this.source = source;
+        allocate(Math.max(graph.nodeSlots(), 16));
+        distance[source] = 0;
+        heap.insertOrDecrease(source, 0);
+        settle();
+        graph.addListener(this);
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * @return {@code false} once the source node was removed or a negative weight appeared; the tree must then be
+     * {@link #detach() detached} and rebuilt.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void detach() {
+        graph.removeListener(this);
+    }
+
+    public double distance(int node) {
+        return node < distance.length ? distance[node] : Double.POSITIVE_INFINITY;
+    }
+
+    public int parentArc(int node) {
+        return node < parentArc.length ? parentArc[node] : DynamicGraph.NO_ARC;
+    }
+
+    /**
+     * @return the dense node indices from the source to {@code target}, or an empty array when it is unreachable.
+     */
+    public int[] pathTo(int target) {
+        if (distance(target) == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int node = target; node != source; node = graph.arcSource(parentArc[node])) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            if (i > 0) {
+                node = graph.arcSource(parentArc[node]);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of nodes settled since the tree was built, a measure of the work done by the repairs.
+     */
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    public long estimatedSizeInBytes() {
+        return 48L + (long) distance.length * 29;
+    }
+
+    @Override
+    public void nodeAdded(int node) {
+        if (node >= distance.length) {
+            allocate(Math.max(node + 1, distance.length << 1));
+        }
+    }
+
+    @Override
+    public void nodeRemoved(int node) {
+        if (node == source) {
+            valid = false;
+        }
+    }
+
+    @Override
+    public void arcAdded(int arc) {
+        if (checkWeight(arc)) {
+            relax(arc);
+        }
+    }
+
+    @Override
+    public void arcRemoved(int arc) {
+        int target = graph.arcTarget(arc);
+        if (valid && parentArc[target] == arc) {
+            repairSubtree(target);
+        }
+    }
+
+    @Override
+    public void arcWeightChanged(int arc, double previousWeight) {
+        if (!checkWeight(arc)) {
+            return;
+        }
+        if (graph.arcWeight(arc) < previousWeight) {
+            relax(arc);
+        } else if (parentArc[graph.arcTarget(arc)] == arc) {
+            repairSubtree(graph.arcTarget(arc));
+        }
+    }
+
+    private boolean checkWeight(int arc) {
+        if (graph.arcWeight(arc) < 0) {
+            valid = false;
+        }
+        return valid;
+    }
+
+    private void relax(int arc) {
+        int from = graph.arcSource(arc);
+        int to = graph.arcTarget(arc);
+        double candidate = distance[from] + graph.arcWeight(arc);
+        if (candidate < distance[to]) {
+            distance[to] = candidate;
+            parentArc[to] = arc;
+            heap.insertOrDecrease(to, candidate);
+            settle();
+        }
+    }
+
+    private void repairSubtree(int root) {
+        // Collect the subtree through the children of each affected node.
+        int count = 0;
+        scratch[count++] = root;
+        affected[root] = true;
+        for (int i = 0; i < count; i++) {
+            int node = scratch[i];
+            for (int k = 0, degree = graph.outDegree(node); k < degree; k++) {
+                int arc = graph.outArc(node, k);
+                int child = graph.arcTarget(arc);
+                if (parentArc[child] == arc && !affected[child]) {
+                    affected[child] = true;
+                    scratch[count++] = child;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            distance[scratch[i]] = Double.POSITIVE_INFINITY;
+            parentArc[scratch[i]] = DynamicGraph.NO_ARC;
+        }
+        // Seed every affected node with its best entry from outside the subtree.
+        for (int i = 0; i < count; i++) {
+            int node = scratch[i];
+            for (int k = 0, degree = graph.inDegree(node); k < degree; k++) {
+                int arc = graph.inArc(node, k);
+                int from = graph.arcSource(arc);
+                if (affected[from]) {
+                    continue;
+                }
+                double candidate = distance[from] + graph.arcWeight(arc);
+                if (candidate < distance[node]) {
+                    distance[node] = candidate;
+                    parentArc[node] = arc;
+                }
+            }
+            if (distance[node] < Double.POSITIVE_INFINITY) {
+                heap.insertOrDecrease(node, distance[node]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            affected[scratch[i]] = false;
+        }
+        settle();
+    }
+
+    private void settle() {
+        while (!heap.isEmpty()) {
+            int node = heap.pollMin();
+            settledNodes++;
+            for (int k = 0, degree = graph.outDegree(node); k < degree; k++) {
+                int arc = graph.outArc(node, k);
+                int to = graph.arcTarget(arc);
+                double candidate = distance[node] + graph.arcWeight(arc);
+                if (candidate < distance[to]) {
+                    distance[to] = candidate;
+                    parentArc[to] = arc;
+                    heap.insertOrDecrease(to, candidate);
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        int previous = distance == null ? 0 : distance.length;
+        distance = distance == null ? new double[capacity] : Arrays.copyOf(distance, capacity);
+        Arrays.fill(distance, previous, capacity, Double.POSITIVE_INFINITY);
+        parentArc = parentArc == null ? new int[capacity] : Arrays.copyOf(parentArc, capacity);
+        Arrays.fill(parentArc, previous, capacity, DynamicGraph.NO_ARC);
+        affected = new boolean[capacity];
+        scratch = new int[capacity];
+        heap = new IndexedMinHeap(capacity);
+    }
+}
@@ -0,0 +1,49 @@
+package com.graphapp.service.algo;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link DynamicShortestPathTree}s tracked on one {@link DynamicGraph}, bounded to the most recently queried
+ * sources. Not thread-safe; callers hold the same lock as for the graph.
+ */
+public final class DynamicShortestPaths {
+
+    private final DynamicGraph graph;
+    private final int maxSources;
+    private final Map<Integer, DynamicShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+
+    public DynamicShortestPaths(DynamicGraph graph, int maxSources) {
+        this.graph = graph;
+        this.maxSources = Math.max(1, maxSources);
+    }
+
+    /**
+     * Returns the up-to-date tree rooted at {@code source}, building it if the source is not tracked yet.
+     *
+     * @throws IllegalArgumentException if the graph has negative weights.
+     */
+    public DynamicShortestPathTree tree(int source) {
+        DynamicShortestPathTree tree = trees.get(source);
+        if (tree != null && tree.isValid()) {
+            return tree;
+        }
+        if (tree != null) {
+            tree.detach();
+            trees.remove(source);
+        }
+        tree = new DynamicShortestPathTree(graph, source);
+        trees.put(source, tree);
+        Iterator<DynamicShortestPathTree> eldest = trees.values().iterator();
+        while (trees.size() > maxSources) {
+            eldest.next().detach();
+            eldest.remove();
+        }
+        return tree;
+    }
+
+    public int size() {
+        return trees.size();
+    }
+}
@@ -0,0 +1,281 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Spanning forest stored as Euler tours in randomized treaps (Henzinger and King), supporting {@code link},
+ * {@code cut} and {@code connected} in expected O(log n).
+ * <p>
+ * Each tree is a sequence holding one occurrence per vertex plus two occurrences per tree edge, one for each
+ * direction. Treap nodes aggregate the number of vertices and the number of <em>flagged</em> vertices below them, so
+ * that component sizes are O(1) at the root and flagged vertices of a tree can be enumerated without visiting the
+ * others.
+ */
+final class EulerTourForest {
+
+    static final int NIL = -1;
+
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] parent = new int[16];
+    private int[] priority = new int[16];
+    private int[] count = new int[16];
+    private int[] vertices = new int[16];
+    private int[] flagged = new int[16];
+    private int[] vertexOf = new int[16];
+    private boolean[] flag = new boolean[16];
+    private int slots;
+    private int[] free = new int[16];
+    private int freeCount;
+
+    private int[] vertexNode = new int[16];
+
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * Adds {@code vertex} as a singleton tree.
+     */
+    void addVertex(int vertex) {
+        if (vertex >= vertexNode.length) {
+            vertexNode = Arrays.copyOf(vertexNode, Math.max(vertex + 1, vertexNode.length << 1));
+        }
+        vertexNode[vertex] = allocate(vertex);
+    }
+
+    /**
+     * Removes a vertex that has no tree edge left.
+     */
+    void removeVertex(int vertex) {
+        release(vertexNode[vertex]);
+        vertexNode[vertex] = NIL;
+    }
+
+    boolean connected(int a, int b) {
+        return root(vertexNode[a]) == root(vertexNode[b]);
+    }
+
+    /**
+     * @return an identifier of the tree holding {@code vertex}, valid until the next link or cut.
+     */
+    int treeOf(int vertex) {
+        return root(vertexNode[vertex]);
+    }
+
+    int treeSize(int vertex) {
+        return vertices[root(vertexNode[vertex])];
+    }
+
+    /**
+     * Joins the trees of {@code a} and {@code b}, which must not be connected.
+     *
+     * @return the occurrences of the new edge, to be handed back to {@link #cut}.
+     */
+    long link(int a, int b) {
+        int tourA = reroot(vertexNode[a]);
+        int tourB = reroot(vertexNode[b]);
+        int forward = allocate(NIL);
+        int backward = allocate(NIL);
+        merge(merge(merge(tourA, forward), tourB), backward);
+        return ((long) forward << 32) | (backward & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Removes the tree edge returned by {@link #link}, splitting its tree in two.
+     */
+    void cut(long edge) {
+        int first = (int) (edge >>> 32);
+        int second = (int) edge;
+        int tour = root(first);
+        int firstPosition = position(first);
+        int secondPosition = position(second);
+        if (firstPosition > secondPosition) {
+            int swap = firstPosition;
+            firstPosition = secondPosition;
+            secondPosition = swap;
+        }
+        split(tour, firstPosition);
+        int before = splitLeft;
+        split(splitRight, 1);
+        split(splitRight, secondPosition - firstPosition - 1);
+        split(splitRight, 1);
+        int after = splitRight;
+        merge(before, after);
+        release(first);
+        release(second);
+    }
+
+    /**
+     * Marks or unmarks a vertex, see {@link #flaggedVertices}.
+     */
+    void setFlag(int vertex, boolean value) {
+        int node = vertexNode[vertex];
+        if (flag[node] == value) {
+            return;
+        }
+        flag[node] = value;
+        for (int x = node; x != NIL; x = parent[x]) {
+            update(x);
+        }
+    }
+
+    /**
+     * @return the flagged vertices of the tree identified by {@code tree}, see {@link #treeOf}.
+     */
+    int[] flaggedVertices(int tree) {
+        int[] found = new int[flagged[tree]];
+        int size = 0;
+        int[] stack = new int[64];
+        int depth = 0;
+        stack[depth++] = tree;
+        while (depth > 0) {
+            int x = stack[--depth];
+            if (x == NIL || flagged[x] == 0) {
+                continue;
+            }
+            if (flag[x]) {
+                found[size++] = vertexOf[x];
+            }
+            if (depth + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+            }
+            stack[depth++] = left[x];
+            stack[depth++] = right[x];
+        }
+        return found;
+    }
+
+    private int reroot(int node) {
+        int tour = root(node);
+        split(tour, position(node));
+        return merge(splitRight, splitLeft);
+    }
+
+    private int root(int node) {
+        while (parent[node] != NIL) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private int position(int node) {
+        int position = countOf(left[node]);
+        for (int x = node; parent[x] != NIL; x = parent[x]) {
+            if (right[parent[x]] == x) {
+                position += countOf(left[parent[x]]) + 1;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Splits the first {@code k} occurrences of {@code tour} off into {@link #splitLeft}, the rest into {@link #splitRight}.
+     */
+    private void split(int tour, int k) {
+        if (tour == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        parent[tour] = NIL;
+        if (countOf(left[tour]) < k) {
+            split(right[tour], k - countOf(left[tour]) - 1);
+            right[tour] = splitLeft;
+            setParent(splitLeft, tour);
+            update(tour);
+            splitLeft = tour;
+        } else {
+            split(left[tour], k);
+            left[tour] = splitRight;
+            setParent(splitRight, tour);
+            update(tour);
+            splitRight = tour;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            setParent(right[a], a);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        setParent(left[b], b);
+        update(b);
+        return b;
+    }
+
+    private void setParent(int node, int value) {
+        if (node != NIL) {
+            parent[node] = value;
+        }
+    }
+
+    private void update(int node) {
+        int l = left[node];
+        int r = right[node];
+        count[node] = 1 + countOf(l) + countOf(r);
+        vertices[node] = (vertexOf[node] != NIL ? 1 : 0) + (l != NIL ? vertices[l] : 0) + (r != NIL ? vertices[r] : 0);
+        flagged[node] = (flag[node] ? 1 : 0) + (l != NIL ? flagged[l] : 0) + (r != NIL ? flagged[r] : 0);
+    }
+
+    private int countOf(int node) {
+        return node == NIL ? 0 : count[node];
+    }
+
+    private int allocate(int vertex) {
+        int node;
+        if (freeCount > 0) {
+            node = free[--freeCount];
+        } else {
+            if (slots == left.length) {
+                grow(slots << 1);
+            }
+            node = slots++;
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = NIL;
+        priority[node] = nextPriority();
+        vertexOf[node] = vertex;
+        flag[node] = false;
+        update(node);
+        return node;
+    }
+
+    private void release(int node) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount << 1);
+        }
+        free[freeCount++] = node;
+    }
+
+    private int nextPriority() {
+        // xorshift64*, enough to keep the treaps balanced in expectation
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return (int) ((seed * 0x2545F4914F6CDD1DL) >>> 32);
+    }
+
+    private void grow(int capacity) {
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        count = Arrays.copyOf(count, capacity);
+        vertices = Arrays.copyOf(vertices, capacity);
+        flagged = Arrays.copyOf(flagged, capacity);
+        vertexOf = Arrays.copyOf(vertexOf, capacity);
+        flag = Arrays.copyOf(flag, capacity);
+    }
+}
@@ -0,0 +1,40 @@
+package com.graphapp.service.algo;
+
+/**
+ * A traversal or path algorithm that reports its progress as a trace of visited nodes.
+ * <p>
+ * Identifiers match the ones used by the graph player ({@code app/shared/graph/algos}) so that a trace
+ * computed on the server can be played back exactly like a trace computed in the browser.
+ */
+public interface GraphAlgorithm {
+    /**
+     * Value of {@code end} meaning "no target node": the algorithm explores everything reachable.
+     */
+    int NO_TARGET = -1;
+
+    String getId();
+
+    String getName();
+
+    /**
+     * Runs the algorithm.
+     *
+     * @param graph the graph to run on.
+     * @param start dense index of the start node.
+     * @param end dense index of the target node, or {@link #NO_TARGET}.
+     * @param listener receives every visit step, in order.
+     * @return the resulting path from {@code start} to {@code end} (empty if none) and the per-node values, if any.
+     */
+    AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener);
+
+    /**
+     * Estimates the work of a run, in node and edge visits, to admit it among other requests. Linear by default.
+     *
+     * @param nodes the number of nodes of the graph.
+     * @param edges the number of edges of the graph.
+     * @return the estimated number of steps.
+     */
+    default long estimateCost(long nodes, long edges) {
+        return nodes + edges;
+    }
+}
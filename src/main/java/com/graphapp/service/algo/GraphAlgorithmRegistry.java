@@ -0,0 +1,28 @@
+package com.graphapp.service.algo;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up the available {@link GraphAlgorithm} beans by id.
+ */
+@Component
+public class GraphAlgorithmRegistry {
+
+    private final Map<String, GraphAlgorithm> algorithms = new LinkedHashMap<>();
+
+    public GraphAlgorithmRegistry(List<GraphAlgorithm> algorithms) {
+        algorithms.forEach(algorithm -> this.algorithms.put(algorithm.getId(), algorithm));
+    }
+
+    public List<GraphAlgorithm> getAll() {
+        return List.copyOf(algorithms.values());
+    }
+
+    public Optional<GraphAlgorithm> find(String id) {
+        return Optional.ofNullable(algorithms.get(id));
+    }
+}
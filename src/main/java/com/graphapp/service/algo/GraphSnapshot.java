@@ -0,0 +1,221 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, array-backed view of a graph used by the server-side algorithms.
+ * <p>
+ * Nodes are addressed by a dense index in {@code [0, nodeCount)} ordered by ascending node id, and the
+ * outgoing adjacency is stored in compressed sparse row form. Undirected edges appear in both directions
+ * of the adjacency but only once in the edge arrays.
+ */
+public final class GraphSnapshot {
+
+    private final long graphId;
+    private final long[] nodeIds;
+    private final LongIntHashMap nodeIndex;
+
+    private final long[] edgeIds;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final float[] edgeWeights;
+    private final boolean[] edgeDirected;
+
+    private final int[] adjacencyOffsets;
+    private final int[] adjacencyTargets;
+    private final float[] adjacencyWeights;
+
+    private GraphSnapshot(Builder builder) {
+        this.graphId = builder.graphId;
+        this.nodeIds = Arrays.copyOf(builder.nodeIds, builder.nodeCount);
+        Arrays.sort(this.nodeIds);
+        this.nodeIndex = new LongIntHashMap(nodeIds.length);
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeIndex.put(nodeIds[i], i);
+        }
+
+        int edgeCount = 0;
+        long[] ids = new long[builder.edgeCount];
+        int[] sources = new int[builder.edgeCount];
+        int[] targets = new int[builder.edgeCount];
+        float[] weights = new float[builder.edgeCount];
+        boolean[] directed = new boolean[builder.edgeCount];
+        for (int i = 0; i < builder.edgeCount; i++) {
+            int source = nodeIndex.get(builder.edgeSourceIds[i]);
+            int target = nodeIndex.get(builder.edgeTargetIds[i]);
+            if (source == LongIntHashMap.MISSING || target == LongIntHashMap.MISSING) {
+                continue;
+            }
+            ids[edgeCount] = builder.edgeIds[i];
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            weights[edgeCount] = builder.edgeWeights[i];
+            directed[edgeCount] = builder.edgeDirected[i];
+            edgeCount++;
+        }
+        this.edgeIds = Arrays.copyOf(ids, edgeCount);
+        this.edgeSources = Arrays.copyOf(sources, edgeCount);
+        this.edgeTargets = Arrays.copyOf(targets, edgeCount);
+        this.edgeWeights = Arrays.copyOf(weights, edgeCount);
+        this.edgeDirected = Arrays.copyOf(directed, edgeCount);
+
+        int[] offsets = new int[nodeIds.length + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeSources[e] + 1]++;
+            if (!edgeDirected[e]) {
+                offsets[edgeTargets[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < nodeIds.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = Arrays.copyOf(offsets, nodeIds.length);
+        int[] adjTargets = new int[offsets[nodeIds.length]];
+        float[] adjWeights = new float[offsets[nodeIds.length]];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = cursor[edgeSources[e]]++;
+            adjTargets[slot] = edgeTargets[e];
+            adjWeights[slot] = edgeWeights[e];
+            if (!edgeDirected[e]) {
+                slot = cursor[edgeTargets[e]]++;
+                adjTargets[slot] = edgeSources[e];
+                adjWeights[slot] = edgeWeights[e];
+            }
+        }
+        this.adjacencyOffsets = offsets;
+        this.adjacencyTargets = adjTargets;
+        this.adjacencyWeights = adjWeights;
+    }
+
+    public static Builder builder(long graphId) {
+        return new Builder(graphId);
+    }
+
+    public long getGraphId() {
+        return graphId;
+    }
+
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    public int edgeCount() {
+        return edgeIds.length;
+    }
+
+    public long nodeId(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * @return the dense index of the node, or {@link LongIntHashMap#MISSING} if it is not part of the graph.
+     */
+    public int indexOf(long nodeId) {
+        return nodeIndex.get(nodeId);
+    }
+
+    public long edgeId(int edge) {
+        return edgeIds[edge];
+    }
+
+    public int edgeSource(int edge) {
+        return edgeSources[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    public float edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    public boolean isEdgeDirected(int edge) {
+        return edgeDirected[edge];
+    }
+
+    /**
+     * First adjacency slot of {@code node}; iterate up to {@link #adjacencyEnd(int)}.
+     */
+    public int adjacencyStart(int node) {
+        return adjacencyOffsets[node];
+    }
+
+    public int adjacencyEnd(int node) {
+        return adjacencyOffsets[node + 1];
+    }
+
+    public int adjacentNode(int slot) {
+        return adjacencyTargets[slot];
+    }
+
+    public float adjacentWeight(int slot) {
+        return adjacencyWeights[slot];
+    }
+
+    /**
+     * Rough retained size of this snapshot, in bytes.
+     */
+    public long estimatedSizeInBytes() {
+        return (
+            64L +
+            nodeIds.length * 8L * 3 +
+            edgeIds.length * (8L + 4 + 4 + 4 + 1) +
+            adjacencyOffsets.length * 4L +
+            adjacencyTargets.length * (4L + 4)
+        );
+    }
+
+    /**
+     * Collects nodes and edges in any order before freezing them into a {@link GraphSnapshot}.
+     * Edges whose endpoints are not registered nodes are dropped.
+     */
+    public static final class Builder {
+
+        private final long graphId;
+
+        private long[] nodeIds = new long[16];
+        private int nodeCount;
+
+        private long[] edgeIds = new long[16];
+        private long[] edgeSourceIds = new long[16];
+        private long[] edgeTargetIds = new long[16];
+        private float[] edgeWeights = new float[16];
+        private boolean[] edgeDirected = new boolean[16];
+        private int edgeCount;
+
+        private Builder(long graphId) {
+            this.graphId = graphId;
+        }
+
+        public Builder addNode(long nodeId) {
+            if (nodeCount == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, nodeCount << 1);
+            }
+            nodeIds[nodeCount++] = nodeId;
+            return this;
+        }
+
+        public Builder addEdge(long edgeId, long sourceId, long targetId, float weight, boolean directed) {
+            if (edgeCount == edgeIds.length) {
+                int capacity = edgeCount << 1;
+                edgeIds = Arrays.copyOf(edgeIds, capacity);
+                edgeSourceIds = Arrays.copyOf(edgeSourceIds, capacity);
+                edgeTargetIds = Arrays.copyOf(edgeTargetIds, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+                edgeDirected = Arrays.copyOf(edgeDirected, capacity);
+            }
+            edgeIds[edgeCount] = edgeId;
+            edgeSourceIds[edgeCount] = sourceId;
+            edgeTargetIds[edgeCount] = targetId;
+            edgeWeights[edgeCount] = Float.isFinite(weight) ? weight : 1f;
+            edgeDirected[edgeCount] = directed;
+            edgeCount++;
+            return this;
+        }
+
+        public GraphSnapshot build() {
+            return new GraphSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kruskal's minimum spanning forest, ignoring edge directions. Nodes are visited as the edges joining them
+ * are accepted, the returned path is the forest path from start to end and the per-node values are the
+ * connected component ids.
+ */
+@Component
+@Order(6)
+public class Kruskal implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "kruskal";
+    }
+
+    @Override
+    public String getName() {
+        return "Kruskal (MST)";
+    }
+
+    @Override
+    public long estimateCost(long nodes, long edges) {
+        // sorting the edges dominates
+        return AlgorithmSupport.heapCost(0, edges) + nodes;
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        long[] order = sortedByWeight(graph);
+        DisjointSet sets = new DisjointSet(n);
+        boolean[] visited = new boolean[n];
+        int[] forest = new int[Math.max(0, n - 1)];
+        int forestSize = 0;
+        long steps = 0;
+
+        visited[start] = true;
+        listener.visit(start);
+        steps++;
+        for (long key : order) {
+            int edge = (int) key;
+            int source = graph.edgeSource(edge);
+            int target = graph.edgeTarget(edge);
+            if (!sets.union(source, target)) {
+                continue;
+            }
+            forest[forestSize++] = edge;
+            if (!visited[source]) {
+                visited[source] = true;
+                listener.visit(source);
+                steps++;
+            }
+            if (!visited[target]) {
+                visited[target] = true;
+                listener.visit(target);
+                steps++;
+            }
+        }
+
+        int[] parent = UndirectedAdjacency.of(graph, forest, forestSize).parentsFrom(start, n);
+        return new AlgorithmResult(
+            AlgorithmSupport.pathFromParents(parent, start, end),
+            steps,
+            NodeValues.ofInts("component", AlgorithmSupport.normalizeComponents(sets, n))
+        );
+    }
+
+    /**
+     * Sorts non-loop edges by weight without boxing: the high half of each key is an order-preserving
+     * encoding of the weight and the low half is the edge index, which also breaks ties deterministically.
+     */
+    private static long[] sortedByWeight(GraphSnapshot graph) {
+        long[] keys = new long[graph.edgeCount()];
+        int count = 0;
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            if (graph.edgeSource(edge) == graph.edgeTarget(edge)) {
+                continue;
+            }
+            int bits = Float.floatToIntBits(graph.edgeWeight(edge));
+            int sortable = bits ^ ((bits >> 31) & 0x7FFFFFFF);
+            keys[count++] = ((long) sortable << 32) | edge;
+        }
+        long[] sorted = Arrays.copyOf(keys, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
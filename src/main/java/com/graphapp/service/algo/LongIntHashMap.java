@@ -0,0 +1,159 @@
+package com.graphapp.service.algo;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to primitive {@code int} values.
+ * <p>
+ * Used to translate database ids into dense array indices without boxing every entry.
+ */
+public final class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int threshold;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}.
+     *
+     * @return the previous value, or {@link #MISSING} if there was none.
+     */
+    public int put(long key, int value) {
+        int slot = slotOf(key);
+        if (used[slot]) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+        return MISSING;
+    }
+
+    /**
+     * Associates {@code value} with {@code key} only if the key is not present yet.
+     *
+     * @return the existing value, or {@link #MISSING} if {@code value} was inserted.
+     */
+    public int putIfAbsent(long key, int value) {
+        int slot = slotOf(key);
+        if (used[slot]) {
+            return values[slot];
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+        return MISSING;
+    }
+
+    public int get(long key) {
+        int slot = slotOf(key);
+        return used[slot] ? values[slot] : MISSING;
+    }
+
+    public boolean containsKey(long key) {
+        return used[slotOf(key)];
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @return the removed value, or {@link #MISSING} if there was none.
+     */
+    public int remove(long key) {
+        int slot = slotOf(key);
+        if (!used[slot]) {
+            return MISSING;
+        }
+        int previous = values[slot];
+        used[slot] = false;
+        size--;
+        // backward-shift deletion keeps probe sequences intact without tombstones
+        int mask = keys.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int ideal = mix(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                used[gap] = true;
+                used[next] = false;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,54 @@
+package com.graphapp.service.algo;
+
+/**
+ * A per-node result vector (distances, hop counts, component ids...) indexed by dense node index.
+ */
+public final class NodeValues {
+
+    public enum Kind {
+        INT,
+        FLOAT,
+    }
+
+    private final String name;
+    private final int[] ints;
+    private final float[] floats;
+
+    private NodeValues(String name, int[] ints, float[] floats) {
+        this.name = name;
+        this.ints = ints;
+        this.floats = floats;
+    }
+
+    public static NodeValues ofInts(String name, int[] values) {
+        return new NodeValues(name, values, null);
+    }
+
+    public static NodeValues ofFloats(String name, float[] values) {
+        return new NodeValues(name, null, values);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return ints != null ? Kind.INT : Kind.FLOAT;
+    }
+
+    public int size() {
+        return ints != null ? ints.length : floats.length;
+    }
+
+    public int intValue(int node) {
+        return ints[node];
+    }
+
+    public float floatValue(int node) {
+        return floats[node];
+    }
+
+    public long estimatedSizeInBytes() {
+        return 32L + size() * 4L;
+    }
+}
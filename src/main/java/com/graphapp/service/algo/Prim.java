@@ -0,0 +1,59 @@
+package com.graphapp.service.algo;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prim's minimum spanning tree of the start node's component, ignoring edge directions. Nodes are visited
+ * in the order they join the tree and the returned path is the tree path from start to end.
+ */
+@Component
+@Order(5)
+public class Prim implements GraphAlgorithm {
+
+    @Override
+    public String getId() {
+        return "prim";
+    }
+
+    @Override
+    public String getName() {
+        return "Prim (MST)";
+    }
+
+    @Override
+    public long estimateCost(long nodes, long edges) {
+        return AlgorithmSupport.heapCost(nodes, edges);
+    }
+
+    @Override
+    public AlgorithmResult run(GraphSnapshot graph, int start, int end, TraceListener listener) {
+        int n = graph.nodeCount();
+        UndirectedAdjacency adjacency = UndirectedAdjacency.of(graph);
+        int[] treeParent = AlgorithmSupport.filled(n, -1);
+        boolean[] inTree = new boolean[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        long steps = 0;
+
+        heap.insertOrDecrease(start, 0);
+        while (!heap.isEmpty()) {
+            int node = heap.pollMin();
+            inTree[node] = true;
+            listener.visit(node);
+            steps++;
+            for (int slot = adjacency.start(node), last = adjacency.end(node); slot < last; slot++) {
+                int neighbor = adjacency.target(slot);
+                if (inTree[neighbor]) {
+                    continue;
+                }
+                float weight = adjacency.weight(slot);
+                if (!heap.contains(neighbor) || weight < heap.keyOf(neighbor)) {
+                    treeParent[neighbor] = node;
+                    heap.insertOrDecrease(neighbor, weight);
+                }
+            }
+        }
+
+        return new AlgorithmResult(AlgorithmSupport.pathFromParents(treeParent, start, end), steps, null);
+    }
+}
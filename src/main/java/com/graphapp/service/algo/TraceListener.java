@@ -0,0 +1,19 @@
+package com.graphapp.service.algo;
+
+/**
+ * Receives the steps of an algorithm as they are produced.
+ * <p>
+ * Listeners are called on the thread running the algorithm, so a listener that blocks (for example on a
+ * slow client connection) naturally slows the algorithm down instead of buffering steps.
+ */
+@FunctionalInterface
+public interface TraceListener {
+    TraceListener NONE = node -> {};
+
+    /**
+     * Called when the algorithm visits a node.
+     *
+     * @param node the dense index of the visited node in the {@link GraphSnapshot}.
+     */
+    void visit(int node);
+}
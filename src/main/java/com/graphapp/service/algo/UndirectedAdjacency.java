@@ -0,0 +1,105 @@
+package com.graphapp.service.algo;
+
+/**
+ * Adjacency of a {@link GraphSnapshot} (or a subset of its edges) with edge directions ignored and
+ * self-loops dropped, as used by the spanning-tree algorithms.
+ */
+final class UndirectedAdjacency {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final float[] weights;
+
+    private UndirectedAdjacency(int[] offsets, int[] targets, float[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    static UndirectedAdjacency of(GraphSnapshot graph) {
+        int[] edges = new int[graph.edgeCount()];
+        for (int edge = 0; edge < edges.length; edge++) {
+            edges[edge] = edge;
+        }
+        return of(graph, edges, edges.length);
+    }
+
+    /**
+     * Builds the adjacency of the first {@code count} edges listed in {@code edges}.
+     */
+    static UndirectedAdjacency of(GraphSnapshot graph, int[] edges, int count) {
+        int n = graph.nodeCount();
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < count; i++) {
+            int source = graph.edgeSource(edges[i]);
+            int target = graph.edgeTarget(edges[i]);
+            if (source != target) {
+                offsets[source + 1]++;
+                offsets[target + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        int[] targets = new int[offsets[n]];
+        float[] weights = new float[offsets[n]];
+        for (int i = 0; i < count; i++) {
+            int edge = edges[i];
+            int source = graph.edgeSource(edge);
+            int target = graph.edgeTarget(edge);
+            if (source == target) {
+                continue;
+            }
+            int slot = cursor[source]++;
+            targets[slot] = target;
+            weights[slot] = graph.edgeWeight(edge);
+            slot = cursor[target]++;
+            targets[slot] = source;
+            weights[slot] = graph.edgeWeight(edge);
+        }
+        return new UndirectedAdjacency(offsets, targets, weights);
+    }
+
+    int start(int node) {
+        return offsets[node];
+    }
+
+    int end(int node) {
+        return offsets[node + 1];
+    }
+
+    int target(int slot) {
+        return targets[slot];
+    }
+
+    float weight(int slot) {
+        return weights[slot];
+    }
+
+    /**
+     * Breadth-first parent array rooted at {@code root}; unreached nodes have parent {@code -1}.
+     */
+    int[] parentsFrom(int root, int nodeCount) {
+        int[] parent = AlgorithmSupport.filled(nodeCount, -1);
+        boolean[] seen = new boolean[nodeCount];
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        seen[root] = true;
+        queue[tail++] = root;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int slot = start(node), last = end(node); slot < last; slot++) {
+                int neighbor = targets[slot];
+                if (!seen[neighbor]) {
+                    seen[neighbor] = true;
+                    parent[neighbor] = node;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return parent;
+    }
+}
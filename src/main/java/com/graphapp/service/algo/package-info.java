@@ -0,0 +1,4 @@
+/**
+ * Server-side graph algorithms running on compact in-memory graph snapshots.
+ */
+package com.graphapp.service.algo;
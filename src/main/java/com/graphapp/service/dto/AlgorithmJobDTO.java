@@ -0,0 +1,199 @@
+package com.graphapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * State of an algorithm job, which runs in the background: its progress and, while it runs, the best nodes so far
+ * for the algorithms that rank nodes; once it succeeded, its result, an {@link AlgorithmTraceDTO}.
+ */
+public class AlgorithmJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED,
+        TIMED_OUT;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    /**
+     * The score of a node, as estimated so far.
+     */
+    public record NodeScore(Long nodeId, double score) implements Serializable {}
+
+    private Long id;
+
+    private Long graphId;
+
+    private Long graphRevision;
+
+    private String algorithm;
+
+    private Long startId;
+
+    private Long endId;
+
+    private Status status;
+
+    private double progress;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<NodeScore> leaders;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private Instant deadline;
+
+    @JsonRawValue
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String result;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public Long getGraphRevision() {
+        return graphRevision;
+    }
+
+    public void setGraphRevision(Long graphRevision) {
+        this.graphRevision = graphRevision;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Long getStartId() {
+        return startId;
+    }
+
+    public void setStartId(Long startId) {
+        this.startId = startId;
+    }
+
+    public Long getEndId() {
+        return endId;
+    }
+
+    public void setEndId(Long endId) {
+        this.endId = endId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public List<NodeScore> getLeaders() {
+        return leaders;
+    }
+
+    public void setLeaders(List<NodeScore> leaders) {
+        this.leaders = leaders;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Instant deadline) {
+        this.deadline = deadline;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlgorithmJobDTO{" +
+            "id=" + getId() +
+            ", graphId=" + getGraphId() +
+            ", algorithm='" + getAlgorithm() + "'" +
+            ", status=" + getStatus() +
+            ", progress=" + getProgress() +
+            "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.graphapp.service.dto;
+
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.GraphSnapshot;
+import com.graphapp.service.algo.NodeValues;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON representation of an algorithm trace, shaped like the graph player's {@code AlgoResult}.
+ */
+public class AlgorithmTraceDTO {
+
+    public static class StepDTO {
+
+        public String type;
+        public Long nodeId;
+
+        public StepDTO(String type, Long nodeId) {
+            this.type = type;
+            this.nodeId = nodeId;
+        }
+    }
+
+    public static class NodeValuesDTO {
+
+        public String name;
+        public List<Long> nodeIds;
+        public List<Number> values; // null where the node was not reached
+    }
+
+    private String algorithm;
+    private List<Long> path;
+    private List<StepDTO> steps;
+    private NodeValuesDTO values;
+
+    public AlgorithmTraceDTO(AlgorithmTrace trace) {
+        GraphSnapshot graph = trace.getGraph();
+        this.algorithm = trace.getAlgorithmId();
+
+        int[] pathIndices = trace.getResult().getPath();
+        this.path = new ArrayList<>(pathIndices.length);
+        for (int node : pathIndices) {
+            this.path.add(graph.nodeId(node));
+        }
+
+        int[] stepIndices = trace.getSteps();
+        this.steps = new ArrayList<>(stepIndices.length);
+        for (int node : stepIndices) {
+            this.steps.add(new StepDTO("visit", graph.nodeId(node)));
+        }
+
+        NodeValues nodeValues = trace.getResult().getValues();
+        if (nodeValues != null) {
+            this.values = new NodeValuesDTO();
+            this.values.name = nodeValues.getName();
+            this.values.nodeIds = new ArrayList<>(graph.nodeCount());
+            this.values.values = new ArrayList<>(graph.nodeCount());
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                this.values.nodeIds.add(graph.nodeId(node));
+                if (nodeValues.getKind() == NodeValues.Kind.INT) {
+                    this.values.values.add(nodeValues.intValue(node));
+                } else {
+                    float value = nodeValues.floatValue(node);
+                    this.values.values.add(Float.isFinite(value) ? value : null);
+                }
+            }
+        }
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public List<Long> getPath() {
+        return path;
+    }
+
+    public List<StepDTO> getSteps() {
+        return steps;
+    }
+
+    public NodeValuesDTO getValues() {
+        return values;
+    }
+}
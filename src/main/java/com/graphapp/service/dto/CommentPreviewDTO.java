@@ -0,0 +1,73 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for a comment of a feed: the beginning of its content, the full content being fetched on demand, and the
+ * cursor of its position in the feed.
+ */
+public class CommentPreviewDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String preview;
+
+    private boolean truncated;
+
+    private Instant createdAt;
+
+    private String cursor;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CommentPreviewDTO{" +
+            "id=" + getId() +
+            ", truncated=" + isTruncated() +
+            ", createdAt=" + getCreatedAt() +
+            "}";
+    }
+}
@@ -0,0 +1,63 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the connected components of a graph, edge direction ignored. The fields about the start and end nodes
+ * are only set when those nodes were given.
+ */
+public class ConnectivityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long graphId;
+
+    private int componentCount;
+
+    private Integer startComponentSize;
+
+    private Boolean connected;
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public void setComponentCount(int componentCount) {
+        this.componentCount = componentCount;
+    }
+
+    public Integer getStartComponentSize() {
+        return startComponentSize;
+    }
+
+    public void setStartComponentSize(Integer startComponentSize) {
+        this.startComponentSize = startComponentSize;
+    }
+
+    public Boolean getConnected() {
+        return connected;
+    }
+
+    public void setConnected(Boolean connected) {
+        this.connected = connected;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConnectivityDTO{" +
+            "graphId=" + graphId +
+            ", componentCount=" + componentCount +
+            ", startComponentSize=" + startComponentSize +
+            ", connected=" + connected +
+            "}";
+    }
+}
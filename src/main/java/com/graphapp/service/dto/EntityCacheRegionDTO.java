@@ -0,0 +1,104 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the settings and statistics of a region of the second-level cache.
+ * <p>
+ * Counters run since the application started, eviction of the region does not reset them.
+ */
+public class EntityCacheRegionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String name;
+
+    private long size;
+
+    private Long maxEntries;
+
+    private Long timeToLiveSeconds;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRatio;
+
+    private long evictions;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(Long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityCacheRegionDTO{" +
+            "name='" + getName() + "'" +
+            ", size=" + getSize() +
+            ", hits=" + getHits() +
+            ", misses=" + getMisses() +
+            "}";
+    }
+}
@@ -9,6 +9,7 @@ public class FullGraphDTO {
         public Long id;
         public String name;
         public String description;
+        public Long revision;
     }
 
     public static class NodeDTO {
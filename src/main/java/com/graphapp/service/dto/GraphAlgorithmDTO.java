@@ -0,0 +1,49 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO describing a server-side graph algorithm.
+ */
+public class GraphAlgorithmDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String name;
+
+    public GraphAlgorithmDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public GraphAlgorithmDTO(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GraphAlgorithmDTO{" +
+            "id='" + id + "'" +
+            ", name='" + name + "'" +
+            "}";
+    }
+}
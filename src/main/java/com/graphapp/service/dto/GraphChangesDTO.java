@@ -0,0 +1,71 @@
+package com.graphapp.service.dto;
+
+import java.util.List;
+
+/**
+ * The changes of a graph between two revisions: the current state of every node and edge created or updated since
+ * {@code since}, and the ids of those removed. When {@code snapshot} is set the requested revision was no longer
+ * available, and {@code nodes} and {@code edges} hold the whole graph instead.
+ */
+public class GraphChangesDTO {
+
+    private Long since;
+    private Long revision;
+    private boolean snapshot;
+    private FullGraphDTO.GraphDTO graph;
+    private List<FullGraphDTO.NodeDTO> nodes;
+    private List<FullGraphDTO.EdgeDTO> edges;
+    private List<Long> removedNodeIds;
+    private List<Long> removedEdgeIds;
+
+    public GraphChangesDTO(
+        Long since,
+        boolean snapshot,
+        FullGraphDTO.GraphDTO graph,
+        List<FullGraphDTO.NodeDTO> nodes,
+        List<FullGraphDTO.EdgeDTO> edges,
+        List<Long> removedNodeIds,
+        List<Long> removedEdgeIds
+    ) {
+        this.since = since;
+        this.revision = graph.revision;
+        this.snapshot = snapshot;
+        this.graph = graph;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.removedNodeIds = removedNodeIds;
+        this.removedEdgeIds = removedEdgeIds;
+    }
+
+    public Long getSince() {
+        return since;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public FullGraphDTO.GraphDTO getGraph() {
+        return graph;
+    }
+
+    public List<FullGraphDTO.NodeDTO> getNodes() {
+        return nodes;
+    }
+
+    public List<FullGraphDTO.EdgeDTO> getEdges() {
+        return edges;
+    }
+
+    public List<Long> getRemovedNodeIds() {
+        return removedNodeIds;
+    }
+
+    public List<Long> getRemovedEdgeIds() {
+        return removedEdgeIds;
+    }
+}
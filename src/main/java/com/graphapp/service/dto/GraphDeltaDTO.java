@@ -0,0 +1,69 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A committed change to one element of a graph, as broadcast to its subscribers.
+ * <p>
+ * {@code kind} is one of {@code node}, {@code edge}, {@code comment}, {@code position} or {@code graph}. {@code state}
+ * holds the new state of the element, {@code null} when {@code deleted} or for a {@code graph}, and {@code [x, y]}
+ * for a {@code position}.
+ */
+public class GraphDeltaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String kind;
+
+    private Long id;
+
+    private boolean deleted;
+
+    private Object state;
+
+    public GraphDeltaDTO() {}
+
+    public GraphDeltaDTO(String kind, Long id, boolean deleted, Object state) {
+        this.kind = kind;
+        this.id = id;
+        this.deleted = deleted;
+        this.state = state;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Object getState() {
+        return state;
+    }
+
+    public void setState(Object state) {
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphDeltaDTO{" + "kind='" + kind + "'" + ", id=" + id + ", deleted=" + deleted + "}";
+    }
+}
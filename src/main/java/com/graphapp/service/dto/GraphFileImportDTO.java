@@ -0,0 +1,154 @@
+package com.graphapp.service.dto;
+
+import com.graphapp.service.io.GraphFormat;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Progress of the import of a graph file, which runs in the background.
+ */
+public class GraphFileImportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        FAILED,
+    }
+
+    private String id;
+
+    private String name;
+
+    private GraphFormat format;
+
+    private Status status;
+
+    private long bytesRead;
+
+    private long totalBytes;
+
+    private long nodes;
+
+    private long edges;
+
+    private Long graphId;
+
+    private String error;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public GraphFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(GraphFormat format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getEdges() {
+        return edges;
+    }
+
+    public void setEdges(long edges) {
+        this.edges = edges;
+    }
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "GraphFileImportDTO{" +
+            "id='" + id + "'" +
+            ", format=" + format +
+            ", status=" + status +
+            ", bytesRead=" + bytesRead +
+            ", nodes=" + nodes +
+            ", edges=" + edges +
+            ", graphId=" + graphId +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.graphapp.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A whole graph to create at once. Nodes carry client-side keys, which edges use to reference their endpoints.
+ */
+public class GraphImportDTO {
+
+    public static class NodeDTO {
+
+        @NotNull
+        public String key;
+
+        @NotNull
+        public String label;
+
+        @NotNull
+        public Float x;
+
+        @NotNull
+        public Float y;
+    }
+
+    public static class EdgeDTO {
+
+        @NotNull
+        public String source; // node key
+
+        @NotNull
+        public String target; // node key
+
+        @NotNull
+        public Float weight;
+
+        public Boolean directed = true;
+    }
+
+    @NotNull
+    private String name;
+
+    private String description;
+
+    @NotNull
+    private List<@Valid @NotNull NodeDTO> nodes = new ArrayList<>();
+
+    @NotNull
+    private List<@Valid @NotNull EdgeDTO> edges = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<NodeDTO> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<NodeDTO> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<EdgeDTO> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<EdgeDTO> edges) {
+        this.edges = edges;
+    }
+}
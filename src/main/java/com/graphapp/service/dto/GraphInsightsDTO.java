@@ -0,0 +1,84 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A DTO for the insights page: totals over all graphs, graph creations per time bucket, graphs per order of
+ * magnitude of their node count, and the largest graphs.
+ */
+public class GraphInsightsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of graphs created in the period starting at {@code start}, or at an unknown date if it is {@code null}.
+     */
+    public record CreatedBucket(Instant start, long graphs) implements Serializable {}
+
+    /**
+     * The number of graphs with {@code minNodes} nodes up to ten times as many, exclusive; {@code minNodes} is 0 for empty graphs only.
+     */
+    public record SizeBucket(long minNodes, long graphs) implements Serializable {}
+
+    private long graphCount;
+
+    private long nodeCount;
+
+    private long edgeCount;
+
+    private List<CreatedBucket> created;
+
+    private List<SizeBucket> sizes;
+
+    private List<GraphSummaryDTO> largest;
+
+    public long getGraphCount() {
+        return graphCount;
+    }
+
+    public void setGraphCount(long graphCount) {
+        this.graphCount = graphCount;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public void setEdgeCount(long edgeCount) {
+        this.edgeCount = edgeCount;
+    }
+
+    public List<CreatedBucket> getCreated() {
+        return created;
+    }
+
+    public void setCreated(List<CreatedBucket> created) {
+        this.created = created;
+    }
+
+    public List<SizeBucket> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(List<SizeBucket> sizes) {
+        this.sizes = sizes;
+    }
+
+    public List<GraphSummaryDTO> getLargest() {
+        return largest;
+    }
+
+    public void setLargest(List<GraphSummaryDTO> largest) {
+        this.largest = largest;
+    }
+}
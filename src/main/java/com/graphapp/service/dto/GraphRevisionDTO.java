@@ -0,0 +1,38 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO acknowledging a write with the revision of the graph that includes it.
+ */
+public class GraphRevisionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long graphId;
+
+    private Long revision;
+
+    public GraphRevisionDTO() {}
+
+    public GraphRevisionDTO(Long graphId, Long revision) {
+        this.graphId = graphId;
+        this.revision = revision;
+    }
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+}
@@ -0,0 +1,132 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A DTO for the size and shape of a graph, read from its summary rather than computed from its nodes and edges.
+ * <p>
+ * {@code degreeHistogram} holds the number of nodes per degree bucket: bucket {@code b} counts the nodes whose degree
+ * has a bit length of {@code b}, i.e. degree 0, 1, 2-3, 4-7, 8-15 and so on.
+ */
+public class GraphSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long graphId;
+
+    private String name;
+
+    private Instant createdAt;
+
+    private Instant lastModified;
+
+    private long nodeCount;
+
+    private long edgeCount;
+
+    private Double directedRatio;
+
+    private Float weightMin;
+
+    private Float weightMax;
+
+    private double weightSum;
+
+    private List<Long> degreeHistogram;
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public void setEdgeCount(long edgeCount) {
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * @return the share of directed edges, or {@code null} if the graph has no edges.
+     */
+    public Double getDirectedRatio() {
+        return directedRatio;
+    }
+
+    public void setDirectedRatio(Double directedRatio) {
+        this.directedRatio = directedRatio;
+    }
+
+    public Float getWeightMin() {
+        return weightMin;
+    }
+
+    public void setWeightMin(Float weightMin) {
+        this.weightMin = weightMin;
+    }
+
+    public Float getWeightMax() {
+        return weightMax;
+    }
+
+    public void setWeightMax(Float weightMax) {
+        this.weightMax = weightMax;
+    }
+
+    public double getWeightSum() {
+        return weightSum;
+    }
+
+    public void setWeightSum(double weightSum) {
+        this.weightSum = weightSum;
+    }
+
+    /**
+     * @return the number of nodes per degree bucket, or {@code null} when listing several graphs.
+     */
+    public List<Long> getDegreeHistogram() {
+        return degreeHistogram;
+    }
+
+    public void setDegreeHistogram(List<Long> degreeHistogram) {
+        this.degreeHistogram = degreeHistogram;
+    }
+}
@@ -0,0 +1,43 @@
+package com.graphapp.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * New coordinates for nodes of one graph, as three parallel arrays: node {@code ids[i]} moves to
+ * {@code (x[i], y[i])}.
+ */
+public class NodePositionsDTO {
+
+    @NotNull
+    private long[] ids;
+
+    @NotNull
+    private float[] x;
+
+    @NotNull
+    private float[] y;
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public void setIds(long[] ids) {
+        this.ids = ids;
+    }
+
+    public float[] getX() {
+        return x;
+    }
+
+    public void setX(float[] x) {
+        this.x = x;
+    }
+
+    public float[] getY() {
+        return y;
+    }
+
+    public void setY(float[] y) {
+        this.y = y;
+    }
+}
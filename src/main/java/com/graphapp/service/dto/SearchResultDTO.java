@@ -0,0 +1,75 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for a search result: a graph, a node or a comment, with the beginning of the text that matched.
+ */
+public class SearchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@code graph}, {@code node} or {@code comment}.
+     */
+    private String type;
+
+    private Long id;
+
+    private Long graphId;
+
+    private String text;
+
+    private double score;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchResultDTO{" +
+            "type='" + getType() + "'" +
+            ", id=" + getId() +
+            ", graphId=" + getGraphId() +
+            ", score=" + getScore() +
+            "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.graphapp.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for a shortest path between two nodes of a graph. {@code distance} is {@code null} and the path is empty
+ * when the end node cannot be reached.
+ */
+public class ShortestPathDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long graphId;
+
+    private Long startId;
+
+    private Long endId;
+
+    private Double distance;
+
+    private List<Long> nodeIds = new ArrayList<>();
+
+    private List<Long> edgeIds = new ArrayList<>();
+
+    public Long getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(Long graphId) {
+        this.graphId = graphId;
+    }
+
+    public Long getStartId() {
+        return startId;
+    }
+
+    public void setStartId(Long startId) {
+        this.startId = startId;
+    }
+
+    public Long getEndId() {
+        return endId;
+    }
+
+    public void setEndId(Long endId) {
+        this.endId = endId;
+    }
+
+    public Double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Double distance) {
+        this.distance = distance;
+    }
+
+    public List<Long> getNodeIds() {
+        return nodeIds;
+    }
+
+    public void setNodeIds(List<Long> nodeIds) {
+        this.nodeIds = nodeIds;
+    }
+
+    public List<Long> getEdgeIds() {
+        return edgeIds;
+    }
+
+    public void setEdgeIds(List<Long> edgeIds) {
+        this.edgeIds = edgeIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShortestPathDTO{" +
+            "graphId=" + graphId +
+            ", startId=" + startId +
+            ", endId=" + endId +
+            ", distance=" + distance +
+            ", nodeIds=" + nodeIds +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.graphapp.service.event;
+
+/**
+ * The kind of change described by a graph change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
@@ -0,0 +1,18 @@
+package com.graphapp.service.event;
+
+import com.graphapp.domain.Comment;
+import java.time.Instant;
+
+/**
+ * Immutable copy of the state of a {@link Comment} at the time of a change.
+ */
+public record CommentState(Long id, Long graphId, String content, Instant createdAt) {
+    public static CommentState of(Comment comment) {
+        return new CommentState(
+            comment.getId(),
+            comment.getGraph() != null ? comment.getGraph().getId() : null,
+            comment.getContent(),
+            comment.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.graphapp.service.event;
+
+import com.graphapp.domain.Edge;
+
+/**
+ * Immutable copy of the state of an {@link Edge} at the time of a change.
+ */
+public record EdgeState(Long id, Long graphId, Long sourceId, Long targetId, Float weight, Boolean directed) {
+    public static EdgeState of(Edge edge) {
+        return new EdgeState(
+            edge.getId(),
+            edge.getGraph() != null ? edge.getGraph().getId() : null,
+            edge.getSource() != null ? edge.getSource().getId() : null,
+            edge.getTarget() != null ? edge.getTarget().getId() : null,
+            edge.getWeight(),
+            edge.getDirected()
+        );
+    }
+
+    /**
+     * @return {@code true} if the edge links two nodes, i.e. it takes part in the topology of its graph.
+     */
+    public boolean isLinked() {
+        return graphId != null && sourceId != null && targetId != null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.graphapp.service.event;
+
+/**
+ * The graph itself was created, updated or deleted. Creating a graph in bulk, or deleting one, also creates or
+ * deletes its nodes and edges, without individual node or edge events.
+ */
+public record GraphChangedEvent(Long graphId, ChangeType type) {}
@@ -0,0 +1,17 @@
+package com.graphapp.service.event;
+
+/**
+ * A node was created ({@code previous} is {@code null}), updated, or deleted ({@code current} is {@code null}).
+ */
+public record NodeChangedEvent(NodeState previous, NodeState current) {
+    public ChangeType type() {
+        if (previous == null) {
+            return ChangeType.CREATED;
+        }
+        return current == null ? ChangeType.DELETED : ChangeType.UPDATED;
+    }
+
+    public Long nodeId() {
+        return current != null ? current.id() : previous.id();
+    }
+}
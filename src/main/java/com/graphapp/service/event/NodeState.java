@@ -0,0 +1,12 @@
+package com.graphapp.service.event;
+
+import com.graphapp.domain.Node;
+
+/**
+ * Immutable copy of the state of a {@link Node} at the time of a change.
+ */
+public record NodeState(Long id, Long graphId, String label, Float x, Float y) {
+    public static NodeState of(Node node) {
+        return new NodeState(node.getId(), node.getGraph() != null ? node.getGraph().getId() : null, node.getLabel(), node.getX(), node.getY());
+    }
+}
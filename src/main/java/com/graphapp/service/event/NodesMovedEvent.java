@@ -0,0 +1,7 @@
+package com.graphapp.service.event;
+
+/**
+ * Nodes of a graph were moved in bulk: node {@code nodeIds[i]} is now at {@code (x[i], y[i])}, nothing else changed.
+ * Published once per bulk update, instead of one {@link NodeChangedEvent} per node.
+ */
+public record NodesMovedEvent(Long graphId, long[] nodeIds, float[] x, float[] y) {}
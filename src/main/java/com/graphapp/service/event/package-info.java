@@ -0,0 +1,4 @@
+/**
+ * Application events describing committed changes to graphs, nodes, edges and comments.
+ */
+package com.graphapp.service.event;
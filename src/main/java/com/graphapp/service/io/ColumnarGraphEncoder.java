@@ -0,0 +1,226 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar binary encoding of a whole graph, which clients map straight into typed arrays instead of parsing it.
+ * <p>
+ * Numbers are little-endian and every column starts on an 8-byte boundary, padding with zeros after the previous one:
+ * <pre>
+ * "GAC"  u8 version
+ * u32    node count, u32 edge count, u32 label count, u32 flags (reserved)
+ * i64    graph id, i64 revision
+ * u32    name length, u32 description length (0xFFFFFFFF when null), UTF-8 name then description bytes
+ * i64[nodes]   node ids
+ * f32[nodes]   x
+ * f32[nodes]   y
+ * i32[nodes]   label index into the dictionary, -1 when null
+ * u32[labels + 1]  dictionary: offset of each label in the bytes below, then their total length
+ * u8[]         dictionary: UTF-8 bytes of the distinct labels, in order of first use
+ * i64[edges]   edge ids
+ * i64[edges]   source node ids, 0 when none
+ * i64[edges]   target node ids, 0 when none
+ * f32[edges]   weights
+ * u8[(edges + 7) / 8]  directed flags, bit {@code i % 8} of byte {@code i / 8}
+ * </pre>
+ * Rows are added one at a time into growing primitive arrays, a few dozen bytes per element, and written out column
+ * after column by {@link #writeTo}.
+ */
+public final class ColumnarGraphEncoder {
+
+    private static final byte[] MAGIC = { 'G', 'A', 'C' };
+    private static final int VERSION = 1;
+    private static final int NO_STRING = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private long[] nodeIds = new long[1024];
+    private float[] xs = new float[1024];
+    private float[] ys = new float[1024];
+    private int[] labelIndices = new int[1024];
+    private int nodeCount;
+
+    private final Map<String, Integer> labels = new HashMap<>();
+    private byte[] labelBytes = new byte[4096];
+    private int[] labelOffsets = new int[256];
+    private int labelBytesLength;
+
+    private long[] edgeIds = new long[1024];
+    private long[] sources = new long[1024];
+    private long[] targets = new long[1024];
+    private float[] weights = new float[1024];
+    private long[] directed = new long[16];
+    private int edgeCount;
+
+    public void node(long id, String label, float x, float y) {
+        if (nodeCount == nodeIds.length) {
+            int capacity = nodeCount * 2;
+            nodeIds = Arrays.copyOf(nodeIds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            labelIndices = Arrays.copyOf(labelIndices, capacity);
+        }
+        nodeIds[nodeCount] = id;
+        xs[nodeCount] = x;
+        ys[nodeCount] = y;
+        labelIndices[nodeCount] = label != null ? labelIndex(label) : NO_STRING;
+        nodeCount++;
+    }
+
+    public void edge(long id, Long source, Long target, float weight, boolean isDirected) {
+        if (edgeCount == edgeIds.length) {
+            int capacity = edgeCount * 2;
+            edgeIds = Arrays.copyOf(edgeIds, capacity);
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            directed = Arrays.copyOf(directed, capacity / 64);
+        }
+        edgeIds[edgeCount] = id;
+        sources[edgeCount] = source != null ? source : 0;
+        targets[edgeCount] = target != null ? target : 0;
+        weights[edgeCount] = weight;
+        if (isDirected) {
+            directed[edgeCount >>> 6] |= 1L << edgeCount;
+        }
+        edgeCount++;
+    }
+
+    /**
+     * Writes the graph header followed by the columns of the nodes and edges added so far.
+     *
+     * @param out the destination, flushed but not closed.
+     */
+    public void writeTo(long graphId, long revision, String name, String description, OutputStream out) throws IOException {
+        ColumnWriter writer = new ColumnWriter(out);
+        byte[] nameBytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] descriptionBytes = description != null ? description.getBytes(StandardCharsets.UTF_8) : null;
+
+        writer.bytes(MAGIC, MAGIC.length);
+        writer.buffer.put((byte) VERSION);
+        writer.buffer.putInt(nodeCount).putInt(edgeCount).putInt(labels.size()).putInt(0);
+        writer.buffer.putLong(graphId).putLong(revision);
+        writer.buffer.putInt(nameBytes.length).putInt(descriptionBytes != null ? descriptionBytes.length : NO_STRING);
+        writer.bytes(nameBytes, nameBytes.length);
+        if (descriptionBytes != null) {
+            writer.bytes(descriptionBytes, descriptionBytes.length);
+        }
+        writer.pad();
+
+        writer.longs(nodeIds, nodeCount);
+        writer.floats(xs, nodeCount);
+        writer.floats(ys, nodeCount);
+        writer.ints(labelIndices, nodeCount);
+        writer.ints(labelOffsets, labels.size() + 1);
+        writer.bytes(labelBytes, labelBytesLength);
+        writer.pad();
+
+        writer.longs(edgeIds, edgeCount);
+        writer.longs(sources, edgeCount);
+        writer.longs(targets, edgeCount);
+        writer.floats(weights, edgeCount);
+        for (int i = 0; i < (edgeCount + 7) / 8; i++) {
+            writer.room(1);
+            writer.buffer.put((byte) (directed[i >>> 3] >>> ((i & 7) * 8)));
+        }
+        writer.pad();
+        writer.flush();
+    }
+
+    private int labelIndex(String label) {
+        Integer index = labels.get(label);
+        if (index != null) {
+            return index;
+        }
+        byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+        if (labelBytesLength + bytes.length > labelBytes.length) {
+            labelBytes = Arrays.copyOf(labelBytes, Math.max(labelBytes.length * 2, labelBytesLength + bytes.length));
+        }
+        System.arraycopy(bytes, 0, labelBytes, labelBytesLength, bytes.length);
+        labelBytesLength += bytes.length;
+        int newIndex = labels.size();
+        if (newIndex + 1 == labelOffsets.length) {
+            labelOffsets = Arrays.copyOf(labelOffsets, labelOffsets.length * 2);
+        }
+        labelOffsets[newIndex + 1] = labelBytesLength;
+        labels.put(label, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * Writes through a little-endian buffer, keeping track of the position to align columns.
+     */
+    private static final class ColumnWriter {
+
+        private final OutputStream out;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private long written;
+
+        private ColumnWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        private void longs(long[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(Long.BYTES);
+                buffer.putLong(values[i]);
+            }
+            pad();
+        }
+
+        private void floats(float[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(Float.BYTES);
+                buffer.putFloat(values[i]);
+            }
+            pad();
+        }
+
+        private void ints(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(Integer.BYTES);
+                buffer.putInt(values[i]);
+            }
+            pad();
+        }
+
+        private void bytes(byte[] values, int count) throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                room(1);
+                int length = Math.min(buffer.remaining(), count - offset);
+                buffer.put(values, offset, length);
+                offset += length;
+            }
+        }
+
+        private void pad() throws IOException {
+            int padding = (int) (-(written + buffer.position()) & 7);
+            room(padding);
+            buffer.put(new byte[padding]);
+        }
+
+        private void room(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                written += buffer.position();
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+
+        private void flush() throws IOException {
+            written += buffer.position();
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.graphapp.service.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads comma-separated edges. A first line naming a {@code source} and a {@code target} column is a header, which
+ * may also name {@code weight} and {@code directed} columns, in any order; otherwise columns are taken as
+ * {@code source,target[,weight[,directed]]}. Fields may be double-quoted, but not span lines.
+ */
+class CsvEdgeReader extends LineGraphReader {
+
+    private boolean first = true;
+
+    private int source = 0;
+
+    private int target = 1;
+
+    private int weight = 2;
+
+    private int directed = 3;
+
+    @Override
+    protected void line(String line, GraphSink sink) {
+        List<String> fields = fields(line);
+        if (first) {
+            first = false;
+            List<String> names = fields.stream().map(field -> field.strip().toLowerCase(Locale.ROOT)).toList();
+            if (names.contains("source") && names.contains("target")) {
+                source = names.indexOf("source");
+                target = names.indexOf("target");
+                weight = names.indexOf("weight");
+                directed = names.indexOf("directed");
+                return;
+            }
+        }
+        String weightField = field(fields, weight);
+        String directedField = field(fields, directed);
+        sink.edge(
+            fields.get(source).strip(),
+            fields.get(target).strip(),
+            weightField != null ? Float.valueOf(weightField) : null,
+            directedField != null ? Boolean.valueOf(directedField) : null
+        );
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).strip();
+    }
+
+    private static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new GraphFormatException("unterminated quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,47 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes comma-separated edges under a {@code source,target,weight,directed} header, nodes being referenced by id, as
+ * read back by {@link CsvEdgeReader}. Isolated nodes are not represented.
+ */
+class CsvEdgeWriter implements GraphWriter {
+
+    private final Writer out;
+
+    CsvEdgeWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public boolean writesNodes() {
+        return false;
+    }
+
+    @Override
+    public void begin(long graphId, String name) throws IOException {
+        out.write("source,target,weight,directed\n");
+    }
+
+    @Override
+    public void node(long id, String label, float x, float y) {}
+
+    @Override
+    public void edge(long id, long source, long target, float weight, boolean directed) throws IOException {
+        out.write(Long.toString(source));
+        out.write(',');
+        out.write(Long.toString(target));
+        out.write(',');
+        out.write(Float.toString(weight));
+        out.write(',');
+        out.write(directed ? "true" : "false");
+        out.write('\n');
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+}
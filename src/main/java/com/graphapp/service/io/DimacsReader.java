@@ -0,0 +1,56 @@
+package com.graphapp.service.io;
+
+/**
+ * Reads DIMACS graphs: the {@code p} line declares nodes {@code 1..n}, followed by directed {@code a u v [w]} arcs
+ * (shortest path and flow problems) or undirected {@code e u v [w]} edges (coloring and clique problems). {@code c}
+ * lines are comments and {@code n} node descriptors are ignored.
+ * <p>
+ * The nodes are emitted as soon as the {@code p} line is read, so their count is checked against a maximum first,
+ * {@code application.graph-import.max-nodes} on import: a bogus count would otherwise emit nodes for as long as it
+ * takes.
+ */
+class DimacsReader extends LineGraphReader {
+
+    private final long maxNodes;
+
+    DimacsReader(long maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    protected void line(String line, GraphSink sink) {
+        String[] tokens = tokens(line);
+        switch (tokens[0]) {
+            case "c", "n" -> {}
+            case "p" -> {
+                if (tokens.length < 4) {
+                    throw new GraphFormatException("expected p <problem> <nodes> <edges>");
+                }
+                long nodes = nodeCount(tokens[2]);
+                for (long node = 1; node <= nodes; node++) {
+                    sink.node(Long.toString(node), null, null, null);
+                }
+            }
+            case "a", "e" -> {
+                if (tokens.length < 3) {
+                    throw new GraphFormatException("expected a source and a target");
+                }
+                sink.edge(tokens[1], tokens[2], weight(tokens, 3), "a".equals(tokens[0]));
+            }
+            default -> throw new GraphFormatException("unknown line type " + tokens[0]);
+        }
+    }
+
+    private long nodeCount(String token) {
+        long nodes;
+        try {
+            nodes = Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw new GraphFormatException("invalid node count " + token, e);
+        }
+        if (nodes < 0 || nodes > maxNodes) {
+            throw new GraphFormatException("node count " + nodes + " is not between 0 and " + maxNodes);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes Graphviz DOT. The graph is a {@code digraph} whose undirected edges carry {@code dir=none}; nodes keep their
+ * label and are pinned at their coordinates.
+ */
+class DotWriter implements GraphWriter {
+
+    private final Writer out;
+
+    DotWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(long graphId, String name) throws IOException {
+        out.write("digraph ");
+        quote(name);
+        out.write(" {\n");
+    }
+
+    @Override
+    public void node(long id, String label, float x, float y) throws IOException {
+        out.write("  ");
+        out.write(Long.toString(id));
+        out.write(" [label=");
+        quote(label);
+        out.write(", pos=\"");
+        out.write(Float.toString(x));
+        out.write(',');
+        out.write(Float.toString(y));
+        out.write("!\"];\n");
+    }
+
+    @Override
+    public void edge(long id, long source, long target, float weight, boolean directed) throws IOException {
+        out.write("  ");
+        out.write(Long.toString(source));
+        out.write(" -> ");
+        out.write(Long.toString(target));
+        out.write(" [weight=");
+        out.write(Float.toString(weight));
+        out.write(directed ? "];\n" : ", dir=none];\n");
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.write("}\n");
+        out.flush();
+    }
+
+    private void quote(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+            }
+            out.write(c == '\n' || c == '\r' ? ' ' : c);
+        }
+        out.write('"');
+    }
+}
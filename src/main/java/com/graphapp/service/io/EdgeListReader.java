@@ -0,0 +1,20 @@
+package com.graphapp.service.io;
+
+/**
+ * Reads edge lists: one {@code source target [weight]} edge per line, separated by whitespace. Lines starting with
+ * {@code #} or {@code %} are comments. Nodes are implied by the edges.
+ */
+class EdgeListReader extends LineGraphReader {
+
+    @Override
+    protected void line(String line, GraphSink sink) {
+        if (line.charAt(0) == '#' || line.charAt(0) == '%') {
+            return;
+        }
+        String[] tokens = tokens(line);
+        if (tokens.length < 2) {
+            throw new GraphFormatException("expected a source and a target");
+        }
+        sink.edge(tokens[0], tokens[1], weight(tokens, 2), null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes edge lists, one {@code source target weight} line per edge, nodes being referenced by id. Edge direction and
+ * isolated nodes are not represented; the name of the graph is written as a comment.
+ */
+class EdgeListWriter implements GraphWriter {
+
+    private final Writer out;
+
+    EdgeListWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public boolean writesNodes() {
+        return false;
+    }
+
+    @Override
+    public void begin(long graphId, String name) throws IOException {
+        out.write("# ");
+        out.write(name.replace('\n', ' ').replace('\r', ' '));
+        out.write('\n');
+    }
+
+    @Override
+    public void node(long id, String label, float x, float y) {}
+
+    @Override
+    public void edge(long id, long source, long target, float weight, boolean directed) throws IOException {
+        out.write(Long.toString(source));
+        out.write(' ');
+        out.write(Long.toString(target));
+        out.write(' ');
+        out.write(Float.toString(weight));
+        out.write('\n');
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+}
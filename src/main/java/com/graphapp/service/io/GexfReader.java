@@ -0,0 +1,61 @@
+package com.graphapp.service.io;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads GEXF. Nodes take their {@code label} and {@code <viz:position>}, edges their {@code weight} and
+ * {@code type}, falling back to the {@code defaultedgetype} of the graph. Attributes and dynamics are ignored.
+ */
+class GexfReader extends XmlGraphReader {
+
+    private Boolean defaultDirected;
+
+    private String nodeKey;
+
+    private String label;
+
+    private Float x;
+
+    private Float y;
+
+    private boolean inNode;
+
+    @Override
+    protected void startElement(XMLStreamReader reader, GraphSink sink) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "graph" -> defaultDirected = directedOf(attribute(reader, "defaultedgetype"));
+            case "node" -> {
+                inNode = true;
+                nodeKey = required(reader, "id");
+                label = attribute(reader, "label");
+                x = null;
+                y = null;
+            }
+            case "position" -> {
+                if (inNode) {
+                    x = parseFloat(attribute(reader, "x"));
+                    y = parseFloat(attribute(reader, "y"));
+                }
+            }
+            case "edge" -> {
+                Boolean directed = directedOf(attribute(reader, "type"));
+                sink.edge(
+                    required(reader, "source"),
+                    required(reader, "target"),
+                    parseFloat(attribute(reader, "weight")),
+                    directed != null ? directed : defaultDirected
+                );
+            }
+            default -> {}
+        }
+    }
+
+    @Override
+    protected void endElement(String localName, GraphSink sink) {
+        if ("node".equals(localName)) {
+            inNode = false;
+            sink.node(nodeKey, label, x, y);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.graphapp.service.io;
+
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * The graph file formats that can be imported, exported, or both.
+ */
+public enum GraphFormat {
+    GRAPHML(maxNodes -> new GraphMLReader(), GraphMLWriter::new, "application/graphml+xml", "graphml", "xml"),
+    GEXF(maxNodes -> new GexfReader(), null, "application/gexf+xml", "gexf"),
+    DIMACS(DimacsReader::new, null, "text/plain", "dimacs", "gr", "col"),
+    EDGE_LIST(maxNodes -> new EdgeListReader(), EdgeListWriter::new, "text/plain", "edges", "edgelist", "el", "txt"),
+    CSV(maxNodes -> new CsvEdgeReader(), CsvEdgeWriter::new, "text/csv", "csv"),
+    DOT(null, DotWriter::new, "text/vnd.graphviz", "dot", "gv");
+
+    private final LongFunction<GraphReader> readerFactory;
+
+    private final Function<Writer, GraphWriter> writerFactory;
+
+    private final String mediaType;
+
+    private final String[] extensions;
+
+    GraphFormat(LongFunction<GraphReader> readerFactory, Function<Writer, GraphWriter> writerFactory, String mediaType, String... extensions) {
+        this.readerFactory = readerFactory;
+        this.writerFactory = writerFactory;
+        this.mediaType = mediaType;
+        this.extensions = extensions;
+    }
+
+    public boolean isReadable() {
+        return readerFactory != null;
+    }
+
+    public boolean isWritable() {
+        return writerFactory != null;
+    }
+
+    /**
+     * @param maxNodes the most nodes a file may declare upfront, as the {@code p} line of DIMACS files does.
+     * @return a new reader of this format; readers are stateful and used for one file only.
+     * @throws UnsupportedOperationException if the format cannot be imported.
+     */
+    public GraphReader newReader(long maxNodes) {
+        if (readerFactory == null) {
+            throw new UnsupportedOperationException(name() + " files cannot be imported");
+        }
+        return readerFactory.apply(maxNodes);
+    }
+
+    /**
+     * @param out the destination of the file, not closed by the writer.
+     * @return a new writer of this format.
+     * @throws UnsupportedOperationException if the format cannot be exported.
+     */
+    public GraphWriter newWriter(Writer out) {
+        if (writerFactory == null) {
+            throw new UnsupportedOperationException(name() + " files cannot be exported");
+        }
+        return writerFactory.apply(out);
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extensions[0];
+    }
+
+    /**
+     * @param filename the name of the uploaded file.
+     * @return the importable format matching the extension of {@code filename}, if any.
+     */
+    public static Optional<GraphFormat> fromFilename(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            return Optional.empty();
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        for (GraphFormat format : values()) {
+            for (String candidate : format.extensions) {
+                if (format.isReadable() && candidate.equals(extension)) {
+                    return Optional.of(format);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param name a format name, in any case and with {@code -} or {@code _} between words, e.g. {@code edge-list}.
+     * @return the format of that name, if any.
+     */
+    public static Optional<GraphFormat> fromName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String normalized = name.strip().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (GraphFormat format : values()) {
+            if (format.name().equals(normalized)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.graphapp.service.io;
+
+/**
+ * Thrown when a graph file does not follow its format.
+ */
+public class GraphFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public GraphFormatException(String message) {
+        super(message);
+    }
+
+    public GraphFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
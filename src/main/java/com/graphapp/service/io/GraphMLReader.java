@@ -0,0 +1,71 @@
+package com.graphapp.service.io;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads GraphML. Node labels, coordinates and edge weights come from {@code <data>} elements whose {@code <key>} is
+ * named {@code label} or {@code name}, {@code x}, {@code y} and {@code weight}; other data is ignored. Edge direction
+ * follows the {@code directed} attribute of the edge, then the {@code edgedefault} of its graph.
+ */
+class GraphMLReader extends XmlGraphReader {
+
+    private final Map<String, String> keyNames = new HashMap<>();
+
+    private Boolean edgeDefault;
+
+    private String nodeKey;
+
+    private String source;
+
+    private String target;
+
+    private Boolean directed;
+
+    private final Map<String, String> data = new HashMap<>();
+
+    @Override
+    protected void startElement(XMLStreamReader reader, GraphSink sink) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "key" -> {
+                String name = attribute(reader, "attr.name");
+                keyNames.put(required(reader, "id"), name != null ? name.toLowerCase(Locale.ROOT) : "");
+            }
+            case "graph" -> edgeDefault = directedOf(attribute(reader, "edgedefault"));
+            case "node" -> {
+                nodeKey = required(reader, "id");
+                data.clear();
+            }
+            case "edge" -> {
+                source = required(reader, "source");
+                target = required(reader, "target");
+                directed = directedOf(attribute(reader, "directed"));
+                data.clear();
+            }
+            case "data" -> {
+                String name = keyNames.get(required(reader, "key"));
+                // consumes the closing tag as well
+                String value = reader.getElementText();
+                if (name != null) {
+                    data.put(name, value);
+                }
+            }
+            default -> {}
+        }
+    }
+
+    @Override
+    protected void endElement(String localName, GraphSink sink) {
+        switch (localName) {
+            case "node" -> {
+                String label = data.containsKey("label") ? data.get("label") : data.get("name");
+                sink.node(nodeKey, label, parseFloat(data.get("x")), parseFloat(data.get("y")));
+            }
+            case "edge" -> sink.edge(source, target, parseFloat(data.get("weight")), directed != null ? directed : edgeDefault);
+            default -> {}
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes GraphML with StAX, declaring the {@code label}, {@code x}, {@code y} and {@code weight} keys read back by
+ * {@link GraphMLReader}. Edges are directed by default, undirected ones carry {@code directed="false"}.
+ */
+class GraphMLWriter implements GraphWriter {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private static final String NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+
+    private final Writer out;
+
+    private XMLStreamWriter xml;
+
+    GraphMLWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(long graphId, String name) throws IOException {
+        try {
+            xml = OUTPUT_FACTORY.createXMLStreamWriter(out);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("graphml");
+            xml.writeDefaultNamespace(NAMESPACE);
+            xml.writeCharacters("\n");
+            key("name", "graph", "string");
+            key("label", "node", "string");
+            key("x", "node", "float");
+            key("y", "node", "float");
+            key("weight", "edge", "float");
+            xml.writeStartElement("graph");
+            xml.writeAttribute("id", "G" + graphId);
+            xml.writeAttribute("edgedefault", "directed");
+            xml.writeCharacters("\n");
+            data("name", name);
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void node(long id, String label, float x, float y) throws IOException {
+        try {
+            xml.writeStartElement("node");
+            xml.writeAttribute("id", Long.toString(id));
+            data("label", label);
+            data("x", Float.toString(x));
+            data("y", Float.toString(y));
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void edge(long id, long source, long target, float weight, boolean directed) throws IOException {
+        try {
+            xml.writeStartElement("edge");
+            xml.writeAttribute("id", "e" + id);
+            xml.writeAttribute("source", Long.toString(source));
+            xml.writeAttribute("target", Long.toString(target));
+            if (!directed) {
+                xml.writeAttribute("directed", "false");
+            }
+            data("weight", Float.toString(weight));
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        try {
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void key(String name, String domain, String type) throws XMLStreamException {
+        xml.writeEmptyElement("key");
+        xml.writeAttribute("id", name);
+        xml.writeAttribute("for", domain);
+        xml.writeAttribute("attr.name", name);
+        xml.writeAttribute("attr.type", type);
+        xml.writeCharacters("\n");
+    }
+
+    private void data(String key, String value) throws XMLStreamException {
+        xml.writeStartElement("data");
+        xml.writeAttribute("key", key);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+}
@@ -0,0 +1,16 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads one graph file format in a single pass, without holding more than the current element in memory.
+ */
+public interface GraphReader {
+    /**
+     * @param in the content of the file, not closed by the reader.
+     * @param sink the receiver of the nodes and edges.
+     * @throws GraphFormatException if the content is not valid for the format.
+     */
+    void read(InputStream in, GraphSink sink) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.graphapp.service.io;
+
+/**
+ * Receives the content of a graph file as it is read. Nodes are identified by their key in the file; an edge may
+ * reference a node that was not declared, or not declared yet.
+ */
+public interface GraphSink {
+    /**
+     * @param key the key of the node in the file.
+     * @param label the label, or {@code null} if the file has none.
+     * @param x the x coordinate, or {@code null} if the file has none.
+     * @param y the y coordinate, or {@code null} if the file has none.
+     */
+    void node(String key, String label, Float x, Float y);
+
+    /**
+     * @param source the key of the source node.
+     * @param target the key of the target node.
+     * @param weight the weight, or {@code null} if the file has none.
+     * @param directed whether the edge is directed, or {@code null} to use the default of the import.
+     */
+    void edge(String source, String target, Float weight, Boolean directed);
+}
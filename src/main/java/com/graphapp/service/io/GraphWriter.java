@@ -0,0 +1,27 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+
+/**
+ * Writes one graph file format as nodes and edges are handed to it, without holding any of them in memory. All nodes
+ * are written before the first edge.
+ */
+public interface GraphWriter {
+    /**
+     * @return {@code false} if the format only lists edges, in which case {@link #node} is never called.
+     */
+    default boolean writesNodes() {
+        return true;
+    }
+
+    void begin(long graphId, String name) throws IOException;
+
+    void node(long id, String label, float x, float y) throws IOException;
+
+    void edge(long id, long source, long target, float weight, boolean directed) throws IOException;
+
+    /**
+     * Completes the file and flushes it, without closing the underlying stream.
+     */
+    void end() throws IOException;
+}
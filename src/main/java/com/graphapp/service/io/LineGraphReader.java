@@ -0,0 +1,54 @@
+package com.graphapp.service.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base class of the line-oriented formats, skipping blank lines and reporting errors with their line number.
+ */
+abstract class LineGraphReader implements GraphReader {
+
+    @Override
+    public void read(InputStream in, GraphSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                line(line, sink);
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new GraphFormatException("Invalid line " + number + ": " + abbreviate(line), e);
+            } catch (GraphFormatException e) {
+                throw new GraphFormatException("Invalid line " + number + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Handles a non-blank line, stripped of surrounding whitespace.
+     */
+    protected abstract void line(String line, GraphSink sink);
+
+    /**
+     * @return the whitespace-separated tokens of {@code line}.
+     */
+    protected static String[] tokens(String line) {
+        return line.split("\\s+");
+    }
+
+    protected static Float weight(String[] tokens, int index) {
+        return index < tokens.length ? Float.valueOf(tokens[index]) : null;
+    }
+
+    private static String abbreviate(String line) {
+        return line.length() <= 80 ? line : line.substring(0, 80) + "...";
+    }
+}
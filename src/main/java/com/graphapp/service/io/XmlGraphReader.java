@@ -0,0 +1,94 @@
+package com.graphapp.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Base class of the XML formats, read with StAX so that no document tree is ever built. DTDs and external entities
+ * are disabled.
+ */
+abstract class XmlGraphReader implements GraphReader {
+
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    @Override
+    public void read(InputStream in, GraphSink sink) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(reader, sink);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    endElement(reader.getLocalName(), sink);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new GraphFormatException(e.getMessage(), e);
+        } catch (NumberFormatException e) {
+            throw new GraphFormatException("Invalid number at line " + reader.getLocation().getLineNumber(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // the underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles an opening tag; the reader may be advanced up to the matching closing tag, which is then not reported.
+     */
+    protected abstract void startElement(XMLStreamReader reader, GraphSink sink) throws XMLStreamException;
+
+    protected abstract void endElement(String localName, GraphSink sink);
+
+    protected static String attribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    protected static Float parseFloat(String value) {
+        return value == null || value.isBlank() ? null : Float.valueOf(value.strip());
+    }
+
+    protected static Boolean directedOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "directed", "true" -> Boolean.TRUE;
+            case "undirected", "mutual", "false" -> Boolean.FALSE;
+            default -> throw new GraphFormatException("Invalid edge direction " + value);
+        };
+    }
+
+    protected static String required(XMLStreamReader reader, String localName) {
+        String value = attribute(reader, localName);
+        if (value == null) {
+            throw new GraphFormatException(
+                "Missing " + localName + " on " + reader.getLocalName() + " at line " + reader.getLocation().getLineNumber()
+            );
+        }
+        return value;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Streaming readers and writers of graph file formats, and the columnar wire encoding of whole graphs.
+ */
+package com.graphapp.service.io;
@@ -0,0 +1,139 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.AlgorithmJobService;
+import com.graphapp.service.dto.AlgorithmJobDTO;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller running algorithms as background jobs, see {@link AlgorithmJobService}.
+ */
+@RestController
+@RequestMapping("/api")
+public class AlgorithmJobResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlgorithmJobResource.class);
+
+    private static final Duration EVENTS_TIMEOUT = Duration.ofHours(1);
+
+    private final AlgorithmJobService algorithmJobService;
+
+    private final GraphRepository graphRepository;
+
+    public AlgorithmJobResource(AlgorithmJobService algorithmJobService, GraphRepository graphRepository) {
+        this.algorithmJobService = algorithmJobService;
+        this.graphRepository = graphRepository;
+    }
+
+    /**
+     * {@code POST  /graphs/:id/jobs} : Queues an algorithm to run on the "id" graph in the background.
+     *
+     * @param id the id of the graph.
+     * @param algorithm the id of the algorithm, or {@code betweenness}.
+     * @param start the id of the start node, required but by betweenness.
+     * @param end the id of the target node.
+     * @param timeout the time the job may take, as an ISO-8601 duration.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job, with status
+     * {@code 400 (Bad Request)} if the algorithm or a node is unknown, with status {@code 404 (Not Found)},
+     * or with status {@code 429 (Too Many Requests)} if too many jobs, or too many jobs of the user, are queued already.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/graphs/{id}/jobs")
+    public ResponseEntity<AlgorithmJobDTO> createJob(
+        @PathVariable("id") Long id,
+        @RequestParam("algorithm") String algorithm,
+        @RequestParam(value = "start", required = false) Long start,
+        @RequestParam(value = "end", required = false) Long end,
+        @RequestParam(value = "timeout", required = false) Duration timeout
+    ) throws URISyntaxException {
+        LOG.debug("REST request to run {} on Graph : {} in the background", algorithm, id);
+        if (!graphRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        AlgorithmJobDTO job = algorithmJobService.submit(id, algorithm, start, end, timeout);
+        return ResponseEntity.accepted().location(new URI("/api/jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * {@code GET  /graphs/:id/jobs} : get the last jobs of the "id" graph, without their results.
+     *
+     * @param id the id of the graph.
+     * @return the list of jobs, newest first.
+     */
+    @GetMapping("/graphs/{id}/jobs")
+    public List<AlgorithmJobDTO> getJobs(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the Jobs of Graph : {}", id);
+        return algorithmJobService.findJobs(id);
+    }
+
+    /**
+     * {@code GET  /jobs/:jobId} : get the state of a job, with its result once it succeeded.
+     *
+     * @param jobId the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AlgorithmJobDTO> getJob(@PathVariable("jobId") Long jobId) {
+        LOG.debug("REST request to get Job : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(algorithmJobService.findJob(jobId));
+    }
+
+    /**
+     * {@code DELETE  /jobs/:jobId} : cancel a job. A running job stops shortly after.
+     *
+     * @param jobId the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<AlgorithmJobDTO> cancelJob(@PathVariable("jobId") Long jobId) {
+        LOG.debug("REST request to cancel Job : {}", jobId);
+        return algorithmJobService
+            .cancel(jobId)
+            .map(job -> ResponseEntity.accepted().body(job))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /jobs/:jobId/events} : Follows a job as Server-Sent Events: {@code progress} events while it runs,
+     * then a {@code done} event with its final state and result, after which the stream ends.
+     *
+     * @param jobId the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the event stream, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> followJob(@PathVariable("jobId") Long jobId) {
+        LOG.debug("REST request to follow Job : {}", jobId);
+        SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT.toMillis());
+        boolean found = algorithmJobService.subscribe(
+            jobId,
+            new AlgorithmJobService.Sink() {
+                @Override
+                public void send(AlgorithmJobDTO job) throws IOException {
+                    String name = job.getStatus().isFinished() ? "done" : "progress";
+                    emitter.send(SseEmitter.event().name(name).data(job, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void close() {
+                    emitter.complete();
+                }
+            }
+        );
+        if (!found) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter);
+    }
+}
@@ -0,0 +1,63 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.GraphSnapshot;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the trace of an algorithm run as Server-Sent Events.
+ * <p>
+ * Visited node ids are batched into {@code visit} events of at most the batch size. The trace is recorded before it
+ * is written, so that a slow client holds neither the algorithm nor its admission budget.
+ */
+final class AlgorithmTraceEventWriter {
+
+    private final GraphSnapshot graph;
+    private final OutputStream out;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    AlgorithmTraceEventWriter(GraphSnapshot graph, OutputStream out, int batchSize) {
+        this.graph = graph;
+        this.out = out;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Streams the steps of {@code trace}, then its path.
+     *
+     * @throws IOException if the client went away.
+     */
+    void stream(AlgorithmTrace trace) throws IOException {
+        int[] steps = trace.getSteps();
+        writeEvent(
+            "meta",
+            "{\"algorithm\":\"" + trace.getAlgorithmId() + "\",\"nodes\":" + graph.nodeCount() + ",\"edges\":" + graph.edgeCount() + "}"
+        );
+        for (int from = 0; from < steps.length; from += batchSize) {
+            writeEvent("visit", toNodeIdArray(steps, from, Math.min(steps.length, from + batchSize)));
+        }
+        int[] path = trace.getResult().getPath();
+        writeEvent("path", toNodeIdArray(path, 0, path.length));
+        writeEvent("done", "{\"steps\":" + steps.length + "}");
+    }
+
+    private String toNodeIdArray(int[] nodes, int from, int to) {
+        buffer.setLength(0);
+        buffer.append('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                buffer.append(',');
+            }
+            buffer.append(graph.nodeId(nodes[i]));
+        }
+        return buffer.append(']').toString();
+    }
+
+    private void writeEvent(String event, String data) throws IOException {
+        out.write(("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -2,9 +2,16 @@ package com.graphapp.web.rest;
 
 import com.graphapp.domain.Comment;
 import com.graphapp.repository.CommentRepository;
+import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.CommentFeedService;
+import com.graphapp.service.CommentStreamService;
+import com.graphapp.service.GraphChangePublisher;
+import com.graphapp.service.dto.CommentPreviewDTO;
+import com.graphapp.service.event.CommentState;
 import com.graphapp.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
@@ -14,9 +21,16 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -32,13 +46,36 @@ public class CommentResource {
 
     private static final String ENTITY_NAME = "comment";
 
+    /**
+     * Seconds a client refused a comment stream waits before trying again.
+     */
+    private static final String STREAM_RETRY_AFTER = "5";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CommentRepository commentRepository;
 
-    public CommentResource(CommentRepository commentRepository) {
+    private final GraphChangePublisher graphChangePublisher;
+
+    private final CommentFeedService commentFeedService;
+
+    private final CommentStreamService commentStreamService;
+
+    private final GraphRepository graphRepository;
+
+    public CommentResource(
+        CommentRepository commentRepository,
+        GraphChangePublisher graphChangePublisher,
+        CommentFeedService commentFeedService,
+        CommentStreamService commentStreamService,
+        GraphRepository graphRepository
+    ) {
         this.commentRepository = commentRepository;
+        this.graphChangePublisher = graphChangePublisher;
+        this.commentFeedService = commentFeedService;
+        this.commentStreamService = commentStreamService;
+        this.graphRepository = graphRepository;
     }
 
     /**
@@ -58,6 +95,7 @@ public class CommentResource {
             comment.setCreatedAt(Instant.now());
         }
         comment = commentRepository.save(comment);
+        graphChangePublisher.commentCreated(comment);
         return ResponseEntity.created(new URI("/api/comments/" + comment.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, comment.getId().toString()))
             .body(comment);
@@ -86,11 +124,13 @@ public class CommentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!commentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        CommentState previous = commentRepository
+            .findById(id)
+            .map(CommentState::of)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
         comment = commentRepository.save(comment);
+        graphChangePublisher.commentUpdated(previous, comment);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, comment.getId().toString()))
             .body(comment);
@@ -127,6 +167,7 @@ public class CommentResource {
         Optional<Comment> result = commentRepository
             .findById(comment.getId())
             .map(existingComment -> {
+                CommentState previous = CommentState.of(existingComment);
                 if (comment.getContent() != null) {
                     existingComment.setContent(comment.getContent());
                 }
@@ -134,9 +175,10 @@ public class CommentResource {
                     existingComment.setCreatedAt(comment.getCreatedAt());
                 }
 
-                return existingComment;
-            })
-            .map(commentRepository::save);
+                Comment saved = commentRepository.save(existingComment);
+                graphChangePublisher.commentUpdated(previous, saved);
+                return saved;
+            });
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -145,17 +187,116 @@ public class CommentResource {
     }
 
     /**
-     * {@code GET  /comments} : get all the comments.
+     * {@code GET  /comments} : get all the comments of a graph, newest first, or a page of the comments of all graphs,
+     * in id order.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comments in body.
+     * @param graphId the id of the graph to list the comments of.
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one, the first page by default.
+     * @param size the page size, {@value KeysetPagination#DEFAULT_SIZE} by default and at most {@value KeysetPagination#MAX_SIZE}.
+     * @param sort {@code id,desc} to list the newest comments first.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comments in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
      */
     @GetMapping("")
-    public List<Comment> getAllComments(@RequestParam(value = "graphId", required = false) Long graphId) {
+    public ResponseEntity<List<Comment>> getAllComments(
+        @RequestParam(value = "graphId", required = false) Long graphId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        Sort sort
+    ) {
         LOG.debug("REST request to get all Comments for graphId={}", graphId);
         if (graphId != null) {
-            return commentRepository.findAllByGraphIdOrderByCreatedAtDescIdDesc(graphId);
+            return ResponseEntity.ok(commentRepository.findAllByGraphIdOrderByCreatedAtDescIdDesc(graphId));
+        }
+        return KeysetPagination.of(cursor, size, sort, ENTITY_NAME).fetch(
+            commentRepository::findByIdGreaterThanOrderByIdAsc,
+            commentRepository::findByIdLessThanOrderByIdDesc,
+            Comment::getId
+        );
+    }
+
+    /**
+     * {@code GET  /comments/feed} : get a page of the comment feed of a graph, newest first, with the beginning of each
+     * content; truncated ones are fetched whole from {@code GET /comments/:id}. Each comment carries the cursor of its
+     * position: the cursor of the oldest one read gives the next page, older comments, and the cursor of the newest one
+     * read gives, as {@code after}, the comments posted since, oldest first.
+     *
+     * @param graphId the id of the graph.
+     * @param cursor the cursor of the oldest comment read, to get older comments.
+     * @param after the cursor of the newest comment read, to get newer comments.
+     * @param size the page size, {@value KeysetPagination#DEFAULT_SIZE} by default and at most {@value KeysetPagination#MAX_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page in body, or with status {@code 400 (Bad Request)} if a cursor is invalid.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<List<CommentPreviewDTO>> getCommentFeed(
+        @RequestParam("graphId") Long graphId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "size", required = false) Integer size
+    ) {
+        LOG.debug("REST request to get the Comment feed of Graph : {}", graphId);
+        int pageSize = KeysetPagination.pageSize(size);
+        List<CommentPreviewDTO> rows = after != null
+            ? commentFeedService.getNewer(graphId, after, pageSize + 1)
+            : commentFeedService.getOlder(graphId, cursor, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<CommentPreviewDTO> page = rows.subList(0, pageSize);
+        String next = page.get(pageSize - 1).getCursor();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.LINK, KeysetPagination.nextLink(after != null ? "after" : "cursor", next, pageSize))
+            .body(page);
+    }
+
+    /**
+     * {@code GET  /comments/stream} : Subscribes to the comments created on a graph, as Server-Sent Events. Each
+     * {@code comment} event holds a {@link CommentPreviewDTO}; a {@code resync} event means comments were missed and
+     * the feed must be reloaded. Events are numbered, a client reconnecting with the {@code Last-Event-ID} header
+     * first receives the comments it missed.
+     *
+     * @param graphId the id of the graph.
+     * @param lastEventId the number of the last event received before reconnecting.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the event stream, with status {@code 404 (Not Found)},
+     * or with status {@code 503 (Service Unavailable)} if this instance serves too many streams already.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<SseEmitter> subscribeToComments(
+        @RequestParam("graphId") Long graphId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        LOG.debug("REST request to subscribe to the Comments of Graph : {}, from {}", graphId, lastEventId);
+        if (!graphRepository.existsById(graphId)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(commentStreamService.getTimeout().toMillis());
+        CommentStreamService.Subscription subscription = commentStreamService.subscribe(
+            graphId,
+            lastEventId,
+            new CommentStreamService.Sink() {
+                @Override
+                public void send(long id, String name, Object data) throws IOException {
+                    emitter.send(SseEmitter.event().id(Long.toString(id)).name(name).data(data, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void heartbeat() throws IOException {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                @Override
+                public void close() {
+                    emitter.complete();
+                }
+            }
+        ).orElse(null);
+        if (subscription == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, STREAM_RETRY_AFTER).build();
         }
-        return commentRepository.findAll();
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter);
     }
 
     /**
@@ -180,7 +321,12 @@ public class CommentResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteComment(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Comment : {}", id);
-        commentRepository.deleteById(id);
+        commentRepository
+            .findById(id)
+            .ifPresent(comment -> {
+                graphChangePublisher.commentDeleted(CommentState.of(comment));
+                commentRepository.delete(comment);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
@@ -2,6 +2,8 @@ package com.graphapp.web.rest;
 
 import com.graphapp.domain.Edge;
 import com.graphapp.repository.EdgeRepository;
+import com.graphapp.service.GraphChangePublisher;
+import com.graphapp.service.event.EdgeState;
 import com.graphapp.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +15,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +39,11 @@ public class EdgeResource {
 
     private final EdgeRepository edgeRepository;
 
-    public EdgeResource(EdgeRepository edgeRepository) {
+    private final GraphChangePublisher graphChangePublisher;
+
+    public EdgeResource(EdgeRepository edgeRepository, GraphChangePublisher graphChangePublisher) {
         this.edgeRepository = edgeRepository;
+        this.graphChangePublisher = graphChangePublisher;
     }
 
     /**
@@ -54,6 +60,7 @@ public class EdgeResource {
             throw new BadRequestAlertException("A new edge cannot already have an ID", ENTITY_NAME, "idexists");
         }
         edge = edgeRepository.save(edge);
+        graphChangePublisher.edgeCreated(edge);
         return ResponseEntity.created(new URI("/api/edges/" + edge.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, edge.getId().toString()))
             .body(edge);
@@ -80,11 +87,13 @@ public class EdgeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!edgeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        EdgeState previous = edgeRepository
+            .findById(id)
+            .map(EdgeState::of)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
         edge = edgeRepository.save(edge);
+        graphChangePublisher.edgeUpdated(previous, edge);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, edge.getId().toString()))
             .body(edge);
@@ -121,6 +130,7 @@ public class EdgeResource {
         Optional<Edge> result = edgeRepository
             .findById(edge.getId())
             .map(existingEdge -> {
+                EdgeState previous = EdgeState.of(existingEdge);
                 if (edge.getWeight() != null) {
                     existingEdge.setWeight(edge.getWeight());
                 }
@@ -128,9 +138,10 @@ public class EdgeResource {
                     existingEdge.setDirected(edge.getDirected());
                 }
 
-                return existingEdge;
-            })
-            .map(edgeRepository::save);
+                Edge saved = edgeRepository.save(existingEdge);
+                graphChangePublisher.edgeUpdated(previous, saved);
+                return saved;
+            });
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -139,14 +150,31 @@ public class EdgeResource {
     }
 
     /**
-     * {@code GET  /edges} : get all the edges.
+     * {@code GET  /edges} : get a page of the edges, of all graphs or of one, in id order.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of edges in body.
+     * @param graphId the id of the graph to list the edges of, all graphs by default.
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one, the first page by default.
+     * @param size the page size, {@value KeysetPagination#DEFAULT_SIZE} by default and at most {@value KeysetPagination#MAX_SIZE}.
+     * @param sort {@code id,desc} to list the newest edges first.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of edges in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
      */
     @GetMapping("")
-    public List<Edge> getAllEdges() {
-        LOG.debug("REST request to get all Edges");
-        return edgeRepository.findAll();
+    public ResponseEntity<List<Edge>> getAllEdges(
+        @RequestParam(value = "graphId", required = false) Long graphId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        Sort sort
+    ) {
+        LOG.debug("REST request to get a page of Edges for graphId={}", graphId);
+        KeysetPagination page = KeysetPagination.of(cursor, size, sort, ENTITY_NAME);
+        if (graphId != null) {
+            return page.fetch(
+                (after, limit) -> edgeRepository.findByGraphIdAndIdGreaterThanOrderByIdAsc(graphId, after, limit),
+                (after, limit) -> edgeRepository.findByGraphIdAndIdLessThanOrderByIdDesc(graphId, after, limit),
+                Edge::getId
+            );
+        }
+        return page.fetch(edgeRepository::findByIdGreaterThanOrderByIdAsc, edgeRepository::findByIdLessThanOrderByIdDesc, Edge::getId);
     }
 
     /**
@@ -171,7 +199,12 @@ public class EdgeResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEdge(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Edge : {}", id);
-        edgeRepository.deleteById(id);
+        edgeRepository
+            .findById(id)
+            .ifPresent(edge -> {
+                graphChangePublisher.edgeDeleted(EdgeState.of(edge));
+                edgeRepository.delete(edge);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
@@ -0,0 +1,68 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.security.AuthoritiesConstants;
+import com.graphapp.service.EntityCacheService;
+import com.graphapp.service.dto.EntityCacheRegionDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for inspecting and evicting the regions of the second-level cache.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class EntityCacheResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheResource.class);
+
+    private final EntityCacheService entityCacheService;
+
+    public EntityCacheResource(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * {@code GET  /admin/caches} : get all the regions, with their settings and statistics.
+     *
+     * @return the list of regions.
+     */
+    @GetMapping("")
+    public List<EntityCacheRegionDTO> getRegions() {
+        LOG.debug("REST request to get entity cache regions");
+        return entityCacheService.getRegions();
+    }
+
+    /**
+     * {@code DELETE  /admin/caches/:name} : empty the "name" region.
+     *
+     * @param name the name of the region.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> evictRegion(@PathVariable("name") String name) {
+        LOG.debug("REST request to evict entity cache region : {}", name);
+        if (!entityCacheService.evictRegion(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code DELETE  /admin/caches} : empty all the regions.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("")
+    public ResponseEntity<Void> evictAll() {
+        LOG.debug("REST request to evict all entity cache regions");
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
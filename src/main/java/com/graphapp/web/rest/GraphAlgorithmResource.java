@@ -0,0 +1,240 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.service.AdmissionController;
+import com.graphapp.service.ConnectivityService;
+import com.graphapp.service.GraphAlgorithmService;
+import com.graphapp.service.ShortestPathService;
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.AlgorithmTraceCodec;
+import com.graphapp.service.algo.GraphAlgorithm;
+import com.graphapp.service.dto.AlgorithmTraceDTO;
+import com.graphapp.service.dto.ConnectivityDTO;
+import com.graphapp.service.dto.GraphAlgorithmDTO;
+import com.graphapp.service.dto.ShortestPathDTO;
+import com.graphapp.web.rest.errors.BadRequestAlertException;
+import java.io.BufferedOutputStream;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller running graph algorithms on the server.
+ * <p>
+ * Traces are run within the budgets of the {@link AdmissionController}, requests over budget being refused with
+ * status {@code 429 (Too Many Requests)} and a {@code Retry-After} header. Cached traces are answered without
+ * admission.
+ */
+@RestController
+@RequestMapping("/api")
+public class GraphAlgorithmResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphAlgorithmResource.class);
+
+    private static final String ENTITY_NAME = "graph";
+
+    private static final int DEFAULT_BATCH_SIZE = 512;
+
+    private static final int MAX_BATCH_SIZE = 16_384;
+
+    private final GraphAlgorithmService graphAlgorithmService;
+
+    private final ShortestPathService shortestPathService;
+
+    private final ConnectivityService connectivityService;
+
+    private final AdmissionController admissionController;
+
+    public GraphAlgorithmResource(
+        GraphAlgorithmService graphAlgorithmService,
+        ShortestPathService shortestPathService,
+        ConnectivityService connectivityService,
+        AdmissionController admissionController
+    ) {
+        this.graphAlgorithmService = graphAlgorithmService;
+        this.shortestPathService = shortestPathService;
+        this.connectivityService = connectivityService;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * {@code GET  /algorithms} : get the algorithms that can run on the server.
+     *
+     * @return the list of algorithms.
+     */
+    @GetMapping("/algorithms")
+    public List<GraphAlgorithmDTO> getAlgorithms() {
+        LOG.debug("REST request to get all graph algorithms");
+        return graphAlgorithmService.getAlgorithms();
+    }
+
+    /**
+     * {@code GET  /graphs/:id/algorithms/:algorithm/stream} : run an algorithm on the "id" graph and stream its trace
+     * as Server-Sent Events.
+     * <p>
+     * Emits a {@code meta} event, then {@code visit} events each carrying a batch of visited node ids, then a
+     * {@code path} event with the node ids of the resulting path and a final {@code done} event. The trace is recorded,
+     * or taken from the cache, before it is streamed.
+     *
+     * @param id the id of the graph.
+     * @param algorithmId the id of the algorithm, see {@code GET /algorithms}.
+     * @param start the id of the start node.
+     * @param end the id of the target node, if any.
+     * @param batchSize the maximum number of steps per {@code visit} event.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the event stream in body,
+     * or with status {@code 400 (Bad Request)} if the algorithm or the nodes are unknown,
+     * or with status {@code 404 (Not Found)} if the graph does not exist,
+     * or with status {@code 429 (Too Many Requests)} if there is no budget left for it.
+     */
+    @GetMapping(value = "/graphs/{id}/algorithms/{algorithm}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAlgorithmTrace(
+        @PathVariable("id") Long id,
+        @PathVariable("algorithm") String algorithmId,
+        @RequestParam("start") Long start,
+        @RequestParam(value = "end", required = false) Long end,
+        @RequestParam(value = "batchSize", defaultValue = "" + DEFAULT_BATCH_SIZE) int batchSize
+    ) {
+        LOG.debug("REST request to stream {} trace on Graph : {}, from {} to {}", algorithmId, id, start, end);
+        int effectiveBatchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        // the permit is given back once the trace is recorded, before the client reads it
+        return runTrace(id, algorithmId, start, end)
+            .map(trace -> {
+                StreamingResponseBody body = out -> new AlgorithmTraceEventWriter(trace.getGraph(), out, effectiveBatchSize).stream(trace);
+                return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .cacheControl(CacheControl.noCache())
+                    .header("X-Accel-Buffering", "no")
+                    .body(body);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /graphs/:id/algorithms/:algorithm/trace} : run an algorithm on the "id" graph and return its complete
+     * trace as JSON, shaped like the graph player's {@code AlgoResult}, plus the per-node values if the algorithm
+     * produces any (hop counts, distances, component ids...). Traces are cached per graph revision.
+     *
+     * @param id the id of the graph.
+     * @param algorithmId the id of the algorithm, see {@code GET /algorithms}.
+     * @param start the id of the start node.
+     * @param end the id of the target node, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the trace in body,
+     * or with status {@code 400 (Bad Request)} if the algorithm or the nodes are unknown,
+     * or with status {@code 404 (Not Found)} if the graph does not exist,
+     * or with status {@code 429 (Too Many Requests)} if there is no budget left for it.
+     */
+    @GetMapping(value = "/graphs/{id}/algorithms/{algorithm}/trace", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AlgorithmTraceDTO> getAlgorithmTrace(
+        @PathVariable("id") Long id,
+        @PathVariable("algorithm") String algorithmId,
+        @RequestParam("start") Long start,
+        @RequestParam(value = "end", required = false) Long end
+    ) {
+        LOG.debug("REST request to get {} trace on Graph : {}, from {} to {}", algorithmId, id, start, end);
+        return ResponseEntity.of(runTrace(id, algorithmId, start, end).map(AlgorithmTraceDTO::new));
+    }
+
+    /**
+     * {@code GET  /graphs/:id/algorithms/:algorithm/trace} : same as {@link #getAlgorithmTrace}, for clients accepting
+     * {@code application/octet-stream}: the trace and per-node values are encoded with {@link AlgorithmTraceCodec},
+     * using delta-encoded varints over dense node indices instead of one JSON object per step.
+     *
+     * @param id the id of the graph.
+     * @param algorithmId the id of the algorithm, see {@code GET /algorithms}.
+     * @param start the id of the start node.
+     * @param end the id of the target node, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the encoded trace in body,
+     * or with status {@code 400 (Bad Request)} if the algorithm or the nodes are unknown,
+     * or with status {@code 404 (Not Found)} if the graph does not exist,
+     * or with status {@code 429 (Too Many Requests)} if there is no budget left for it.
+     */
+    @GetMapping(value = "/graphs/{id}/algorithms/{algorithm}/trace", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getEncodedAlgorithmTrace(
+        @PathVariable("id") Long id,
+        @PathVariable("algorithm") String algorithmId,
+        @RequestParam("start") Long start,
+        @RequestParam(value = "end", required = false) Long end
+    ) {
+        LOG.debug("REST request to get encoded {} trace on Graph : {}, from {} to {}", algorithmId, id, start, end);
+        return runTrace(id, algorithmId, start, end)
+            .map(trace -> {
+                StreamingResponseBody body = out -> {
+                    BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+                    AlgorithmTraceCodec.encode(trace, buffered);
+                    buffered.flush();
+                };
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(body);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /graphs/:id/shortest-path} : get the shortest path between two nodes of the "id" graph.
+     * <p>
+     * The shortest-path tree of each recently queried start node is kept in memory and repaired on every committed
+     * edge change, so repeated queries after small edits do not recompute the whole tree.
+     *
+     * @param id the id of the graph.
+     * @param start the id of the start node.
+     * @param end the id of the end node.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the path in body,
+     * or with status {@code 400 (Bad Request)} if the nodes are unknown or the graph has negative weights,
+     * or with status {@code 404 (Not Found)} if the graph does not exist.
+     */
+    @GetMapping("/graphs/{id}/shortest-path")
+    public ResponseEntity<ShortestPathDTO> getShortestPath(
+        @PathVariable("id") Long id,
+        @RequestParam("start") Long start,
+        @RequestParam("end") Long end
+    ) {
+        LOG.debug("REST request to get shortest path on Graph : {}, from {} to {}", id, start, end);
+        return ResponseEntity.of(shortestPathService.findShortestPath(id, start, end));
+    }
+
+    /**
+     * {@code GET  /graphs/:id/connectivity} : get the connected components of the "id" graph, edge direction ignored.
+     * <p>
+     * The components are maintained in memory across edge inserts and deletes instead of being recomputed.
+     *
+     * @param id the id of the graph.
+     * @param start the id of a node whose component size is wanted, if any.
+     * @param end the id of a node to test for connectivity with {@code start}, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the connectivity in body,
+     * or with status {@code 400 (Bad Request)} if the nodes are unknown,
+     * or with status {@code 404 (Not Found)} if the graph does not exist.
+     */
+    @GetMapping("/graphs/{id}/connectivity")
+    public ResponseEntity<ConnectivityDTO> getConnectivity(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "start", required = false) Long start,
+        @RequestParam(value = "end", required = false) Long end
+    ) {
+        LOG.debug("REST request to get connectivity of Graph : {}, from {} to {}", id, start, end);
+        return ResponseEntity.of(connectivityService.getConnectivity(id, start, end));
+    }
+
+    /**
+     * Returns the cached trace if there is one, and only admits the run on a miss.
+     */
+    private Optional<AlgorithmTrace> runTrace(Long id, String algorithmId, Long start, Long end) {
+        GraphAlgorithm algorithm = findAlgorithm(algorithmId);
+        Optional<AlgorithmTrace> cached = graphAlgorithmService.findCachedTrace(id, algorithm, start, end);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        try (AdmissionController.Permit permit = admissionController.admit(id, algorithmId, algorithm::estimateCost)) {
+            return graphAlgorithmService.findTrace(id, algorithm, start, end);
+        }
+    }
+
+    private GraphAlgorithm findAlgorithm(String algorithmId) {
+        return graphAlgorithmService
+            .findAlgorithm(algorithmId)
+            .orElseThrow(() -> new BadRequestAlertException("Unknown algorithm", ENTITY_NAME, "algorithmunknown"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.service.GraphSummaryService;
+import com.graphapp.service.dto.GraphInsightsDTO;
+import com.graphapp.service.dto.GraphSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller serving graph statistics, aggregated in the database from the per-graph summaries.
+ */
+@RestController
+@RequestMapping("/api")
+public class GraphInsightsResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphInsightsResource.class);
+
+    private final GraphSummaryService graphSummaryService;
+
+    public GraphInsightsResource(GraphSummaryService graphSummaryService) {
+        this.graphSummaryService = graphSummaryService;
+    }
+
+    /**
+     * {@code GET  /graphs/insights} : get statistics over all graphs.
+     *
+     * @param bucket the period to count graph creations by: {@code day}, {@code week}, {@code month} or {@code year}.
+     * @return the insights, or with status {@code 400 (Bad Request)} if the period is unknown.
+     */
+    @GetMapping("/graphs/insights")
+    public GraphInsightsDTO getInsights(@RequestParam(value = "bucket", defaultValue = "day") String bucket) {
+        LOG.debug("REST request to get Graph insights by {}", bucket);
+        return graphSummaryService.getInsights(bucket);
+    }
+
+    /**
+     * {@code GET  /graphs/:id/summary} : get the size and shape of the "id" graph.
+     *
+     * @param id the id of the graph.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/graphs/{id}/summary")
+    public ResponseEntity<GraphSummaryDTO> getGraphSummary(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get summary of Graph : {}", id);
+        return ResponseUtil.wrapOrNotFound(graphSummaryService.getSummary(id));
+    }
+}
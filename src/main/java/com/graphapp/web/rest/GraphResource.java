@@ -2,23 +2,61 @@ package com.graphapp.web.rest;
 
 import com.graphapp.domain.Graph;
 import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.GraphBroadcastService;
+import com.graphapp.service.GraphChangePublisher;
+import com.graphapp.service.GraphExportService;
+import com.graphapp.service.GraphFileImportService;
+import com.graphapp.service.GraphImportService;
+import com.graphapp.service.GraphSyncService;
+import com.graphapp.service.NodePositionService;
+import com.graphapp.service.NodePositionStreamService;
 import com.graphapp.service.dto.FullGraphDTO;
+import com.graphapp.service.dto.GraphChangesDTO;
+import com.graphapp.service.dto.GraphDeltaDTO;
+import com.graphapp.service.dto.GraphFileImportDTO;
+import com.graphapp.service.dto.GraphImportDTO;
+import com.graphapp.service.dto.GraphRevisionDTO;
+import com.graphapp.service.dto.NodePositionsDTO;
+import com.graphapp.service.io.ColumnarGraphEncoder;
+import com.graphapp.service.io.GraphFormat;
 import com.graphapp.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -39,8 +77,42 @@ public class GraphResource {
 
     private final GraphRepository graphRepository;
 
-    public GraphResource(GraphRepository graphRepository) {
+    private final GraphChangePublisher graphChangePublisher;
+
+    private final GraphSyncService graphSyncService;
+
+    private final GraphImportService graphImportService;
+
+    private final GraphFileImportService graphFileImportService;
+
+    private final GraphExportService graphExportService;
+
+    private final NodePositionService nodePositionService;
+
+    private final NodePositionStreamService nodePositionStreamService;
+
+    private final GraphBroadcastService graphBroadcastService;
+
+    public GraphResource(
+        GraphRepository graphRepository,
+        GraphChangePublisher graphChangePublisher,
+        GraphSyncService graphSyncService,
+        GraphImportService graphImportService,
+        GraphFileImportService graphFileImportService,
+        GraphExportService graphExportService,
+        NodePositionService nodePositionService,
+        NodePositionStreamService nodePositionStreamService,
+        GraphBroadcastService graphBroadcastService
+    ) {
         this.graphRepository = graphRepository;
+        this.graphChangePublisher = graphChangePublisher;
+        this.graphSyncService = graphSyncService;
+        this.graphImportService = graphImportService;
+        this.graphFileImportService = graphFileImportService;
+        this.graphExportService = graphExportService;
+        this.nodePositionService = nodePositionService;
+        this.nodePositionStreamService = nodePositionStreamService;
+        this.graphBroadcastService = graphBroadcastService;
     }
 
     /**
@@ -60,11 +132,124 @@ public class GraphResource {
             graph.setCreatedAt(Instant.now());
         }
         graph = graphRepository.save(graph);
+        graphChangePublisher.graphCreated(graph);
         return ResponseEntity.created(new URI("/api/graphs/" + graph.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, graph.getId().toString()))
             .body(graph);
     }
 
+    /**
+     * {@code POST  /graphs/full} : Create a new graph with all its nodes and edges, in a single transaction.
+     *
+     * @param graph the graph to create, edges referencing nodes by their client-side keys.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new graph, or with status {@code 400 (Bad Request)} if a node key is duplicated or unknown.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/full")
+    public ResponseEntity<FullGraphDTO> createFullGraph(@Valid @RequestBody GraphImportDTO graph) throws URISyntaxException {
+        LOG.debug("REST request to import Graph : {}", graph.getName());
+        FullGraphDTO result = graphImportService.importGraph(graph);
+        return ResponseEntity.created(new URI("/api/graphs/" + result.getGraph().id))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getGraph().id.toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /graphs/import} : Starts importing a GraphML, GEXF, DIMACS, edge-list or CSV file as a new graph.
+     *
+     * @param file the file to import.
+     * @param name the name of the graph, the file name by default.
+     * @param format the format of the file, guessed from its extension by default.
+     * @param directed whether edges are directed when the file does not say, {@code true} by default.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the progress of the import, or with status {@code 400 (Bad Request)} if the format is unknown.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * @throws IOException if the upload cannot be spooled to disk.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<GraphFileImportDTO> importGraphFile(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(name = "name", required = false) String name,
+        @RequestParam(name = "format", required = false) GraphFormat format,
+        @RequestParam(name = "directed", required = false) Boolean directed
+    ) throws URISyntaxException, IOException {
+        LOG.debug("REST request to import Graph file : {}", file.getOriginalFilename());
+        GraphFormat fileFormat = Optional.ofNullable(format)
+            .or(() -> GraphFormat.fromFilename(file.getOriginalFilename()))
+            .filter(GraphFormat::isReadable)
+            .orElseThrow(() -> new BadRequestAlertException("Unknown graph file format", ENTITY_NAME, "unknownformat"));
+        String fileName = Objects.toString(file.getOriginalFilename(), "import");
+        String graphName = StringUtils.hasText(name) ? name : StringUtils.stripFilenameExtension(fileName);
+        Path spooled = Files.createTempFile("graph-import-", ".tmp");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        GraphFileImportDTO result = graphFileImportService.start(graphName, fileFormat, spooled, directed);
+        return ResponseEntity.accepted().location(new URI("/api/graphs/import/" + result.getId())).body(result);
+    }
+
+    /**
+     * {@code GET  /graphs/import/:importId} : get the progress of a graph file import.
+     *
+     * @param importId the id of the import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the progress, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/import/{importId}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<GraphFileImportDTO> getGraphFileImport(@PathVariable("importId") String importId) {
+        LOG.debug("REST request to get Graph file import : {}", importId);
+        return ResponseUtil.wrapOrNotFound(graphFileImportService.findProgress(importId));
+    }
+
+    /**
+     * {@code GET  /graphs/:id/export} : Streams the "id" graph out as a GraphML, DOT, edge-list or CSV file, gzipped
+     * if the client accepts it.
+     *
+     * @param id the id of the graph.
+     * @param format the format of the file, {@code graphml} by default.
+     * @param acceptEncoding the encodings accepted by the client.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body, or with status {@code 400 (Bad Request)} if the format cannot be exported, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/export")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportGraph(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "format", defaultValue = "graphml") String format,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        LOG.debug("REST request to export Graph : {} as {}", id, format);
+        GraphFormat fileFormat = GraphFormat.fromName(format)
+            .filter(GraphFormat::isWritable)
+            .orElseThrow(() -> new BadRequestAlertException("Unknown graph file format", ENTITY_NAME, "unknownformat"));
+        if (!graphRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                graphExportService.export(id, fileFormat, compressed);
+                compressed.finish();
+            } else {
+                graphExportService.export(id, fileFormat, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(new MediaType(MediaType.parseMediaType(fileFormat.getMediaType()), StandardCharsets.UTF_8))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("graph-" + id + "." + fileFormat.getExtension()).build().toString()
+            )
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     /**
      * {@code PUT  /graphs/:id} : Updates an existing graph.
      *
@@ -91,6 +276,7 @@ public class GraphResource {
         }
 
         graph = graphRepository.save(graph);
+        graphChangePublisher.graphUpdated(graph);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, graph.getId().toString()))
             .body(graph);
@@ -137,9 +323,10 @@ public class GraphResource {
                     existingGraph.setCreatedAt(graph.getCreatedAt());
                 }
 
-                return existingGraph;
-            })
-            .map(graphRepository::save);
+                Graph saved = graphRepository.save(existingGraph);
+                graphChangePublisher.graphUpdated(saved);
+                return saved;
+            });
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -148,14 +335,25 @@ public class GraphResource {
     }
 
     /**
-     * {@code GET  /graphs} : get all the graphs.
+     * {@code GET  /graphs} : get a page of the graphs, in id order.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of graphs in body.
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one, the first page by default.
+     * @param size the page size, {@value KeysetPagination#DEFAULT_SIZE} by default and at most {@value KeysetPagination#MAX_SIZE}.
+     * @param sort {@code id,desc} to list the newest graphs first.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of graphs in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
      */
     @GetMapping("")
-    public List<Graph> getAllGraphs() {
-        LOG.debug("REST request to get all Graphs");
-        return graphRepository.findAll();
+    public ResponseEntity<List<Graph>> getAllGraphs(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        Sort sort
+    ) {
+        LOG.debug("REST request to get a page of Graphs");
+        return KeysetPagination.of(cursor, size, sort, ENTITY_NAME).fetch(
+            graphRepository::findByIdGreaterThanOrderByIdAsc,
+            graphRepository::findByIdLessThanOrderByIdDesc,
+            Graph::getId
+        );
     }
 
     /**
@@ -171,6 +369,83 @@ public class GraphResource {
         return ResponseUtil.wrapOrNotFound(graph);
     }
 
+    /**
+     * {@code PUT  /graphs/:id/node-positions} : Moves nodes of the "id" graph, in batches and without loading them.
+     *
+     * @param id the id of the graph.
+     * @param positions the new positions.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 400 (Bad Request)} if a node is not part of the graph.
+     */
+    @PutMapping("/{id}/node-positions")
+    public ResponseEntity<Void> updateNodePositions(@PathVariable("id") Long id, @Valid @RequestBody NodePositionsDTO positions) {
+        LOG.debug("REST request to move nodes of Graph : {}", id);
+        nodePositionService.updatePositions(id, positions);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code POST  /graphs/:id/node-positions/stream} : Streams node positions of the "id" graph while dragging.
+     * Positions are coalesced per node on the server and written in periodic batches.
+     *
+     * @param id the id of the graph.
+     * @param positions the new positions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the revision including the positions once written, or with status {@code 404 (Not Found)}.
+     */
+    @PostMapping("/{id}/node-positions/stream")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ResponseEntity<GraphRevisionDTO>> streamNodePositions(
+        @PathVariable("id") Long id,
+        @Valid @RequestBody NodePositionsDTO positions
+    ) {
+        LOG.debug("REST request to stream {} node positions of Graph : {}", positions.getIds().length, id);
+        return nodePositionStreamService
+            .submit(id, positions)
+            .thenApply(revision ->
+                revision != null ? ResponseEntity.ok(new GraphRevisionDTO(id, revision)) : ResponseEntity.notFound().build()
+            );
+    }
+
+    /**
+     * {@code GET  /graphs/:id/events} : Subscribes to the changes of the "id" graph, as Server-Sent Events.
+     * Each {@code delta} event holds a batch of {@link GraphDeltaDTO}; a {@code resync} event means changes were
+     * dropped and the graph must be reloaded.
+     *
+     * @param id the id of the graph.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the event stream, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<SseEmitter> subscribeToGraph(@PathVariable("id") Long id) {
+        LOG.debug("REST request to subscribe to Graph : {}", id);
+        if (!graphRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(graphBroadcastService.getTimeout().toMillis());
+        GraphBroadcastService.Subscription subscription = graphBroadcastService.subscribe(
+            id,
+            new GraphBroadcastService.Sink() {
+                @Override
+                public void send(String name, Object data) throws IOException {
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void heartbeat() throws IOException {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                @Override
+                public void close() {
+                    emitter.complete();
+                }
+            }
+        );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter);
+    }
+
     /**
      * {@code DELETE  /graphs/:id} : delete the "id" graph.
      *
@@ -180,57 +455,94 @@ public class GraphResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGraph(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Graph : {}", id);
-        graphRepository.deleteById(id);
+        if (graphRepository.existsById(id)) {
+            graphRepository.deleteById(id);
+            graphChangePublisher.graphDeleted(id);
+        }
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
 
+    /**
+     * {@code GET  /graphs/:id/full} : get the "id" graph with all its nodes and edges.
+     * <p>
+     * The response carries a strong {@code ETag} derived from the graph revision. A matching {@code If-None-Match}
+     * is answered with {@code 304 (Not Modified)} after reading the revision alone. Otherwise the graph is streamed
+     * out as JSON while it is read, in the transaction that read the revision.
+     *
+     * @param id the id of the graph to retrieve.
+     * @param request the current request, for the conditional headers.
+     * @param response the response to write the graph to, with status {@code 200 (OK)} or {@code 304 (Not Modified)}.
+     * @throws IOException if the response cannot be written to.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the graph does not exist.
+     */
     @GetMapping("/{id}/full")
-    @Transactional(readOnly = true)
-    public ResponseEntity<FullGraphDTO> getFullGraph(@PathVariable Long id) {
+    // repeatable read, so that the content written afterwards is exactly the one of the revision in the ETag
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void getFullGraph(@PathVariable Long id, WebRequest request, HttpServletResponse response) throws IOException {
         LOG.debug("REST request to get FULL Graph aggregate by id : {}", id);
+        if (checkFullGraph(id, request, response, MediaType.APPLICATION_JSON_VALUE)) {
+            graphSyncService.writeFullGraph(id, response.getOutputStream());
+        }
+    }
+
+    /**
+     * {@code GET  /graphs/:id/full} : same as {@link #getFullGraph}, for clients accepting
+     * {@code application/octet-stream}: the graph is encoded column by column with {@link ColumnarGraphEncoder}, so
+     * that ids, coordinates and weights can be viewed as typed arrays without parsing.
+     *
+     * @param id the id of the graph to retrieve.
+     * @param request the current request, for the conditional headers.
+     * @param response the response to write the graph to, with status {@code 200 (OK)} or {@code 304 (Not Modified)}.
+     * @throws IOException if the response cannot be written to.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the graph does not exist.
+     */
+    @GetMapping(value = "/{id}/full", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    // repeatable read, so that the content written afterwards is exactly the one of the revision in the ETag
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void getFullGraphColumns(@PathVariable Long id, WebRequest request, HttpServletResponse response) throws IOException {
+        LOG.debug("REST request to get FULL Graph aggregate by id : {} as columns", id);
+        if (checkFullGraph(id, request, response, MediaType.APPLICATION_OCTET_STREAM_VALUE)) {
+            graphSyncService.writeFullGraphColumns(id, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Answers a conditional request for a whole graph, or sets the headers of the representation about to be written.
+     *
+     * @return {@code true} if the graph has to be written, {@code false} if the client's copy is up to date.
+     */
+    private boolean checkFullGraph(Long id, WebRequest request, HttpServletResponse response, String contentType) {
+        Optional<Long> revision = graphRepository.findRevisionById(id);
+        if (revision.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        // both representations share the revision, so the ETag tells them apart
+        String eTag = "\"" + id + "-" + revision.orElseThrow() + (contentType.equals(MediaType.APPLICATION_JSON_VALUE) ? "" : "-columns") + "\"";
+        if (request.checkNotModified(eTag)) {
+            return false;
+        }
 
-        return graphRepository
-            .findById(id)
-            .map(graph -> {
-                // ---- Graph DTO
-                FullGraphDTO.GraphDTO graphDTO = new FullGraphDTO.GraphDTO();
-                graphDTO.id = graph.getId();
-                graphDTO.name = graph.getName();
-                graphDTO.description = graph.getDescription();
-
-                // ---- Nodes DTOs
-                var nodeDTOs = graph
-                    .getNodes()
-                    .stream()
-                    .map(n -> {
-                        FullGraphDTO.NodeDTO dto = new FullGraphDTO.NodeDTO();
-                        dto.id = n.getId();
-                        dto.label = n.getLabel();
-                        dto.x = n.getX();
-                        dto.y = n.getY();
-                        return dto;
-                    })
-                    .toList();
-
-                // ---- Edges DTOs
-                var edgeDTOs = graph
-                    .getEdges()
-                    .stream()
-                    .map(e -> {
-                        FullGraphDTO.EdgeDTO dto = new FullGraphDTO.EdgeDTO();
-                        dto.id = e.getId();
-                        dto.source = e.getSource().getId();
-                        dto.target = e.getTarget().getId();
-                        dto.weight = e.getWeight();
-                        dto.directed = e.getDirected();
-                        return dto;
-                    })
-                    .toList();
-
-                return ResponseEntity.ok(new FullGraphDTO(graphDTO, nodeDTOs, edgeDTOs));
-            })
-            .orElse(ResponseEntity.notFound().build());
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return true;
+    }
+
+    /**
+     * {@code GET  /graphs/:id/changes?since=:revision} : get the node and edge changes of the "id" graph since a
+     * revision, or the whole graph if that revision has been compacted away.
+     *
+     * @param id the id of the graph.
+     * @param since the revision the client holds, as returned by a previous call or by {@code /full}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the changes, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/changes")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ResponseEntity<GraphChangesDTO> getGraphChanges(@PathVariable Long id, @RequestParam long since) {
+        LOG.debug("REST request to get changes of Graph : {} since revision {}", id, since);
+        return ResponseUtil.wrapOrNotFound(graphSyncService.getChanges(id, since));
     }
 }
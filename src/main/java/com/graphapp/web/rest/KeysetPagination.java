@@ -0,0 +1,112 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.web.rest.errors.BadRequestAlertException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Keyset pagination of list endpoints over entity ids.
+ * <p>
+ * A page starts after an opaque {@code cursor}, the id of the last element of the previous page, rather than at an
+ * offset, so any page costs one index seek and rows inserted meanwhile do not shift the following pages. One row more
+ * than the page size is fetched to tell whether there is a next page, linked in a {@code Link} header.
+ */
+final class KeysetPagination {
+
+    static final int DEFAULT_SIZE = 100;
+
+    static final int MAX_SIZE = 1000;
+
+    private final long after;
+
+    private final int size;
+
+    private final boolean descending;
+
+    private KeysetPagination(long after, int size, boolean descending) {
+        this.after = after;
+        this.size = size;
+        this.descending = descending;
+    }
+
+    /**
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one, or {@code null} for the first page.
+     * @param size the requested page size, capped at {@value #MAX_SIZE}.
+     * @param sort the requested order; only {@code id,desc} is honoured, any other order falls back to ascending ids.
+     * @param entityName the entity listed, for error messages.
+     * @throws BadRequestAlertException if the cursor was not issued by this class.
+     */
+    static KeysetPagination of(String cursor, Integer size, Sort sort, String entityName) {
+        Sort.Order order = sort != null ? sort.getOrderFor("id") : null;
+        boolean descending = order != null && order.isDescending();
+        long after = descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+        if (cursor != null) {
+            try {
+                byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+                if (bytes.length != Long.BYTES) {
+                    throw new IllegalArgumentException("Cursor of " + bytes.length + " bytes");
+                }
+                after = ByteBuffer.wrap(bytes).getLong();
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "invalidcursor");
+            }
+        }
+        return new KeysetPagination(after, pageSize(size), descending);
+    }
+
+    /**
+     * Fetches the page and links the next one.
+     *
+     * @param ascending the query of up to {@code limit} rows with ids greater than the given one, in ascending order.
+     * @param descending the query of up to {@code limit} rows with ids less than the given one, in descending order.
+     * @param idOf the id of a row.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page in body.
+     */
+    <T> ResponseEntity<List<T>> fetch(
+        BiFunction<Long, Limit, List<T>> ascending,
+        BiFunction<Long, Limit, List<T>> descending,
+        Function<T, Long> idOf
+    ) {
+        List<T> rows = (this.descending ? descending : ascending).apply(after, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> page = rows.subList(0, size);
+        return ResponseEntity.ok().header(HttpHeaders.LINK, nextLink("cursor", encode(idOf.apply(page.get(size - 1))), size)).body(page);
+    }
+
+    /**
+     * @param parameter the query parameter of the cursor.
+     * @param cursor the cursor of the next page.
+     * @param size the page size.
+     * @return the {@code Link} header value of the next page, the current request with the given cursor and size.
+     */
+    static String nextLink(String parameter, String cursor, int size) {
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam(parameter, cursor)
+            .replaceQueryParam("size", size)
+            .replaceQueryParam("cacheBuster")
+            .toUriString();
+        return "<" + next + ">; rel=\"next\"";
+    }
+
+    /**
+     * @param size the requested page size, or {@code null}.
+     * @return the page size, {@value #DEFAULT_SIZE} by default and capped at {@value #MAX_SIZE}.
+     */
+    static int pageSize(Integer size) {
+        return size != null ? Math.max(1, Math.min(size, MAX_SIZE)) : DEFAULT_SIZE;
+    }
+
+    private static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+}
@@ -2,6 +2,8 @@ package com.graphapp.web.rest;
 
 import com.graphapp.domain.Node;
 import com.graphapp.repository.NodeRepository;
+import com.graphapp.service.GraphChangePublisher;
+import com.graphapp.service.event.NodeState;
 import com.graphapp.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +15,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +39,11 @@ public class NodeResource {
 
     private final NodeRepository nodeRepository;
 
-    public NodeResource(NodeRepository nodeRepository) {
+    private final GraphChangePublisher graphChangePublisher;
+
+    public NodeResource(NodeRepository nodeRepository, GraphChangePublisher graphChangePublisher) {
         this.nodeRepository = nodeRepository;
+        this.graphChangePublisher = graphChangePublisher;
     }
 
     /**
@@ -54,6 +60,7 @@ public class NodeResource {
             throw new BadRequestAlertException("A new node cannot already have an ID", ENTITY_NAME, "idexists");
         }
         node = nodeRepository.save(node);
+        graphChangePublisher.nodeCreated(node);
         return ResponseEntity.created(new URI("/api/nodes/" + node.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, node.getId().toString()))
             .body(node);
@@ -80,11 +87,13 @@ public class NodeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!nodeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        NodeState previous = nodeRepository
+            .findById(id)
+            .map(NodeState::of)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
 
         node = nodeRepository.save(node);
+        graphChangePublisher.nodeUpdated(previous, node);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, node.getId().toString()))
             .body(node);
@@ -121,6 +130,7 @@ public class NodeResource {
         Optional<Node> result = nodeRepository
             .findById(node.getId())
             .map(existingNode -> {
+                NodeState previous = NodeState.of(existingNode);
                 if (node.getLabel() != null) {
                     existingNode.setLabel(node.getLabel());
                 }
@@ -131,9 +141,10 @@ public class NodeResource {
                     existingNode.setY(node.getY());
                 }
 
-                return existingNode;
-            })
-            .map(nodeRepository::save);
+                Node saved = nodeRepository.save(existingNode);
+                graphChangePublisher.nodeUpdated(previous, saved);
+                return saved;
+            });
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -142,14 +153,31 @@ public class NodeResource {
     }
 
     /**
-     * {@code GET  /nodes} : get all the nodes.
+     * {@code GET  /nodes} : get a page of the nodes, of all graphs or of one, in id order.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of nodes in body.
+     * @param graphId the id of the graph to list the nodes of, all graphs by default.
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one, the first page by default.
+     * @param size the page size, {@value KeysetPagination#DEFAULT_SIZE} by default and at most {@value KeysetPagination#MAX_SIZE}.
+     * @param sort {@code id,desc} to list the newest nodes first.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of nodes in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
      */
     @GetMapping("")
-    public List<Node> getAllNodes() {
-        LOG.debug("REST request to get all Nodes");
-        return nodeRepository.findAll();
+    public ResponseEntity<List<Node>> getAllNodes(
+        @RequestParam(value = "graphId", required = false) Long graphId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size,
+        Sort sort
+    ) {
+        LOG.debug("REST request to get a page of Nodes for graphId={}", graphId);
+        KeysetPagination page = KeysetPagination.of(cursor, size, sort, ENTITY_NAME);
+        if (graphId != null) {
+            return page.fetch(
+                (after, limit) -> nodeRepository.findByGraphIdAndIdGreaterThanOrderByIdAsc(graphId, after, limit),
+                (after, limit) -> nodeRepository.findByGraphIdAndIdLessThanOrderByIdDesc(graphId, after, limit),
+                Node::getId
+            );
+        }
+        return page.fetch(nodeRepository::findByIdGreaterThanOrderByIdAsc, nodeRepository::findByIdLessThanOrderByIdDesc, Node::getId);
     }
 
     /**
@@ -174,7 +202,12 @@ public class NodeResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNode(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Node : {}", id);
-        nodeRepository.deleteById(id);
+        nodeRepository
+            .findById(id)
+            .ifPresent(node -> {
+                graphChangePublisher.nodeDeleted(NodeState.of(node));
+                nodeRepository.delete(node);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
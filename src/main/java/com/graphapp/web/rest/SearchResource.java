@@ -0,0 +1,51 @@
+package com.graphapp.web.rest;
+
+import com.graphapp.service.SearchService;
+import com.graphapp.service.dto.SearchResultDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for searching graphs, nodes and comments.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchResource.class);
+
+    static final int DEFAULT_SIZE = 20;
+
+    static final int MAX_SIZE = 100;
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /search?q=} : search graph names and descriptions, node labels and comments. Each word of the query
+     * may be the beginning of a word, and may hold a typo.
+     *
+     * @param q the words to look for.
+     * @param graphId the graph to search in, all graphs if missing.
+     * @param size the maximum number of results, {@value #DEFAULT_SIZE} by default and capped at {@value #MAX_SIZE}.
+     * @return the results, best first.
+     */
+    @GetMapping("/search")
+    public List<SearchResultDTO> search(
+        @RequestParam("q") String q,
+        @RequestParam(value = "graphId", required = false) Long graphId,
+        @RequestParam(value = "size", required = false) Integer size
+    ) {
+        LOG.debug("REST request to search : {}", q);
+        int limit = size != null ? Math.max(1, Math.min(size, MAX_SIZE)) : DEFAULT_SIZE;
+        return searchService.search(q, graphId, limit);
+    }
+}
@@ -13,6 +13,7 @@ import {
   updateEdge,
   updateGraph,
   updateNode,
+  updateNodePositions,
 } from 'app/shared/graph/graph.api';
 
 interface BuilderNode {
@@ -281,8 +282,16 @@ export const GraphBuilder = () => {
       const nodesToUpdate = nodes.filter(n => {
         if (!originalNodeIds.has(n.id)) return false;
         const original = originalNodesById.get(n.id);
-        return !!original && (original.label !== n.label || original.x !== n.x || original.y !== n.y);
+        return !!original && original.label !== n.label;
       });
+      const nodesToMove = nodes.filter(n => {
+        if (!originalNodeIds.has(n.id)) return false;
+        const original = originalNodesById.get(n.id);
+        return !!original && original.label === n.label && (original.x !== n.x || original.y !== n.y);
+      });
+      if (nodesToMove.length > 0) {
+        await updateNodePositions(graphId, nodesToMove);
+      }
       await Promise.all(
         nodesToUpdate.map(n =>
           updateNode({
@@ -10,12 +10,22 @@ import { getGraphAlgoById, graphAlgos } from 'app/shared/graph/algos';
 import type { AlgoResult } from 'app/shared/graph/algos/types';
 import { renderGraphDynamic } from 'app/shared/graph/dynamic/renderGraphDynamic';
 import { GraphData, GraphEdge, GraphNode } from 'app/shared/graph/core/types';
-import { FullGraphDTO, getFullGraphById } from 'app/shared/graph/graph.api';
+import {
+  CommentPreviewDTO,
+  FullGraphDTO,
+  GraphDeltaDTO,
+  getCommentContent,
+  getCommentFeed,
+  getSyncedFullGraph,
+  subscribeToComments,
+  subscribeToGraph,
+} from 'app/shared/graph/graph.api';
 import { IGraph } from 'app/shared/model/graph.model';
 
 const CANVAS_WIDTH = 1080;
 const CANVAS_HEIGHT = 620;
 const STEP_DURATION_MS = 700;
+const COMMENT_PAGE_SIZE = 20;
 
 type SelectionState = {
   start: number | null;
@@ -30,8 +40,12 @@ type GraphOption = {
 
 type CommentItem = {
   id: number;
+  /** the preview while truncated */
   content: string;
+  truncated?: boolean;
   createdAt?: string | null;
+  /** feed position, missing for comments received as deltas */
+  cursor?: string;
 };
 
 type RenderedEdge = Omit<GraphEdge, 'source' | 'target'> & {
@@ -68,6 +82,8 @@ const GraphPlayerPage = () => {
   const [isPlaying, setIsPlaying] = useState(false);
   const [comments, setComments] = useState<CommentItem[]>([]);
   const [loadingComments, setLoadingComments] = useState(false);
+  const [hasOlderComments, setHasOlderComments] = useState(false);
+  const [loadingOlderComments, setLoadingOlderComments] = useState(false);
   const [submittingComment, setSubmittingComment] = useState(false);
   const [commentDraft, setCommentDraft] = useState('');
   const [commentError, setCommentError] = useState<string | null>(null);
@@ -181,7 +197,7 @@ const GraphPlayerPage = () => {
         setErrorMessage(null);
         resetRunState();
 
-        const full = await getFullGraphById(selectedGraphId);
+        const full = await getSyncedFullGraph(selectedGraphId);
         if (!isActive) return;
 
         const option = graphOptions.find(item => item.id === selectedGraphId);
@@ -217,6 +233,7 @@ const GraphPlayerPage = () => {
     const loadComments = async () => {
       if (selectedGraphId === null) {
         setComments([]);
+        setHasOlderComments(false);
         setCommentDraft('');
         setCommentError(null);
         return;
@@ -225,9 +242,10 @@ const GraphPlayerPage = () => {
       try {
         setLoadingComments(true);
         setCommentError(null);
-        const res = await axios.get<CommentItem[]>(`/api/comments?graphId=${selectedGraphId}`);
+        const page = await getCommentFeed(selectedGraphId, { size: COMMENT_PAGE_SIZE });
         if (!isActive) return;
-        setComments(res.data ?? []);
+        setComments(page.comments.map(toCommentItem));
+        setHasOlderComments(page.hasMore);
       } catch (err: any) {
         if (!isActive) return;
         setCommentError(err?.message ?? 'Unable to load comments.');
@@ -246,6 +264,77 @@ const GraphPlayerPage = () => {
     };
   }, [selectedGraphId]);
 
+  useEffect(() => {
+    if (selectedGraphId === null) return;
+    let isActive = true;
+
+    // edits from other users: the graph is re-synced through its revision deltas, comments are patched in place
+    const refreshGraph = async () => {
+      try {
+        const full = await getSyncedFullGraph(selectedGraphId);
+        if (isActive) setGraphData(mapToGraphData(full));
+      } catch {
+        // the next change or resync retries
+      }
+    };
+
+    const refreshComments = async () => {
+      try {
+        const page = await getCommentFeed(selectedGraphId, { size: COMMENT_PAGE_SIZE });
+        if (!isActive) return;
+        setComments(page.comments.map(toCommentItem));
+        setHasOlderComments(page.hasMore);
+      } catch {
+        // the next change or resync retries
+      }
+    };
+
+    const applyComments = (deltas: GraphDeltaDTO[]) =>
+      setComments(current => {
+        const byId = new Map(current.map(comment => [comment.id, comment]));
+        deltas.forEach(delta => {
+          if (delta.deleted) byId.delete(delta.id);
+          else
+            byId.set(delta.id, {
+              ...byId.get(delta.id),
+              id: delta.id,
+              content: delta.state.content,
+              truncated: false,
+              createdAt: delta.state.createdAt,
+            });
+        });
+        return sortComments([...byId.values()]);
+      });
+
+    const unsubscribe = subscribeToGraph(selectedGraphId, {
+      onDeltas(deltas) {
+        const commentDeltas = deltas.filter(delta => delta.kind === 'comment');
+        if (commentDeltas.length) applyComments(commentDeltas);
+        if (commentDeltas.length < deltas.length) refreshGraph();
+      },
+      onResync() {
+        refreshGraph();
+        refreshComments();
+      },
+    });
+
+    // new comments are pushed as soon as they are committed, the graph deltas still bring edits and deletions
+    const unsubscribeComments = subscribeToComments(selectedGraphId, {
+      onComment(comment) {
+        setComments(current => mergeComments(current, [comment]));
+      },
+      onResync() {
+        refreshComments();
+      },
+    });
+
+    return () => {
+      isActive = false;
+      unsubscribe();
+      unsubscribeComments();
+    };
+  }, [selectedGraphId]);
+
   useEffect(() => {
     if (!svgRef.current || !graphData) return;
 
@@ -427,14 +516,18 @@ const GraphPlayerPage = () => {
       setSubmittingComment(true);
       setCommentError(null);
 
-      await axios.post('/api/comments', {
+      const { data } = await axios.post<{ id: number; content: string; createdAt?: string | null }>('/api/comments', {
         content,
         createdAt: new Date().toISOString(),
         graph: { id: selectedGraphId },
       });
 
-      const refreshed = await axios.get<CommentItem[]>(`/api/comments?graphId=${selectedGraphId}`);
-      setComments(refreshed.data ?? []);
+      // shown right away, the comment stream then brings its cursor
+      setComments(current =>
+        current.some(comment => comment.id === data.id)
+          ? current
+          : sortComments([...current, { id: data.id, content: data.content, truncated: false, createdAt: data.createdAt }]),
+      );
       setCommentDraft('');
     } catch (err: any) {
       setCommentError(err?.message ?? 'Unable to submit comment.');
@@ -443,6 +536,30 @@ const GraphPlayerPage = () => {
     }
   };
 
+  const handleLoadOlderComments = async () => {
+    if (selectedGraphId === null) return;
+    const oldest = [...comments].reverse().find(comment => comment.cursor);
+    try {
+      setLoadingOlderComments(true);
+      const page = await getCommentFeed(selectedGraphId, { cursor: oldest?.cursor, size: COMMENT_PAGE_SIZE });
+      setComments(current => mergeComments(current, page.comments));
+      setHasOlderComments(page.hasMore);
+    } catch (err: any) {
+      setCommentError(err?.message ?? 'Unable to load comments.');
+    } finally {
+      setLoadingOlderComments(false);
+    }
+  };
+
+  const handleExpandComment = async (id: number) => {
+    try {
+      const content = await getCommentContent(id);
+      setComments(current => current.map(comment => (comment.id === id ? { ...comment, content, truncated: false } : comment)));
+    } catch (err: any) {
+      setCommentError(err?.message ?? 'Unable to load the comment.');
+    }
+  };
+
   if (loading) {
     return (
       <div className="graph-player-loading">
@@ -637,11 +754,26 @@ const GraphPlayerPage = () => {
                       ) : (
                         comments.map(comment => (
                           <article key={comment.id} className="graph-player-comment-item">
-                            <div className="graph-player-comment-content">{comment.content}</div>
+                            <div className="graph-player-comment-content">
+                              {comment.content}
+                              {comment.truncated && (
+                                <>
+                                  {'... '}
+                                  <Button color="link" size="sm" className="p-0" onClick={() => handleExpandComment(comment.id)}>
+                                    Show more
+                                  </Button>
+                                </>
+                              )}
+                            </div>
                             <div className="graph-player-comment-meta">{formatCommentDate(comment.createdAt)}</div>
                           </article>
                         ))
                       )}
+                      {hasOlderComments && (
+                        <Button color="link" size="sm" onClick={handleLoadOlderComments} disabled={loadingOlderComments}>
+                          {loadingOlderComments ? 'Loading...' : 'Older comments'}
+                        </Button>
+                      )}
                     </div>
                   )}
                 </div>
@@ -654,6 +786,28 @@ const GraphPlayerPage = () => {
   );
 };
 
+function toCommentItem(comment: CommentPreviewDTO): CommentItem {
+  return { id: comment.id, content: comment.preview, truncated: comment.truncated, createdAt: comment.createdAt, cursor: comment.cursor };
+}
+
+/**
+ * Newest first, undated comments last, as in the feed
+ */
+function sortComments(comments: CommentItem[]): CommentItem[] {
+  const time = (comment: CommentItem) => (comment.createdAt ? Date.parse(comment.createdAt) : -Infinity);
+  return comments.sort((a, b) => time(b) - time(a) || b.id - a.id);
+}
+
+function mergeComments(current: CommentItem[], page: CommentPreviewDTO[]): CommentItem[] {
+  const byId = new Map(current.map(comment => [comment.id, comment]));
+  page.forEach(comment => {
+    const known = byId.get(comment.id);
+    // a comment already received whole keeps its content
+    byId.set(comment.id, known && !known.truncated ? { ...known, cursor: comment.cursor } : toCommentItem(comment));
+  });
+  return sortComments([...byId.values()]);
+}
+
 function toGraphOption(graph: IGraph): GraphOption | null {
   if (typeof graph.id !== 'number') return null;
   return {
@@ -1,13 +1,12 @@
 import './home.scss';
 
 import React, { useEffect, useMemo, useRef, useState } from 'react';
-import axios from 'axios';
 import { Link } from 'react-router-dom';
 import { Alert, Button, Card, CardBody, CardHeader, Col, Input, Row, Spinner } from 'reactstrap';
 
 import { renderGraphStatic } from 'app/shared/graph';
 import { GraphData } from 'app/shared/graph/core/types';
-import { FullGraphDTO, deleteGraph, getFullGraphById } from 'app/shared/graph/graph.api';
+import { FullGraphDTO, deleteGraph, getAllPages, getFullGraphById } from 'app/shared/graph/graph.api';
 
 type GraphDTO = {
   id: number;
@@ -180,8 +179,7 @@ export const Home = () => {
     const loadGraphs = async () => {
       setLoading(true);
       try {
-        const res = await axios.get<GraphDTO[]>('/api/graphs');
-        setGraphs(res.data ?? []);
+        setGraphs(await getAllPages<GraphDTO>('/api/graphs'));
       } finally {
         setLoading(false);
       }
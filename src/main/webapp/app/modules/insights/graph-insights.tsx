@@ -1,7 +1,6 @@
 import './graph-insights.scss';
 
 import React, { useEffect, useMemo, useState } from 'react';
-import axios from 'axios';
 import { Link } from 'react-router-dom';
 import { Alert, Button, Card, CardBody, CardHeader, Col, Row, Spinner } from 'reactstrap';
 import { AllCommunityModule, ModuleRegistry, type ColDef } from 'ag-grid-community';
@@ -9,20 +8,17 @@ import { AgGridReact } from 'ag-grid-react';
 import Highcharts from 'highcharts';
 import HighchartsReact from 'highcharts-react-official';
 
+import { GraphInsightsDTO, GraphSummaryDTO, getGraphInsights } from 'app/shared/graph/graph.api';
+
 import 'ag-grid-community/styles/ag-grid.css';
 import 'ag-grid-community/styles/ag-theme-alpine.css';
 
 ModuleRegistry.registerModules([AllCommunityModule]);
 
-type GraphRow = {
-  id: number;
-  name: string;
-  description?: string | null;
-  createdAt?: string | null;
-};
+const formatSize = (minNodes: number) => (minNodes === 0 ? 'Empty' : `${minNodes.toLocaleString()}+`);
 
 export const GraphInsights = () => {
-  const [rows, setRows] = useState<GraphRow[]>([]);
+  const [insights, setInsights] = useState<GraphInsightsDTO | null>(null);
   const [loading, setLoading] = useState(true);
   const [errorMessage, setErrorMessage] = useState<string | null>(null);
 
@@ -33,9 +29,9 @@ export const GraphInsights = () => {
       try {
         setLoading(true);
         setErrorMessage(null);
-        const res = await axios.get<GraphRow[]>('/api/graphs?sort=createdAt,asc');
+        const result = await getGraphInsights('day');
         if (!isActive) return;
-        setRows(res.data ?? []);
+        setInsights(result);
       } catch (err: any) {
         if (!isActive) return;
         setErrorMessage(err?.message ?? 'Failed to load graph data.');
@@ -52,14 +48,21 @@ export const GraphInsights = () => {
     };
   }, []);
 
-  const columnDefs = useMemo<ColDef<GraphRow>[]>(
+  const columnDefs = useMemo<ColDef<GraphSummaryDTO>[]>(
     () => [
-      { field: 'id', headerName: 'ID', maxWidth: 110, sort: 'asc' },
+      { field: 'graphId', headerName: 'ID', maxWidth: 110 },
       { field: 'name', headerName: 'Graph Name', minWidth: 180 },
-      { field: 'description', headerName: 'Description', minWidth: 220 },
+      { field: 'nodeCount', headerName: 'Nodes', maxWidth: 130 },
+      { field: 'edgeCount', headerName: 'Edges', maxWidth: 130, sort: 'desc' },
+      {
+        field: 'directedRatio',
+        headerName: 'Directed',
+        maxWidth: 130,
+        valueFormatter: params => (params.value == null ? '-' : `${Math.round(params.value * 100)}%`),
+      },
       {
-        field: 'createdAt',
-        headerName: 'Created At',
+        field: 'lastModified',
+        headerName: 'Last Modified',
         minWidth: 180,
         valueFormatter: params => (params.value ? new Date(params.value).toLocaleString() : '-'),
       },
@@ -67,7 +70,7 @@ export const GraphInsights = () => {
     [],
   );
 
-  const defaultColDef = useMemo<ColDef<GraphRow>>(
+  const defaultColDef = useMemo<ColDef<GraphSummaryDTO>>(
     () => ({
       sortable: true,
       filter: true,
@@ -78,21 +81,16 @@ export const GraphInsights = () => {
   );
 
   const chartOptions = useMemo<Highcharts.Options>(() => {
-    const countsByDay = rows.reduce<Map<string, number>>((acc, row) => {
-      const day = row.createdAt ? new Date(row.createdAt).toISOString().slice(0, 10) : 'Unknown';
-      acc.set(day, (acc.get(day) ?? 0) + 1);
-      return acc;
-    }, new Map());
-
-    const sortedDays = [...countsByDay.keys()].sort();
-    const data = sortedDays.map(day => countsByDay.get(day) ?? 0);
+    const created = insights?.created ?? [];
+    const days = created.map(bucket => (bucket.start ? bucket.start.slice(0, 10) : 'Unknown'));
+    const data = created.map(bucket => bucket.graphs);
 
     return {
       chart: { type: 'column', height: 360 },
       title: { text: 'Graphs Created Per Day' },
       credits: { enabled: false },
       xAxis: {
-        categories: sortedDays.length > 0 ? sortedDays : ['No Data'],
+        categories: days.length > 0 ? days : ['No Data'],
         title: { text: 'Date' },
       },
       yAxis: {
@@ -104,12 +102,39 @@ export const GraphInsights = () => {
         {
           type: 'column',
           name: 'Graphs',
-          data: sortedDays.length > 0 ? data : [0],
+          data: days.length > 0 ? data : [0],
           color: '#198754',
         },
       ],
     };
-  }, [rows]);
+  }, [insights]);
+
+  const sizeChartOptions = useMemo<Highcharts.Options>(() => {
+    const sizes = insights?.sizes ?? [];
+
+    return {
+      chart: { type: 'column', height: 300 },
+      title: { text: 'Graphs By Node Count' },
+      credits: { enabled: false },
+      xAxis: {
+        categories: sizes.length > 0 ? sizes.map(bucket => formatSize(bucket.minNodes)) : ['No Data'],
+        title: { text: 'Nodes' },
+      },
+      yAxis: {
+        min: 0,
+        title: { text: 'Number of Graphs' },
+        allowDecimals: false,
+      },
+      series: [
+        {
+          type: 'column',
+          name: 'Graphs',
+          data: sizes.length > 0 ? sizes.map(bucket => bucket.graphs) : [0],
+          color: '#0d6efd',
+        },
+      ],
+    };
+  }, [insights]);
 
   return (
     <div className="graph-insights-page">
@@ -131,12 +156,24 @@ export const GraphInsights = () => {
         </div>
       ) : (
         <Row className="g-3">
+          <Col lg="12">
+            <p className="mb-0">
+              <strong>{insights?.graphCount.toLocaleString()}</strong> graphs, <strong>{insights?.nodeCount.toLocaleString()}</strong> nodes,{' '}
+              <strong>{insights?.edgeCount.toLocaleString()}</strong> edges
+            </p>
+          </Col>
           <Col lg="7">
             <Card className="shadow-sm">
-              <CardHeader>ag-grid: Graph List</CardHeader>
+              <CardHeader>ag-grid: Largest Graphs</CardHeader>
               <CardBody>
                 <div className="ag-theme-alpine graph-insights-page__grid">
-                  <AgGridReact rowData={rows} columnDefs={columnDefs} defaultColDef={defaultColDef} pagination paginationPageSize={8} />
+                  <AgGridReact
+                    rowData={insights?.largest ?? []}
+                    columnDefs={columnDefs}
+                    defaultColDef={defaultColDef}
+                    pagination
+                    paginationPageSize={8}
+                  />
                 </div>
               </CardBody>
             </Card>
@@ -149,6 +186,14 @@ export const GraphInsights = () => {
               </CardBody>
             </Card>
           </Col>
+          <Col lg="5">
+            <Card className="shadow-sm">
+              <CardHeader>Highcharts: Size Distribution</CardHeader>
+              <CardBody>
+                <HighchartsReact highcharts={Highcharts} options={sizeChartOptions} />
+              </CardBody>
+            </Card>
+          </Col>
         </Row>
       )}
     </div>
@@ -0,0 +1,121 @@
+import type { FullGraphDTO } from './graph.api';
+
+/* ======================================================
+ * Decoder for the columnar whole-graph format
+ * (matches ColumnarGraphEncoder on backend)
+ * ====================================================== */
+
+export interface ColumnarGraph {
+  graph: FullGraphDTO['graph'];
+  nodeIds: BigInt64Array;
+  x: Float32Array;
+  y: Float32Array;
+  /** index into labels, -1 when the node has none */
+  labelIndices: Int32Array;
+  labels: string[];
+  edgeIds: BigInt64Array;
+  /** 0 when the edge has no source */
+  sources: BigInt64Array;
+  /** 0 when the edge has no target */
+  targets: BigInt64Array;
+  weights: Float32Array;
+  /** bit i % 8 of byte i / 8 is set when edge i is directed */
+  directed: Uint8Array;
+}
+
+const align = (offset: number) => (offset + 7) & ~7;
+
+/**
+ * Views the columns in place: typed arrays share the response buffer, only labels are decoded.
+ */
+export function decodeColumnarGraph(buffer: ArrayBuffer): ColumnarGraph {
+  const view = new DataView(buffer);
+  if (view.getUint8(0) !== 0x47 || view.getUint8(1) !== 0x41 || view.getUint8(2) !== 0x43) {
+    throw new Error('Not a columnar graph');
+  }
+  const version = view.getUint8(3);
+  if (version !== 1) {
+    throw new Error(`Unsupported columnar graph version ${version}`);
+  }
+  const nodeCount = view.getUint32(4, true);
+  const edgeCount = view.getUint32(8, true);
+  const labelCount = view.getUint32(12, true);
+  const id = Number(view.getBigInt64(20, true));
+  const revision = Number(view.getBigInt64(28, true));
+  const nameLength = view.getUint32(36, true);
+  const descriptionLength = view.getInt32(40, true);
+
+  const decoder = new TextDecoder();
+  let offset = 44;
+  const name = decoder.decode(new Uint8Array(buffer, offset, nameLength));
+  offset += nameLength;
+  let description: string | undefined;
+  if (descriptionLength >= 0) {
+    description = decoder.decode(new Uint8Array(buffer, offset, descriptionLength));
+    offset += descriptionLength;
+  }
+  offset = align(offset);
+
+  const column = <T>(create: (start: number) => T, bytes: number): T => {
+    const array = create(offset);
+    offset = align(offset + bytes);
+    return array;
+  };
+
+  const nodeIds = column(start => new BigInt64Array(buffer, start, nodeCount), nodeCount * 8);
+  const x = column(start => new Float32Array(buffer, start, nodeCount), nodeCount * 4);
+  const y = column(start => new Float32Array(buffer, start, nodeCount), nodeCount * 4);
+  const labelIndices = column(start => new Int32Array(buffer, start, nodeCount), nodeCount * 4);
+  const labelOffsets = column(start => new Uint32Array(buffer, start, labelCount + 1), (labelCount + 1) * 4);
+  const labelBytes = column(start => new Uint8Array(buffer, start, labelOffsets[labelCount]), labelOffsets[labelCount]);
+  const labels = new Array<string>(labelCount);
+  for (let i = 0; i < labelCount; i++) {
+    labels[i] = decoder.decode(labelBytes.subarray(labelOffsets[i], labelOffsets[i + 1]));
+  }
+
+  const edgeIds = column(start => new BigInt64Array(buffer, start, edgeCount), edgeCount * 8);
+  const sources = column(start => new BigInt64Array(buffer, start, edgeCount), edgeCount * 8);
+  const targets = column(start => new BigInt64Array(buffer, start, edgeCount), edgeCount * 8);
+  const weights = column(start => new Float32Array(buffer, start, edgeCount), edgeCount * 4);
+  const directed = column(start => new Uint8Array(buffer, start, Math.ceil(edgeCount / 8)), Math.ceil(edgeCount / 8));
+
+  return {
+    graph: { id, name, description, revision },
+    nodeIds,
+    x,
+    y,
+    labelIndices,
+    labels,
+    edgeIds,
+    sources,
+    targets,
+    weights,
+    directed,
+  };
+}
+
+export function isDirected(graph: ColumnarGraph, edge: number): boolean {
+  return (graph.directed[edge >> 3] & (1 << (edge & 7))) !== 0;
+}
+
+/**
+ * Builds the object form, for callers written against the JSON aggregate.
+ */
+export function toFullGraph(graph: ColumnarGraph): FullGraphDTO {
+  const nodes = new Array<FullGraphDTO['nodes'][number]>(graph.nodeIds.length);
+  for (let i = 0; i < nodes.length; i++) {
+    const label = graph.labelIndices[i];
+    nodes[i] = { id: Number(graph.nodeIds[i]), label: label >= 0 ? graph.labels[label] : null, x: graph.x[i], y: graph.y[i] };
+  }
+  const edges = new Array<FullGraphDTO['edges'][number]>(graph.edgeIds.length);
+  for (let i = 0; i < edges.length; i++) {
+    edges[i] = {
+      id: Number(graph.edgeIds[i]),
+      source: Number(graph.sources[i]) || null,
+      target: Number(graph.targets[i]) || null,
+      weight: graph.weights[i],
+      directed: isDirected(graph, i),
+    };
+  }
+  return { graph: graph.graph, nodes, edges };
+}
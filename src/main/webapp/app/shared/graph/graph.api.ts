@@ -1,9 +1,33 @@
 import axios from 'axios';
+import { Storage } from 'react-jhipster';
+
+import { ColumnarGraph, decodeColumnarGraph } from './columnar-graph';
+import { DecodedAlgorithmTrace, decodeAlgorithmTrace } from './trace-codec';
 
 /* ======================================================
  * ENTITY-LEVEL API (raw JHipster REST)
  * ====================================================== */
 
+const NEXT_LINK = /<([^>]+)>;\s*rel="next"/;
+
+/**
+ * Reads every page of a keyset-paginated list, following the Link headers
+ * Backend: GET /api/graphs, /api/nodes?graphId=, /api/edges?graphId=, /api/comments
+ */
+export async function getAllPages<T>(url: string, size = 1000): Promise<T[]> {
+  const rows: T[] = [];
+  let next: string | undefined = url;
+  let params: { size: number } | undefined = { size };
+  while (next) {
+    const res = await axios.get<T[]>(next, { params });
+    rows.push(...res.data);
+    next = NEXT_LINK.exec(res.headers['link'] ?? '')?.[1];
+    // the next link carries its own parameters
+    params = undefined;
+  }
+  return rows;
+}
+
 export async function createGraph(payload: { name: string; description?: string }) {
   const res = await axios.post('/api/graphs', payload);
   return res.data as { id: number };
@@ -31,6 +55,32 @@ export async function updateNode(payload: { id: number; label: string; x: number
   return res.data as { id: number };
 }
 
+/**
+ * Moves many nodes of one graph in a single request
+ * Backend: PUT /api/graphs/{id}/node-positions
+ */
+export async function updateNodePositions(graphId: number, positions: { id: number; x: number; y: number }[]) {
+  await axios.put(`/api/graphs/${graphId}/node-positions`, {
+    ids: positions.map(p => p.id),
+    x: positions.map(p => p.x),
+    y: positions.map(p => p.y),
+  });
+}
+
+/**
+ * Streams node positions while dragging; the server coalesces them per node and resolves
+ * once they are written, with the graph revision that includes them
+ * Backend: POST /api/graphs/{id}/node-positions/stream
+ */
+export async function streamNodePositions(graphId: number, positions: { id: number; x: number; y: number }[]) {
+  const res = await axios.post<{ graphId: number; revision: number }>(`/api/graphs/${graphId}/node-positions/stream`, {
+    ids: positions.map(p => p.id),
+    x: positions.map(p => p.x),
+    y: positions.map(p => p.y),
+  });
+  return res.data;
+}
+
 export async function deleteNode(id: number) {
   const res = await axios.delete(`/api/nodes/${id}`);
   return res.data;
@@ -74,6 +124,7 @@ export interface FullGraphDTO {
     id: number;
     name: string;
     description?: string;
+    revision: number;
   };
   nodes: {
     id: number;
@@ -99,6 +150,379 @@ export async function getFullGraphById(id: number): Promise<FullGraphDTO> {
   return res.data;
 }
 
+/**
+ * Aggregate read by ID in the columnar binary encoding, for graphs too big to parse as JSON
+ * Backend: GET /api/graphs/{id}/full (Accept: application/octet-stream)
+ */
+export async function getFullGraphColumnsById(id: number): Promise<ColumnarGraph> {
+  const res = await axios.get<ArrayBuffer>(`/api/graphs/${id}/full`, {
+    headers: { Accept: 'application/octet-stream' },
+    responseType: 'arraybuffer',
+  });
+  return decodeColumnarGraph(res.data);
+}
+
+export interface GraphChangesDTO {
+  since: number;
+  revision: number;
+  snapshot: boolean;
+  graph: FullGraphDTO['graph'];
+  nodes: FullGraphDTO['nodes'];
+  edges: FullGraphDTO['edges'];
+  removedNodeIds: number[];
+  removedEdgeIds: number[];
+}
+
+/**
+ * Node and edge changes since a revision, or a whole snapshot if that revision was compacted away
+ * Backend: GET /api/graphs/{id}/changes?since={revision}
+ */
+export async function getGraphChanges(id: number, since: number): Promise<GraphChangesDTO> {
+  const res = await axios.get<GraphChangesDTO>(`/api/graphs/${id}/changes`, { params: { since } });
+  return res.data;
+}
+
+/**
+ * Brings a previously fetched aggregate up to date, downloading only what changed since its revision
+ */
+export async function syncFullGraph(full: FullGraphDTO): Promise<FullGraphDTO> {
+  const changes = await getGraphChanges(full.graph.id, full.graph.revision);
+  if (changes.snapshot) {
+    return { graph: changes.graph, nodes: changes.nodes, edges: changes.edges };
+  }
+  const removedNodes = new Set([...changes.removedNodeIds, ...changes.nodes.map(n => n.id)]);
+  const removedEdges = new Set([...changes.removedEdgeIds, ...changes.edges.map(e => e.id)]);
+  return {
+    graph: changes.graph,
+    nodes: [...full.nodes.filter(n => !removedNodes.has(n.id)), ...changes.nodes],
+    edges: [...full.edges.filter(e => !removedEdges.has(e.id)), ...changes.edges],
+  };
+}
+
+const syncedGraphs = new Map<number, FullGraphDTO>();
+
+/**
+ * Aggregate read by ID, fetched whole the first time and kept in sync through deltas afterwards
+ */
+export async function getSyncedFullGraph(id: number): Promise<FullGraphDTO> {
+  const cached = syncedGraphs.get(id);
+  try {
+    const full = cached ? await syncFullGraph(cached) : await getFullGraphById(id);
+    syncedGraphs.set(id, full);
+    return full;
+  } catch (err) {
+    syncedGraphs.delete(id);
+    throw err;
+  }
+}
+
+export interface GraphDeltaDTO {
+  kind: 'node' | 'edge' | 'comment' | 'position' | 'graph';
+  id: number;
+  deleted: boolean;
+  state: any;
+}
+
+type StreamEvent = { name: string; data: string; id?: string };
+
+/**
+ * Reads a Server-Sent Events stream until it ends, and returns its response
+ * EventSource cannot send the bearer token, so the stream is read through fetch
+ */
+async function readEventStream(
+  url: string,
+  headers: Record<string, string>,
+  signal: AbortSignal,
+  onEvent: (event: StreamEvent) => void,
+): Promise<Response> {
+  const token = Storage.local.get('jhi-authenticationToken') || Storage.session.get('jhi-authenticationToken');
+  const res = await fetch(`${SERVER_API_URL}${url}`, {
+    headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}), ...headers },
+    signal,
+  });
+  if (!res.ok || !res.body) return res;
+
+  const dispatch = (block: string) => {
+    const event: StreamEvent = { name: 'message', data: '' };
+    const data: string[] = [];
+    block.split('\n').forEach(line => {
+      if (line.startsWith('event:')) event.name = line.slice(6).trim();
+      else if (line.startsWith('data:')) data.push(line.slice(5).trimStart());
+      else if (line.startsWith('id:')) event.id = line.slice(3).trim();
+    });
+    event.data = data.join('\n');
+    onEvent(event);
+  };
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += value.replace(/\r\n?/g, '\n');
+    let end: number;
+    while ((end = buffer.indexOf('\n\n')) >= 0) {
+      dispatch(buffer.slice(0, end));
+      buffer = buffer.slice(end + 2);
+    }
+  }
+  return res;
+}
+
+/**
+ * Live changes committed by any user to a graph, delivered in batches; onResync means some were dropped
+ * and the graph has to be reloaded. Returns a function that closes the subscription
+ * Backend: GET /api/graphs/{id}/events (text/event-stream)
+ */
+export function subscribeToGraph(
+  graphId: number,
+  handlers: { onDeltas: (deltas: GraphDeltaDTO[]) => void; onResync: () => void },
+): () => void {
+  const controller = new AbortController();
+
+  const listen = async () => {
+    const res = await readEventStream(`/api/graphs/${graphId}/events`, {}, controller.signal, event => {
+      if (event.name === 'delta' && event.data) handlers.onDeltas(JSON.parse(event.data));
+      else if (event.name === 'resync') handlers.onResync();
+    });
+    if (res.status === 404) controller.abort();
+  };
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        await listen();
+      } catch {
+        // reconnected below unless closed
+      }
+      if (controller.signal.aborted) break;
+      // changes may have been missed while disconnected
+      handlers.onResync();
+      await new Promise(resolve => setTimeout(resolve, 2000));
+    }
+  };
+
+  run();
+  return () => controller.abort();
+}
+
+/**
+ * Comments created on a graph from now on, pushed as they are committed. Reconnections resume after the last
+ * comment received; onResync means some were missed and the feed has to be reloaded.
+ * Returns a function that closes the subscription
+ * Backend: GET /api/comments/stream?graphId= (text/event-stream, Last-Event-ID)
+ */
+export function subscribeToComments(
+  graphId: number,
+  handlers: { onComment: (comment: CommentPreviewDTO) => void; onResync: () => void },
+): () => void {
+  const controller = new AbortController();
+  let lastEventId: string | undefined;
+
+  /** seconds to wait before reconnecting */
+  const listen = async () => {
+    const res = await readEventStream(
+      `/api/comments/stream?graphId=${graphId}`,
+      lastEventId ? { 'Last-Event-ID': lastEventId } : {},
+      controller.signal,
+      event => {
+        if (event.id) lastEventId = event.id;
+        if (event.name === 'comment' && event.data) handlers.onComment(JSON.parse(event.data));
+        else if (event.name === 'resync') handlers.onResync();
+      },
+    );
+    if (res.status === 404) controller.abort();
+    // the server is serving too many streams
+    return Number(res.headers.get('Retry-After')) || 2;
+  };
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      let delay = 2;
+      try {
+        delay = await listen();
+      } catch {
+        // reconnected below unless closed
+      }
+      if (controller.signal.aborted) break;
+      // without a comment received, there is nothing to resume from
+      if (!lastEventId) handlers.onResync();
+      await new Promise(resolve => setTimeout(resolve, delay * 1000));
+    }
+  };
+
+  run();
+  return () => controller.abort();
+}
+
+export interface GraphSummaryDTO {
+  graphId: number;
+  name: string;
+  createdAt?: string | null;
+  lastModified?: string | null;
+  nodeCount: number;
+  edgeCount: number;
+  directedRatio?: number | null;
+  weightMin?: number | null;
+  weightMax?: number | null;
+  weightSum: number;
+  /** nodes per degree bucket: 0, 1, 2-3, 4-7... (only in getGraphSummary) */
+  degreeHistogram?: number[] | null;
+}
+
+export interface GraphInsightsDTO {
+  graphCount: number;
+  nodeCount: number;
+  edgeCount: number;
+  created: { start: string | null; graphs: number }[];
+  sizes: { minNodes: number; graphs: number }[];
+  largest: GraphSummaryDTO[];
+}
+
+/**
+ * Size and shape of one graph, read from its maintained summary
+ * Backend: GET /api/graphs/{id}/summary
+ */
+export async function getGraphSummary(graphId: number): Promise<GraphSummaryDTO> {
+  const res = await axios.get<GraphSummaryDTO>(`/api/graphs/${graphId}/summary`);
+  return res.data;
+}
+
+/**
+ * Statistics over all graphs, aggregated on the server
+ * Backend: GET /api/graphs/insights?bucket=day|week|month|year
+ */
+export async function getGraphInsights(bucket: 'day' | 'week' | 'month' | 'year' = 'day'): Promise<GraphInsightsDTO> {
+  const res = await axios.get<GraphInsightsDTO>('/api/graphs/insights', { params: { bucket } });
+  return res.data;
+}
+
+export interface CommentPreviewDTO {
+  id: number;
+  /** beginning of the content, see truncated */
+  preview: string;
+  truncated: boolean;
+  createdAt?: string | null;
+  /** position in the feed, to read older comments or, as after, newer ones */
+  cursor: string;
+}
+
+/**
+ * A page of the comment feed of a graph, newest first, or with after the comments posted since, oldest first
+ * Backend: GET /api/comments/feed?graphId=&cursor=&after=&size=
+ */
+export async function getCommentFeed(
+  graphId: number,
+  options: { cursor?: string; after?: string; size?: number } = {},
+): Promise<{ comments: CommentPreviewDTO[]; hasMore: boolean }> {
+  const res = await axios.get<CommentPreviewDTO[]>('/api/comments/feed', { params: { graphId, ...options } });
+  return { comments: res.data, hasMore: NEXT_LINK.test(res.headers['link'] ?? '') };
+}
+
+/**
+ * Full content of a comment whose preview was truncated
+ * Backend: GET /api/comments/{id}
+ */
+export async function getCommentContent(id: number): Promise<string> {
+  const res = await axios.get<{ content: string }>(`/api/comments/${id}`);
+  return res.data.content;
+}
+
+/**
+ * Server-side algorithm run, fetched in the compact binary encoding
+ * Backend: GET /api/graphs/{id}/algorithms/{algorithm}/trace (Accept: application/octet-stream)
+ */
+export async function getAlgorithmTrace(graphId: number, algorithm: string, start: number, end?: number): Promise<DecodedAlgorithmTrace> {
+  const res = await axios.get<ArrayBuffer>(`/api/graphs/${graphId}/algorithms/${algorithm}/trace`, {
+    params: { start, end },
+    headers: { Accept: 'application/octet-stream' },
+    responseType: 'arraybuffer',
+  });
+  return decodeAlgorithmTrace(res.data);
+}
+
+export interface ShortestPathDTO {
+  graphId: number;
+  startId: number;
+  endId: number;
+  distance: number | null;
+  nodeIds: number[];
+  edgeIds: number[];
+}
+
+/**
+ * Shortest path kept up to date on the server across edge edits
+ * Backend: GET /api/graphs/{id}/shortest-path
+ */
+export async function getShortestPath(graphId: number, start: number, end: number): Promise<ShortestPathDTO> {
+  const res = await axios.get<ShortestPathDTO>(`/api/graphs/${graphId}/shortest-path`, { params: { start, end } });
+  return res.data;
+}
+
+export interface ConnectivityDTO {
+  graphId: number;
+  componentCount: number;
+  startComponentSize?: number | null;
+  connected?: boolean | null;
+}
+
+/**
+ * Connected components maintained on the server across edge inserts and deletes
+ * Backend: GET /api/graphs/{id}/connectivity
+ */
+export async function getConnectivity(graphId: number, start?: number, end?: number): Promise<ConnectivityDTO> {
+  const res = await axios.get<ConnectivityDTO>(`/api/graphs/${graphId}/connectivity`, { params: { start, end } });
+  return res.data;
+}
+
+export interface GraphFileImportDTO {
+  id: string;
+  name: string;
+  format: 'GRAPHML' | 'GEXF' | 'DIMACS' | 'EDGE_LIST' | 'CSV';
+  status: 'RUNNING' | 'DONE' | 'FAILED';
+  bytesRead: number;
+  totalBytes: number;
+  nodes: number;
+  edges: number;
+  graphId?: number | null;
+  error?: string | null;
+}
+
+/**
+ * Uploads a GraphML, GEXF, DIMACS, edge-list or CSV file, imported in the background
+ * Backend: POST /api/graphs/import (multipart)
+ */
+export async function importGraphFile(
+  file: File,
+  options: { name?: string; format?: GraphFileImportDTO['format']; directed?: boolean } = {},
+): Promise<GraphFileImportDTO> {
+  const form = new FormData();
+  form.append('file', file);
+  if (options.name) form.append('name', options.name);
+  if (options.format) form.append('format', options.format);
+  if (options.directed !== undefined) form.append('directed', String(options.directed));
+  const res = await axios.post<GraphFileImportDTO>('/api/graphs/import', form, { timeout: 0 });
+  return res.data;
+}
+
+/**
+ * Progress of a file import started within the last hour
+ * Backend: GET /api/graphs/import/{importId}
+ */
+export async function getGraphFileImport(importId: string): Promise<GraphFileImportDTO> {
+  const res = await axios.get<GraphFileImportDTO>(`/api/graphs/import/${importId}`);
+  return res.data;
+}
+
+/**
+ * Whole graph as a file, streamed by the server and gzipped in transit
+ * Backend: GET /api/graphs/{id}/export?format={format}
+ */
+export async function exportGraphFile(graphId: number, format: 'graphml' | 'dot' | 'edge-list' | 'csv' = 'graphml'): Promise<Blob> {
+  const res = await axios.get<Blob>(`/api/graphs/${graphId}/export`, { params: { format }, responseType: 'blob', timeout: 0 });
+  return res.data;
+}
+
 /* ======================================================
  * FRONTEND ORCHESTRATION (user intent)
  * ====================================================== */
@@ -118,40 +542,18 @@ export async function createFullGraphFrontend(input: {
     directed?: boolean;
   }[];
 }) {
-  // 1️⃣ Create graph
-  const graph = await createGraph({
+  // Single request, persisted in one transaction; node keys are their indexes
+  const res = await axios.post<FullGraphDTO>('/api/graphs/full', {
     name: input.name,
     description: input.description,
+    nodes: input.nodes.map((n, index) => ({ key: String(index), label: n.label, x: n.x, y: n.y })),
+    edges: input.edges.map(e => ({
+      source: String(e.sourceIndex),
+      target: String(e.targetIndex),
+      weight: e.weight,
+      directed: e.directed ?? true,
+    })),
   });
 
-  const graphId = graph.id;
-
-  // 2️⃣ Create nodes
-  const createdNodes = await Promise.all(
-    input.nodes.map(n =>
-      createNode({
-        label: n.label,
-        x: n.x,
-        y: n.y,
-        graph: { id: graphId },
-      }),
-    ),
-  );
-
-  const nodeIds = createdNodes.map(n => n.id);
-
-  // 3️⃣ Create edges
-  await Promise.all(
-    input.edges.map(e =>
-      createEdge({
-        weight: e.weight,
-        directed: e.directed ?? true,
-        graph: { id: graphId },
-        source: { id: nodeIds[e.sourceIndex] },
-        target: { id: nodeIds[e.targetIndex] },
-      }),
-    ),
-  );
-
-  return graphId;
+  return res.data.graph.id;
 }
@@ -0,0 +1,110 @@
+import { AlgoResult } from './algos/types';
+
+/* ======================================================
+ * Decoder for the binary algorithm trace format
+ * (matches AlgorithmTraceCodec on backend)
+ * ====================================================== */
+
+export interface DecodedNodeValues {
+  name: string;
+  values: Int32Array | Float32Array;
+}
+
+export interface DecodedAlgorithmTrace extends AlgoResult {
+  algorithm: string;
+  nodeIds: number[];
+  values?: DecodedNodeValues;
+}
+
+class Reader {
+  private offset = 0;
+
+  constructor(private readonly view: DataView) {}
+
+  byte(): number {
+    return this.view.getUint8(this.offset++);
+  }
+
+  varint(): number {
+    let value = 0;
+    let multiplier = 1;
+    for (;;) {
+      const b = this.byte();
+      value += (b & 0x7f) * multiplier;
+      if ((b & 0x80) === 0) return value;
+      multiplier *= 128;
+    }
+  }
+
+  zigzag(): number {
+    const value = this.varint();
+    return value % 2 === 0 ? value / 2 : -(value + 1) / 2;
+  }
+
+  string(): string {
+    const length = this.varint();
+    const bytes = new Uint8Array(this.view.buffer, this.view.byteOffset + this.offset, length);
+    this.offset += length;
+    return new TextDecoder().decode(bytes);
+  }
+
+  float32(): number {
+    const value = this.view.getFloat32(this.offset, true);
+    this.offset += 4;
+    return value;
+  }
+}
+
+function readIndices(reader: Reader): number[] {
+  const count = reader.varint();
+  const indices = new Array<number>(count);
+  let previous = 0;
+  for (let i = 0; i < count; i++) {
+    previous += reader.zigzag();
+    indices[i] = previous;
+  }
+  return indices;
+}
+
+export function decodeAlgorithmTrace(buffer: ArrayBuffer): DecodedAlgorithmTrace {
+  const reader = new Reader(new DataView(buffer));
+  if (reader.byte() !== 0x47 || reader.byte() !== 0x41 || reader.byte() !== 0x54) {
+    throw new Error('Not an algorithm trace');
+  }
+  const version = reader.byte();
+  if (version !== 1) {
+    throw new Error(`Unsupported algorithm trace version ${version}`);
+  }
+  const flags = reader.byte();
+  const algorithm = reader.string();
+
+  const nodeCount = reader.varint();
+  const nodeIds = new Array<number>(nodeCount);
+  let id = 0;
+  for (let i = 0; i < nodeCount; i++) {
+    id = i === 0 ? reader.zigzag() : id + reader.varint();
+    nodeIds[i] = id;
+  }
+
+  const steps = readIndices(reader).map(index => ({ type: 'visit' as const, nodeId: nodeIds[index] }));
+  const path = readIndices(reader).map(index => nodeIds[index]);
+
+  let values: DecodedNodeValues | undefined;
+  if ((flags & 1) !== 0) {
+    const kind = reader.byte();
+    const name = reader.string();
+    const data = kind === 0 ? new Int32Array(nodeCount) : new Float32Array(nodeCount);
+    let previous = 0;
+    for (let i = 0; i < nodeCount; i++) {
+      if (kind === 0) {
+        previous += reader.zigzag();
+        data[i] = previous;
+      } else {
+        data[i] = reader.float32();
+      }
+    }
+    values = { name, values: data };
+  }
+
+  return { algorithm, nodeIds, steps, path, values };
+}
@@ -12,4 +12,14 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "eventStreamExecutor")
+    public Executor eventStreamExecutor() {
+        return new SyncTaskExecutor();
+    }
+
+    @Bean(name = "importExecutor")
+    public Executor importExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
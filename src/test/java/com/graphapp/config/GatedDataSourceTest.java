@@ -0,0 +1,65 @@
+package com.graphapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GatedDataSource}.
+ */
+class GatedDataSourceTest {
+
+    private DataSource target;
+
+    private GatedDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new GatedDataSource(target, 2, Duration.ofMillis(10));
+    }
+
+    @Test
+    void holdsAtMostMaxConnections() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void givesPermitBackWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool timeout");
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    void delegatesToTargetConnection() throws SQLException {
+        Connection targetConnection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(targetConnection);
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(targetConnection).setAutoCommit(false);
+        verify(targetConnection).close();
+    }
+}
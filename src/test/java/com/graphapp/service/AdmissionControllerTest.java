@@ -0,0 +1,128 @@
+package com.graphapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.graphapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Unit tests for {@link AdmissionController}.
+ */
+class AdmissionControllerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.Admission properties;
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        properties = applicationProperties.getAdmission();
+        properties.setGlobalBudget(100);
+        properties.setUserBudget(60);
+        properties.setUserConcurrency(2);
+        properties.setMaxQueue(2);
+        properties.setMaxWait(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        admissionController = new AdmissionController(mock(JdbcTemplate.class), applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void admitsWithinBudget() {
+        try (AdmissionController.Permit first = admissionController.admit("alice", "bfs", 30)) {
+            try (AdmissionController.Permit second = admissionController.admit("bob", "bfs", 50)) {
+                assertThat(admissionController.getActive()).isEqualTo(2);
+                assertThat(admissionController.getCost()).isEqualTo(80);
+            }
+        }
+        assertThat(admissionController.getActive()).isZero();
+        assertThat(admissionController.getCost()).isZero();
+    }
+
+    @Test
+    void countsCostlyRequestsAsTheUserBudget() {
+        try (AdmissionController.Permit permit = admissionController.admit("alice", "bellman-ford", Long.MAX_VALUE)) {
+            assertThat(admissionController.getCost()).isEqualTo(60);
+            // another user still fits in what is left
+            admissionController.admit("bob", "bfs", 40).close();
+        }
+    }
+
+    @Test
+    void refusesAfterWaiting() {
+        try (AdmissionController.Permit permit = admissionController.admit("alice", "bellman-ford", 60)) {
+            assertThatThrownBy(() -> admissionController.admit("bob", "bellman-ford", 60))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .extracting(e -> ((AdmissionRejectedException) e).getRetryAfter())
+                .isEqualTo(properties.getRetryAfter());
+        }
+        assertThat(admissionController.getQueueLength()).isZero();
+        assertThat(meterRegistry.get(AdmissionController.REJECTED_METER_NAME).tag("reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsConcurrencyPerUser() {
+        try (
+            AdmissionController.Permit first = admissionController.admit("alice", "bfs", 1);
+            AdmissionController.Permit second = admissionController.admit("alice", "bfs", 1)
+        ) {
+            assertThatThrownBy(() -> admissionController.admit("alice", "bfs", 1)).isInstanceOf(AdmissionRejectedException.class);
+            // a user over budget does not hold back the others
+            admissionController.admit("bob", "bfs", 1).close();
+        }
+    }
+
+    @Test
+    void admitsWaitingRequestWhenPermitIsClosed() throws Exception {
+        properties.setMaxWait(Duration.ofSeconds(10));
+        AdmissionController.Permit first = admissionController.admit("alice", "bellman-ford", 60);
+        CompletableFuture<AdmissionController.Permit> second = CompletableFuture.supplyAsync(() ->
+            admissionController.admit("bob", "bellman-ford", 60)
+        );
+        while (admissionController.getQueueLength() == 0) {
+            Thread.sleep(5);
+        }
+        assertThat(second).isNotDone();
+
+        first.close();
+
+        second.get(5, TimeUnit.SECONDS).close();
+        assertThat(admissionController.getActive()).isZero();
+    }
+
+    @Test
+    void refusesWhenQueueIsFull() throws Exception {
+        properties.setMaxWait(Duration.ofSeconds(10));
+        AdmissionController.Permit first = admissionController.admit("alice", "bellman-ford", 60);
+        CompletableFuture<?> waiting1 = CompletableFuture.runAsync(() -> admissionController.admit("bob", "bellman-ford", 60).close());
+        CompletableFuture<?> waiting2 = CompletableFuture.runAsync(() -> admissionController.admit("carol", "bellman-ford", 60).close());
+        while (admissionController.getQueueLength() < 2) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> admissionController.admit("dave", "bellman-ford", 60)).isInstanceOf(AdmissionRejectedException.class);
+        assertThat(meterRegistry.get(AdmissionController.REJECTED_METER_NAME).tag("reason", "queue-full").counter().count()).isEqualTo(1);
+
+        first.close();
+        CompletableFuture.allOf(waiting1, waiting2).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void admitsEverythingWhenDisabled() {
+        properties.setEnabled(false);
+        try (AdmissionController.Permit permit = admissionController.admit(1L, "bellman-ford", (nodes, edges) -> Long.MAX_VALUE)) {
+            assertThat(admissionController.getActive()).isZero();
+        }
+    }
+}
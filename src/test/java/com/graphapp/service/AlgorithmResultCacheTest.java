@@ -0,0 +1,71 @@
+package com.graphapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.BreadthFirstSearch;
+import com.graphapp.service.algo.GraphAlgorithm;
+import com.graphapp.service.algo.GraphSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AlgorithmResultCache}.
+ */
+class AlgorithmResultCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AlgorithmResultCache cache;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AlgorithmResultCache(new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void runsOncePerRevision() {
+        AlgorithmTrace first = cache.get(key(0), this::run);
+        AlgorithmTrace second = cache.get(key(0), this::run);
+        cache.get(key(1), this::run);
+
+        assertThat(second).isSameAs(first);
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", AlgorithmResultCache.CACHE_NAME).tag("result", "hit").functionCounter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void doesNotCacheMissingGraphs() {
+        assertThat(cache.get(key(0), k -> null)).isNull();
+        assertThat(cache.get(key(0), this::run)).isNotNull();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void looksUpWithoutRunning() {
+        assertThat(cache.getIfPresent(key(0))).isNull();
+        AlgorithmTrace trace = cache.get(key(0), this::run);
+
+        assertThat(cache.getIfPresent(key(0))).isSameAs(trace);
+        assertThat(cache.getIfPresent(key(1))).isNull();
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    private static AlgorithmResultCache.Key key(long revision) {
+        return new AlgorithmResultCache.Key(1L, revision, "bfs", 10L, null);
+    }
+
+    private AlgorithmTrace run(AlgorithmResultCache.Key key) {
+        runs.incrementAndGet();
+        GraphSnapshot graph = GraphSnapshot.builder(key.graphId()).addNode(10).addNode(20).addEdge(100, 10, 20, 1f, false).build();
+        return AlgorithmTrace.record(new BreadthFirstSearch(), graph, graph.indexOf(key.startId()), GraphAlgorithm.NO_TARGET);
+    }
+}
@@ -0,0 +1,161 @@
+package com.graphapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.dto.CommentPreviewDTO;
+import com.graphapp.service.event.CommentChangedEvent;
+import com.graphapp.service.event.CommentState;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CommentStreamService}.
+ */
+class CommentStreamServiceTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private CommentStreamService service;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCommentStream().setBufferSize(3);
+        applicationProperties.getCommentStream().setMaxSubscribers(2);
+        service = new CommentStreamService(applicationProperties, tasks::add);
+    }
+
+    @Test
+    void pushesCreatedCommentsOnly() {
+        RecordingSink sink = new RecordingSink();
+        service.subscribe(1L, null, sink);
+
+        create(10L, 1L, "x".repeat(300));
+        create(11L, 2L, "other graph");
+        service.onCommentChanged(new CommentChangedEvent(state(10L, 1L, "x"), state(10L, 1L, "y")));
+        runTasks();
+
+        assertThat(sink.names).containsExactly(CommentStreamService.COMMENT);
+        CommentPreviewDTO comment = (CommentPreviewDTO) sink.data.get(0);
+        assertThat(comment.getId()).isEqualTo(10L);
+        assertThat(comment.getPreview()).hasSize(CommentFeedService.PREVIEW_LENGTH);
+        assertThat(comment.isTruncated()).isTrue();
+    }
+
+    @Test
+    void resumesFromLastEventId() {
+        RecordingSink first = new RecordingSink();
+        CommentStreamService.Subscription subscription = service.subscribe(1L, null, first).orElseThrow();
+        create(10L, 1L, "a");
+        runTasks();
+        subscription.cancel();
+        create(11L, 1L, "b");
+        create(12L, 1L, "c");
+
+        RecordingSink resumed = new RecordingSink();
+        service.subscribe(1L, Long.toString(first.ids.get(0)), resumed);
+        runTasks();
+
+        assertThat(resumed.data).extracting(data -> ((CommentPreviewDTO) data).getId()).containsExactly(11L, 12L);
+        assertThat(resumed.ids).containsExactly(first.ids.get(0) + 1, first.ids.get(0) + 2);
+    }
+
+    @Test
+    void sendsResyncWhenResumingFromAnEvictedComment() {
+        RecordingSink first = new RecordingSink();
+        CommentStreamService.Subscription subscription = service.subscribe(1L, null, first).orElseThrow();
+        create(10L, 1L, "a");
+        runTasks();
+        subscription.cancel();
+        for (long id = 11; id < 15; id++) {
+            create(id, 1L, "b");
+        }
+
+        RecordingSink resumed = new RecordingSink();
+        service.subscribe(1L, Long.toString(first.ids.get(0)), resumed);
+        runTasks();
+        create(15L, 1L, "c");
+        runTasks();
+
+        assertThat(resumed.names).containsExactly(CommentStreamService.RESYNC, CommentStreamService.COMMENT);
+        assertThat(((CommentPreviewDTO) resumed.data.get(1)).getId()).isEqualTo(15L);
+    }
+
+    @Test
+    void capsSubscribers() {
+        CommentStreamService.Subscription subscription = service.subscribe(1L, null, new RecordingSink()).orElseThrow();
+        service.subscribe(2L, null, new RecordingSink());
+
+        assertThat(service.subscribe(3L, null, new RecordingSink())).isEmpty();
+        subscription.cancel();
+        subscription.cancel();
+        assertThat(service.subscriberCount()).isEqualTo(1);
+        assertThat(service.subscribe(3L, null, new RecordingSink())).isPresent();
+    }
+
+    @Test
+    void dropsSubscriberWhoseWriteIsLate() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEventStreams().setWriteTimeout(Duration.ZERO);
+        service = new CommentStreamService(applicationProperties, tasks::add);
+        RecordingSink sink = new RecordingSink();
+        // the heartbeat runs while the write is still in progress
+        sink.duringSend = service::heartbeat;
+        service.subscribe(1L, null, sink);
+
+        create(10L, 1L, "a");
+        runTasks();
+
+        assertThat(sink.names).containsExactly(CommentStreamService.COMMENT);
+        assertThat(sink.closed).isTrue();
+        assertThat(service.subscriberCount()).isZero();
+    }
+
+    private void create(Long id, Long graphId, String content) {
+        service.onCommentChanged(new CommentChangedEvent(null, state(id, graphId, content)));
+    }
+
+    private static CommentState state(Long id, Long graphId, String content) {
+        return new CommentState(id, graphId, content, Instant.now());
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static final class RecordingSink implements CommentStreamService.Sink {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        private final List<String> names = new ArrayList<>();
+
+        private final List<Object> data = new ArrayList<>();
+
+        private boolean closed;
+
+        private Runnable duringSend = () -> {};
+
+        @Override
+        public void send(long id, String name, Object data) {
+            this.ids.add(id);
+            this.names.add(name);
+            this.data.add(data);
+            duringSend.run();
+        }
+
+        @Override
+        public void heartbeat() {}
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.graphapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.graphapp.config.ApplicationProperties;
+import com.graphapp.service.dto.GraphDeltaDTO;
+import com.graphapp.service.event.NodeChangedEvent;
+import com.graphapp.service.event.NodeState;
+import com.graphapp.service.event.NodesMovedEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GraphBroadcastService}.
+ */
+class GraphBroadcastServiceTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private GraphBroadcastService service;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBroadcast().setQueueCapacity(3);
+        service = new GraphBroadcastService(applicationProperties, tasks::add);
+    }
+
+    @Test
+    void conflatesPendingDeltasPerElement() {
+        RecordingSink sink = new RecordingSink();
+        service.subscribe(1L, sink);
+
+        service.onNodesMoved(new NodesMovedEvent(1L, new long[] { 10, 20 }, new float[] { 1, 2 }, new float[] { 1, 2 }));
+        service.onNodesMoved(new NodesMovedEvent(1L, new long[] { 10 }, new float[] { 5 }, new float[] { 6 }));
+        service.onNodesMoved(new NodesMovedEvent(2L, new long[] { 30 }, new float[] { 0 }, new float[] { 0 }));
+        runTasks();
+
+        assertThat(sink.names).containsExactly("delta");
+        List<?> batch = (List<?>) sink.data.get(0);
+        assertThat(batch).extracting(delta -> ((GraphDeltaDTO) delta).getId()).containsExactly(20L, 10L);
+        assertThat((float[]) ((GraphDeltaDTO) batch.get(1)).getState()).containsExactly(5, 6);
+    }
+
+    @Test
+    void sendsResyncInsteadOfOverflowingDeltas() {
+        RecordingSink sink = new RecordingSink();
+        service.subscribe(1L, sink);
+
+        service.onNodesMoved(new NodesMovedEvent(1L, new long[] { 10, 20, 30, 40 }, new float[4], new float[4]));
+        service.onNodeChanged(new NodeChangedEvent(null, new NodeState(50L, 1L, "n", 0f, 0f)));
+        runTasks();
+        service.onNodeChanged(new NodeChangedEvent(new NodeState(50L, 1L, "n", 0f, 0f), null));
+        runTasks();
+
+        assertThat(sink.names).containsExactly("resync", "delta");
+        GraphDeltaDTO deleted = (GraphDeltaDTO) ((List<?>) sink.data.get(1)).get(0);
+        assertThat(deleted.getKind()).isEqualTo(GraphBroadcastService.NODE);
+        assertThat(deleted.isDeleted()).isTrue();
+    }
+
+    @Test
+    void dropsSubscriberOnFailedWrite() {
+        RecordingSink sink = new RecordingSink();
+        sink.failing = true;
+        service.subscribe(1L, sink);
+
+        service.onNodesMoved(new NodesMovedEvent(1L, new long[] { 10 }, new float[1], new float[1]));
+        runTasks();
+
+        assertThat(sink.closed).isTrue();
+        assertThat(service.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    void dropsSubscriberWhoseWriteIsLate() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEventStreams().setWriteTimeout(Duration.ZERO);
+        service = new GraphBroadcastService(applicationProperties, tasks::add);
+        RecordingSink sink = new RecordingSink();
+        // the heartbeat runs while the write is still in progress
+        sink.duringSend = service::heartbeat;
+        service.subscribe(1L, sink);
+
+        service.onNodesMoved(new NodesMovedEvent(1L, new long[] { 10 }, new float[1], new float[1]));
+        runTasks();
+
+        assertThat(sink.names).containsExactly("delta");
+        assertThat(sink.closed).isTrue();
+        assertThat(service.subscriberCount(1L)).isZero();
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static final class RecordingSink implements GraphBroadcastService.Sink {
+
+        private final List<String> names = new ArrayList<>();
+
+        private final List<Object> data = new ArrayList<>();
+
+        private boolean failing;
+
+        private boolean closed;
+
+        private Runnable duringSend = () -> {};
+
+        @Override
+        public void send(String name, Object data) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            this.names.add(name);
+            this.data.add(data);
+            duringSend.run();
+        }
+
+        @Override
+        public void heartbeat() {}
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.graphapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SearchIndex}.
+ */
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new SearchIndex();
+        index.put(SearchIndex.Kind.GRAPH, 1L, 1L, "Graph theory Café");
+        index.put(SearchIndex.Kind.NODE, 10L, 1L, "Paris");
+        index.put(SearchIndex.Kind.COMMENT, 20L, 1L, "A long comment about the paris node and its neighbours");
+        index.put(SearchIndex.Kind.NODE, 30L, 2L, "Parking");
+    }
+
+    @Test
+    void matchesPrefixesTyposAndAccents() {
+        assertThat(ids(index.search("gra", null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("theorx", null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("CAFE", null, 10))).containsExactly(1L);
+        assertThat(index.search("zebra", null, 10)).isEmpty();
+        assertThat(index.search("  ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void ranksShorterTextsFirst() {
+        List<SearchIndex.Hit> hits = index.search("paris", null, 10);
+
+        // "parking" starts with three of the trigrams of "paris"
+        assertThat(ids(hits)).containsExactly(10L, 20L, 30L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(ids(index.search("paris", null, 1))).containsExactly(10L);
+    }
+
+    @Test
+    void filtersByGraph() {
+        assertThat(ids(index.search("par", null, 10))).containsExactlyInAnyOrder(10L, 20L, 30L);
+        assertThat(ids(index.search("par", 2L, 10))).containsExactly(30L);
+    }
+
+    @Test
+    void followsUpdatesAndDeletions() {
+        index.remove(SearchIndex.Kind.NODE, 30L);
+        assertThat(index.search("parking", null, 10)).isEmpty();
+
+        index.put(SearchIndex.Kind.NODE, 10L, 1L, "Lyon");
+        assertThat(ids(index.search("lyon", null, 10))).containsExactly(10L);
+        assertThat(ids(index.search("paris", null, 10))).containsExactly(20L);
+
+        index.putIfAbsent(SearchIndex.Kind.NODE, 10L, 1L, "Paris");
+        assertThat(ids(index.search("lyon", null, 10))).containsExactly(10L);
+
+        index.removeGraph(1L);
+        assertThat(index.size()).isZero();
+    }
+
+    private static List<Long> ids(List<SearchIndex.Hit> hits) {
+        return hits.stream().map(SearchIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.service.dto.AlgorithmTraceDTO;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AlgorithmTraceCodec}.
+ */
+class AlgorithmTraceCodecTest {
+
+    @Test
+    void roundTripsTraceAndValues() throws IOException {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(1L);
+        for (long id = 1_000; id < 3_000; id += 2) {
+            builder.addNode(id);
+        }
+        for (long id = 1_000; id < 2_998; id += 2) {
+            builder.addEdge(id, id, id + 2, 1.5f, false);
+        }
+        GraphSnapshot graph = builder.build();
+
+        AlgorithmTrace trace = AlgorithmTrace.record(new Dijkstra(), graph, 0, graph.nodeCount() - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AlgorithmTraceCodec.encode(trace, out);
+        AlgorithmTrace decoded = AlgorithmTraceCodec.decode(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(decoded.getAlgorithmId()).isEqualTo("dijkstra");
+        assertThat(decoded.getGraph().nodeCount()).isEqualTo(graph.nodeCount());
+        assertThat(decoded.getGraph().nodeId(17)).isEqualTo(graph.nodeId(17));
+        assertThat(decoded.getSteps()).containsExactly(trace.getSteps());
+        assertThat(decoded.getResult().getPath()).containsExactly(trace.getResult().getPath());
+        assertThat(decoded.getResult().getValues().getName()).isEqualTo("distance");
+        assertThat(decoded.getResult().getValues().floatValue(10)).isEqualTo(15f);
+    }
+
+    @Test
+    void isMuchSmallerThanJson() throws IOException {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(1L);
+        for (long id = 1; id <= 10_000; id++) {
+            builder.addNode(id);
+            if (id > 1) {
+                builder.addEdge(id, id - 1, id, 1f, false);
+            }
+        }
+        GraphSnapshot graph = builder.build();
+        AlgorithmTrace trace = AlgorithmTrace.record(new BreadthFirstSearch(), graph, 0, GraphAlgorithm.NO_TARGET);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AlgorithmTraceCodec.encode(trace, out);
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(new AlgorithmTraceDTO(trace));
+        assertThat(out.size()).isLessThan(json.length / 10);
+    }
+
+    @Test
+    void zigzagRoundTrips() {
+        for (long value : new long[] { 0, 1, -1, 63, -64, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            assertThat(AlgorithmTraceCodec.unzigzag(AlgorithmTraceCodec.zigzag(value))).isEqualTo(value);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Betweenness}.
+ */
+class BetweennessTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void scoresNodesOfAPathInParallel() throws Exception {
+        int n = 200;
+        GraphSnapshot graph = path(n, false);
+        Betweenness betweenness = new Betweenness(graph);
+
+        NodeValues values = pool.submit(() -> betweenness.compute(done -> {})).get();
+
+        assertThat(values.getName()).isEqualTo(Betweenness.ID);
+        for (int node = 0; node < n; node++) {
+            // ordered pairs of nodes on either side
+            assertThat(values.floatValue(node)).isEqualTo(2f * node * (n - 1 - node));
+        }
+        assertThat(betweenness.done()).isEqualTo(n);
+    }
+
+    @Test
+    void followsEdgeDirections() throws Exception {
+        GraphSnapshot graph = path(3, true);
+
+        NodeValues values = pool.submit(() -> new Betweenness(graph).compute(done -> {})).get();
+
+        assertThat(values.floatValue(0)).isZero();
+        assertThat(values.floatValue(1)).isEqualTo(1f);
+        assertThat(values.floatValue(2)).isZero();
+    }
+
+    @Test
+    void splitsShortestPathsEvenly() throws Exception {
+        // a square: the two paths between opposite corners go through one of the other corners each
+        GraphSnapshot graph = GraphSnapshot.builder(1L)
+            .addNode(1)
+            .addNode(2)
+            .addNode(3)
+            .addNode(4)
+            .addEdge(1, 1, 2, 1f, false)
+            .addEdge(2, 2, 3, 1f, false)
+            .addEdge(3, 3, 4, 1f, false)
+            .addEdge(4, 4, 1, 1f, false)
+            .build();
+
+        NodeValues values = pool.submit(() -> new Betweenness(graph).compute(done -> {})).get();
+
+        for (int node = 0; node < 4; node++) {
+            assertThat(values.floatValue(node)).isEqualTo(1f);
+        }
+    }
+
+    @Test
+    void stopsWhenMonitorThrows() {
+        GraphSnapshot graph = path(1_000, false);
+        Betweenness betweenness = new Betweenness(graph);
+
+        assertThatThrownBy(() ->
+            pool
+                .submit(() ->
+                    betweenness.compute(done -> {
+                        if (done > 100) {
+                            throw new CancellationException();
+                        }
+                    })
+                )
+                .get()
+        ).isInstanceOfAny(CancellationException.class, ExecutionException.class);
+        assertThat(betweenness.done()).isLessThan(graph.nodeCount());
+    }
+
+    private static GraphSnapshot path(int n, boolean directed) {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(1L);
+        for (long id = 1; id <= n; id++) {
+            builder.addNode(id);
+            if (id > 1) {
+                builder.addEdge(id, id - 1, id, 1f, directed);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DynamicConnectivity}.
+ */
+class DynamicConnectivityTest {
+
+    @Test
+    void findsReplacementEdgeOnTreeEdgeDeletion() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        graph.upsertEdge(100, 10, 20, 1, false);
+        graph.upsertEdge(101, 20, 30, 1, true);
+        graph.upsertEdge(102, 30, 10, 1, true);
+        graph.addNode(40);
+        DynamicConnectivity connectivity = new DynamicConnectivity(graph);
+
+        assertThat(connectivity.componentCount()).isEqualTo(2);
+        assertThat(connectivity.componentSize(graph.indexOf(10))).isEqualTo(3);
+
+        graph.removeEdge(100);
+        assertThat(connectivity.connected(graph.indexOf(10), graph.indexOf(20))).isTrue();
+        assertThat(connectivity.componentCount()).isEqualTo(2);
+
+        graph.removeEdge(101);
+        assertThat(connectivity.connected(graph.indexOf(10), graph.indexOf(20))).isFalse();
+        assertThat(connectivity.componentCount()).isEqualTo(3);
+
+        graph.upsertEdge(103, 20, 40, 1, false);
+        assertThat(connectivity.componentSize(graph.indexOf(40))).isEqualTo(2);
+        assertThat(connectivity.componentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tracksNodesAndSelfLoops() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        DynamicConnectivity connectivity = graph.attachment(DynamicConnectivity.class, DynamicConnectivity::new);
+
+        graph.upsertEdge(100, 10, 10, 1, false);
+        graph.upsertEdge(101, 10, 20, 1, false);
+        assertThat(connectivity.componentCount()).isEqualTo(1);
+
+        graph.removeNode(20);
+        assertThat(connectivity.componentCount()).isEqualTo(1);
+        assertThat(connectivity.componentSize(graph.indexOf(10))).isEqualTo(1);
+
+        graph.removeEdge(100);
+        graph.removeNode(10);
+        assertThat(connectivity.componentCount()).isZero();
+    }
+
+    @Test
+    void matchesUnionFindAfterRandomEdits() {
+        Random random = new Random(7);
+        int nodes = 300;
+        DynamicGraph graph = new DynamicGraph(1L);
+        for (int node = 0; node < nodes; node++) {
+            graph.addNode(node);
+        }
+        List<Long> edges = new ArrayList<>();
+        long nextEdgeId = 0;
+        for (; nextEdgeId < 350; nextEdgeId++) {
+            graph.upsertEdge(nextEdgeId, random.nextInt(nodes), random.nextInt(nodes), 1, random.nextBoolean());
+            edges.add(nextEdgeId);
+        }
+        DynamicConnectivity connectivity = new DynamicConnectivity(graph);
+
+        for (int step = 0; step < 3000; step++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || edges.isEmpty()) {
+                graph.upsertEdge(nextEdgeId, random.nextInt(nodes), random.nextInt(nodes), 1, random.nextBoolean());
+                edges.add(nextEdgeId++);
+            } else if (operation == 1) {
+                graph.removeEdge(edges.remove(random.nextInt(edges.size())));
+            } else {
+                long edgeId = edges.get(random.nextInt(edges.size()));
+                graph.upsertEdge(edgeId, random.nextInt(nodes), random.nextInt(nodes), 1, random.nextBoolean());
+            }
+            if (step % 50 == 0) {
+                assertMatchesUnionFind(graph, connectivity);
+            }
+        }
+        assertMatchesUnionFind(graph, connectivity);
+    }
+
+    private static void assertMatchesUnionFind(DynamicGraph graph, DynamicConnectivity connectivity) {
+        DisjointSet expected = new DisjointSet(graph.nodeSlots());
+        int components = graph.nodeCount();
+        for (int node = 0; node < graph.nodeSlots(); node++) {
+            for (int k = 0; graph.isNodeAlive(node) && k < graph.outDegree(node); k++) {
+                int arc = graph.outArc(node, k);
+                if (expected.union(graph.arcSource(arc), graph.arcTarget(arc))) {
+                    components--;
+                }
+            }
+        }
+        assertThat(connectivity.componentCount()).isEqualTo(components);
+        for (int node = 0; node < graph.nodeSlots(); node += 7) {
+            for (int other = 1; other < graph.nodeSlots(); other += 11) {
+                assertThat(connectivity.connected(node, other)).isEqualTo(expected.find(node) == expected.find(other));
+            }
+        }
+    }
+}
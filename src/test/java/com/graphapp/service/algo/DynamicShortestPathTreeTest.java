@@ -0,0 +1,194 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DynamicGraph} and {@link DynamicShortestPathTree}.
+ */
+class DynamicShortestPathTreeTest {
+
+    @Test
+    void repairsTreeOnWeightChanges() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        graph.upsertEdge(100, 10, 20, 1, false);
+        graph.upsertEdge(101, 20, 30, 1, false);
+        graph.upsertEdge(102, 10, 30, 5, false);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, graph.indexOf(10));
+
+        assertThat(tree.distance(graph.indexOf(30))).isEqualTo(2);
+
+        graph.upsertEdge(101, 20, 30, 10, false);
+        assertThat(tree.distance(graph.indexOf(30))).isEqualTo(5);
+        assertThat(graph.arcEdgeId(tree.parentArc(graph.indexOf(30)))).isEqualTo(102);
+
+        graph.upsertEdge(102, 10, 30, 20, false);
+        assertThat(tree.distance(graph.indexOf(30))).isEqualTo(11);
+
+        graph.removeEdge(100);
+        assertThat(tree.distance(graph.indexOf(30))).isEqualTo(20);
+        assertThat(tree.distance(graph.indexOf(20))).isEqualTo(30);
+        assertThat(tree.pathTo(graph.indexOf(20))).containsExactly(graph.indexOf(10), graph.indexOf(30), graph.indexOf(20));
+    }
+
+    @Test
+    void leavesUnreachableNodesAtInfinity() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        graph.upsertEdge(100, 10, 20, 1, true);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, graph.indexOf(20));
+
+        assertThat(tree.distance(graph.indexOf(10))).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(tree.pathTo(graph.indexOf(10))).isEmpty();
+
+        graph.upsertEdge(100, 10, 20, 1, false);
+        assertThat(tree.distance(graph.indexOf(10))).isEqualTo(1);
+    }
+
+    @Test
+    void repairOnlyTouchesTheAffectedSubtree() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        for (int i = 0; i < 1000; i++) {
+            graph.upsertEdge(i, i, i + 1, 1, true);
+        }
+        graph.upsertEdge(5000, 990, 1000, 100, true);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, graph.indexOf(0));
+        long settled = tree.getSettledNodes();
+
+        graph.upsertEdge(995, 995, 996, 2, true);
+
+        assertThat(tree.distance(graph.indexOf(1000))).isEqualTo(1001);
+        assertThat(tree.getSettledNodes() - settled).isLessThan(10);
+    }
+
+    @Test
+    void invalidatesTreeOnNegativeWeight() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        graph.upsertEdge(100, 10, 20, 1, true);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, graph.indexOf(10));
+
+        graph.upsertEdge(100, 10, 20, -1, true);
+
+        assertThat(tree.isValid()).isFalse();
+        assertThat(graph.hasNegativeWeights()).isTrue();
+    }
+
+    @Test
+    void boundsTrackedSources() {
+        DynamicGraph graph = new DynamicGraph(1L);
+        graph.upsertEdge(100, 10, 20, 1, false);
+        graph.upsertEdge(101, 20, 30, 1, false);
+        DynamicShortestPaths paths = graph.attachment(DynamicShortestPaths.class, g -> new DynamicShortestPaths(g, 2));
+
+        DynamicShortestPathTree first = paths.tree(graph.indexOf(10));
+        paths.tree(graph.indexOf(20));
+        paths.tree(graph.indexOf(30));
+
+        assertThat(paths.size()).isEqualTo(2);
+        assertThat(paths.tree(graph.indexOf(10))).isNotSameAs(first);
+        assertThat(graph.attachment(DynamicShortestPaths.class, g -> new DynamicShortestPaths(g, 2))).isSameAs(paths);
+    }
+
+    @Test
+    void matchesDijkstraAfterRandomEdits() {
+        Random random = new Random(42);
+        int nodes = 200;
+        DynamicGraph graph = new DynamicGraph(1L);
+        for (int node = 0; node < nodes; node++) {
+            graph.addNode(node);
+        }
+        List<Long> edges = new ArrayList<>();
+        long nextEdgeId = 0;
+        for (; nextEdgeId < 500; nextEdgeId++) {
+            graph.upsertEdge(nextEdgeId, random.nextInt(nodes), random.nextInt(nodes), 1 + random.nextInt(20), random.nextBoolean());
+            edges.add(nextEdgeId);
+        }
+        List<DynamicShortestPathTree> trees = List.of(
+            new DynamicShortestPathTree(graph, graph.indexOf(0)),
+            new DynamicShortestPathTree(graph, graph.indexOf(1)),
+            new DynamicShortestPathTree(graph, graph.indexOf(2))
+        );
+
+        for (int step = 0; step < 1500; step++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || edges.isEmpty()) {
+                graph.upsertEdge(nextEdgeId, random.nextInt(nodes), random.nextInt(nodes), 1 + random.nextInt(20), random.nextBoolean());
+                edges.add(nextEdgeId++);
+            } else if (operation == 1) {
+                graph.removeEdge(edges.remove(random.nextInt(edges.size())));
+            } else {
+                long edgeId = edges.get(random.nextInt(edges.size()));
+                int arc = graph.arcOf(edgeId);
+                graph.upsertEdge(
+                    edgeId,
+                    graph.nodeId(graph.arcSource(arc)),
+                    graph.nodeId(graph.arcTarget(arc)),
+                    1 + random.nextInt(20),
+                    operation == 2 ? graph.arcTwin(arc) == DynamicGraph.NO_ARC : random.nextBoolean()
+                );
+            }
+            if (step % 25 == 0) {
+                for (DynamicShortestPathTree tree : trees) {
+                    assertMatchesDijkstra(graph, tree);
+                }
+            }
+        }
+        for (DynamicShortestPathTree tree : trees) {
+            assertMatchesDijkstra(graph, tree);
+        }
+    }
+
+    private static void assertMatchesDijkstra(DynamicGraph graph, DynamicShortestPathTree tree) {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder(graph.getGraphId());
+        for (int node = 0; node < graph.nodeSlots(); node++) {
+            if (graph.isNodeAlive(node)) {
+                builder.addNode(graph.nodeId(node));
+            }
+        }
+        for (int node = 0; node < graph.nodeSlots(); node++) {
+            for (int k = 0; graph.isNodeAlive(node) && k < graph.outDegree(node); k++) {
+                int arc = graph.outArc(node, k);
+                int twin = graph.arcTwin(arc);
+                if (twin == DynamicGraph.NO_ARC || arc < twin) {
+                    builder.addEdge(
+                        graph.arcEdgeId(arc),
+                        graph.nodeId(graph.arcSource(arc)),
+                        graph.nodeId(graph.arcTarget(arc)),
+                        (float) graph.arcWeight(arc),
+                        twin == DynamicGraph.NO_ARC
+                    );
+                }
+            }
+        }
+        GraphSnapshot snapshot = builder.build();
+        AlgorithmResult expected = new Dijkstra().run(
+            snapshot,
+            snapshot.indexOf(graph.nodeId(tree.getSource())),
+            GraphAlgorithm.NO_TARGET,
+            TraceListener.NONE
+        );
+
+        for (int i = 0; i < snapshot.nodeCount(); i++) {
+            int node = graph.indexOf(snapshot.nodeId(i));
+            double distance = tree.distance(node);
+            float expectedDistance = expected.getValues().floatValue(i);
+            if (Float.isInfinite(expectedDistance)) {
+                assertThat(distance).isEqualTo(Double.POSITIVE_INFINITY);
+            } else {
+                assertThat(distance).isCloseTo(expectedDistance, within(1e-3));
+                int[] path = tree.pathTo(node);
+                double length = 0;
+                for (int k = 1; k < path.length; k++) {
+                    int arc = tree.parentArc(path[k]);
+                    assertThat(graph.arcSource(arc)).isEqualTo(path[k - 1]);
+                    length += graph.arcWeight(arc);
+                }
+                assertThat(length).isCloseTo(distance, within(1e-3));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link GraphAlgorithm} implementations.
+ */
+class GraphAlgorithmsTest {
+
+    private GraphSnapshot graph;
+
+    /**
+     * <pre>
+     *   10 --1-- 20 --1-- 30
+     *    \                /
+     *     ------5--------      40 -> 50 (directed)
+     * </pre>
+     */
+    @BeforeEach
+    void init() {
+        graph = GraphSnapshot.builder(1L)
+            .addNode(30)
+            .addNode(10)
+            .addNode(20)
+            .addNode(40)
+            .addNode(50)
+            .addEdge(100, 10, 20, 1f, false)
+            .addEdge(101, 20, 30, 1f, false)
+            .addEdge(102, 10, 30, 5f, false)
+            .addEdge(103, 40, 50, 2f, true)
+            .addEdge(104, 99, 10, 1f, false)
+            .build();
+    }
+
+    @Test
+    void snapshotUsesDenseIndicesOrderedById() {
+        assertThat(graph.nodeCount()).isEqualTo(5);
+        assertThat(graph.edgeCount()).isEqualTo(4);
+        assertThat(graph.nodeId(0)).isEqualTo(10);
+        assertThat(graph.indexOf(30)).isEqualTo(2);
+        assertThat(graph.indexOf(99)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void bfsFindsShortestHopPath() {
+        List<Long> visited = new ArrayList<>();
+        AlgorithmResult result = new BreadthFirstSearch().run(graph, graph.indexOf(10), graph.indexOf(30), recordInto(visited));
+
+        assertThat(ids(result.getPath())).containsExactly(10L, 30L);
+        assertThat(visited).containsExactly(10L, 20L, 30L);
+        assertThat(result.getValues().intValue(graph.indexOf(20))).isEqualTo(1);
+    }
+
+    @Test
+    void dfsFollowsFirstNeighbourDepthFirst() {
+        List<Long> visited = new ArrayList<>();
+        AlgorithmResult result = new DepthFirstSearch().run(graph, graph.indexOf(10), graph.indexOf(30), recordInto(visited));
+
+        assertThat(visited).containsExactly(10L, 20L, 30L);
+        assertThat(ids(result.getPath())).containsExactly(10L, 20L, 30L);
+    }
+
+    @Test
+    void dijkstraPrefersLighterPath() {
+        AlgorithmResult result = new Dijkstra().run(graph, graph.indexOf(10), graph.indexOf(30), TraceListener.NONE);
+
+        assertThat(ids(result.getPath())).containsExactly(10L, 20L, 30L);
+        assertThat(result.getValues().floatValue(graph.indexOf(30))).isEqualTo(2f);
+    }
+
+    @Test
+    void bellmanFordMatchesDijkstraOnPositiveWeights() {
+        AlgorithmResult result = new BellmanFord().run(graph, graph.indexOf(10), graph.indexOf(30), TraceListener.NONE);
+
+        assertThat(ids(result.getPath())).containsExactly(10L, 20L, 30L);
+        assertThat(result.getValues().floatValue(graph.indexOf(40))).isEqualTo(Float.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void directedEdgesAreOnlyFollowedForward() {
+        AlgorithmResult result = new BreadthFirstSearch().run(graph, graph.indexOf(50), graph.indexOf(40), TraceListener.NONE);
+
+        assertThat(result.getPath()).isEmpty();
+    }
+
+    @Test
+    void spanningTreesSkipHeavyEdge() {
+        AlgorithmResult prim = new Prim().run(graph, graph.indexOf(10), graph.indexOf(30), TraceListener.NONE);
+        AlgorithmResult kruskal = new Kruskal().run(graph, graph.indexOf(10), graph.indexOf(30), TraceListener.NONE);
+
+        assertThat(ids(prim.getPath())).containsExactly(10L, 20L, 30L);
+        assertThat(ids(kruskal.getPath())).containsExactly(10L, 20L, 30L);
+        assertThat(kruskal.getValues().intValue(graph.indexOf(30))).isZero();
+        assertThat(kruskal.getValues().intValue(graph.indexOf(50))).isEqualTo(1);
+    }
+
+    private TraceListener recordInto(List<Long> visited) {
+        return node -> visited.add(graph.nodeId(node));
+    }
+
+    private List<Long> ids(int[] path) {
+        List<Long> ids = new ArrayList<>();
+        for (int node : path) {
+            ids.add(graph.nodeId(node));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,41 @@
+package com.graphapp.service.algo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LongIntHashMap}.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void storesAndGrows() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 7919L, i);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.get(7919L * 4321)).isEqualTo(4321);
+        assertThat(map.get(1L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void removeKeepsOtherKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            assertThat(map.remove(i)).isEqualTo(i);
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        for (int i = 1; i < 1_000; i += 2) {
+            assertThat(map.get(i)).isEqualTo(i);
+        }
+        assertThat(map.containsKey(0)).isFalse();
+        assertThat(map.putIfAbsent(1, 42)).isEqualTo(1);
+    }
+}
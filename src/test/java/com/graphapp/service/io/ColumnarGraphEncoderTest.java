@@ -0,0 +1,91 @@
+package com.graphapp.service.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ColumnarGraphEncoder}.
+ */
+class ColumnarGraphEncoderTest {
+
+    @Test
+    void writesAlignedColumns() throws IOException {
+        ColumnarGraphEncoder encoder = new ColumnarGraphEncoder();
+        encoder.node(10, "a", 1.5f, 2.5f);
+        encoder.node(11, null, 3, 4);
+        encoder.node(12, "a", 5, 6);
+        encoder.edge(20, 10L, 11L, 0.5f, true);
+        encoder.edge(21, 11L, null, 1, false);
+
+        ByteBuffer buffer = encode(encoder, "g", null);
+
+        assertThat(buffer.getInt(4)).isEqualTo(3);
+        assertThat(buffer.getInt(8)).isEqualTo(2);
+        assertThat(buffer.getInt(12)).isEqualTo(1);
+        assertThat(buffer.getLong(20)).isEqualTo(1L);
+        assertThat(buffer.getLong(28)).isEqualTo(7L);
+        assertThat(buffer.getInt(36)).isEqualTo(1);
+        assertThat(buffer.getInt(40)).isEqualTo(-1);
+        assertThat(buffer.get(44)).isEqualTo((byte) 'g');
+
+        int offset = 48;
+        assertThat(buffer.getLong(offset)).isEqualTo(10);
+        assertThat(buffer.getLong(offset + 16)).isEqualTo(12);
+        offset += 24;
+        assertThat(buffer.getFloat(offset)).isEqualTo(1.5f);
+        offset += 16; // 3 floats, padded
+        assertThat(buffer.getFloat(offset)).isEqualTo(2.5f);
+        offset += 16;
+        assertThat(buffer.getInt(offset)).isZero();
+        assertThat(buffer.getInt(offset + 4)).isEqualTo(-1);
+        assertThat(buffer.getInt(offset + 8)).isZero();
+        offset += 16;
+        assertThat(buffer.getInt(offset)).isZero();
+        assertThat(buffer.getInt(offset + 4)).isEqualTo(1);
+        offset += 8;
+        assertThat(buffer.get(offset)).isEqualTo((byte) 'a');
+        offset += 8;
+
+        assertThat(buffer.getLong(offset)).isEqualTo(20);
+        offset += 16;
+        assertThat(buffer.getLong(offset)).isEqualTo(10);
+        offset += 16;
+        assertThat(buffer.getLong(offset + 8)).isZero();
+        offset += 16;
+        assertThat(buffer.getFloat(offset)).isEqualTo(0.5f);
+        offset += 8;
+        assertThat(buffer.get(offset)).isEqualTo((byte) 0b01);
+        assertThat(buffer.limit()).isEqualTo(offset + 8);
+    }
+
+    @Test
+    void packsDirectedFlagsAcrossWords() throws IOException {
+        ColumnarGraphEncoder encoder = new ColumnarGraphEncoder();
+        for (int i = 0; i < 2000; i++) {
+            encoder.edge(i, 1L, 2L, 1, i % 3 == 0);
+        }
+
+        ByteBuffer buffer = encode(encoder, "", "");
+        int flags = buffer.limit() - 256; // 2000 bits, padded to 256 bytes
+
+        for (int i = 0; i < 2000; i++) {
+            boolean directed = (buffer.get(flags + i / 8) & (1 << (i % 8))) != 0;
+            assertThat(directed).as("edge %d", i).isEqualTo(i % 3 == 0);
+        }
+    }
+
+    private static ByteBuffer encode(ColumnarGraphEncoder encoder, String name, String description) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeTo(1L, 7L, name, description, out);
+        byte[] bytes = out.toByteArray();
+        assertThat(new String(bytes, 0, 3, StandardCharsets.US_ASCII)).isEqualTo("GAC");
+        assertThat(bytes.length % 8).isZero();
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,164 @@
+package com.graphapp.service.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.graphapp.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GraphFormat} and its readers.
+ */
+class GraphFormatTest {
+
+    private static final long MAX_NODES = new ApplicationProperties().getGraphImport().getMaxNodes();
+
+    @Test
+    void readsGraphML() throws IOException {
+        String graphml =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <graphml xmlns="http://graphml.graphdrawing.org/xmlns">
+              <key id="d0" for="node" attr.name="label" attr.type="string"/>
+              <key id="d1" for="node" attr.name="x" attr.type="float"/>
+              <key id="d2" for="edge" attr.name="weight" attr.type="double"/>
+              <graph id="G" edgedefault="undirected">
+                <node id="a"><data key="d0">Alpha</data><data key="d1">1.5</data></node>
+                <node id="b"/>
+                <edge source="a" target="b"><data key="d2">3</data></edge>
+                <edge source="b" target="c" directed="true"/>
+              </graph>
+            </graphml>
+            """;
+
+        Recording recording = read(GraphFormat.GRAPHML, graphml);
+
+        assertThat(recording.events).containsExactly("node a Alpha 1.5 null", "node b null null null", "edge a b 3.0 false", "edge b c null true");
+    }
+
+    @Test
+    void readsGexf() throws IOException {
+        String gexf =
+            """
+            <gexf xmlns="http://gexf.net/1.3" xmlns:viz="http://gexf.net/1.3/viz" version="1.3">
+              <graph defaultedgetype="directed">
+                <nodes>
+                  <node id="0" label="Zero"><viz:position x="10" y="20" z="0"/></node>
+                  <node id="1" label="One"/>
+                </nodes>
+                <edges>
+                  <edge id="0" source="0" target="1" weight="2"/>
+                  <edge id="1" source="1" target="0" type="undirected"/>
+                </edges>
+              </graph>
+            </gexf>
+            """;
+
+        Recording recording = read(GraphFormat.GEXF, gexf);
+
+        assertThat(recording.events).containsExactly("node 0 Zero 10.0 20.0", "node 1 One null null", "edge 0 1 2.0 true", "edge 1 0 null false");
+    }
+
+    @Test
+    void readsDimacs() throws IOException {
+        Recording recording = read(GraphFormat.DIMACS, "c sample\np sp 3 2\na 1 2 7\na 2 3 1\n");
+
+        assertThat(recording.events).containsExactly(
+            "node 1 null null null",
+            "node 2 null null null",
+            "node 3 null null null",
+            "edge 1 2 7.0 true",
+            "edge 2 3 1.0 true"
+        );
+    }
+
+    @Test
+    void refusesDimacsNodeCountsOverTheMaximum() {
+        assertThatThrownBy(() -> read(GraphFormat.DIMACS, "p sp 2000000000 0\n"))
+            .isInstanceOf(GraphFormatException.class)
+            .hasMessageContaining("line 1")
+            .hasMessageContaining("node count 2000000000");
+        assertThatThrownBy(() -> read(GraphFormat.DIMACS, "p sp 99999999999999999999 0\n"))
+            .isInstanceOf(GraphFormatException.class)
+            .hasMessageContaining("invalid node count");
+
+        Recording recording = new Recording();
+        assertThatThrownBy(() ->
+            GraphFormat.DIMACS.newReader(2).read(new ByteArrayInputStream("p sp 3 0\n".getBytes(StandardCharsets.UTF_8)), recording)
+        ).isInstanceOf(GraphFormatException.class);
+        assertThat(recording.events).isEmpty();
+    }
+
+    @Test
+    void readsEdgeLists() throws IOException {
+        Recording recording = read(GraphFormat.EDGE_LIST, "# comment\n1\t2\n\n2 3 0.5\n");
+
+        assertThat(recording.events).containsExactly("edge 1 2 null null", "edge 2 3 0.5 null");
+    }
+
+    @Test
+    void readsCsvWithHeader() throws IOException {
+        Recording recording = read(GraphFormat.CSV, "weight,Target,source\n2,b,a\n,\"c, d\",b\n");
+
+        assertThat(recording.events).containsExactly("edge a b 2.0 null", "edge b c, d null null");
+    }
+
+    @Test
+    void readsCsvWithoutHeader() throws IOException {
+        Recording recording = read(GraphFormat.CSV, "a,b,1,false\n");
+
+        assertThat(recording.events).containsExactly("edge a b 1.0 false");
+    }
+
+    @Test
+    void reportsTheInvalidLine() {
+        assertThatThrownBy(() -> read(GraphFormat.EDGE_LIST, "1 2\n3\n"))
+            .isInstanceOf(GraphFormatException.class)
+            .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void refusesExternalEntities() {
+        String graphml =
+            """
+            <?xml version="1.0"?>
+            <!DOCTYPE graphml [<!ENTITY secret SYSTEM "file:///etc/passwd">]>
+            <graphml><graph><node id="&secret;"/></graph></graphml>
+            """;
+
+        assertThatThrownBy(() -> read(GraphFormat.GRAPHML, graphml)).isInstanceOf(GraphFormatException.class);
+    }
+
+    @Test
+    void guessesFormatFromFilename() {
+        assertThat(GraphFormat.fromFilename("road.GR")).contains(GraphFormat.DIMACS);
+        assertThat(GraphFormat.fromFilename("social.graphml")).contains(GraphFormat.GRAPHML);
+        assertThat(GraphFormat.fromFilename("edges")).isEmpty();
+    }
+
+    private static Recording read(GraphFormat format, String content) throws IOException {
+        Recording recording = new Recording();
+        format.newReader(MAX_NODES).read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), recording);
+        return recording;
+    }
+
+    private static final class Recording implements GraphSink {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void node(String key, String label, Float x, Float y) {
+            events.add("node " + key + " " + label + " " + x + " " + y);
+        }
+
+        @Override
+        public void edge(String source, String target, Float weight, Boolean directed) {
+            events.add("edge " + source + " " + target + " " + weight + " " + directed);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.graphapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link AlgorithmJobResource} REST controller.
+ * <p>
+ * Not transactional: jobs read the graph from their own transactions.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AlgorithmJobResourceIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restAlgorithmJobMockMvc;
+
+    @Test
+    void runBetweennessInBackground() throws Exception {
+        JsonNode graph = createPath();
+        long graphId = graph.at("/graph/id").asLong();
+        try {
+            String location = restAlgorithmJobMockMvc
+                .perform(post("/api/graphs/{id}/jobs", graphId).param("algorithm", "betweenness"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.algorithm").value("betweenness"))
+                .andReturn()
+                .getResponse()
+                .getHeader("Location");
+            JsonNode job = awaitFinished(location);
+            assertThat(job.get("status").asText()).isEqualTo("SUCCEEDED");
+            assertThat(job.get("progress").asDouble()).isEqualTo(1);
+            // on the undirected path a - b - c, b lies on the paths from a to c and from c to a
+            JsonNode nodeIds = job.at("/result/values/nodeIds");
+            for (int i = 0; i < nodeIds.size(); i++) {
+                double expected = nodeIds.get(i).asLong() == graph.at("/nodes/1/id").asLong() ? 2 : 0;
+                assertThat(job.at("/result/values/values/" + i).asDouble()).isEqualTo(expected);
+            }
+            restAlgorithmJobMockMvc
+                .perform(get("/api/graphs/{id}/jobs", graphId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(job.get("id").asLong()))
+                .andExpect(jsonPath("$[0].result").doesNotExist());
+        } finally {
+            deleteGraph(graphId);
+        }
+    }
+
+    @Test
+    void runTraceWithUnknownStartNode() throws Exception {
+        long graphId = createPath().at("/graph/id").asLong();
+        try {
+            restAlgorithmJobMockMvc
+                .perform(post("/api/graphs/{id}/jobs", graphId).param("algorithm", "bfs").param("start", "-1"))
+                .andExpect(status().isBadRequest());
+        } finally {
+            deleteGraph(graphId);
+        }
+    }
+
+    @Test
+    void runOnUnknownGraph() throws Exception {
+        restAlgorithmJobMockMvc
+            .perform(post("/api/graphs/{id}/jobs", Long.MAX_VALUE).param("algorithm", "betweenness"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUnknownJob() throws Exception {
+        restAlgorithmJobMockMvc.perform(get("/api/jobs/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        restAlgorithmJobMockMvc.perform(delete("/api/jobs/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private JsonNode createPath() throws Exception {
+        return om.readTree(
+            restAlgorithmJobMockMvc
+                .perform(
+                    post("/api/graphs/full")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            "{\"name\":\"Path\",\"nodes\":[" +
+                            "{\"key\":\"a\",\"label\":\"a\",\"x\":0,\"y\":0}," +
+                            "{\"key\":\"b\",\"label\":\"b\",\"x\":1,\"y\":0}," +
+                            "{\"key\":\"c\",\"label\":\"c\",\"x\":2,\"y\":0}]," +
+                            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":1,\"directed\":false}," +
+                            "{\"source\":\"b\",\"target\":\"c\",\"weight\":1,\"directed\":false}]}"
+                        )
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+
+    private JsonNode awaitFinished(String location) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode job = om.readTree(
+                restAlgorithmJobMockMvc.perform(get(location)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString()
+            );
+            String status = job.get("status").asText();
+            if (!status.equals("QUEUED") && !status.equals("RUNNING")) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Job " + location + " did not finish");
+    }
+
+    private void deleteGraph(long graphId) {
+        jdbcTemplate.update("delete from algorithm_job where graph_id = ?", graphId);
+        jdbcTemplate.update("delete from edge where graph_id = ?", graphId);
+        jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+        jdbcTemplate.update("delete from graph where id = ?", graphId);
+    }
+}
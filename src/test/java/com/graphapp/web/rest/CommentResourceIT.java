@@ -3,6 +3,8 @@ package com.graphapp.web.rest;
 import static com.graphapp.domain.CommentAsserts.*;
 import static com.graphapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -10,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graphapp.IntegrationTest;
 import com.graphapp.domain.Comment;
+import com.graphapp.domain.Graph;
 import com.graphapp.repository.CommentRepository;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -150,6 +154,56 @@ class CommentResourceIT {
             .andExpect(jsonPath("$.[*].createdAt").value(hasItem(DEFAULT_CREATED_AT.toString())));
     }
 
+    @Test
+    @Transactional
+    void getCommentFeedByPage() throws Exception {
+        Graph graph = GraphResourceIT.createEntity();
+        em.persist(graph);
+        Comment undated = new Comment().content("undated").graph(graph);
+        Comment older = new Comment().content("older").createdAt(DEFAULT_CREATED_AT).graph(graph);
+        Comment newer = new Comment().content("x".repeat(300)).createdAt(UPDATED_CREATED_AT).graph(graph);
+        em.persist(undated);
+        em.persist(older);
+        em.persist(newer);
+        em.flush();
+
+        var firstPage = om.readTree(
+            restCommentMockMvc
+                .perform(get(ENTITY_API_URL + "/feed?graphId={graphId}&size=2", graph.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                .andExpect(jsonPath("$.[*].id").value(contains(newer.getId().intValue(), older.getId().intValue())))
+                .andExpect(jsonPath("$.[0].preview").value("x".repeat(200)))
+                .andExpect(jsonPath("$.[0].truncated").value(true))
+                .andExpect(jsonPath("$.[1].truncated").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+
+        restCommentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/feed?graphId={graphId}&size=2&cursor={cursor}", graph.getId(), firstPage.at("/1/cursor").asText())
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(contains(undated.getId().intValue())));
+
+        restCommentMockMvc
+            .perform(get(ENTITY_API_URL + "/feed?graphId={graphId}&after={cursor}", graph.getId(), firstPage.at("/1/cursor").asText()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(newer.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getCommentFeedWithInvalidCursor() throws Exception {
+        restCommentMockMvc
+            .perform(get(ENTITY_API_URL + "/feed?graphId=1&cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidcursor"));
+    }
+
     @Test
     @Transactional
     void getComment() throws Exception {
@@ -0,0 +1,174 @@
+package com.graphapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.IntegrationTest;
+import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
+import com.graphapp.security.AuthoritiesConstants;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link EntityCacheResource} REST controller.
+ * <p>
+ * Not transactional: entities only reach the second-level cache once committed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class EntityCacheResourceIT {
+
+    private static final String NODE_REGION = Node.class.getName();
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restEntityCacheMockMvc;
+
+    @Test
+    void cachedNodesFollowPositionMoves() throws Exception {
+        JsonNode graph = om.readTree(
+            restEntityCacheMockMvc
+                .perform(
+                    post("/api/graphs/full")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"cached\",\"nodes\":[{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}],\"edges\":[]}")
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = graph.at("/graph/id").asLong();
+        long nodeId = graph.at("/nodes/0/id").asLong();
+        try {
+            restEntityCacheMockMvc.perform(get("/api/nodes/{id}", nodeId)).andExpect(status().isOk());
+            restEntityCacheMockMvc.perform(get("/api/nodes/{id}", nodeId)).andExpect(status().isOk());
+            restEntityCacheMockMvc
+                .perform(get("/api/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == '" + NODE_REGION + "')].hits").value(contains(greaterThanOrEqualTo(1))));
+
+            restEntityCacheMockMvc
+                .perform(
+                    put("/api/graphs/{id}/node-positions", graphId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + nodeId + "],\"x\":[5],\"y\":[7]}")
+                )
+                .andExpect(status().isNoContent());
+
+            restEntityCacheMockMvc
+                .perform(get("/api/nodes/{id}", nodeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.x").value(5.0))
+                .andExpect(jsonPath("$.y").value(7.0));
+        } finally {
+            jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from graph where id = ?", graphId);
+            restEntityCacheMockMvc.perform(delete("/api/admin/caches")).andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    void writesEvictOnlyTheirGraph() throws Exception {
+        long[] graphIds = { createGraph("written"), createGraph("untouched") };
+        try {
+            long revision = revision(graphIds[0]);
+            revision(graphIds[1]);
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            assertThat(cache.containsEntity(Graph.class, graphIds[0])).isTrue();
+            assertThat(cache.containsEntity(Graph.class, graphIds[1])).isTrue();
+
+            restEntityCacheMockMvc
+                .perform(
+                    post("/api/nodes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"label\":\"B\",\"x\":1,\"y\":1,\"graph\":{\"id\":" + graphIds[0] + "}}")
+                )
+                .andExpect(status().isCreated());
+
+            assertThat(cache.containsEntity(Graph.class, graphIds[0])).isFalse();
+            assertThat(cache.containsEntity(Graph.class, graphIds[1])).isTrue();
+            assertThat(revision(graphIds[0])).isEqualTo(revision + 1);
+        } finally {
+            for (long graphId : graphIds) {
+                jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+                jdbcTemplate.update("delete from graph where id = ?", graphId);
+            }
+            restEntityCacheMockMvc.perform(delete("/api/admin/caches")).andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    void evictRegion() throws Exception {
+        restEntityCacheMockMvc
+            .perform(get("/api/admin/caches"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name").value(hasItem(NODE_REGION)));
+        restEntityCacheMockMvc.perform(delete("/api/admin/caches/{name}", NODE_REGION)).andExpect(status().isNoContent());
+        restEntityCacheMockMvc.perform(delete("/api/admin/caches/{name}", "unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void getRegionsAsUser() throws Exception {
+        restEntityCacheMockMvc.perform(get("/api/admin/caches")).andExpect(status().isForbidden());
+    }
+
+    private long createGraph(String name) throws Exception {
+        return om
+            .readTree(
+                restEntityCacheMockMvc
+                    .perform(
+                        post("/api/graphs/full")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(
+                                "{\"name\":\"" + name + "\",\"nodes\":[{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}],\"edges\":[]}"
+                            )
+                    )
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString()
+            )
+            .at("/graph/id")
+            .asLong();
+    }
+
+    private long revision(long graphId) throws Exception {
+        return om
+            .readTree(
+                restEntityCacheMockMvc
+                    .perform(get("/api/graphs/{id}", graphId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString()
+            )
+            .get("revision")
+            .asLong();
+    }
+}
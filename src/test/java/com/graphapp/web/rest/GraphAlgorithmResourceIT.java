@@ -0,0 +1,255 @@
+package com.graphapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.graphapp.IntegrationTest;
+import com.graphapp.domain.Edge;
+import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
+import com.graphapp.service.DynamicGraphService;
+import com.graphapp.service.algo.AlgorithmTrace;
+import com.graphapp.service.algo.AlgorithmTraceCodec;
+import com.graphapp.service.event.EdgeChangedEvent;
+import com.graphapp.service.event.EdgeState;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link GraphAlgorithmResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GraphAlgorithmResourceIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restGraphAlgorithmMockMvc;
+
+    @Autowired
+    private DynamicGraphService dynamicGraphService;
+
+    private Graph graph;
+
+    private Node first;
+
+    private Node second;
+
+    private Node third;
+
+    @BeforeEach
+    void initTest() {
+        graph = GraphResourceIT.createEntity();
+        first = new Node().label("a").x(0f).y(0f).graph(graph);
+        second = new Node().label("b").x(1f).y(0f).graph(graph);
+        third = new Node().label("c").x(2f).y(0f).graph(graph);
+    }
+
+    private void insertPathGraph() {
+        em.persist(graph);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.persist(new Edge().weight(1f).directed(false).source(first).target(second).graph(graph));
+        em.persist(new Edge().weight(1f).directed(false).source(second).target(third).graph(graph));
+        em.flush();
+    }
+
+    @Test
+    void getAlgorithms() throws Exception {
+        restGraphAlgorithmMockMvc
+            .perform(get("/api/algorithms"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem("bfs")))
+            .andExpect(jsonPath("$.[*].id").value(hasItem("dijkstra")));
+    }
+
+    @Test
+    @Transactional
+    void streamAlgorithmTrace() throws Exception {
+        insertPathGraph();
+
+        MvcResult result = restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/algorithms/{algorithm}/stream", graph.getId(), "bfs")
+                    .param("start", first.getId().toString())
+                    .param("end", third.getId().toString())
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restGraphAlgorithmMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("event: meta")))
+            .andExpect(content().string(containsString("event: visit\ndata: [" + first.getId() + "," + second.getId() + "," + third.getId() + "]")))
+            .andExpect(content().string(containsString("event: path\ndata: [" + first.getId() + "," + second.getId() + "," + third.getId() + "]")))
+            .andExpect(content().string(containsString("event: done\ndata: {\"steps\":3}")));
+    }
+
+    @Test
+    @Transactional
+    void getAlgorithmTraceAsJson() throws Exception {
+        insertPathGraph();
+
+        restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/algorithms/{algorithm}/trace", graph.getId(), "dijkstra")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .param("start", first.getId().toString())
+                    .param("end", third.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.algorithm").value("dijkstra"))
+            .andExpect(jsonPath("$.path.length()").value(3))
+            .andExpect(jsonPath("$.steps[0].type").value("visit"))
+            .andExpect(jsonPath("$.steps[0].nodeId").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.values.name").value("distance"));
+    }
+
+    @Test
+    @Transactional
+    void getAlgorithmTraceAsBinary() throws Exception {
+        insertPathGraph();
+
+        MvcResult result = restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/algorithms/{algorithm}/trace", graph.getId(), "bfs")
+                    .accept(MediaType.APPLICATION_OCTET_STREAM)
+                    .param("start", first.getId().toString())
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] body = restGraphAlgorithmMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        AlgorithmTrace trace = AlgorithmTraceCodec.decode(new ByteArrayInputStream(body));
+        assertThat(trace.getAlgorithmId()).isEqualTo("bfs");
+        assertThat(trace.getSteps()).hasSize(3);
+        assertThat(trace.getGraph().nodeId(trace.getSteps()[2])).isEqualTo(third.getId());
+    }
+
+    @Test
+    @Transactional
+    void streamUnknownAlgorithm() throws Exception {
+        insertPathGraph();
+
+        restGraphAlgorithmMockMvc
+            .perform(get("/api/graphs/{id}/algorithms/{algorithm}/stream", graph.getId(), "unknown").param("start", first.getId().toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void streamOnNonExistingGraph() throws Exception {
+        restGraphAlgorithmMockMvc
+            .perform(get("/api/graphs/{id}/algorithms/{algorithm}/stream", Long.MAX_VALUE, "bfs").param("start", "1"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getShortestPath() throws Exception {
+        insertPathGraph();
+        Edge shortcut = new Edge().weight(5f).directed(false).source(first).target(third).graph(graph);
+        em.persist(shortcut);
+        em.flush();
+
+        restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/shortest-path", graph.getId())
+                    .param("start", first.getId().toString())
+                    .param("end", third.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.distance").value(2.0))
+            .andExpect(jsonPath("$.nodeIds.length()").value(3))
+            .andExpect(jsonPath("$.edgeIds.length()").value(2));
+
+        // Committed edits reach the in-memory graph through the change events.
+        Edge firstEdge = findEdge(first, second);
+        EdgeState previous = EdgeState.of(firstEdge);
+        firstEdge.setWeight(10f);
+        em.flush();
+        dynamicGraphService.onEdgeChanged(new EdgeChangedEvent(previous, EdgeState.of(firstEdge)));
+
+        restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/shortest-path", graph.getId())
+                    .param("start", first.getId().toString())
+                    .param("end", third.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.distance").value(5.0))
+            .andExpect(jsonPath("$.edgeIds[0]").value(shortcut.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getShortestPathFromUnknownNode() throws Exception {
+        insertPathGraph();
+
+        restGraphAlgorithmMockMvc
+            .perform(get("/api/graphs/{id}/shortest-path", graph.getId()).param("start", "-1").param("end", third.getId().toString()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.startnotfound"));
+    }
+
+    @Test
+    @Transactional
+    void getConnectivity() throws Exception {
+        insertPathGraph();
+        Node isolated = new Node().label("d").x(3f).y(0f).graph(graph);
+        em.persist(isolated);
+        em.flush();
+
+        restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/connectivity", graph.getId())
+                    .param("start", first.getId().toString())
+                    .param("end", third.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.componentCount").value(2))
+            .andExpect(jsonPath("$.startComponentSize").value(3))
+            .andExpect(jsonPath("$.connected").value(true));
+
+        restGraphAlgorithmMockMvc
+            .perform(
+                get("/api/graphs/{id}/connectivity", graph.getId())
+                    .param("start", first.getId().toString())
+                    .param("end", isolated.getId().toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.connected").value(false));
+    }
+
+    private Edge findEdge(Node source, Node target) {
+        return em
+            .createQuery("select e from Edge e where e.source = :source and e.target = :target", Edge.class)
+            .setParameter("source", source)
+            .setParameter("target", target)
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,136 @@
+package com.graphapp.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link GraphInsightsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GraphInsightsResourceIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restGraphInsightsMockMvc;
+
+    @Test
+    @Transactional
+    void summaryFollowsEdgeWrites() throws Exception {
+        String body =
+            "{\"name\":\"summary\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"B\",\"x\":1,\"y\":0}," +
+            "{\"key\":\"c\",\"label\":\"C\",\"x\":1,\"y\":1}]," +
+            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":2}," +
+            "{\"source\":\"b\",\"target\":\"c\",\"weight\":3,\"directed\":false}]}";
+        JsonNode graph = om.readTree(
+            restGraphInsightsMockMvc
+                .perform(post("/api/graphs/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = graph.at("/graph/id").asLong();
+
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/{id}/summary", graphId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nodeCount").value(3))
+            .andExpect(jsonPath("$.edgeCount").value(2))
+            .andExpect(jsonPath("$.directedRatio").value(0.5))
+            .andExpect(jsonPath("$.weightMin").value(2.0))
+            .andExpect(jsonPath("$.weightMax").value(3.0))
+            .andExpect(jsonPath("$.degreeHistogram").value(contains(0, 2, 1)));
+
+        restGraphInsightsMockMvc.perform(delete("/api/edges/{id}", graph.at("/edges/1/id").asLong())).andExpect(status().isNoContent());
+
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/{id}/summary", graphId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.edgeCount").value(1))
+            .andExpect(jsonPath("$.directedRatio").value(1.0))
+            .andExpect(jsonPath("$.weightMax").value(2.0))
+            .andExpect(jsonPath("$.weightSum").value(2.0))
+            .andExpect(jsonPath("$.degreeHistogram").value(contains(1, 2)));
+
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/insights?bucket=month"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.graphCount").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.nodeCount").value(greaterThanOrEqualTo(3)))
+            .andExpect(jsonPath("$.sizes[?(@.minNodes == 1)].graphs").value(contains(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    @Transactional
+    void summaryKeepsUniformWeightsAcrossDeletes() throws Exception {
+        String body =
+            "{\"name\":\"uniform\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"B\",\"x\":1,\"y\":0}," +
+            "{\"key\":\"c\",\"label\":\"C\",\"x\":1,\"y\":1}]," +
+            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":1}," +
+            "{\"source\":\"b\",\"target\":\"c\",\"weight\":1}," +
+            "{\"source\":\"a\",\"target\":\"c\",\"weight\":1}]}";
+        JsonNode graph = om.readTree(
+            restGraphInsightsMockMvc
+                .perform(post("/api/graphs/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = graph.at("/graph/id").asLong();
+
+        restGraphInsightsMockMvc.perform(delete("/api/edges/{id}", graph.at("/edges/0/id").asLong())).andExpect(status().isNoContent());
+        restGraphInsightsMockMvc.perform(delete("/api/edges/{id}", graph.at("/edges/1/id").asLong())).andExpect(status().isNoContent());
+
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/{id}/summary", graphId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.edgeCount").value(1))
+            .andExpect(jsonPath("$.weightMin").value(1.0))
+            .andExpect(jsonPath("$.weightMax").value(1.0));
+
+        restGraphInsightsMockMvc.perform(delete("/api/edges/{id}", graph.at("/edges/2/id").asLong())).andExpect(status().isNoContent());
+
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/{id}/summary", graphId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.edgeCount").value(0))
+            .andExpect(jsonPath("$.weightMin").value(nullValue()))
+            .andExpect(jsonPath("$.weightMax").value(nullValue()));
+    }
+
+    @Test
+    void getSummaryOfNonExistingGraph() throws Exception {
+        restGraphInsightsMockMvc.perform(get("/api/graphs/{id}/summary", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getInsightsByUnknownPeriod() throws Exception {
+        restGraphInsightsMockMvc
+            .perform(get("/api/graphs/insights?bucket=fortnight"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.unknowntimebucket"));
+    }
+}
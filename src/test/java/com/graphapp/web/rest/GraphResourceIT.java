@@ -3,25 +3,40 @@ package com.graphapp.web.rest;
 import static com.graphapp.domain.GraphAsserts.*;
 import static com.graphapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graphapp.IntegrationTest;
 import com.graphapp.domain.Graph;
+import com.graphapp.domain.Node;
 import com.graphapp.repository.GraphRepository;
+import com.graphapp.service.NodePositionStreamService;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -58,6 +73,12 @@ class GraphResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private NodePositionStreamService nodePositionStreamService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private MockMvc restGraphMockMvc;
 
@@ -120,6 +141,59 @@ class GraphResourceIT {
         insertedGraph = returnedGraph;
     }
 
+    @Test
+    @Transactional
+    void createFullGraph() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        String body =
+            "{\"name\":\"" + DEFAULT_NAME + "\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"B\",\"x\":1,\"y\":0}," +
+            "{\"key\":\"c\",\"label\":\"C\",\"x\":1,\"y\":1}]," +
+            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":2}," +
+            "{\"source\":\"b\",\"target\":\"c\",\"weight\":3,\"directed\":false}]}";
+
+        var returned = om.readTree(
+            restGraphMockMvc
+                .perform(post(ENTITY_API_URL + "/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.graph.name").value(DEFAULT_NAME))
+                .andExpect(jsonPath("$.nodes[*].label").value(contains("A", "B", "C")))
+                .andExpect(jsonPath("$.edges[*].directed").value(contains(true, false)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = returned.at("/graph/id").asLong();
+        assertThat(returned.at("/edges/0/source").asLong()).isEqualTo(returned.at("/nodes/0/id").asLong());
+        assertThat(returned.at("/edges/1/target").asLong()).isEqualTo(returned.at("/nodes/2/id").asLong());
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graphId))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.graph.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.nodes.length()").value(3))
+            .andExpect(jsonPath("$.nodes[?(@.label == 'C')].y").value(contains(1.0)))
+            .andExpect(jsonPath("$.edges.length()").value(2))
+            .andExpect(jsonPath("$.edges[?(@.weight == 3.0)].directed").value(contains(false)));
+    }
+
+    @Test
+    @Transactional
+    void createFullGraphWithUnknownNodeKey() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        String body = "{\"name\":\"" + DEFAULT_NAME + "\",\"nodes\":[],\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":1}]}";
+
+        restGraphMockMvc
+            .perform(post(ENTITY_API_URL + "/full").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.unknownnodekey"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createGraphWithExistingId() throws Exception {
@@ -194,6 +268,375 @@ class GraphResourceIT {
         restGraphMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getFullGraphIsConditionalOnRevision() throws Exception {
+        // Initialize the database
+        insertedGraph = graphRepository.saveAndFlush(graph);
+        String eTag = "\"" + graph.getId() + "-0\"";
+
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graph.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(jsonPath("$.graph.revision").value(0));
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graph.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Any write bumps the revision
+        Graph updatedGraph = graphRepository.findById(graph.getId()).orElseThrow();
+        em.detach(updatedGraph);
+        updatedGraph.name(UPDATED_NAME);
+        restGraphMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedGraph.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedGraph))
+            )
+            .andExpect(status().isOk());
+
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graph.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + graph.getId() + "-1\""))
+            .andExpect(jsonPath("$.graph.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getFullGraphAsColumns() throws Exception {
+        String body =
+            "{\"name\":\"" + DEFAULT_NAME + "\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"A\",\"x\":1.5,\"y\":-2}]," +
+            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":2}]}";
+        long graphId = om
+            .readTree(
+                restGraphMockMvc
+                    .perform(post(ENTITY_API_URL + "/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString()
+            )
+            .at("/graph/id")
+            .asLong();
+
+        byte[] columns = restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graphId).accept(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(header().string(HttpHeaders.ETAG, endsWith("-columns\"")))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        ByteBuffer buffer = ByteBuffer.wrap(columns).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(new String(columns, 0, 3, StandardCharsets.US_ASCII)).isEqualTo("GAC");
+        assertThat(buffer.getInt(4)).isEqualTo(2); // nodes
+        assertThat(buffer.getInt(8)).isEqualTo(1); // edges
+        assertThat(buffer.getInt(12)).isEqualTo(1); // distinct labels
+        assertThat(buffer.getLong(20)).isEqualTo(graphId);
+        assertThat(columns.length % 8).isZero();
+
+        // the JSON representation is still the default one
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/full", graphId))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.nodes.length()").value(2));
+    }
+
+    @Test
+    @Transactional
+    void getFullNonExistingGraph() throws Exception {
+        restGraphMockMvc.perform(get(ENTITY_API_URL_ID + "/full", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getGraphChangesSinceRevision() throws Exception {
+        // Initialize the database
+        insertedGraph = graphRepository.saveAndFlush(graph);
+        Long removedNodeId = createNode("removed");
+        Long keptNodeId = createNode("kept");
+        restGraphMockMvc.perform(delete("/api/nodes/{id}", removedNodeId)).andExpect(status().isNoContent());
+        em.flush();
+
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/changes?since=1", graph.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.revision").value(3))
+            .andExpect(jsonPath("$.snapshot").value(false))
+            .andExpect(jsonPath("$.nodes[*].id").value(contains(keptNodeId.intValue())))
+            .andExpect(jsonPath("$.removedNodeIds").value(contains(removedNodeId.intValue())));
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/changes?since=3", graph.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nodes").isEmpty())
+            .andExpect(jsonPath("$.removedNodeIds").isEmpty());
+
+        // A revision the change log cannot answer falls back to a snapshot
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/changes?since=42", graph.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.snapshot").value(true))
+            .andExpect(jsonPath("$.nodes[*].id").value(contains(keptNodeId.intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getChangesOfNonExistingGraph() throws Exception {
+        restGraphMockMvc.perform(get(ENTITY_API_URL_ID + "/changes?since=0", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private Long createNode(String label) throws Exception {
+        Node node = new Node().label(label).x(0F).y(0F).graph(graph);
+        return om
+            .readValue(
+                restGraphMockMvc
+                    .perform(post("/api/nodes").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(node)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                Node.class
+            )
+            .getId();
+    }
+
+    @Test
+    @Transactional
+    void updateNodePositions() throws Exception {
+        var imported = importGraph();
+        long graphId = imported.at("/graph/id").asLong();
+        long first = imported.at("/nodes/0/id").asLong();
+        long second = imported.at("/nodes/1/id").asLong();
+
+        restGraphMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/node-positions", graphId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\":[" + first + "," + second + "],\"x\":[5,6],\"y\":[7,8]}")
+            )
+            .andExpect(status().isNoContent());
+
+        // A single revision for the whole move
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/changes?since=0", graphId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.revision").value(1))
+            .andExpect(jsonPath("$.nodes[?(@.id == " + first + ")].x").value(contains(5.0)))
+            .andExpect(jsonPath("$.nodes[?(@.id == " + second + ")].y").value(contains(8.0)));
+    }
+
+    @Test
+    @Transactional
+    void updateNodePositionsOfAnotherGraph() throws Exception {
+        long graphId = importGraph().at("/graph/id").asLong();
+        long foreignNode = importGraph().at("/nodes/0/id").asLong();
+
+        restGraphMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/node-positions", graphId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\":[" + foreignNode + "],\"x\":[5],\"y\":[7]}")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.nodenotingraph"));
+    }
+
+    @Test
+    @Transactional
+    void streamNodePositionsCoalescesPerNode() throws Exception {
+        var imported = importGraph();
+        long graphId = imported.at("/graph/id").asLong();
+        long nodeId = imported.at("/nodes/0/id").asLong();
+
+        var first = restGraphMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/node-positions/stream", graphId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\":[" + nodeId + "],\"x\":[5],\"y\":[5]}")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        var second = restGraphMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/node-positions/stream", graphId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\":[" + nodeId + "],\"x\":[9],\"y\":[9]}")
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        nodePositionStreamService.flush();
+
+        restGraphMockMvc.perform(asyncDispatch(first)).andExpect(status().isOk()).andExpect(jsonPath("$.revision").value(1));
+        restGraphMockMvc.perform(asyncDispatch(second)).andExpect(status().isOk()).andExpect(jsonPath("$.revision").value(1));
+        restGraphMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/changes?since=0", graphId))
+            .andExpect(jsonPath("$.nodes[?(@.id == " + nodeId + ")].x").value(contains(9.0)));
+    }
+
+    @Test
+    void importGraphFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "sample.edges",
+            MediaType.TEXT_PLAIN_VALUE,
+            "# sample\n1 2\n2 3 2.5\n3 1\n1 2\n".getBytes(StandardCharsets.UTF_8)
+        );
+        var started = om.readTree(
+            restGraphMockMvc
+                .perform(multipart(ENTITY_API_URL + "/import").file(file).param("directed", "false"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.format").value("EDGE_LIST"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+
+        JsonNode progress = awaitImport(started.get("id").asText());
+        long graphId = progress.get("graphId").asLong();
+        try {
+            assertThat(progress.get("status").asText()).isEqualTo("DONE");
+            assertThat(progress.get("nodes").asLong()).isEqualTo(3);
+            assertThat(progress.get("edges").asLong()).isEqualTo(4);
+            restGraphMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/full", graphId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.graph.name").value("sample"))
+                .andExpect(jsonPath("$.nodes[*].label").value(containsInAnyOrder("1", "2", "3")))
+                .andExpect(jsonPath("$.edges[?(@.weight == 2.5)].directed").value(contains(false)));
+        } finally {
+            jdbcTemplate.update("delete from edge where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from graph where id = ?", graphId);
+        }
+    }
+
+    @Test
+    void importInvalidGraphFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "broken.graphml",
+            MediaType.APPLICATION_XML_VALUE,
+            "<graphml><graph><node/></graph></graphml>".getBytes(StandardCharsets.UTF_8)
+        );
+        var started = om.readTree(
+            restGraphMockMvc
+                .perform(multipart(ENTITY_API_URL + "/import").file(file))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+
+        JsonNode progress = awaitImport(started.get("id").asText());
+        assertThat(progress.get("status").asText()).isEqualTo("FAILED");
+        assertThat(progress.get("graphId").isNull()).isTrue();
+    }
+
+    @Test
+    void importGraphFileOfUnknownFormat() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "graph.bin", MediaType.APPLICATION_OCTET_STREAM_VALUE, new byte[] { 1 });
+        restGraphMockMvc.perform(multipart(ENTITY_API_URL + "/import").file(file)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportGraph() throws Exception {
+        String body =
+            "{\"name\":\"" + DEFAULT_NAME + "\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A & B\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"C\",\"x\":1,\"y\":0}]," +
+            "\"edges\":[{\"source\":\"a\",\"target\":\"b\",\"weight\":2.5,\"directed\":false}]}";
+        var imported = om.readTree(
+            restGraphMockMvc
+                .perform(post(ENTITY_API_URL + "/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = imported.at("/graph/id").asLong();
+        long a = imported.at("/nodes/0/id").asLong();
+        long b = imported.at("/nodes/1/id").asLong();
+        try {
+            var csv = restGraphMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/export?format=csv", graphId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restGraphMockMvc
+                .perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("graph-" + graphId + ".csv")))
+                .andExpect(content().string("source,target,weight,directed\n" + a + "," + b + ",2.5,false\n"));
+
+            var graphml = restGraphMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/export?format=GraphML", graphId).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            byte[] compressed = restGraphMockMvc
+                .perform(asyncDispatch(graphml))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+            String xml = new String(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(xml)
+                .contains("<data key=\"label\">A &amp; B</data>")
+                .contains("source=\"" + a + "\" target=\"" + b + "\" directed=\"false\"");
+        } finally {
+            jdbcTemplate.update("delete from edge where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from graph where id = ?", graphId);
+        }
+    }
+
+    @Test
+    @Transactional
+    void exportGraphInUnknownFormat() throws Exception {
+        insertedGraph = graphRepository.saveAndFlush(graph);
+        restGraphMockMvc.perform(get(ENTITY_API_URL_ID + "/export?format=gexf", graph.getId())).andExpect(status().isBadRequest());
+        restGraphMockMvc.perform(get(ENTITY_API_URL_ID + "/export", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitImport(String importId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode progress = om.readTree(
+                restGraphMockMvc
+                    .perform(get(ENTITY_API_URL + "/import/{importId}", importId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString()
+            );
+            if (!"RUNNING".equals(progress.get("status").asText())) {
+                return progress;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + importId + " did not finish");
+    }
+
+    private JsonNode importGraph() throws Exception {
+        String body =
+            "{\"name\":\"" + DEFAULT_NAME + "\",\"nodes\":[" +
+            "{\"key\":\"a\",\"label\":\"A\",\"x\":0,\"y\":0}," +
+            "{\"key\":\"b\",\"label\":\"B\",\"x\":1,\"y\":0}],\"edges\":[]}";
+        return om.readTree(
+            restGraphMockMvc
+                .perform(post(ENTITY_API_URL + "/full").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+
     @Test
     @Transactional
     void putExistingGraph() throws Exception {
@@ -3,15 +3,19 @@ package com.graphapp.web.rest;
 import static com.graphapp.domain.NodeAsserts.*;
 import static com.graphapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graphapp.IntegrationTest;
+import com.graphapp.domain.Graph;
 import com.graphapp.domain.Node;
 import com.graphapp.repository.NodeRepository;
 import jakarta.persistence.EntityManager;
+import java.net.URI;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -200,6 +205,44 @@ class NodeResourceIT {
             .andExpect(jsonPath("$.[*].y").value(hasItem(DEFAULT_Y.doubleValue())));
     }
 
+    @Test
+    @Transactional
+    void getNodesOfGraphByPage() throws Exception {
+        // Initialize the database
+        Graph graph = GraphResourceIT.createEntity();
+        em.persist(graph);
+        for (int i = 0; i < 3; i++) {
+            em.persist(createEntity().label("node" + i).graph(graph));
+        }
+        em.persist(createEntity());
+        em.flush();
+
+        String link = restNodeMockMvc
+            .perform(get(ENTITY_API_URL + "?graphId={graphId}&size=2", graph.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].label").value(contains("node0", "node1")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+
+        restNodeMockMvc
+            .perform(get(URI.create(next)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].label").value(contains("node2")))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getNodesWithInvalidCursor() throws Exception {
+        restNodeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidcursor"));
+    }
+
     @Test
     @Transactional
     void getNode() throws Exception {
@@ -0,0 +1,78 @@
+package com.graphapp.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphapp.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link SearchResource} REST controller.
+ * <p>
+ * Not transactional: the index only follows committed changes.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class SearchResourceIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restSearchMockMvc;
+
+    @Test
+    void searchImportedGraph() throws Exception {
+        JsonNode graph = om.readTree(
+            restSearchMockMvc
+                .perform(
+                    post("/api/graphs/full")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            "{\"name\":\"Quokkaland transit\"," +
+                            "\"nodes\":[{\"key\":\"a\",\"label\":\"Wallabystation\",\"x\":0,\"y\":0}],\"edges\":[]}"
+                        )
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+        long graphId = graph.at("/graph/id").asLong();
+        try {
+            restSearchMockMvc
+                .perform(get("/api/search?q=quokkalnd"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("graph"))
+                .andExpect(jsonPath("$[0].id").value(graphId));
+            restSearchMockMvc
+                .perform(get("/api/search?q=wallaby&graphId={id}", graphId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].type").value("node"))
+                .andExpect(jsonPath("$[0].id").value(graph.at("/nodes/0/id").asLong()))
+                .andExpect(jsonPath("$[0].text").value("Wallabystation"));
+        } finally {
+            jdbcTemplate.update("delete from node where graph_id = ?", graphId);
+            jdbcTemplate.update("delete from graph where id = ?", graphId);
+        }
+    }
+
+    @Test
+    void searchWithTooLongQuery() throws Exception {
+        restSearchMockMvc.perform(get("/api/search").param("q", "a".repeat(201))).andExpect(status().isBadRequest());
+    }
+}